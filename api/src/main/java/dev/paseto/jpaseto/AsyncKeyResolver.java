@@ -0,0 +1,72 @@
+/*
+ * Copyright 2019-Present paseto.dev
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package dev.paseto.jpaseto;
+
+import javax.crypto.SecretKey;
+import java.security.PublicKey;
+import java.util.concurrent.CompletionStage;
+
+/**
+ * A non-blocking {@link KeyResolver}, for keys that have to be fetched, e.g. from a key agent or a remote key store.
+ * It is used by {@link PasetoParser#parseAsync(String)}: the resolver is called on the thread that calls
+ * {@code parseAsync} and must not block it, the token is then verified or decrypted on the parser's executor once the
+ * returned stage completes. For example:
+ *
+ * <pre>
+ * PasetoParser parser = Pasetos.parserBuilder()
+ *     .setAsyncKeyResolver(new AsyncKeyResolver() {
+ *         &#64;Override
+ *         public CompletionStage&lt;PublicKey&gt; resolvePublicKey(Version version, Purpose purpose, FooterClaims footer) {
+ *             return keyAgent.fetchPublicKey(footer.getKeyId()); // implement me
+ *         }
+ *
+ *         &#64;Override
+ *         public CompletionStage&lt;SecretKey&gt; resolveSharedKey(Version version, Purpose purpose, FooterClaims footer) {
+ *             return keyAgent.fetchSharedKey(footer.getKeyId()); // implement me
+ *         }})
+ *     .build();
+ *
+ * parser.parseAsync(token).thenAccept(paseto -&gt; ...);
+ * </pre>
+ *
+ * <p>{@link PasetoParser#parse(String) parse} also works with an {@code AsyncKeyResolver}, it waits for the returned
+ * stage to complete.</p>
+ *
+ * @see PasetoParserBuilder#setAsyncKeyResolver(AsyncKeyResolver)
+ * @since 0.7.0
+ */
+public interface AsyncKeyResolver {
+
+    /**
+     * Returns a stage that completes with the public key used to verify the token's signature.
+     *
+     * @param version the version of the token to be parsed
+     * @param purpose the purpose of the token to be parsed
+     * @param footer the footer containing claims or plain text of the token to be parsed
+     * @return a stage that completes with the public key, or completes exceptionally if it cannot be resolved.
+     */
+    CompletionStage<PublicKey> resolvePublicKey(Version version, Purpose purpose, FooterClaims footer);
+
+    /**
+     * Returns a stage that completes with the shared key used to decrypt the token.
+     *
+     * @param version the version of the token to be parsed
+     * @param purpose the purpose of the token to be parsed
+     * @param footer the footer containing claims or plain text of the token to be parsed
+     * @return a stage that completes with the shared key, or completes exceptionally if it cannot be resolved.
+     */
+    CompletionStage<SecretKey> resolveSharedKey(Version version, Purpose purpose, FooterClaims footer);
+}
@@ -0,0 +1,45 @@
+/*
+ * Copyright 2019-Present paseto.dev
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package dev.paseto.jpaseto;
+
+/**
+ * Usage statistics of a {@link PasetoParser}'s verified token cache, useful to size the cache with
+ * {@link PasetoParserBuilder#setCacheMaximumSize(int)}.
+ *
+ * @see PasetoParser#getCacheStats()
+ * @since 0.7.0
+ */
+public interface CacheStats {
+
+    /**
+     * Returns the number of times a verified token was found in the cache.
+     * @return the number of cache hits.
+     */
+    long getHitCount();
+
+    /**
+     * Returns the number of times a token was not found in the cache (or the cached entry had expired) and the token
+     * was fully parsed and verified.
+     * @return the number of cache misses.
+     */
+    long getMissCount();
+
+    /**
+     * Returns the number of tokens currently in the cache.
+     * @return the number of tokens currently in the cache.
+     */
+    int getSize();
+}
@@ -0,0 +1,269 @@
+/*
+ * Copyright 2019-Present paseto.dev
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package dev.paseto.jpaseto;
+
+import dev.paseto.jpaseto.lang.Assert;
+import dev.paseto.jpaseto.lang.Keys;
+
+import javax.crypto.SecretKey;
+import java.security.Key;
+import java.security.PublicKey;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Consumer;
+
+/**
+ * A {@link KeyResolver} that looks up keys by the token's version, purpose, and the key id ({@code kid}) found in its
+ * footer, see {@link FooterClaims#getKeyId()}.
+ *
+ * <p>Keys are decoded once when added to the ring, parsing a token is a single hash lookup. The ring may be updated
+ * at any time, for example to rotate keys: changes are applied to a copy of the ring which then replaces the current
+ * one, so parsing threads never wait on an update and never see a partially applied change. Use
+ * {@link #update(Consumer)} to apply several changes at once, e.g. to add a new key and retire an old one:</p>
+ *
+ * <pre>
+ * keyRing.update(keys -&gt; keys
+ *     .addPublicKey(Version.V2, "2020-06", newPublicKey)
+ *     .remove(Version.V2, Purpose.PUBLIC, "2020-05"));
+ * </pre>
+ *
+ * @since 0.7.0
+ */
+public final class KeyRing implements KeyResolver {
+
+    private final Object updateLock = new Object();
+
+    private volatile Map<KeyId, Key> keys = Collections.emptyMap();
+
+    @Override
+    public PublicKey resolvePublicKey(Version version, Purpose purpose, FooterClaims footer) {
+        Assert.isTrue(Purpose.PUBLIC == purpose,
+                "Token purpose MUST be 'public' to resolve a public key, found: " + purpose);
+        return (PublicKey) resolve(version, purpose, footer);
+    }
+
+    @Override
+    public SecretKey resolveSharedKey(Version version, Purpose purpose, FooterClaims footer) {
+        Assert.isTrue(Purpose.LOCAL == purpose,
+                "Token purpose MUST be 'local' to resolve a shared key, found: " + purpose);
+        return (SecretKey) resolve(version, purpose, footer);
+    }
+
+    /**
+     * Adds or replaces the public key used to verify {@code version}.public tokens with the key id {@code keyId}.
+     *
+     * @param version the version of the tokens signed with the matching private key.
+     * @param keyId the key id found in the token footer.
+     * @param publicKey the public key.
+     * @return this KeyRing
+     */
+    public KeyRing addPublicKey(Version version, String keyId, PublicKey publicKey) {
+        update(editor -> editor.addPublicKey(version, keyId, publicKey));
+        return this;
+    }
+
+    /**
+     * Decodes an X.509 encoded public key and adds or replaces the key used to verify {@code version}.public tokens
+     * with the key id {@code keyId}.
+     *
+     * @param version the version of the tokens signed with the matching private key.
+     * @param keyId the key id found in the token footer.
+     * @param x509EncodedKey the X.509 encoded public key.
+     * @return this KeyRing
+     * @throws PasetoKeyException if the key cannot be decoded.
+     */
+    public KeyRing addPublicKey(Version version, String keyId, byte[] x509EncodedKey) {
+        update(editor -> editor.addPublicKey(version, keyId, x509EncodedKey));
+        return this;
+    }
+
+    /**
+     * Adds or replaces the shared key used to decrypt {@code version}.local tokens with the key id {@code keyId}.
+     *
+     * @param version the version of the tokens encrypted with the key.
+     * @param keyId the key id found in the token footer.
+     * @param sharedKey the shared key.
+     * @return this KeyRing
+     */
+    public KeyRing addSharedKey(Version version, String keyId, SecretKey sharedKey) {
+        update(editor -> editor.addSharedKey(version, keyId, sharedKey));
+        return this;
+    }
+
+    /**
+     * Removes the key for {@code version}.{@code purpose} tokens with the key id {@code keyId}, if present.
+     *
+     * @param version the token version.
+     * @param purpose the token purpose.
+     * @param keyId the key id found in the token footer.
+     * @return this KeyRing
+     */
+    public KeyRing remove(Version version, Purpose purpose, String keyId) {
+        update(editor -> editor.remove(version, purpose, keyId));
+        return this;
+    }
+
+    /**
+     * Applies all the {@code changes} at once. Tokens parsed concurrently either see none or all of the changes.
+     * If {@code changes} throws an exception, the ring is left untouched.
+     *
+     * @param changes the changes to apply.
+     * @return this KeyRing
+     */
+    public KeyRing update(Consumer<Editor> changes) {
+        Assert.notNull(changes, "changes cannot be null");
+        synchronized (updateLock) {
+            Map<KeyId, Key> copy = new HashMap<>(keys);
+            changes.accept(new Editor(copy));
+            keys = Collections.unmodifiableMap(copy);
+        }
+        return this;
+    }
+
+    /**
+     * Returns the number of keys in the ring.
+     * @return the number of keys in the ring.
+     */
+    public int size() {
+        return keys.size();
+    }
+
+    private Key resolve(Version version, Purpose purpose, FooterClaims footer) {
+        String keyId = footer != null ? footer.getKeyId() : null;
+        if (keyId == null) {
+            throw new PasetoKeyException("Token footer does not contain a '" + FooterClaims.KEY_ID + "', unable to resolve a " + version + "." + purpose + " key.");
+        }
+
+        Key key = keys.get(new KeyId(version, purpose, keyId));
+        if (key == null) {
+            throw new PasetoKeyException("No " + version + "." + purpose + " key found for " + FooterClaims.KEY_ID + ": '" + keyId + "'.");
+        }
+        return key;
+    }
+
+    /**
+     * Collects the changes applied by {@link KeyRing#update(Consumer)}.
+     */
+    public static final class Editor {
+
+        private final Map<KeyId, Key> keys;
+
+        private Editor(Map<KeyId, Key> keys) {
+            this.keys = keys;
+        }
+
+        /**
+         * Adds or replaces the public key used to verify {@code version}.public tokens with the key id {@code keyId}.
+         *
+         * @param version the version of the tokens signed with the matching private key.
+         * @param keyId the key id found in the token footer.
+         * @param publicKey the public key.
+         * @return this Editor
+         */
+        public Editor addPublicKey(Version version, String keyId, PublicKey publicKey) {
+            Assert.notNull(publicKey, "publicKey cannot be null");
+            keys.put(new KeyId(version, Purpose.PUBLIC, keyId), publicKey);
+            return this;
+        }
+
+        /**
+         * Decodes an X.509 encoded public key and adds or replaces the key used to verify {@code version}.public
+         * tokens with the key id {@code keyId}.
+         *
+         * @param version the version of the tokens signed with the matching private key.
+         * @param keyId the key id found in the token footer.
+         * @param x509EncodedKey the X.509 encoded public key.
+         * @return this Editor
+         * @throws PasetoKeyException if the key cannot be decoded.
+         */
+        public Editor addPublicKey(Version version, String keyId, byte[] x509EncodedKey) {
+            return addPublicKey(version, keyId, Keys.publicKey(version, x509EncodedKey));
+        }
+
+        /**
+         * Adds or replaces the shared key used to decrypt {@code version}.local tokens with the key id {@code keyId}.
+         *
+         * @param version the version of the tokens encrypted with the key.
+         * @param keyId the key id found in the token footer.
+         * @param sharedKey the shared key.
+         * @return this Editor
+         */
+        public Editor addSharedKey(Version version, String keyId, SecretKey sharedKey) {
+            Assert.notNull(sharedKey, "sharedKey cannot be null");
+            keys.put(new KeyId(version, Purpose.LOCAL, keyId), sharedKey);
+            return this;
+        }
+
+        /**
+         * Removes the key for {@code version}.{@code purpose} tokens with the key id {@code keyId}, if present.
+         *
+         * @param version the token version.
+         * @param purpose the token purpose.
+         * @param keyId the key id found in the token footer.
+         * @return this Editor
+         */
+        public Editor remove(Version version, Purpose purpose, String keyId) {
+            keys.remove(new KeyId(version, purpose, keyId));
+            return this;
+        }
+
+        /**
+         * Removes all keys.
+         * @return this Editor
+         */
+        public Editor clear() {
+            keys.clear();
+            return this;
+        }
+    }
+
+    private static final class KeyId {
+
+        private final Version version;
+        private final Purpose purpose;
+        private final String keyId;
+        private final int hashCode;
+
+        private KeyId(Version version, Purpose purpose, String keyId) {
+            Assert.notNull(version, "version cannot be null");
+            Assert.notNull(purpose, "purpose cannot be null");
+            Assert.notNull(keyId, "keyId cannot be null");
+            this.version = version;
+            this.purpose = purpose;
+            this.keyId = keyId;
+            this.hashCode = Objects.hash(version, purpose, keyId);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof KeyId)) {
+                return false;
+            }
+            KeyId other = (KeyId) o;
+            return version == other.version && purpose == other.purpose && keyId.equals(other.keyId);
+        }
+
+        @Override
+        public int hashCode() {
+            return hashCode;
+        }
+    }
+}
@@ -0,0 +1,36 @@
+/*
+ * Copyright 2019-Present paseto.dev
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package dev.paseto.jpaseto;
+
+/**
+ * Exception thrown when a token is not structurally valid, before any key is resolved or any cryptographic operation
+ * is attempted. For example, when the token does not have 3 or 4 parts, a part is not base64url encoded, the payload
+ * is too short to hold the signature, nonce or authentication tag required by its version and purpose, or the token is
+ * larger than the limits configured with {@link PasetoParserBuilder#setMaximumTokenLength(int)},
+ * {@link PasetoParserBuilder#setMaximumPayloadSize(int)} or {@link PasetoParserBuilder#setMaximumFooterSize(int)}.
+ *
+ * @since 0.7.0
+ */
+public class MalformedPasetoException extends PasetoException {
+
+    public MalformedPasetoException(String message) {
+        super(message);
+    }
+
+    public MalformedPasetoException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -0,0 +1,119 @@
+/*
+ * Copyright 2019-Present paseto.dev
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package dev.paseto.jpaseto;
+
+import dev.paseto.jpaseto.lang.Assert;
+
+/**
+ * The result of parsing a single token in a batch, see {@link PasetoParser#parseAll(java.util.List)}. A result holds
+ * either the parsed {@link Paseto} or the exception that caused the token to be rejected.
+ *
+ * @since 0.7.0
+ */
+public final class ParseResult {
+
+    private final String token;
+    private final Paseto paseto;
+    private final RuntimeException exception;
+
+    private ParseResult(String token, Paseto paseto, RuntimeException exception) {
+        this.token = token;
+        this.paseto = paseto;
+        this.exception = exception;
+    }
+
+    /**
+     * Creates a result for a successfully parsed token.
+     *
+     * @param token the token that was parsed.
+     * @param paseto the parsed token.
+     * @return a successful result.
+     */
+    public static ParseResult success(String token, Paseto paseto) {
+        Assert.notNull(paseto, "paseto cannot be null");
+        return new ParseResult(token, paseto, null);
+    }
+
+    /**
+     * Creates a result for a rejected token.
+     *
+     * @param token the token that was parsed.
+     * @param exception the reason the token was rejected.
+     * @return a failed result.
+     */
+    public static ParseResult failure(String token, RuntimeException exception) {
+        Assert.notNull(exception, "exception cannot be null");
+        return new ParseResult(token, null, exception);
+    }
+
+    /**
+     * Returns the token that was parsed.
+     * @return the token that was parsed.
+     */
+    public String getToken() {
+        return token;
+    }
+
+    /**
+     * Returns true if the token was successfully parsed and validated.
+     * @return true if the token was successfully parsed and validated.
+     */
+    public boolean isSuccess() {
+        return paseto != null;
+    }
+
+    /**
+     * Returns the parsed token, or {@code null} if the token was rejected.
+     * @return the parsed token, or {@code null} if the token was rejected.
+     */
+    public Paseto getPaseto() {
+        return paseto;
+    }
+
+    /**
+     * Returns the reason the token was rejected, or {@code null} if the token was successfully parsed.
+     * @return the reason the token was rejected, or {@code null} if the token was successfully parsed.
+     */
+    public RuntimeException getException() {
+        return exception;
+    }
+
+    /**
+     * Returns the parsed token, or throws the exception the token was rejected with.
+     * @return the parsed token.
+     */
+    public Paseto getOrThrow() {
+        if (exception != null) {
+            throw exception;
+        }
+        return paseto;
+    }
+
+    /**
+     * Parses {@code token} with {@code parser}, capturing any exception in the result.
+     *
+     * @param parser the parser to use.
+     * @param token the token to parse.
+     * @return the result of parsing {@code token}.
+     */
+    static ParseResult of(PasetoParser parser, String token) {
+        try {
+            return success(token, parser.parse(token));
+        } catch (RuntimeException e) {
+            return failure(token, e);
+        }
+    }
+}
@@ -29,5 +29,32 @@ public interface PasetoBuilder<T extends PasetoBuilder> extends ClaimsMutator<T>
 
     T setSerializer(Serializer<Map<String, Object>> serializer);
 
+    /**
+     * Sets a listener for the time spent in each stage of creating a token, the listener is also used by the
+     * {@link #issuer() issuer} created from this builder. Builders that do not report metrics ignore the listener (the
+     * default).
+     *
+     * @param metrics the listener, or {@code null} to only record JDK Flight Recorder events.
+     * @return this builder for method chaining.
+     * @since 0.7.0
+     */
+    default T setMetrics(PasetoMetrics metrics) {
+        return (T) this;
+    }
+
     String compact();
+
+    /**
+     * Creates an immutable {@link PasetoIssuer} from the current state of this builder. The key, serializer and
+     * crypto provider are resolved once, and any claims and footer set on this builder become the defaults for each
+     * token created by the issuer.
+     *
+     * @return a reusable and thread-safe PasetoIssuer.
+     * @throws UnsupportedOperationException if this builder cannot create an issuer (the default), the state of an
+     *                                       arbitrary builder cannot be copied into an immutable issuer.
+     * @since 0.7.0
+     */
+    default PasetoIssuer issuer() {
+        throw new UnsupportedOperationException("This builder does not support issuer().");
+    }
 }
@@ -0,0 +1,67 @@
+/*
+ * Copyright 2019-Present paseto.dev
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package dev.paseto.jpaseto;
+
+import java.util.Map;
+
+/**
+ * An immutable and thread-safe factory for creating paseto tokens that share the same key, serializer, crypto
+ * provider and default claims. Unlike a {@link PasetoBuilder}, an issuer is configured once and can be reused to
+ * create many tokens, without any additional service lookups.
+ * <p>
+ * Typical usage:
+ * <pre>{@code
+ * PasetoIssuer issuer = Pasetos.V2.LOCAL.builder()
+ *   .setSharedSecret(key)
+ *   .setIssuer("https://example.com/issuer")
+ *   .issuer();
+ *
+ * String token = issuer.builder()
+ *   .setSubject("jsmith")
+ *   .compact();
+ * }</pre>
+ *
+ * @see PasetoBuilder#issuer()
+ * @since 0.7.0
+ */
+public interface PasetoIssuer {
+
+    /**
+     * Returns a new builder for a single token, the builder starts with the default claims and footer of this issuer.
+     * The returned builder is NOT thread-safe and should not be shared.
+     *
+     * @return a new builder for a single token.
+     */
+    TokenBuilder builder();
+
+    /**
+     * Creates a token from the default claims of this issuer combined with the {@code claims}. Values in
+     * {@code claims} take precedence over the default claims.
+     *
+     * @param claims the claims to add to the token.
+     * @return the compact token string.
+     */
+    String compact(Map<String, Object> claims);
+
+    /**
+     * A lightweight builder for a single token created by a {@link PasetoIssuer}.
+     * @since 0.7.0
+     */
+    interface TokenBuilder extends ClaimsMutator<TokenBuilder> {
+
+        String compact();
+    }
+}
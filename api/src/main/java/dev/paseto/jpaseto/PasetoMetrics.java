@@ -0,0 +1,104 @@
+/*
+ * Copyright 2019-Present paseto.dev
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package dev.paseto.jpaseto;
+
+/**
+ * Listener for the time spent in each stage of parsing and creating tokens, and for the reasons tokens are rejected,
+ * for example to feed per-stage latency histograms and failure counters of a metrics library:
+ *
+ * <pre>
+ * PasetoParser parser = Pasetos.parserBuilder()
+ *     .setPublicKey(publicKey)
+ *     .setMetrics(new PasetoMetrics() {
+ *         &#64;Override
+ *         public void stageCompleted(Stage stage, Version version, Purpose purpose, long nanos) {
+ *             registry.timer("paseto." + stage, "version", version.toString(), "purpose", purpose.toString())
+ *                 .record(nanos, TimeUnit.NANOSECONDS);
+ *         }
+ *
+ *         &#64;Override
+ *         public void failed(Stage stage, Version version, Purpose purpose, RuntimeException exception) {
+ *             registry.counter("paseto.failures", "exception", exception.getClass().getSimpleName()).increment();
+ *         }})
+ *     .build();
+ * </pre>
+ *
+ * Methods are called on the parsing (or issuing) thread, and must be thread-safe and fast. When no
+ * {@code PasetoMetrics} is configured, or {@link #isEnabled()} returns false, stages are not timed at all.
+ * <p>
+ * Independently of this listener, the same stages and failures are recorded as JDK Flight Recorder events
+ * ({@code dev.paseto.jpaseto.Stage} and {@code dev.paseto.jpaseto.Failure}) on Java 11+, when a recording enables them.
+ *
+ * @see PasetoParserBuilder#setMetrics(PasetoMetrics)
+ * @see PasetoBuilder#setMetrics(PasetoMetrics)
+ * @since 0.7.0
+ */
+public interface PasetoMetrics {
+
+    /**
+     * The stages of parsing ({@code BASE64_DECODE} to {@code CLAIM_VALIDATION}) and creating
+     * ({@code SERIALIZATION} and {@code SIGN_OR_ENCRYPT}) a token, in order.
+     */
+    enum Stage {
+        /** Splitting the token, checking its structure and size, and decoding its base64url payload and footer. */
+        BASE64_DECODE,
+        /** Deserializing the footer. */
+        FOOTER_PARSE,
+        /** Resolving the verification or decryption key. */
+        KEY_RESOLUTION,
+        /** Verifying the signature of a public token, or authenticating and decrypting a local token. */
+        VERIFY_OR_DECRYPT,
+        /** Deserializing the claims. */
+        DESERIALIZATION,
+        /** Validating the expiration, not before and required claims. A cached token only has this stage. */
+        CLAIM_VALIDATION,
+        /** Serializing the claims and footer of a new token. */
+        SERIALIZATION,
+        /** Generating the nonce, signing or encrypting, and base64url encoding a new token. */
+        SIGN_OR_ENCRYPT
+    }
+
+    /**
+     * Returns true if stages should be timed, checked once for each token.
+     *
+     * @return true if stages should be timed, defaults to true.
+     */
+    default boolean isEnabled() {
+        return true;
+    }
+
+    /**
+     * Called when a stage completes.
+     *
+     * @param stage the completed stage.
+     * @param version the token version, {@code null} if the token header could not be parsed.
+     * @param purpose the token purpose, {@code null} if the token header could not be parsed.
+     * @param nanos the time spent in the stage, in nanoseconds.
+     */
+    default void stageCompleted(Stage stage, Version version, Purpose purpose, long nanos) {}
+
+    /**
+     * Called when a token is rejected or cannot be created, for example with an {@link ExpiredPasetoException},
+     * {@link PasetoSignatureException} or {@link InvalidMacException}. The exception is thrown to the caller after
+     * this method returns.
+     *
+     * @param stage the stage that failed, {@code null} if the failure occurred before the first stage.
+     * @param version the token version, {@code null} if the token header could not be parsed.
+     * @param purpose the token purpose, {@code null} if the token header could not be parsed.
+     * @param exception the exception thrown to the caller.
+     */
+    default void failed(Stage stage, Version version, Purpose purpose, RuntimeException exception) {}
+}
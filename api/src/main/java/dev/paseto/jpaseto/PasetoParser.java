@@ -15,6 +15,16 @@
  */
 package dev.paseto.jpaseto;
 
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Executor;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
 /**
  * A parser for parsing and validating paseto tokens.
  * @see PasetoParserBuilder
@@ -23,4 +33,143 @@ package dev.paseto.jpaseto;
 public interface PasetoParser {
 
     Paseto parse(String token);
+
+    /**
+     * Parses a token without blocking the calling thread on key resolution or cryptography.
+     * <p>
+     * The token's header and footer are read on the calling thread, and the key is requested from the parser's
+     * {@link AsyncKeyResolver}. Once the key is available the signature is verified (or the token decrypted) and the
+     * claims are validated on the parser's executor, see {@link PasetoParserBuilder#setExecutor(Executor)}. Without
+     * an {@code AsyncKeyResolver} the whole parse, including a (possibly blocking) {@link KeyResolver}, runs on the
+     * executor.
+     * <p>
+     * The returned stage completes exceptionally with the same exceptions {@link #parse(String)} throws, these may be
+     * wrapped in a {@link java.util.concurrent.CompletionException}.
+     *
+     * @param token the token to parse.
+     * @return a stage that completes with the parsed and validated token.
+     * @since 0.7.0
+     */
+    default CompletionStage<Paseto> parseAsync(String token) {
+        return CompletableFuture.supplyAsync(() -> parse(token));
+    }
+
+    /**
+     * Parses the token between {@code start} (inclusive) and {@code end} (exclusive) of {@code token}, for example a
+     * token embedded in an {@code Authorization} header, without creating a substring.
+     *
+     * @param token the character sequence containing the token.
+     * @param start the index of the first character of the token.
+     * @param end the index after the last character of the token.
+     * @return the parsed and validated token.
+     * @since 0.7.0
+     */
+    default Paseto parse(CharSequence token, int start, int end) {
+        return parse(token.subSequence(start, end).toString());
+    }
+
+    /**
+     * Parses a token from its US-ASCII encoded bytes.
+     *
+     * @param token the US-ASCII encoded token.
+     * @return the parsed and validated token.
+     * @since 0.7.0
+     */
+    default Paseto parse(byte[] token) {
+        return parse(new String(token, StandardCharsets.US_ASCII));
+    }
+
+    /**
+     * Parses a token from the US-ASCII encoded bytes between the {@code position} and {@code limit} of the buffer,
+     * the buffer's position is not modified. Direct buffers are read in place.
+     *
+     * @param token the buffer containing the US-ASCII encoded token.
+     * @return the parsed and validated token.
+     * @since 0.7.0
+     */
+    default Paseto parse(ByteBuffer token) {
+        byte[] bytes = new byte[token.remaining()];
+        token.duplicate().get(bytes);
+        return parse(bytes);
+    }
+
+    /**
+     * Reads the version, purpose and footer of a token without resolving a key, verifying or decrypting it. The
+     * payload is never decoded, the footer is decoded only when {@link UnverifiedPaseto#getFooter()} is called.
+     * <p>
+     * The token's length and footer size are checked against the parser's limits, and a
+     * {@link MalformedPasetoException} is thrown if the header or footer are malformed. The returned values are
+     * <b>not</b> verified, use {@link #parse(String)} before trusting anything in the token.
+     * <p>
+     * This is an optional operation, parsers that do not implement it throw an
+     * {@link UnsupportedOperationException} (the default).
+     *
+     * @param token the token to read.
+     * @return the unverified version, purpose and footer of the token.
+     * @throws UnsupportedOperationException if this parser does not support {@code peek}.
+     * @since 0.7.0
+     */
+    default UnverifiedPaseto peek(String token) {
+        throw new UnsupportedOperationException("This parser does not support peek(String).");
+    }
+
+    /**
+     * Parses and validates a batch of tokens in the calling thread. Each token gets its own result, a rejected token
+     * does not stop the batch. Keys resolved by the parser's {@link KeyResolver} may be reused across the tokens of
+     * the batch.
+     *
+     * @param tokens the tokens to parse.
+     * @return one result per token, in the same order as {@code tokens}.
+     * @since 0.7.0
+     */
+    default List<ParseResult> parseAll(List<String> tokens) {
+        List<ParseResult> results = new ArrayList<>(tokens.size());
+        for (String token : tokens) {
+            results.add(ParseResult.of(this, token));
+        }
+        return results;
+    }
+
+    /**
+     * Parses and validates a batch of tokens, spreading the work over {@code executor} (for example a
+     * {@link java.util.concurrent.ForkJoinPool}). Each token gets its own result, a rejected token does not stop the
+     * batch. This method blocks until all tokens have been parsed.
+     *
+     * @param tokens the tokens to parse.
+     * @param executor the executor used to parse the tokens.
+     * @return one result per token, in the same order as {@code tokens}.
+     * @since 0.7.0
+     */
+    default List<ParseResult> parseAll(List<String> tokens, Executor executor) {
+        List<CompletableFuture<ParseResult>> futures = new ArrayList<>(tokens.size());
+        for (String token : tokens) {
+            futures.add(CompletableFuture.supplyAsync(() -> ParseResult.of(this, token), executor));
+        }
+        return futures.stream()
+                .map(CompletableFuture::join)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Lazily parses and validates a stream of tokens, for batches too large to hold in memory. Each token gets its
+     * own result, a rejected token does not stop the stream. The returned stream is parallel if {@code tokens} is.
+     *
+     * @param tokens the tokens to parse.
+     * @return a stream of results, one per token.
+     * @since 0.7.0
+     */
+    default Stream<ParseResult> parseAll(Stream<String> tokens) {
+        return tokens.map(token -> ParseResult.of(this, token));
+    }
+
+    /**
+     * Returns the statistics of this parser's verified token cache, or {@code null} if caching is not enabled.
+     *
+     * @return the cache statistics, or {@code null} if caching is not enabled.
+     * @see PasetoParserBuilder#setCacheMaximumSize(int)
+     * @since 0.7.0
+     */
+    default CacheStats getCacheStats() {
+        return null;
+    }
 }
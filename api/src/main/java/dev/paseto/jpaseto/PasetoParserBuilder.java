@@ -25,6 +25,7 @@ import java.time.Clock;
 import java.time.Duration;
 import java.time.Instant;
 import java.util.Map;
+import java.util.concurrent.Executor;
 import java.util.function.Predicate;
 
 /**
@@ -77,6 +78,45 @@ public interface PasetoParserBuilder {
      */
     PasetoParserBuilder setKeyResolver(KeyResolver keyResolver);
 
+    /**
+     * Sets the {@link AsyncKeyResolver} used to fetch keys without blocking, see {@link PasetoParser#parseAsync(String)}.
+     * This cannot be combined with a {@link KeyResolver}, public key or shared secret.
+     *
+     * @param asyncKeyResolver the resolver used to fetch the verification or decryption key.
+     * @return the parser builder for method chaining.
+     * @throws UnsupportedOperationException if this builder does not support asynchronous key resolution (the default).
+     * @since 0.7.0
+     */
+    default PasetoParserBuilder setAsyncKeyResolver(AsyncKeyResolver asyncKeyResolver) {
+        throw new UnsupportedOperationException(
+            "This parser builder does not support setAsyncKeyResolver(AsyncKeyResolver).");
+    }
+
+    /**
+     * Sets the executor {@link PasetoParser#parseAsync(String)} runs the signature verification or decryption,
+     * deserialization and claim validation on. Defaults to {@link java.util.concurrent.ForkJoinPool#commonPool()}.
+     *
+     * @param executor the executor used for the CPU bound part of asynchronous parsing.
+     * @return the parser builder for method chaining.
+     * @throws UnsupportedOperationException if this builder does not support a custom executor (the default).
+     * @since 0.7.0
+     */
+    default PasetoParserBuilder setExecutor(Executor executor) {
+        throw new UnsupportedOperationException("This parser builder does not support setExecutor(Executor).");
+    }
+
+    /**
+     * Sets a listener for the time spent in each stage of parsing a token, and for rejected tokens. Builders that do
+     * not report metrics ignore the listener (the default).
+     *
+     * @param metrics the listener, or {@code null} to only record JDK Flight Recorder events.
+     * @return the parser builder for method chaining.
+     * @since 0.7.0
+     */
+    default PasetoParserBuilder setMetrics(PasetoMetrics metrics) {
+        return this;
+    }
+
     PasetoParserBuilder setPublicKey(PublicKey publicKey);
 
     default PasetoParserBuilder setSharedSecret(byte[] sharedSecret) {
@@ -88,6 +128,132 @@ public interface PasetoParserBuilder {
 
     PasetoParserBuilder setDeserializer(Deserializer<Map<String, Object>> deserializer);
 
+    /**
+     * Enables a cache of verified tokens, holding at most {@code maximumSize} tokens (least recently used tokens are
+     * evicted first). Parsing a cached token skips the decoding, signature verification or decryption, and
+     * deserialization steps. The expiration, not-before and any required claims are still validated against the
+     * parser's {@link Clock} for every parse. Cached tokens are evicted at their {@code exp} time, tokens without an
+     * {@code exp} claim are never cached.
+     * <p>
+     * Claims of a parsed {@link Paseto} are shared between callers when caching is enabled, and cannot be modified.
+     * A cached token remains valid until it expires or is evicted, even if its key is no longer returned by the
+     * {@link KeyResolver}.
+     * <p>
+     * Caching is disabled by default (a {@code maximumSize} of {@code 0}). Builders that do not support caching ignore
+     * this setting (the default), every token is then fully parsed.
+     *
+     * @param maximumSize the maximum number of tokens to cache, or {@code 0} to disable caching.
+     * @return the parser builder for method chaining.
+     * @see PasetoParser#getCacheStats()
+     * @since 0.7.0
+     */
+    default PasetoParserBuilder setCacheMaximumSize(int maximumSize) {
+        return this;
+    }
+
+    /**
+     * Defers deserializing the claims of a verified token until they are accessed. Only the {@code exp} and
+     * {@code nbf} claims and any claims required by this builder's {@code require*} methods are deserialized while
+     * parsing, the rest of the payload is deserialized the first time any other claim is read. This saves time and
+     * memory when tokens carry large claims that are rarely read.
+     * <p>
+     * When enabled, a malformed claim that is not read while parsing causes the {@link Deserializer} exception to be
+     * thrown when the claims are first accessed, instead of by {@link PasetoParser#parse(String)}.
+     * <p>
+     * Lazy claims are disabled by default. Builders that do not support lazy claims ignore this setting (the default),
+     * and deserialize all claims while parsing.
+     *
+     * @param lazyClaims true to defer deserializing claims until they are accessed.
+     * @return the parser builder for method chaining.
+     * @since 0.7.0
+     */
+    default PasetoParserBuilder setLazyClaims(boolean lazyClaims) {
+        return this;
+    }
+
+    /**
+     * Sets the maximum length of a token, in characters. Longer tokens are rejected with a
+     * {@link MalformedPasetoException} before they are decoded, cached or their key is resolved.
+     * <p>
+     * Defaults to {@code 65536} characters.
+     *
+     * @param maximumTokenLength the maximum length of a token, in characters.
+     * @return the parser builder for method chaining.
+     * @throws UnsupportedOperationException if this builder does not support size limits (the default).
+     * @since 0.7.0
+     */
+    default PasetoParserBuilder setMaximumTokenLength(int maximumTokenLength) {
+        throw new UnsupportedOperationException("This parser builder does not support setMaximumTokenLength(int).");
+    }
+
+    /**
+     * Sets the maximum size of the decoded payload of a token (the signed message and signature, or the nonce,
+     * ciphertext and authentication tag), in bytes. Tokens with a larger payload are rejected with a
+     * {@link MalformedPasetoException} before they are decoded.
+     * <p>
+     * By default, the payload is only limited by {@link #setMaximumTokenLength(int)}.
+     *
+     * @param maximumPayloadSize the maximum size of the decoded payload, in bytes.
+     * @return the parser builder for method chaining.
+     * @throws UnsupportedOperationException if this builder does not support size limits (the default).
+     * @since 0.7.0
+     */
+    default PasetoParserBuilder setMaximumPayloadSize(int maximumPayloadSize) {
+        throw new UnsupportedOperationException("This parser builder does not support setMaximumPayloadSize(int).");
+    }
+
+    /**
+     * Sets the maximum size of the decoded footer of a token, in bytes. Tokens with a larger footer are rejected with
+     * a {@link MalformedPasetoException} before they are decoded.
+     * <p>
+     * By default, the footer is only limited by {@link #setMaximumTokenLength(int)}.
+     *
+     * @param maximumFooterSize the maximum size of the decoded footer, in bytes.
+     * @return the parser builder for method chaining.
+     * @throws UnsupportedOperationException if this builder does not support size limits (the default).
+     * @since 0.7.0
+     */
+    default PasetoParserBuilder setMaximumFooterSize(int maximumFooterSize) {
+        throw new UnsupportedOperationException("This parser builder does not support setMaximumFooterSize(int).");
+    }
+
+    /**
+     * Rejects tokens whose token ID ({@code jti} claim) was already accepted, using {@code replayGuard} to record the
+     * IDs of accepted tokens. When a replay guard is configured, tokens must have both a {@code jti} and an
+     * {@code exp} claim, or they are rejected with a {@link MissingClaimException}. A replayed token is rejected
+     * with a {@link ReplayedPasetoException}.
+     * <p>
+     * Cannot be combined with {@link #setReplayGuardMaximumSize(int)}.
+     *
+     * @param replayGuard the guard recording the IDs of accepted tokens.
+     * @return the parser builder for method chaining.
+     * @throws UnsupportedOperationException if this builder does not support replay guards (the default), rather than
+     *                                       building a parser that silently accepts replayed tokens.
+     * @since 0.7.0
+     */
+    default PasetoParserBuilder setReplayGuard(ReplayGuard replayGuard) {
+        throw new UnsupportedOperationException("This parser builder does not support setReplayGuard(ReplayGuard).");
+    }
+
+    /**
+     * Enables the built-in in-memory {@link ReplayGuard}, holding the IDs of at most {@code maximumSize} unexpired
+     * tokens. IDs are grouped in buckets by the expiration of their token, and a whole bucket is dropped once all of
+     * its tokens have expired. When the guard is full, further tokens are rejected until some of the recorded tokens
+     * expire, rather than forgetting unexpired IDs.
+     * <p>
+     * The in-memory guard only protects tokens parsed by this parser, use
+     * {@link #setReplayGuard(ReplayGuard)} with a shared store to protect tokens across application instances.
+     *
+     * @param maximumSize the maximum number of token IDs to hold, or {@code 0} to disable the in-memory guard.
+     * @return the parser builder for method chaining.
+     * @throws UnsupportedOperationException if this builder does not support replay guards (the default).
+     * @see #setReplayGuard(ReplayGuard)
+     * @since 0.7.0
+     */
+    default PasetoParserBuilder setReplayGuardMaximumSize(int maximumSize) {
+        throw new UnsupportedOperationException("This parser builder does not support setReplayGuardMaximumSize(int).");
+    }
+
     PasetoParser build();
 
     /**
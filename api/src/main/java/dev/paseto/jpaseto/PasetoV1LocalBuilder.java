@@ -16,6 +16,7 @@
 package dev.paseto.jpaseto;
 
 import javax.crypto.SecretKey;
+import java.security.SecureRandom;
 
 /**
  * A builder for constructing Paseto v1.local tokens.
@@ -23,4 +24,18 @@ import javax.crypto.SecretKey;
  */
 public interface PasetoV1LocalBuilder extends PasetoBuilder<PasetoV1LocalBuilder> {
     PasetoV1LocalBuilder setSharedSecret(SecretKey sharedSecret);
+
+    /**
+     * Sets the {@link SecureRandom} used to generate the random nonce of each token. The {@code secureRandom} is
+     * shared by any {@link PasetoIssuer} created from this builder, so it must be thread-safe. When not set (or
+     * {@code null}) a non-blocking per-thread default is used.
+     *
+     * @param secureRandom the SecureRandom used to generate nonces, or {@code null} to use the default.
+     * @return the builder for method chaining.
+     * @throws UnsupportedOperationException if this builder does not support a custom SecureRandom (the default).
+     * @since 0.7.0
+     */
+    default PasetoV1LocalBuilder setSecureRandom(SecureRandom secureRandom) {
+        throw new UnsupportedOperationException("This builder does not support setSecureRandom(SecureRandom).");
+    }
 }
\ No newline at end of file
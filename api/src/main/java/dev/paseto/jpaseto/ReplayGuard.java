@@ -0,0 +1,45 @@
+/*
+ * Copyright 2019-Present paseto.dev
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package dev.paseto.jpaseto;
+
+import java.time.Instant;
+
+/**
+ * Records the token IDs ({@code jti} claims) of parsed tokens so that each token can only be used once, for example
+ * password reset or email confirmation tokens. Configure one with
+ * {@link PasetoParserBuilder#setReplayGuard(ReplayGuard)}, or use the built-in in-memory guard with
+ * {@link PasetoParserBuilder#setReplayGuardMaximumSize(int)}.
+ * <p>
+ * A parser calls this guard after a token has been verified and all of its claims validated. Implementations backed
+ * by a shared store (a database or cache) protect tokens across several parsers or application instances, and can
+ * use {@code expiration} as the time-to-live of the entry. Implementations must be thread-safe.
+ *
+ * @see ReplayedPasetoException
+ * @since 0.7.0
+ */
+public interface ReplayGuard {
+
+    /**
+     * Atomically records {@code tokenId} as used, unless it has already been recorded.
+     *
+     * @param tokenId the {@code jti} claim of the token.
+     * @param expiration the instant after which the parser rejects the token as expired (its {@code exp} claim plus the
+     *                   parser's allowed clock skew). The token ID must be remembered at least until then.
+     * @param now the current time of the parser's clock.
+     * @return true if this is the first use of {@code tokenId}, false if it was already recorded (a replay).
+     */
+    boolean markUsed(String tokenId, Instant expiration, Instant now);
+}
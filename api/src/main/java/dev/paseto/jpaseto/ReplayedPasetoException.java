@@ -0,0 +1,39 @@
+/*
+ * Copyright 2019-Present paseto.dev
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package dev.paseto.jpaseto;
+
+/**
+ * Exception indicating that a Paseto with the same token ID ({@code jti} claim) was already accepted, and this
+ * token must be rejected.
+ *
+ * @see ReplayGuard
+ * @since 0.7.0
+ */
+public class ReplayedPasetoException extends ClaimPasetoException {
+
+    public ReplayedPasetoException(Paseto paseto, String message) {
+        super(paseto, message);
+    }
+
+    /**
+     * @param paseto token
+     * @param message exception message
+     * @param cause cause
+     */
+    public ReplayedPasetoException(Paseto paseto, String message, Throwable cause) {
+        super(paseto, message, cause);
+    }
+}
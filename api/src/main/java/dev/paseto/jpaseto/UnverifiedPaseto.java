@@ -0,0 +1,40 @@
+/*
+ * Copyright 2019-Present paseto.dev
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package dev.paseto.jpaseto;
+
+/**
+ * The version, purpose and footer of a token, read without verifying or decrypting it, see
+ * {@link PasetoParser#peek(String)}. Useful for routing a token, for example by its footer {@code kid}, to the
+ * service that owns its key.
+ * <p>
+ * <b>Nothing here is verified.</b> Anyone can create a token with any footer, the token must still be parsed with
+ * {@link PasetoParser#parse(String)} before any of it is trusted.
+ *
+ * @since 0.7.0
+ */
+public interface UnverifiedPaseto {
+
+    Version getVersion();
+
+    Purpose getPurpose();
+
+    /**
+     * Returns the footer of the token, decoded and deserialized the first time this method is called.
+     *
+     * @return the unverified footer, empty if the token has no footer.
+     */
+    FooterClaims getFooter();
+}
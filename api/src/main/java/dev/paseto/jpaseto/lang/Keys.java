@@ -20,10 +20,15 @@ import dev.paseto.jpaseto.Version;
 
 import javax.crypto.SecretKey;
 import javax.crypto.spec.SecretKeySpec;
+import java.security.KeyFactory;
 import java.security.KeyPair;
 import java.security.KeyPairGenerator;
 import java.security.NoSuchAlgorithmException;
+import java.security.PrivateKey;
+import java.security.PublicKey;
 import java.security.SecureRandom;
+import java.security.spec.InvalidKeySpecException;
+import java.security.spec.X509EncodedKeySpec;
 
 public final class Keys {
 
@@ -62,4 +67,59 @@ public final class Keys {
         }
         throw new PasetoKeyException("Failed to generate keypair, version is not supported: "+ version);
     }
-}
\ No newline at end of file
+
+    /**
+     * Decodes an X.509 encoded public key, an RSA key for {@link Version#V1} or an Ed25519 key for {@link Version#V2}.
+     *
+     * @param version the version of the tokens the key is used with.
+     * @param x509EncodedKey the X.509 encoded key.
+     * @return the decoded public key.
+     * @throws PasetoKeyException if the key cannot be decoded.
+     * @since 0.7.0
+     */
+    public static PublicKey publicKey(Version version, byte[] x509EncodedKey) {
+        Assert.notNull(version, "version cannot be null");
+        Assert.notNull(x509EncodedKey, "x509EncodedKey cannot be null");
+
+        String algorithm = Version.V1 == version ? "RSA" : "Ed25519";
+        try {
+            return KeyFactory.getInstance(algorithm).generatePublic(new X509EncodedKeySpec(x509EncodedKey));
+        } catch (NoSuchAlgorithmException | InvalidKeySpecException e) {
+            throw new PasetoKeyException("Failed to load " + algorithm + " key.", e);
+        }
+    }
+
+    /**
+     * Prepares {@code publicKey} for verifying many {@code version}.public tokens, see {@link PreparedPublicKey}.
+     * Returns {@code publicKey} itself if it is already prepared for {@code version}.
+     *
+     * @param version the version of the tokens the key verifies.
+     * @param publicKey the RSA ({@link Version#V1}) or Ed25519 ({@link Version#V2}) public key.
+     * @return the prepared key.
+     * @since 0.7.0
+     */
+    public static PreparedPublicKey prepare(Version version, PublicKey publicKey) {
+        if (publicKey instanceof PreparedPublicKey) {
+            PreparedPublicKey prepared = (PreparedPublicKey) publicKey;
+            return prepared.getVersion() == version ? prepared : new PreparedPublicKey(version, prepared.getPublicKey());
+        }
+        return new PreparedPublicKey(version, publicKey);
+    }
+
+    /**
+     * Prepares {@code privateKey} for signing many {@code version}.public tokens, see {@link PreparedPrivateKey}.
+     * Returns {@code privateKey} itself if it is already prepared for {@code version}.
+     *
+     * @param version the version of the tokens the key signs.
+     * @param privateKey the RSA ({@link Version#V1}) or Ed25519 ({@link Version#V2}) private key.
+     * @return the prepared key.
+     * @since 0.7.0
+     */
+    public static PreparedPrivateKey prepare(Version version, PrivateKey privateKey) {
+        if (privateKey instanceof PreparedPrivateKey) {
+            PreparedPrivateKey prepared = (PreparedPrivateKey) privateKey;
+            return prepared.getVersion() == version ? prepared : new PreparedPrivateKey(version, prepared.getPrivateKey());
+        }
+        return new PreparedPrivateKey(version, privateKey);
+    }
+}
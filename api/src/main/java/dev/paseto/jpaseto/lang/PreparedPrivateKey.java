@@ -0,0 +1,125 @@
+/*
+ * Copyright 2019-Present paseto.dev
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package dev.paseto.jpaseto.lang;
+
+import dev.paseto.jpaseto.Version;
+
+import java.security.InvalidKeyException;
+import java.security.PrivateKey;
+import java.security.Signature;
+import java.util.function.Supplier;
+
+/**
+ * A {@link PrivateKey} prepared for signing {@code public} tokens of one {@link Version}.
+ * <p>
+ * Initializing a {@link Signature} for signing sets up the key (e.g. hashing and expanding the Ed25519 seed), and a
+ * {@code Signature} returns to this initialized state after each {@code sign}. A prepared key keeps a small pool of
+ * initialized {@code Signature} instances shared by all threads, platform and virtual, so signing many tokens with a
+ * long-lived key sets it up once per concurrent use instead of once per token. Create instances with
+ * {@link Keys#prepare(Version, PrivateKey)} and use them anywhere a {@code PrivateKey} is accepted, e.g.
+ * {@code PasetoV2PublicBuilder.setPrivateKey(...)}.
+ * <p>
+ * Serializing a prepared key writes the underlying key.
+ *
+ * @since 0.7.0
+ */
+public final class PreparedPrivateKey implements PrivateKey {
+
+    private static final long serialVersionUID = 1L;
+
+    private final Version version;
+    private final PrivateKey privateKey;
+    private final transient SignaturePool signatures = new SignaturePool();
+
+    PreparedPrivateKey(Version version, PrivateKey privateKey) {
+        Assert.notNull(version, "version cannot be null");
+        Assert.notNull(privateKey, "privateKey cannot be null");
+        Assert.isTrue(!(privateKey instanceof PreparedPrivateKey), "privateKey is already prepared");
+        this.version = version;
+        this.privateKey = privateKey;
+    }
+
+    /**
+     * Returns the version of the tokens this key signs.
+     *
+     * @return the version of the tokens this key signs.
+     */
+    public Version getVersion() {
+        return version;
+    }
+
+    /**
+     * Returns the underlying private key.
+     *
+     * @return the underlying private key.
+     */
+    public PrivateKey getPrivateKey() {
+        return privateKey;
+    }
+
+    /**
+     * Returns a {@link Signature} initialized for signing with this key, taking one from the key's pool or creating
+     * one with {@code factory}. This is intended for crypto providers: the returned instance is only used by the
+     * caller until it is returned with {@link #releaseSignature(Signature)}. An instance left in an unknown state (e.g.
+     * after a {@code SignatureException}) must not be released.
+     *
+     * @param version the version of the token being signed.
+     * @param factory creates an uninitialized {@code Signature} for {@code version}.
+     * @return an initialized {@code Signature}.
+     * @throws InvalidKeyException if {@code version} is not the version this key was prepared for, or the key is
+     *         rejected by the {@code Signature}.
+     */
+    public Signature acquireSignature(Version version, Supplier<Signature> factory) throws InvalidKeyException {
+        if (this.version != version) {
+            throw new InvalidKeyException("Key was prepared for " + this.version + " tokens, not " + version);
+        }
+        Signature result = signatures.poll();
+        if (result == null) {
+            result = factory.get();
+            result.initSign(privateKey);
+        }
+        return result;
+    }
+
+    /**
+     * Returns a {@link Signature} returned by {@link #acquireSignature(Version, Supplier)} to the key's pool, once
+     * it has completed a {@code sign} and is back in its initialized state.
+     *
+     * @param signature the instance to reuse, may be {@code null}.
+     */
+    public void releaseSignature(Signature signature) {
+        signatures.offer(signature);
+    }
+
+    @Override
+    public String getAlgorithm() {
+        return privateKey.getAlgorithm();
+    }
+
+    @Override
+    public String getFormat() {
+        return privateKey.getFormat();
+    }
+
+    @Override
+    public byte[] getEncoded() {
+        return privateKey.getEncoded();
+    }
+
+    private Object writeReplace() {
+        return privateKey;
+    }
+}
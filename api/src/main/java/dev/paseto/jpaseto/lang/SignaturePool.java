@@ -0,0 +1,56 @@
+/*
+ * Copyright 2019-Present paseto.dev
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package dev.paseto.jpaseto.lang;
+
+import java.security.Signature;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * The initialized {@link Signature} instances of a prepared key. The instances are not tied to a thread, so virtual
+ * threads reuse them just like platform threads do. The pool is lock-free and bounded, instances are only created when
+ * more threads use the key at the same time than there are pooled instances.
+ */
+final class SignaturePool {
+
+    // signing and verifying never block, so the number of instances in use is bounded by the number of processors
+    private static final int MAXIMUM_POOLED = Math.max(16, 4 * Runtime.getRuntime().availableProcessors());
+
+    private final Queue<Signature> pool = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger pooled = new AtomicInteger();
+
+    /**
+     * Returns an unused instance, or {@code null} if there is none.
+     */
+    Signature poll() {
+        Signature signature = pool.poll();
+        if (signature != null) {
+            pooled.decrementAndGet();
+        }
+        return signature;
+    }
+
+    void offer(Signature signature) {
+        if (signature != null) {
+            if (pooled.incrementAndGet() <= MAXIMUM_POOLED) {
+                pool.offer(signature);
+            } else {
+                pooled.decrementAndGet();
+            }
+        }
+    }
+}
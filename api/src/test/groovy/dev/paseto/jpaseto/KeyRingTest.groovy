@@ -0,0 +1,153 @@
+/*
+ * Copyright 2019-Present paseto.dev
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package dev.paseto.jpaseto
+
+import dev.paseto.jpaseto.lang.Keys
+import org.testng.annotations.Test
+
+import javax.crypto.SecretKey
+import java.security.KeyPair
+import java.security.KeyPairGenerator
+import java.util.concurrent.CountDownLatch
+import java.util.concurrent.atomic.AtomicBoolean
+
+import static dev.paseto.jpaseto.Util.expect
+import static org.hamcrest.MatcherAssert.assertThat
+import static org.hamcrest.Matchers.*
+import static org.mockito.Mockito.mock
+import static org.mockito.Mockito.when
+
+class KeyRingTest {
+
+    KeyRingTest() {
+        BouncyCastleInitializer.enableBouncyCastle()
+    }
+
+    @Test
+    void resolveByKeyIdTest() {
+        KeyPair v1KeyPair = KeyPairGenerator.getInstance("RSA").generateKeyPair()
+        KeyPair v2KeyPair = KeyPairGenerator.getInstance("Ed25519").generateKeyPair()
+        SecretKey sharedKey = Keys.secretKey()
+
+        KeyRing keyRing = new KeyRing()
+            .addPublicKey(Version.V1, "kid-1", v1KeyPair.getPublic())
+            .addPublicKey(Version.V2, "kid-1", v2KeyPair.getPublic())
+            .addSharedKey(Version.V2, "kid-1", sharedKey)
+
+        assertThat keyRing.size(), is(3)
+        assertThat keyRing.resolvePublicKey(Version.V1, Purpose.PUBLIC, footer("kid-1")), is(v1KeyPair.getPublic())
+        assertThat keyRing.resolvePublicKey(Version.V2, Purpose.PUBLIC, footer("kid-1")), is(v2KeyPair.getPublic())
+        assertThat keyRing.resolveSharedKey(Version.V2, Purpose.LOCAL, footer("kid-1")), is(sharedKey)
+
+        expect PasetoKeyException, { keyRing.resolveSharedKey(Version.V1, Purpose.LOCAL, footer("kid-1")) }
+        expect PasetoKeyException, { keyRing.resolvePublicKey(Version.V2, Purpose.PUBLIC, footer("kid-2")) }
+        expect PasetoKeyException, { keyRing.resolvePublicKey(Version.V2, Purpose.PUBLIC, footer(null)) }
+        expect PasetoKeyException, { keyRing.resolvePublicKey(Version.V2, Purpose.PUBLIC, null) }
+        expect IllegalArgumentException, { keyRing.resolvePublicKey(Version.V2, Purpose.LOCAL, footer("kid-1")) }
+        expect IllegalArgumentException, { keyRing.resolveSharedKey(Version.V2, Purpose.PUBLIC, footer("kid-1")) }
+    }
+
+    @Test
+    void encodedPublicKeyTest() {
+        KeyPair v1KeyPair = KeyPairGenerator.getInstance("RSA").generateKeyPair()
+        KeyPair v2KeyPair = KeyPairGenerator.getInstance("Ed25519").generateKeyPair()
+
+        KeyRing keyRing = new KeyRing()
+            .addPublicKey(Version.V1, "kid-1", v1KeyPair.getPublic().getEncoded())
+            .addPublicKey(Version.V2, "kid-1", v2KeyPair.getPublic().getEncoded())
+
+        assertThat keyRing.resolvePublicKey(Version.V1, Purpose.PUBLIC, footer("kid-1")), is(v1KeyPair.getPublic())
+        assertThat keyRing.resolvePublicKey(Version.V2, Purpose.PUBLIC, footer("kid-1")), is(v2KeyPair.getPublic())
+
+        // the key is decoded once, the same instance is returned for every token
+        assertThat keyRing.resolvePublicKey(Version.V2, Purpose.PUBLIC, footer("kid-1")),
+            sameInstance(keyRing.resolvePublicKey(Version.V2, Purpose.PUBLIC, footer("kid-1")))
+
+        expect PasetoKeyException, { keyRing.addPublicKey(Version.V1, "kid-2", new byte[0]) }
+        assertThat keyRing.size(), is(2)
+    }
+
+    @Test
+    void updateTest() {
+        SecretKey oldKey = Keys.secretKey()
+        SecretKey newKey = Keys.secretKey()
+        KeyRing keyRing = new KeyRing().addSharedKey(Version.V2, "old", oldKey)
+
+        keyRing.update { it
+            .addSharedKey(Version.V2, "new", newKey)
+            .remove(Version.V2, Purpose.LOCAL, "old")
+        }
+        assertThat keyRing.size(), is(1)
+        assertThat keyRing.resolveSharedKey(Version.V2, Purpose.LOCAL, footer("new")), is(newKey)
+        expect PasetoKeyException, { keyRing.resolveSharedKey(Version.V2, Purpose.LOCAL, footer("old")) }
+
+        // a failed update is not applied
+        expect IllegalStateException, {
+            keyRing.update {
+                it.clear()
+                throw new IllegalStateException("expected")
+            }
+        }
+        assertThat keyRing.resolveSharedKey(Version.V2, Purpose.LOCAL, footer("new")), is(newKey)
+
+        keyRing.update { it.clear() }
+        assertThat keyRing.size(), is(0)
+    }
+
+    @Test
+    void concurrentUpdateTest() {
+        KeyRing keyRing = new KeyRing()
+            .addSharedKey(Version.V2, "a", Keys.secretKey())
+            .addSharedKey(Version.V2, "b", Keys.secretKey())
+        FooterClaims footerA = footer("a")
+        FooterClaims footerB = footer("b")
+
+        AtomicBoolean done = new AtomicBoolean()
+        AtomicBoolean failed = new AtomicBoolean()
+        CountDownLatch started = new CountDownLatch(1)
+        Thread reader = Thread.start {
+            started.countDown()
+            while (!done.get()) {
+                // "a" and "b" are always rotated together
+                try {
+                    keyRing.resolveSharedKey(Version.V2, Purpose.LOCAL, footerA)
+                    keyRing.resolveSharedKey(Version.V2, Purpose.LOCAL, footerB)
+                } catch (PasetoKeyException e) {
+                    failed.set(true)
+                }
+            }
+        }
+
+        started.await()
+        1000.times { i ->
+            keyRing.update { keys -> keys
+                .addSharedKey(Version.V2, "a", Keys.secretKey("a-${i}".bytes))
+                .addSharedKey(Version.V2, "b", Keys.secretKey("b-${i}".bytes))
+            }
+        }
+        done.set(true)
+        reader.join()
+
+        assertThat failed.get(), is(false)
+        assertThat keyRing.resolveSharedKey(Version.V2, Purpose.LOCAL, footerA), is(Keys.secretKey("a-999".bytes))
+    }
+
+    private static FooterClaims footer(String keyId) {
+        FooterClaims footer = mock(FooterClaims)
+        when(footer.getKeyId()).thenReturn(keyId)
+        return footer
+    }
+}
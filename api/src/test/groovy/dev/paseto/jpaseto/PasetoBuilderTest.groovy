@@ -0,0 +1,46 @@
+/*
+ * Copyright 2019-Present paseto.dev
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package dev.paseto.jpaseto
+
+import org.mockito.Mockito
+import org.testng.annotations.Test
+
+import java.security.SecureRandom
+
+import static dev.paseto.jpaseto.Util.expect
+import static org.hamcrest.MatcherAssert.assertThat
+import static org.hamcrest.Matchers.sameInstance
+
+class PasetoBuilderTest {
+
+    @Test
+    void setMetricsIgnoredByDefault() {
+        def builder = Mockito.spy(PasetoBuilder)
+        assertThat builder.setMetrics(Mockito.mock(PasetoMetrics)), sameInstance(builder)
+    }
+
+    @Test
+    void issuerUnsupportedByDefault() {
+        def builder = Mockito.spy(PasetoBuilder)
+        expect UnsupportedOperationException, { builder.issuer() }
+    }
+
+    @Test
+    void setSecureRandomUnsupportedByDefault() {
+        expect UnsupportedOperationException, { Mockito.spy(PasetoV1LocalBuilder).setSecureRandom(new SecureRandom()) }
+        expect UnsupportedOperationException, { Mockito.spy(PasetoV2LocalBuilder).setSecureRandom(new SecureRandom()) }
+    }
+}
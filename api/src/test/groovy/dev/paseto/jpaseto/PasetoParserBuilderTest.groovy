@@ -0,0 +1,78 @@
+/*
+ * Copyright 2019-Present paseto.dev
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package dev.paseto.jpaseto
+
+import org.mockito.Mockito
+import org.testng.annotations.Test
+
+import java.util.concurrent.Executor
+
+import static dev.paseto.jpaseto.Util.expect
+import static org.hamcrest.MatcherAssert.assertThat
+import static org.hamcrest.Matchers.sameInstance
+
+class PasetoParserBuilderTest {
+
+    @Test
+    void setMetricsIgnoredByDefault() {
+        def builder = Mockito.spy(PasetoParserBuilder)
+        assertThat builder.setMetrics(Mockito.mock(PasetoMetrics)), sameInstance(builder)
+    }
+
+    @Test
+    void setCacheMaximumSizeIgnoredByDefault() {
+        def builder = Mockito.spy(PasetoParserBuilder)
+        assertThat builder.setCacheMaximumSize(1000), sameInstance(builder)
+    }
+
+    @Test
+    void setLazyClaimsIgnoredByDefault() {
+        def builder = Mockito.spy(PasetoParserBuilder)
+        assertThat builder.setLazyClaims(true), sameInstance(builder)
+    }
+
+    @Test
+    void setAsyncKeyResolverUnsupportedByDefault() {
+        def builder = Mockito.spy(PasetoParserBuilder)
+        expect UnsupportedOperationException, { builder.setAsyncKeyResolver(Mockito.mock(AsyncKeyResolver)) }
+    }
+
+    @Test
+    void setExecutorUnsupportedByDefault() {
+        def builder = Mockito.spy(PasetoParserBuilder)
+        expect UnsupportedOperationException, { builder.setExecutor(Mockito.mock(Executor)) }
+    }
+
+    @Test
+    void setMaximumSizesUnsupportedByDefault() {
+        def builder = Mockito.spy(PasetoParserBuilder)
+        expect UnsupportedOperationException, { builder.setMaximumTokenLength(1024) }
+        expect UnsupportedOperationException, { builder.setMaximumPayloadSize(1024) }
+        expect UnsupportedOperationException, { builder.setMaximumFooterSize(1024) }
+    }
+
+    @Test
+    void setReplayGuardUnsupportedByDefault() {
+        def builder = Mockito.spy(PasetoParserBuilder)
+        expect UnsupportedOperationException, { builder.setReplayGuard({ id, exp, now -> true } as ReplayGuard) }
+    }
+
+    @Test
+    void setReplayGuardMaximumSizeUnsupportedByDefault() {
+        def builder = Mockito.spy(PasetoParserBuilder)
+        expect UnsupportedOperationException, { builder.setReplayGuardMaximumSize(1000) }
+    }
+}
@@ -0,0 +1,133 @@
+/*
+ * Copyright 2019-Present paseto.dev
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package dev.paseto.jpaseto.lang
+
+import dev.paseto.jpaseto.BouncyCastleInitializer
+import dev.paseto.jpaseto.Version
+import org.testng.annotations.Test
+
+import java.security.InvalidKeyException
+import java.security.KeyPair
+import java.security.KeyPairGenerator
+import java.security.Signature
+import java.util.function.Supplier
+
+import static dev.paseto.jpaseto.Util.expect
+import static org.hamcrest.MatcherAssert.assertThat
+import static org.hamcrest.Matchers.*
+
+class PreparedKeysTest {
+
+    PreparedKeysTest() {
+        BouncyCastleInitializer.enableBouncyCastle()
+    }
+
+    @Test
+    void prepareTest() {
+        KeyPair keyPair = KeyPairGenerator.getInstance("Ed25519").generateKeyPair()
+        PreparedPublicKey publicKey = Keys.prepare(Version.V2, keyPair.getPublic())
+        PreparedPrivateKey privateKey = Keys.prepare(Version.V2, keyPair.getPrivate())
+
+        assertThat publicKey.version, is(Version.V2)
+        assertThat publicKey.publicKey, sameInstance(keyPair.getPublic())
+        assertThat publicKey.algorithm, is(keyPair.getPublic().algorithm)
+        assertThat publicKey.format, is(keyPair.getPublic().format)
+        assertThat publicKey.encoded, is(keyPair.getPublic().encoded)
+        assertThat privateKey.version, is(Version.V2)
+        assertThat privateKey.privateKey, sameInstance(keyPair.getPrivate())
+        assertThat privateKey.encoded, is(keyPair.getPrivate().encoded)
+
+        // preparing again returns the same instance for the same version, or re-prepares the underlying key
+        assertThat Keys.prepare(Version.V2, publicKey), sameInstance(publicKey)
+        assertThat Keys.prepare(Version.V2, privateKey), sameInstance(privateKey)
+        assertThat Keys.prepare(Version.V1, publicKey).publicKey, sameInstance(keyPair.getPublic())
+        assertThat Keys.prepare(Version.V1, privateKey).privateKey, sameInstance(keyPair.getPrivate())
+
+        expect IllegalArgumentException, { Keys.prepare(null, keyPair.getPublic()) }
+        expect IllegalArgumentException, { Keys.prepare(Version.V2, (java.security.PublicKey) null) }
+    }
+
+    @Test
+    void releasedSignatureIsReusedTest() {
+        KeyPair keyPair = KeyPairGenerator.getInstance("Ed25519").generateKeyPair()
+        PreparedPublicKey publicKey = Keys.prepare(Version.V2, keyPair.getPublic())
+        PreparedPrivateKey privateKey = Keys.prepare(Version.V2, keyPair.getPrivate())
+        int created = 0
+        Supplier<Signature> factory = { created++; Signature.getInstance("Ed25519") }
+
+        Signature signer = privateKey.acquireSignature(Version.V2, factory)
+        signer.update("message".bytes)
+        byte[] signature = signer.sign()
+        privateKey.releaseSignature(signer)
+        assertThat privateKey.acquireSignature(Version.V2, factory), sameInstance(signer)
+
+        Signature verifier = publicKey.acquireSignature(Version.V2, factory)
+        verifier.update("message".bytes)
+        assertThat verifier.verify(signature), is(true)
+        publicKey.releaseSignature(verifier)
+        assertThat created, is(2)
+
+        // a released instance is shared with other threads
+        Signature other = null
+        Thread thread = new Thread({ other = publicKey.acquireSignature(Version.V2, factory) })
+        thread.start()
+        thread.join()
+        assertThat other, sameInstance(verifier)
+        other.update("message".bytes)
+        assertThat other.verify(signature), is(true)
+
+        // an instance that is not released is not reused
+        assertThat publicKey.acquireSignature(Version.V2, factory), not(sameInstance(verifier))
+        assertThat created, is(3)
+    }
+
+    @Test
+    void concurrentSignaturesTest() {
+        KeyPair keyPair = KeyPairGenerator.getInstance("Ed25519").generateKeyPair()
+        PreparedPublicKey publicKey = Keys.prepare(Version.V2, keyPair.getPublic())
+        Supplier<Signature> factory = { Signature.getInstance("Ed25519") }
+
+        Signature first = publicKey.acquireSignature(Version.V2, factory)
+        Signature second = publicKey.acquireSignature(Version.V2, factory)
+        assertThat second, not(sameInstance(first))
+
+        publicKey.releaseSignature(first)
+        publicKey.releaseSignature(second)
+        publicKey.releaseSignature(null)
+        assertThat([publicKey.acquireSignature(Version.V2, factory), publicKey.acquireSignature(Version.V2, factory)],
+                containsInAnyOrder(sameInstance(first), sameInstance(second)))
+    }
+
+    @Test
+    void signatureForOtherVersionTest() {
+        KeyPair keyPair = KeyPairGenerator.getInstance("Ed25519").generateKeyPair()
+        PreparedPublicKey publicKey = Keys.prepare(Version.V2, keyPair.getPublic())
+        expect InvalidKeyException, { publicKey.acquireSignature(Version.V1, { Signature.getInstance("RSASSA-PSS") } as Supplier) }
+    }
+
+    @Test
+    void serializesUnderlyingKeyTest() {
+        KeyPair keyPair = KeyPairGenerator.getInstance("Ed25519").generateKeyPair()
+        PreparedPublicKey publicKey = Keys.prepare(Version.V2, keyPair.getPublic())
+
+        def bytes = new ByteArrayOutputStream()
+        new ObjectOutputStream(bytes).withCloseable { it.writeObject(publicKey) }
+        def copy = new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray())).readObject()
+
+        assertThat copy, not(instanceOf(PreparedPublicKey))
+        assertThat copy.encoded, is(keyPair.getPublic().encoded)
+    }
+}
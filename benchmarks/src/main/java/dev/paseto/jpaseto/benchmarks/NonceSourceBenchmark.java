@@ -0,0 +1,100 @@
+/*
+ * Copyright 2019-Present paseto.dev
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package dev.paseto.jpaseto.benchmarks;
+
+import dev.paseto.jpaseto.PasetoIssuer;
+import dev.paseto.jpaseto.Pasetos;
+import dev.paseto.jpaseto.lang.Keys;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares v2.local token issuance throughput for different nonce sources, with several threads sharing one
+ * {@link PasetoIssuer}:
+ * <ul>
+ *     <li>{@code default} - the per-thread DRBG used when no SecureRandom is configured</li>
+ *     <li>{@code shared} - a single {@code new SecureRandom()} shared by all threads</li>
+ *     <li>{@code strong} - {@code SecureRandom.getInstanceStrong()} looked up for each token (the previous behavior)</li>
+ * </ul>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Threads(4)
+@Fork(1)
+public class NonceSourceBenchmark {
+
+    @Param({"default", "shared", "strong"})
+    private String nonceSource;
+
+    private PasetoIssuer issuer;
+
+    @Setup
+    public void setup() {
+        SecureRandom secureRandom = null;
+        if ("shared".equals(nonceSource)) {
+            secureRandom = new SecureRandom();
+        } else if ("strong".equals(nonceSource)) {
+            secureRandom = new StrongPerCallSecureRandom();
+        }
+
+        issuer = Pasetos.V2.LOCAL.builder()
+                .setSharedSecret(Keys.secretKey())
+                .setSecureRandom(secureRandom)
+                .setIssuer("https://example.com/issuer")
+                .issuer();
+    }
+
+    @Benchmark
+    public String compact() {
+        return issuer.builder()
+                .setSubject("jsmith")
+                .compact();
+    }
+
+    /**
+     * Looks up {@code SecureRandom.getInstanceStrong()} for each call, like the builders used to.
+     */
+    private static class StrongPerCallSecureRandom extends SecureRandom {
+
+        private static final long serialVersionUID = 1L;
+
+        @Override
+        public void nextBytes(byte[] bytes) {
+            try {
+                SecureRandom.getInstanceStrong().nextBytes(bytes);
+            } catch (NoSuchAlgorithmException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+    }
+}
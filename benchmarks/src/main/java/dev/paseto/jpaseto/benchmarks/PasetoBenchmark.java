@@ -0,0 +1,144 @@
+/*
+ * Copyright 2019-Present paseto.dev
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package dev.paseto.jpaseto.benchmarks;
+
+import dev.paseto.jpaseto.Paseto;
+import dev.paseto.jpaseto.PasetoBuilder;
+import dev.paseto.jpaseto.PasetoParser;
+import dev.paseto.jpaseto.Pasetos;
+import dev.paseto.jpaseto.Version;
+import dev.paseto.jpaseto.lang.Keys;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import javax.crypto.SecretKey;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.KeyPair;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * End to end benchmarks for building ({@code compact()}) and parsing each version/purpose combination, using the
+ * crypto providers discovered on the classpath.
+ * <p>
+ * Run with allocation profiling: {@code java -jar benchmarks/target/benchmarks.jar PasetoBenchmark -prof gc}
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PasetoBenchmark {
+
+    @Param({"v1.local", "v1.public", "v2.local", "v2.public"})
+    private String tokenType;
+
+    /** Approximate size in bytes of the serialized claims. */
+    @Param({"64", "1024", "16384"})
+    private int payloadSize;
+
+    /** Approximate size in bytes of the serialized footer, 0 for no footer. */
+    @Param({"0", "64", "512"})
+    private int footerSize;
+
+    private Supplier<PasetoBuilder<?>> builderSupplier;
+    private PasetoParser parser;
+    private String token;
+    private ByteBuffer tokenBuffer;
+
+    private String data;
+    private String footerData;
+    private Instant expiration;
+
+    @Setup
+    public void setup() {
+        data = BenchmarkData.randomString(payloadSize);
+        footerData = footerSize > 0 ? BenchmarkData.randomString(footerSize) : null;
+        expiration = Instant.now().plus(1, ChronoUnit.DAYS);
+
+        switch (tokenType) {
+            case "v1.local": {
+                SecretKey sharedSecret = Keys.secretKey();
+                builderSupplier = () -> Pasetos.V1.LOCAL.builder().setSharedSecret(sharedSecret);
+                parser = Pasetos.parserBuilder().setSharedSecret(sharedSecret).build();
+                break;
+            }
+            case "v1.public": {
+                KeyPair keyPair = Keys.keyPairFor(Version.V1);
+                builderSupplier = () -> Pasetos.V1.PUBLIC.builder().setPrivateKey(keyPair.getPrivate());
+                parser = Pasetos.parserBuilder().setPublicKey(keyPair.getPublic()).build();
+                break;
+            }
+            case "v2.local": {
+                SecretKey sharedSecret = Keys.secretKey();
+                builderSupplier = () -> Pasetos.V2.LOCAL.builder().setSharedSecret(sharedSecret);
+                parser = Pasetos.parserBuilder().setSharedSecret(sharedSecret).build();
+                break;
+            }
+            case "v2.public": {
+                KeyPair keyPair = Keys.keyPairFor(Version.V2);
+                builderSupplier = () -> Pasetos.V2.PUBLIC.builder().setPrivateKey(keyPair.getPrivate());
+                parser = Pasetos.parserBuilder().setPublicKey(keyPair.getPublic()).build();
+                break;
+            }
+            default:
+                throw new IllegalArgumentException("Unknown token type: " + tokenType);
+        }
+
+        token = compact();
+
+        byte[] tokenBytes = token.getBytes(StandardCharsets.US_ASCII);
+        tokenBuffer = ByteBuffer.allocateDirect(tokenBytes.length);
+        tokenBuffer.put(tokenBytes).flip();
+    }
+
+    @Benchmark
+    public String compact() {
+        PasetoBuilder<?> builder = builderSupplier.get();
+        builder.setSubject("benchmark-subject");
+        builder.setExpiration(expiration);
+        builder.claim("data", data);
+
+        if (footerData != null) {
+            builder.setKeyId("benchmark-key");
+            builder.footerClaim("data", footerData);
+        }
+        return builder.compact();
+    }
+
+    @Benchmark
+    public Paseto parse() {
+        return parser.parse(token);
+    }
+
+    @Benchmark
+    public Paseto parseDirectBuffer() {
+        return parser.parse(tokenBuffer);
+    }
+}
@@ -0,0 +1,105 @@
+/*
+ * Copyright 2019-Present paseto.dev
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package dev.paseto.jpaseto.benchmarks;
+
+import dev.paseto.jpaseto.KeyRing;
+import dev.paseto.jpaseto.Paseto;
+import dev.paseto.jpaseto.PasetoBuilder;
+import dev.paseto.jpaseto.PasetoParser;
+import dev.paseto.jpaseto.Pasetos;
+import dev.paseto.jpaseto.Version;
+import dev.paseto.jpaseto.lang.Keys;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.security.KeyPair;
+import java.security.PrivateKey;
+import java.security.PublicKey;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares parsing (and signing) {@code public} tokens with plain keys and with keys prepared by
+ * {@link Keys#prepare(Version, PublicKey)}. Tokens signed by a handful of keys are parsed in turn through a
+ * {@link KeyRing}, so a plain key has to be re-initialized for every token.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PreparedKeyBenchmark {
+
+    private static final int KEY_COUNT = 4;
+
+    @Param({"v1.public", "v2.public"})
+    private String tokenType;
+
+    @Param({"plain", "prepared"})
+    private String keys;
+
+    private PasetoParser parser;
+    private PrivateKey privateKey;
+    private String[] tokens;
+    private int next;
+
+    @Setup
+    public void setup() {
+        Version version = "v1.public".equals(tokenType) ? Version.V1 : Version.V2;
+        boolean prepared = "prepared".equals(keys);
+
+        KeyRing keyRing = new KeyRing();
+        tokens = new String[KEY_COUNT];
+        for (int i = 0; i < KEY_COUNT; i++) {
+            KeyPair keyPair = Keys.keyPairFor(version);
+            PublicKey publicKey = prepared ? Keys.prepare(version, keyPair.getPublic()) : keyPair.getPublic();
+            keyRing.addPublicKey(version, "key-" + i, publicKey);
+
+            privateKey = prepared ? Keys.prepare(version, keyPair.getPrivate()) : keyPair.getPrivate();
+            tokens[i] = sign("key-" + i);
+        }
+        parser = Pasetos.parserBuilder().setKeyResolver(keyRing).build();
+    }
+
+    @Benchmark
+    public Paseto parse() {
+        next = (next + 1) % KEY_COUNT;
+        return parser.parse(tokens[next]);
+    }
+
+    @Benchmark
+    public String compact() {
+        return sign("key-" + (KEY_COUNT - 1));
+    }
+
+    private String sign(String keyId) {
+        PasetoBuilder<?> builder = "v1.public".equals(tokenType)
+                ? Pasetos.V1.PUBLIC.builder().setPrivateKey(privateKey)
+                : Pasetos.V2.PUBLIC.builder().setPrivateKey(privateKey);
+        builder.setKeyId(keyId);
+        builder.setSubject("benchmark-subject");
+        return builder.compact();
+    }
+}
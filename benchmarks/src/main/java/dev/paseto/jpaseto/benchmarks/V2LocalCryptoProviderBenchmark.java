@@ -0,0 +1,92 @@
+/*
+ * Copyright 2019-Present paseto.dev
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package dev.paseto.jpaseto.benchmarks;
+
+import dev.paseto.jpaseto.crypto.bouncycastle.BouncyCastleV2LocalCryptoProvider;
+import dev.paseto.jpaseto.crypto.sodium.SodiumV2LocalCryptoProvider;
+import dev.paseto.jpaseto.impl.crypto.V2LocalCryptoProvider;
+import dev.paseto.jpaseto.lang.Keys;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import javax.crypto.SecretKey;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the v2.local crypto providers (Sodium vs Bouncy Castle) directly, without JSON or base64 overhead.
+ * The Sodium provider requires libsodium to be installed, see the project README.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class V2LocalCryptoProviderBenchmark {
+
+    @Param({"sodium", "bouncy-castle"})
+    private String provider;
+
+    @Param({"64", "1024", "16384"})
+    private int payloadSize;
+
+    @Param({"0", "64", "512"})
+    private int footerSize;
+
+    private V2LocalCryptoProvider cryptoProvider;
+    private SecretKey sharedSecret;
+    private byte[] payload;
+    private byte[] footer;
+    private byte[] nonce;
+    private byte[] encrypted;
+
+    @Setup
+    public void setup() {
+        cryptoProvider = "sodium".equals(provider)
+                ? new SodiumV2LocalCryptoProvider()
+                : new BouncyCastleV2LocalCryptoProvider();
+
+        sharedSecret = Keys.secretKey();
+        payload = BenchmarkData.randomBytes(payloadSize);
+        footer = BenchmarkData.randomBytes(footerSize);
+        nonce = cryptoProvider.blake2b(payload, BenchmarkData.randomBytes(24));
+        encrypted = cryptoProvider.encrypt(payload, footer, nonce, sharedSecret);
+    }
+
+    @Benchmark
+    public byte[] blake2b() {
+        return cryptoProvider.blake2b(payload, nonce);
+    }
+
+    @Benchmark
+    public byte[] encrypt() {
+        return cryptoProvider.encrypt(payload, footer, nonce, sharedSecret);
+    }
+
+    @Benchmark
+    public byte[] decrypt() {
+        return cryptoProvider.decrypt(encrypted, footer, sharedSecret);
+    }
+}
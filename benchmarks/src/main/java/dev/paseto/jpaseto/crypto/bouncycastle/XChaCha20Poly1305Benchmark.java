@@ -0,0 +1,149 @@
+/*
+ * Copyright 2019-Present paseto.dev
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package dev.paseto.jpaseto.crypto.bouncycastle;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import javax.crypto.Cipher;
+import javax.crypto.spec.IvParameterSpec;
+import javax.crypto.spec.SecretKeySpec;
+import java.security.GeneralSecurityException;
+import java.security.SecureRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the XChaCha20-Poly1305 implementations a v2.local token can go through:
+ * <ul>
+ *     <li>{@code java} - the pure Java {@link ChaCha20Poly1305Engine}, the Bouncy Castle provider's default</li>
+ *     <li>{@code jdk} - the JDK's {@code ChaCha20-Poly1305} cipher (Java 11+), with the HChaCha20 subkey derived per
+ *     message and the cipher re-initialized for each message</li>
+ *     <li>{@code sodium} - libsodium through Tuweni, as used by the Sodium provider (requires libsodium to be installed)</li>
+ * </ul>
+ * This benchmark lives in the Bouncy Castle package because {@link XChaCha20Poly1305} is package private. JDK ciphers
+ * refuse to be initialized with the same key and nonce twice in a row, so every implementation alternates between two
+ * nonces.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class XChaCha20Poly1305Benchmark {
+
+    @Param({"java", "jdk", "sodium"})
+    private String implementation;
+
+    @Param({"64", "1024", "16384"})
+    private int payloadSize;
+
+    private XChaCha20Poly1305 cipher;
+    private Cipher jdkCipher;
+    private byte[] key;
+    private org.apache.tuweni.crypto.sodium.XChaCha20Poly1305.Key sodiumKey;
+    private org.apache.tuweni.crypto.sodium.XChaCha20Poly1305.Nonce[] sodiumNonces;
+    private byte[][] nonces;
+    private byte[] aad;
+    private byte[] payload;
+    private byte[][] encrypted;
+    private byte[] output;
+    private int invocation;
+
+    @Setup
+    public void setup() throws GeneralSecurityException {
+        SecureRandom random = new SecureRandom();
+        key = new byte[XChaCha20Poly1305.KEY_SIZE];
+        nonces = new byte[2][XChaCha20Poly1305.NONCE_SIZE];
+        aad = new byte[80]; // the size of a v2.local pre-auth encoding without a footer
+        payload = new byte[payloadSize];
+        random.nextBytes(key);
+        random.nextBytes(nonces[0]);
+        random.nextBytes(aad);
+        random.nextBytes(payload);
+        nonces[1] = nonces[0].clone();
+        nonces[1][XChaCha20Poly1305.NONCE_SIZE - 1] ^= 1;
+
+        if ("sodium".equals(implementation)) {
+            sodiumKey = org.apache.tuweni.crypto.sodium.XChaCha20Poly1305.Key.fromBytes(key);
+            sodiumNonces = new org.apache.tuweni.crypto.sodium.XChaCha20Poly1305.Nonce[] {
+                    org.apache.tuweni.crypto.sodium.XChaCha20Poly1305.Nonce.fromBytes(nonces[0]),
+                    org.apache.tuweni.crypto.sodium.XChaCha20Poly1305.Nonce.fromBytes(nonces[1])
+            };
+        } else if ("jdk".equals(implementation)) {
+            jdkCipher = Cipher.getInstance("ChaCha20-Poly1305");
+        } else {
+            cipher = new XChaCha20Poly1305(key);
+        }
+        encrypted = new byte[2][];
+        output = new byte[payloadSize + XChaCha20Poly1305.TAG_SIZE];
+        for (int i = 0; i < 2; i++) {
+            encrypted[i] = encrypt(i).clone();
+        }
+    }
+
+    @Benchmark
+    public byte[] encrypt() throws GeneralSecurityException {
+        return encrypt(invocation++ & 1);
+    }
+
+    @Benchmark
+    public byte[] decrypt() throws GeneralSecurityException {
+        int i = invocation++ & 1;
+        byte[] nonce = nonces[i];
+        if (cipher != null) {
+            cipher.decrypt(nonce, aad, encrypted[i], 0, encrypted[i].length, output, 0);
+            return output;
+        }
+        if (jdkCipher != null) {
+            initJdkCipher(Cipher.DECRYPT_MODE, nonce);
+            jdkCipher.doFinal(encrypted[i], 0, encrypted[i].length, output, 0);
+            return output;
+        }
+        return org.apache.tuweni.crypto.sodium.XChaCha20Poly1305.decrypt(encrypted[i], aad, sodiumKey, sodiumNonces[i]);
+    }
+
+    private byte[] encrypt(int i) throws GeneralSecurityException {
+        byte[] nonce = nonces[i];
+        if (cipher != null) {
+            cipher.encrypt(nonce, aad, payload, 0, payload.length, output, 0);
+            return output;
+        }
+        if (jdkCipher != null) {
+            initJdkCipher(Cipher.ENCRYPT_MODE, nonce);
+            jdkCipher.doFinal(payload, 0, payload.length, output, 0);
+            return output;
+        }
+        return org.apache.tuweni.crypto.sodium.XChaCha20Poly1305.encrypt(payload, aad, sodiumKey, sodiumNonces[i]);
+    }
+
+    private void initJdkCipher(int mode, byte[] nonce) throws GeneralSecurityException {
+        byte[] sNonce = new byte[12]; // 4 zero bytes followed by the last 8 bytes of the nonce
+        System.arraycopy(nonce, 16, sNonce, 4, 8);
+        SecretKeySpec subkey = new SecretKeySpec(XChaCha20Poly1305.calculateSubKey(key, nonce), "ChaCha20");
+        jdkCipher.init(mode, subkey, new IvParameterSpec(sNonce));
+        jdkCipher.updateAAD(aad);
+    }
+}
@@ -18,21 +18,41 @@ package dev.paseto.jpaseto.crypto.bouncycastle;
 import com.google.auto.service.AutoService;
 import dev.paseto.jpaseto.impl.crypto.BaseV1LocalCryptoProvider;
 import dev.paseto.jpaseto.impl.crypto.V1LocalCryptoProvider;
-import org.bouncycastle.crypto.generators.HKDFBytesGenerator;
-import org.bouncycastle.crypto.params.HKDFParameters;
+import org.bouncycastle.crypto.macs.HMac;
+import org.bouncycastle.crypto.params.KeyParameter;
 import org.bouncycastle.crypto.util.DigestFactory;
 
-import javax.crypto.SecretKey;
+import java.util.Arrays;
 
 @AutoService(V1LocalCryptoProvider.class)
 public class BouncyCastleV1LocalCryptoProvider extends BaseV1LocalCryptoProvider {
 
+    /**
+     * HMac instances are not thread safe, each thread keeps its own and re-keys it for each step.
+     */
+    private static final ThreadLocal<HMac> HMAC_SHA384 = ThreadLocal.withInitial(() -> new HMac(DigestFactory.createSHA384()));
+
+    @Override
+    protected byte[] hkdfSha384Extract(byte[] salt, byte[] inputKeyingMaterial) {
+        HMac hmac = HMAC_SHA384.get();
+        hmac.init(new KeyParameter(salt));
+        hmac.update(inputKeyingMaterial, 0, inputKeyingMaterial.length);
+
+        byte[] pseudoRandomKey = new byte[hmac.getMacSize()];
+        hmac.doFinal(pseudoRandomKey, 0);
+        return pseudoRandomKey;
+    }
+
     @Override
-    protected byte[] hkdfSha384(SecretKey sharedSecret, byte[] salt, byte[] info) {
-        HKDFBytesGenerator hkdfBytesGenerator = new HKDFBytesGenerator(DigestFactory.createSHA384());
-        hkdfBytesGenerator.init(new HKDFParameters(sharedSecret.getEncoded(), salt, info));
-        byte[] result = new byte[32];
-        hkdfBytesGenerator.generateBytes(result, 0, result.length);
-        return result;
+    protected byte[] hkdfSha384Expand(byte[] pseudoRandomKey, byte[] info) {
+        // the derived key is shorter than the hash length, so only the first block T(1) = HMAC(PRK, info | 0x01) is needed
+        HMac hmac = HMAC_SHA384.get();
+        hmac.init(new KeyParameter(pseudoRandomKey));
+        hmac.update(info, 0, info.length);
+        hmac.update((byte) 1);
+
+        byte[] block = new byte[hmac.getMacSize()];
+        hmac.doFinal(block, 0);
+        return Arrays.copyOf(block, DERIVED_KEY_LENGTH);
     }
 }
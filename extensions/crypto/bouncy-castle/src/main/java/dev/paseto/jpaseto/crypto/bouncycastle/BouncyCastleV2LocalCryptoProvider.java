@@ -19,20 +19,23 @@ import com.google.auto.service.AutoService;
 import dev.paseto.jpaseto.PasetoSecurityException;
 import dev.paseto.jpaseto.impl.crypto.PreAuthEncoder;
 import dev.paseto.jpaseto.impl.crypto.V2LocalCryptoProvider;
-import dev.paseto.jpaseto.impl.lang.Bytes;
 import org.bouncycastle.crypto.digests.Blake2bDigest;
 
-import javax.crypto.BadPaddingException;
-import javax.crypto.Cipher;
-import javax.crypto.IllegalBlockSizeException;
 import javax.crypto.SecretKey;
+import java.lang.ref.WeakReference;
 import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
 import java.util.Arrays;
 
 @AutoService(V2LocalCryptoProvider.class)
 public class BouncyCastleV2LocalCryptoProvider implements V2LocalCryptoProvider {
 
     private static final byte[] HEADER_BYTES = "v2.local.".getBytes(StandardCharsets.UTF_8);
+    private static final int NONCE_SIZE = XChaCha20Poly1305.NONCE_SIZE;
+    private static final int TAG_SIZE = XChaCha20Poly1305.TAG_SIZE;
+    private static final String DECRYPTION_FAILED = "Decryption failed, likely cause is an invalid sharedSecret or MAC.";
+
+    private static final ThreadLocal<KeyedCipher> LAST_CIPHER = new ThreadLocal<>();
 
     @Override
     public byte[] blake2b(byte[] payload, byte[] random) {
@@ -48,34 +51,74 @@ public class BouncyCastleV2LocalCryptoProvider implements V2LocalCryptoProvider
         // 4
         byte[] preAuth = PreAuthEncoder.encode(HEADER_BYTES, nonce, footer);
 
-        byte[] payloadCipher;
+        // 5 & 6, the cipher text is written directly after the nonce
+        byte[] result = new byte[NONCE_SIZE + payload.length + TAG_SIZE];
+        System.arraycopy(nonce, 0, result, 0, NONCE_SIZE);
         try {
-            // 5
-            Cipher cipher = XChaCha20Poly1305.cryptWith(true, sharedSecret.getEncoded(), nonce, preAuth);
-            payloadCipher = cipher.doFinal(payload);
-        } catch (IllegalBlockSizeException | BadPaddingException e) {
+            xChaCha20Poly1305(sharedSecret).encrypt(nonce, preAuth, payload, 0, payload.length, result, NONCE_SIZE);
+        } catch (GeneralSecurityException e) {
             throw new PasetoSecurityException("Failed to encrypt token", e);
         }
-
-        // 6
-        return Bytes.concat(nonce, payloadCipher);
+        return result;
     }
 
     @Override
     public byte[] decrypt(byte[] encryptedBytes, byte[] footer, SecretKey sharedSecret) {
-        byte[] nonce = Arrays.copyOf(encryptedBytes, 24); // nonce size is 24 bytes
-        byte[] encryptedMessage = Arrays.copyOfRange(encryptedBytes, 24, encryptedBytes.length);
+        if (encryptedBytes.length < NONCE_SIZE + TAG_SIZE) {
+            throw new PasetoSecurityException(DECRYPTION_FAILED);
+        }
+        byte[] nonce = Arrays.copyOf(encryptedBytes, NONCE_SIZE);
         byte[] preAuth = PreAuthEncoder.encode(HEADER_BYTES, nonce, footer);
 
-        byte[] payloadBytes;
+        // 5, decrypt in place from the token bytes instead of copying the cipher text out first
+        int cipherTextLength = encryptedBytes.length - NONCE_SIZE;
+        byte[] payloadBytes = new byte[cipherTextLength - TAG_SIZE];
         try {
-            // 5
-            Cipher cipher = XChaCha20Poly1305.cryptWith(false, sharedSecret.getEncoded(), nonce, preAuth);
-            payloadBytes = cipher.doFinal(encryptedMessage);
-        } catch (IllegalBlockSizeException | BadPaddingException e) {
-            throw new PasetoSecurityException("Decryption failed, likely cause is an invalid sharedSecret or MAC.", e);
+            xChaCha20Poly1305(sharedSecret).decrypt(nonce, preAuth, encryptedBytes, NONCE_SIZE, cipherTextLength, payloadBytes, 0);
+        } catch (GeneralSecurityException e) {
+            throw new PasetoSecurityException(DECRYPTION_FAILED, e);
         }
 
         return payloadBytes;
     }
+
+    /**
+     * Returns the cipher for {@code sharedSecret}, reusing the calling thread's last one when it was created for the
+     * same key instance. This skips {@code getEncoded()} (which clones the key) and unpacking the key for each token.
+     * The key is only held weakly, and the last cipher's unpacked key is overwritten as soon as the thread uses another
+     * key or the key is destroyed.
+     */
+    private static XChaCha20Poly1305 xChaCha20Poly1305(SecretKey sharedSecret) {
+        KeyedCipher last = LAST_CIPHER.get();
+        if (last != null) {
+            if (last.key.get() == sharedSecret && !sharedSecret.isDestroyed()) {
+                return last.cipher;
+            }
+            LAST_CIPHER.remove();
+            last.cipher.destroy();
+        }
+        if (sharedSecret.isDestroyed()) {
+            throw new PasetoSecurityException("sharedSecret has been destroyed");
+        }
+        byte[] encoded = sharedSecret.getEncoded();
+        try {
+            XChaCha20Poly1305 cipher = new XChaCha20Poly1305(encoded);
+            LAST_CIPHER.set(new KeyedCipher(sharedSecret, cipher));
+            return cipher;
+        } finally {
+            if (encoded != null) {
+                Arrays.fill(encoded, (byte) 0);
+            }
+        }
+    }
+
+    private static final class KeyedCipher {
+        private final WeakReference<SecretKey> key;
+        private final XChaCha20Poly1305 cipher;
+
+        private KeyedCipher(SecretKey key, XChaCha20Poly1305 cipher) {
+            this.key = new WeakReference<>(key);
+            this.cipher = cipher;
+        }
+    }
 }
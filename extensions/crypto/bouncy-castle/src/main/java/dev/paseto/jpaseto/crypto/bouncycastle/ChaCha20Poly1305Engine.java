@@ -0,0 +1,477 @@
+/*
+ * Copyright 2019-Present paseto.dev
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package dev.paseto.jpaseto.crypto.bouncycastle;
+
+import javax.crypto.AEADBadTagException;
+import javax.crypto.ShortBufferException;
+import java.util.Arrays;
+
+/**
+ * A pure Java ChaCha20-Poly1305 AEAD (RFC 8439) that does not depend on a JCE provider.
+ * <p>
+ * The ChaCha20 state, key stream and Poly1305 accumulator are fields that are reused for every message, data is
+ * processed in 64 byte blocks directly from and to the caller's arrays, and nothing is allocated per message or per
+ * block. Poly1305 uses 26 bit limbs (as in poly1305-donna) so there are no data dependent branches, and the tag is
+ * compared in constant time. The key stream and one-time Poly1305 key are cleared once each message is done.
+ * <p>
+ * Instances are not thread safe, {@link XChaCha20Poly1305} keeps one per thread.
+ *
+ * @see <a href="https://tools.ietf.org/html/rfc8439">rfc8439</a>
+ */
+final class ChaCha20Poly1305Engine {
+
+    static final int TAG_SIZE = 16;
+
+    private static final int BLOCK_SIZE = 64;
+    private static final int MAC_BLOCK_SIZE = 16;
+
+    // "expand 32-byte k"
+    private static final int SIGMA0 = 0x61707865;
+    private static final int SIGMA1 = 0x3320646e;
+    private static final int SIGMA2 = 0x79622d32;
+    private static final int SIGMA3 = 0x6b206574;
+
+    private static final long MASK_26 = 0x3ffffff;
+    private static final long MASK_32 = 0xffffffffL;
+
+    private final int[] state = new int[16];
+    private final int[] keyStream = new int[16];
+    private final byte[] macBlock = new byte[MAC_BLOCK_SIZE];
+
+    // Poly1305 key (r), r * 5, accumulator (h) and the final pad
+    private long r0, r1, r2, r3, r4;
+    private long s1, s2, s3, s4;
+    private long h0, h1, h2, h3, h4;
+    private long pad0, pad1, pad2, pad3;
+
+    ChaCha20Poly1305Engine() {
+        setSigma(state);
+    }
+
+    /**
+     * Initializes the engine for one message with a 32 byte key and a 12 byte nonce.
+     */
+    void init(byte[] key, byte[] nonce) {
+        for (int i = 0; i < 8; i++) {
+            state[4 + i] = unpackIntLE(key, i * 4);
+        }
+        state[12] = 0;
+        state[13] = unpackIntLE(nonce, 0);
+        state[14] = unpackIntLE(nonce, 4);
+        state[15] = unpackIntLE(nonce, 8);
+    }
+
+    /**
+     * Initializes the engine for one XChaCha20-Poly1305 message: the key is replaced by the HChaCha20 subkey of
+     * {@code keyWords} and the first 16 bytes of the 24 byte {@code nonce}, the remaining 8 bytes are the nonce.
+     */
+    void initXChaCha(int[] keyWords, byte[] nonce) {
+        int[] subKey = keyStream;
+        hChaCha20(keyWords, nonce, subKey);
+        System.arraycopy(subKey, 0, state, 4, 4);
+        System.arraycopy(subKey, 12, state, 8, 4);
+        state[12] = 0;
+        state[13] = 0;
+        state[14] = unpackIntLE(nonce, 16);
+        state[15] = unpackIntLE(nonce, 20);
+    }
+
+    /**
+     * Encrypts {@code input[inputOffset, inputOffset + inputLength)} into {@code output}, followed by the tag. The
+     * output may be the input at the same offset.
+     *
+     * @return the number of bytes written to {@code output}
+     */
+    int encrypt(byte[] aad, byte[] input, int inputOffset, int inputLength, byte[] output, int outputOffset)
+            throws ShortBufferException {
+        try {
+            if (output.length - outputOffset < inputLength + TAG_SIZE) {
+                throw new ShortBufferException("Output buffer too small");
+            }
+            initMac();
+            macPadded(aad, 0, aad.length);
+
+            int inOff = inputOffset;
+            int outOff = outputOffset;
+            int remaining = inputLength;
+            while (remaining >= BLOCK_SIZE) {
+                nextKeyStreamBlock();
+                xorBlock(input, inOff, output, outOff);
+                for (int i = 0; i < BLOCK_SIZE; i += MAC_BLOCK_SIZE) {
+                    macBlock(output, outOff + i);
+                }
+                inOff += BLOCK_SIZE;
+                outOff += BLOCK_SIZE;
+                remaining -= BLOCK_SIZE;
+            }
+            if (remaining > 0) {
+                nextKeyStreamBlock();
+                xorPartialBlock(input, inOff, output, outOff, remaining);
+                macPadded(output, outOff, remaining);
+            }
+
+            macLengths(aad.length, inputLength);
+            finishMac(output, outputOffset + inputLength);
+            return inputLength + TAG_SIZE;
+        } finally {
+            reset();
+        }
+    }
+
+    /**
+     * Authenticates {@code input[inputOffset, inputOffset + inputLength)}, which ends with the tag, and only then
+     * decrypts it into {@code output}. The output may be the input at the same offset.
+     *
+     * @return the number of bytes written to {@code output}
+     * @throws AEADBadTagException if the tag does not match
+     */
+    int decrypt(byte[] aad, byte[] input, int inputOffset, int inputLength, byte[] output, int outputOffset)
+            throws AEADBadTagException, ShortBufferException {
+        int cipherTextLength = inputLength - TAG_SIZE;
+        try {
+            if (cipherTextLength < 0) {
+                throw new AEADBadTagException("Input too short");
+            }
+            if (output.length - outputOffset < cipherTextLength) {
+                throw new ShortBufferException("Output buffer too small");
+            }
+            initMac();
+            macPadded(aad, 0, aad.length);
+            macPadded(input, inputOffset, cipherTextLength);
+            macLengths(aad.length, cipherTextLength);
+            finishMac(macBlock, 0);
+            if (!constantTimeEquals(macBlock, input, inputOffset + cipherTextLength)) {
+                throw new AEADBadTagException("Tag mismatch");
+            }
+
+            int inOff = inputOffset;
+            int outOff = outputOffset;
+            int remaining = cipherTextLength;
+            while (remaining >= BLOCK_SIZE) {
+                nextKeyStreamBlock();
+                xorBlock(input, inOff, output, outOff);
+                inOff += BLOCK_SIZE;
+                outOff += BLOCK_SIZE;
+                remaining -= BLOCK_SIZE;
+            }
+            if (remaining > 0) {
+                nextKeyStreamBlock();
+                xorPartialBlock(input, inOff, output, outOff, remaining);
+            }
+            return cipherTextLength;
+        } finally {
+            reset();
+        }
+    }
+
+    /**
+     * HChaCha20 of {@code keyWords} and the first 16 bytes of {@code nonce}, the subkey is left in {@code out[0, 4)}
+     * and {@code out[12, 16)}.
+     */
+    static void hChaCha20(int[] keyWords, byte[] nonce, int[] out) {
+        setSigma(out);
+        System.arraycopy(keyWords, 0, out, 4, 8);
+        for (int i = 0; i < 4; i++) {
+            out[12 + i] = unpackIntLE(nonce, i * 4);
+        }
+        chaCha(out, out, false);
+    }
+
+    private void nextKeyStreamBlock() {
+        chaCha(state, keyStream, true);
+        state[12]++;
+    }
+
+    private void xorBlock(byte[] input, int inOff, byte[] output, int outOff) {
+        for (int i = 0; i < 16; i++) {
+            int off = i * 4;
+            packIntLE(unpackIntLE(input, inOff + off) ^ keyStream[i], output, outOff + off);
+        }
+    }
+
+    private void xorPartialBlock(byte[] input, int inOff, byte[] output, int outOff, int length) {
+        for (int i = 0; i < length; i++) {
+            output[outOff + i] = (byte) (input[inOff + i] ^ (keyStream[i >>> 2] >>> ((i & 3) << 3)));
+        }
+    }
+
+    // block 0 of the key stream is the one-time Poly1305 key, the message starts at block 1
+    private void initMac() {
+        nextKeyStreamBlock();
+        long t0 = keyStream[0] & MASK_32;
+        long t1 = keyStream[1] & MASK_32;
+        long t2 = keyStream[2] & MASK_32;
+        long t3 = keyStream[3] & MASK_32;
+
+        // clamp r
+        r0 = t0 & 0x3ffffff;
+        r1 = ((t0 >>> 26) | (t1 << 6)) & 0x3ffff03;
+        r2 = ((t1 >>> 20) | (t2 << 12)) & 0x3ffc0ff;
+        r3 = ((t2 >>> 14) | (t3 << 18)) & 0x3f03fff;
+        r4 = (t3 >>> 8) & 0x00fffff;
+
+        s1 = r1 * 5;
+        s2 = r2 * 5;
+        s3 = r3 * 5;
+        s4 = r4 * 5;
+
+        h0 = 0;
+        h1 = 0;
+        h2 = 0;
+        h3 = 0;
+        h4 = 0;
+
+        pad0 = keyStream[4] & MASK_32;
+        pad1 = keyStream[5] & MASK_32;
+        pad2 = keyStream[6] & MASK_32;
+        pad3 = keyStream[7] & MASK_32;
+    }
+
+    // the AEAD construction zero pads the AAD and cipher text to 16 bytes, so every Poly1305 block is a full one
+    private void macPadded(byte[] data, int offset, int length) {
+        int off = offset;
+        int remaining = length;
+        while (remaining >= MAC_BLOCK_SIZE) {
+            macBlock(data, off);
+            off += MAC_BLOCK_SIZE;
+            remaining -= MAC_BLOCK_SIZE;
+        }
+        if (remaining > 0) {
+            System.arraycopy(data, off, macBlock, 0, remaining);
+            Arrays.fill(macBlock, remaining, MAC_BLOCK_SIZE, (byte) 0);
+            macBlock(macBlock, 0);
+        }
+    }
+
+    private void macLengths(long aadLength, long cipherTextLength) {
+        packIntLE((int) aadLength, macBlock, 0);
+        packIntLE((int) (aadLength >>> 32), macBlock, 4);
+        packIntLE((int) cipherTextLength, macBlock, 8);
+        packIntLE((int) (cipherTextLength >>> 32), macBlock, 12);
+        macBlock(macBlock, 0);
+    }
+
+    private void macBlock(byte[] data, int off) {
+        long t0 = unpackIntLE(data, off) & MASK_32;
+        long t1 = unpackIntLE(data, off + 4) & MASK_32;
+        long t2 = unpackIntLE(data, off + 8) & MASK_32;
+        long t3 = unpackIntLE(data, off + 12) & MASK_32;
+
+        // h += m, with the high bit set for a full block
+        h0 += t0 & MASK_26;
+        h1 += ((t0 >>> 26) | (t1 << 6)) & MASK_26;
+        h2 += ((t1 >>> 20) | (t2 << 12)) & MASK_26;
+        h3 += ((t2 >>> 14) | (t3 << 18)) & MASK_26;
+        h4 += (t3 >>> 8) | (1 << 24);
+
+        // h *= r (mod 2^130 - 5)
+        long d0 = h0 * r0 + h1 * s4 + h2 * s3 + h3 * s2 + h4 * s1;
+        long d1 = h0 * r1 + h1 * r0 + h2 * s4 + h3 * s3 + h4 * s2;
+        long d2 = h0 * r2 + h1 * r1 + h2 * r0 + h3 * s4 + h4 * s3;
+        long d3 = h0 * r3 + h1 * r2 + h2 * r1 + h3 * r0 + h4 * s4;
+        long d4 = h0 * r4 + h1 * r3 + h2 * r2 + h3 * r1 + h4 * r0;
+
+        long c = d0 >>> 26;
+        h0 = d0 & MASK_26;
+        d1 += c;
+        c = d1 >>> 26;
+        h1 = d1 & MASK_26;
+        d2 += c;
+        c = d2 >>> 26;
+        h2 = d2 & MASK_26;
+        d3 += c;
+        c = d3 >>> 26;
+        h3 = d3 & MASK_26;
+        d4 += c;
+        c = d4 >>> 26;
+        h4 = d4 & MASK_26;
+        h0 += c * 5;
+        c = h0 >>> 26;
+        h0 &= MASK_26;
+        h1 += c;
+    }
+
+    private void finishMac(byte[] out, int outOff) {
+        // fully carry h
+        long c = h1 >>> 26;
+        h1 &= MASK_26;
+        h2 += c;
+        c = h2 >>> 26;
+        h2 &= MASK_26;
+        h3 += c;
+        c = h3 >>> 26;
+        h3 &= MASK_26;
+        h4 += c;
+        c = h4 >>> 26;
+        h4 &= MASK_26;
+        h0 += c * 5;
+        c = h0 >>> 26;
+        h0 &= MASK_26;
+        h1 += c;
+
+        // g = h + -p
+        long g0 = h0 + 5;
+        c = g0 >>> 26;
+        g0 &= MASK_26;
+        long g1 = h1 + c;
+        c = g1 >>> 26;
+        g1 &= MASK_26;
+        long g2 = h2 + c;
+        c = g2 >>> 26;
+        g2 &= MASK_26;
+        long g3 = h3 + c;
+        c = g3 >>> 26;
+        g3 &= MASK_26;
+        long g4 = h4 + c - (1 << 26);
+
+        // select h if h < p, or g if h >= p, without branching
+        long mask = (g4 >>> 63) - 1;
+        long notMask = ~mask;
+        h0 = (h0 & notMask) | (g0 & mask);
+        h1 = (h1 & notMask) | (g1 & mask);
+        h2 = (h2 & notMask) | (g2 & mask);
+        h3 = (h3 & notMask) | (g3 & mask);
+        h4 = (h4 & notMask) | (g4 & mask);
+
+        // h = h % 2^128, tag = h + pad
+        long f0 = ((h0 | (h1 << 26)) & MASK_32) + pad0;
+        long f1 = (((h1 >>> 6) | (h2 << 20)) & MASK_32) + pad1 + (f0 >>> 32);
+        long f2 = (((h2 >>> 12) | (h3 << 14)) & MASK_32) + pad2 + (f1 >>> 32);
+        long f3 = (((h3 >>> 18) | (h4 << 8)) & MASK_32) + pad3 + (f2 >>> 32);
+
+        packIntLE((int) f0, out, outOff);
+        packIntLE((int) f1, out, outOff + 4);
+        packIntLE((int) f2, out, outOff + 8);
+        packIntLE((int) f3, out, outOff + 12);
+    }
+
+    private void reset() {
+        Arrays.fill(state, 4, 16, 0);
+        Arrays.fill(keyStream, 0);
+        Arrays.fill(macBlock, (byte) 0);
+        r0 = r1 = r2 = r3 = r4 = 0;
+        s1 = s2 = s3 = s4 = 0;
+        h0 = h1 = h2 = h3 = h4 = 0;
+        pad0 = pad1 = pad2 = pad3 = 0;
+    }
+
+    private static boolean constantTimeEquals(byte[] expected, byte[] actual, int actualOffset) {
+        int result = 0;
+        for (int i = 0; i < TAG_SIZE; i++) {
+            result |= expected[i] ^ actual[actualOffset + i];
+        }
+        return result == 0;
+    }
+
+    private static void setSigma(int[] state) {
+        state[0] = SIGMA0;
+        state[1] = SIGMA1;
+        state[2] = SIGMA2;
+        state[3] = SIGMA3;
+    }
+
+    /**
+     * The 20 ChaCha rounds of {@code in} into {@code out} (which may be the same array), adding the input words
+     * back when {@code feedForward} is set (a ChaCha20 block) and not for HChaCha20.
+     */
+    private static void chaCha(int[] in, int[] out, boolean feedForward) {
+        int x0 = in[0];
+        int x1 = in[1];
+        int x2 = in[2];
+        int x3 = in[3];
+        int x4 = in[4];
+        int x5 = in[5];
+        int x6 = in[6];
+        int x7 = in[7];
+        int x8 = in[8];
+        int x9 = in[9];
+        int x10 = in[10];
+        int x11 = in[11];
+        int x12 = in[12];
+        int x13 = in[13];
+        int x14 = in[14];
+        int x15 = in[15];
+
+        for (int i = 0; i < 10; i++) {
+            // column round
+            x0 += x4; x12 = Integer.rotateLeft(x12 ^ x0, 16); x8 += x12; x4 = Integer.rotateLeft(x4 ^ x8, 12);
+            x0 += x4; x12 = Integer.rotateLeft(x12 ^ x0, 8); x8 += x12; x4 = Integer.rotateLeft(x4 ^ x8, 7);
+            x1 += x5; x13 = Integer.rotateLeft(x13 ^ x1, 16); x9 += x13; x5 = Integer.rotateLeft(x5 ^ x9, 12);
+            x1 += x5; x13 = Integer.rotateLeft(x13 ^ x1, 8); x9 += x13; x5 = Integer.rotateLeft(x5 ^ x9, 7);
+            x2 += x6; x14 = Integer.rotateLeft(x14 ^ x2, 16); x10 += x14; x6 = Integer.rotateLeft(x6 ^ x10, 12);
+            x2 += x6; x14 = Integer.rotateLeft(x14 ^ x2, 8); x10 += x14; x6 = Integer.rotateLeft(x6 ^ x10, 7);
+            x3 += x7; x15 = Integer.rotateLeft(x15 ^ x3, 16); x11 += x15; x7 = Integer.rotateLeft(x7 ^ x11, 12);
+            x3 += x7; x15 = Integer.rotateLeft(x15 ^ x3, 8); x11 += x15; x7 = Integer.rotateLeft(x7 ^ x11, 7);
+
+            // diagonal round
+            x0 += x5; x15 = Integer.rotateLeft(x15 ^ x0, 16); x10 += x15; x5 = Integer.rotateLeft(x5 ^ x10, 12);
+            x0 += x5; x15 = Integer.rotateLeft(x15 ^ x0, 8); x10 += x15; x5 = Integer.rotateLeft(x5 ^ x10, 7);
+            x1 += x6; x12 = Integer.rotateLeft(x12 ^ x1, 16); x11 += x12; x6 = Integer.rotateLeft(x6 ^ x11, 12);
+            x1 += x6; x12 = Integer.rotateLeft(x12 ^ x1, 8); x11 += x12; x6 = Integer.rotateLeft(x6 ^ x11, 7);
+            x2 += x7; x13 = Integer.rotateLeft(x13 ^ x2, 16); x8 += x13; x7 = Integer.rotateLeft(x7 ^ x8, 12);
+            x2 += x7; x13 = Integer.rotateLeft(x13 ^ x2, 8); x8 += x13; x7 = Integer.rotateLeft(x7 ^ x8, 7);
+            x3 += x4; x14 = Integer.rotateLeft(x14 ^ x3, 16); x9 += x14; x4 = Integer.rotateLeft(x4 ^ x9, 12);
+            x3 += x4; x14 = Integer.rotateLeft(x14 ^ x3, 8); x9 += x14; x4 = Integer.rotateLeft(x4 ^ x9, 7);
+        }
+
+        if (feedForward) {
+            x0 += in[0];
+            x1 += in[1];
+            x2 += in[2];
+            x3 += in[3];
+            x4 += in[4];
+            x5 += in[5];
+            x6 += in[6];
+            x7 += in[7];
+            x8 += in[8];
+            x9 += in[9];
+            x10 += in[10];
+            x11 += in[11];
+            x12 += in[12];
+            x13 += in[13];
+            x14 += in[14];
+            x15 += in[15];
+        }
+
+        out[0] = x0;
+        out[1] = x1;
+        out[2] = x2;
+        out[3] = x3;
+        out[4] = x4;
+        out[5] = x5;
+        out[6] = x6;
+        out[7] = x7;
+        out[8] = x8;
+        out[9] = x9;
+        out[10] = x10;
+        out[11] = x11;
+        out[12] = x12;
+        out[13] = x13;
+        out[14] = x14;
+        out[15] = x15;
+    }
+
+    private static void packIntLE(int value, byte[] dst, int off) {
+        dst[off] = (byte) value;
+        dst[off + 1] = (byte) (value >>> 8);
+        dst[off + 2] = (byte) (value >>> 16);
+        dst[off + 3] = (byte) (value >>> 24);
+    }
+
+    private static int unpackIntLE(byte[] buf, int off) {
+        return buf[off] & 0xff | (buf[off + 1] & 0xff) << 8 | (buf[off + 2] & 0xff) << 16 | (buf[off + 3] & 0xff) << 24;
+    }
+}
@@ -16,102 +16,90 @@
  */
 package dev.paseto.jpaseto.crypto.bouncycastle;
 
-import org.bouncycastle.util.Arrays;
-
-import javax.crypto.Cipher;
-import javax.crypto.NoSuchPaddingException;
-import javax.crypto.SecretKey;
-import javax.crypto.spec.IvParameterSpec;
-import javax.crypto.spec.SecretKeySpec;
-import java.nio.charset.StandardCharsets;
-import java.security.InvalidAlgorithmParameterException;
-import java.security.InvalidKeyException;
-import java.security.NoSuchAlgorithmException;
+import java.security.GeneralSecurityException;
+import java.util.Arrays;
 
 /**
  * A Java implementation of XChaCha20Poly1305 using Bouncy Castle.
  * Adapted from: https://github.com/o1c-dev/o1c/blob/567a420aacb4c41b415e0413a4b347ec416bb7e9/java8/src/main/java/dev/o1c/spi/XChaCha20Poly1305.java
+ * <p>
+ * An instance is bound to one key and keeps it as the unpacked words the HChaCha20 subkey derivation works on. Messages
+ * go through the calling thread's pure Java {@link ChaCha20Poly1305Engine}, which works on any JDK (Java 8 has no
+ * {@code ChaCha20-Poly1305} cipher) and does not allocate per message. Instances are thread safe.
+ *
  * @see <a href="https://tools.ietf.org/html/rfc8439">rfc8439</a>
  * @see <a href="https://tools.ietf.org/html/draft-irtf-cfrg-xchacha-03">draft rfc xchacha</a>
  */
 final class XChaCha20Poly1305 {
-    private static final int KEY_SIZE = 32;
-    private static final int[] ENGINE_STATE_HEADER = unpackIntsLE("expand 32-byte k".getBytes(StandardCharsets.US_ASCII), 0, 4);
-
-    private XChaCha20Poly1305() {}
-
-    static Cipher cryptWith(boolean forEncryption, byte[] key, byte[] nonce, byte[] aad) {
-        Cipher cipher = getChaCha20Poly1305();
-        byte[] hNonce = Arrays.copyOfRange(nonce, 0, 16);
-        byte[] sNonce = Arrays.copyOfRange(nonce, 12, nonce.length);
-        packIntLE(0, sNonce, 0);
-        SecretKey subkey = new SecretKeySpec(calculateSubKey(key, hNonce), "XChaCha20-Poly1305");
-        IvParameterSpec iv = new IvParameterSpec(sNonce);
-        try {
-            cipher.init(forEncryption ? Cipher.ENCRYPT_MODE : Cipher.DECRYPT_MODE, subkey, iv);
-            cipher.updateAAD(aad);
-        } catch (InvalidKeyException | InvalidAlgorithmParameterException e) {
-            throw new IllegalStateException(e);
-        }
-        return cipher;
-    }
+    static final int KEY_SIZE = 32;
+    static final int NONCE_SIZE = 24;
+    static final int TAG_SIZE = 16;
 
-    static byte[] calculateSubKey(byte[] key, byte[] nonce) {
-        int[] state = Arrays.copyOf(ENGINE_STATE_HEADER, 16);
-        unpackIntsLE(key, 0, 8, state, 4);
-        unpackIntsLE(nonce, 0, 4, state, 12);
-        chaChaBlock(state);
-        byte[] subkey = new byte[KEY_SIZE];
-        packIntsLE(state, 0, 4, subkey, 0);
-        packIntsLE(state, 12, 4, subkey, 16);
-        return subkey;
-    }
+    private static final ThreadLocal<ChaCha20Poly1305Engine> ENGINES = ThreadLocal.withInitial(ChaCha20Poly1305Engine::new);
 
-    private static void chaChaBlock(int[] state) {
-        for (int i = 0; i < 10; i++) {
-            columnRound(state);
-            diagonalRound(state);
+    private final int[] keyWords;
+
+    XChaCha20Poly1305(byte[] key) {
+        if (key == null || key.length != KEY_SIZE) {
+            throw new IllegalArgumentException("XChaCha20-Poly1305 key must be " + KEY_SIZE + " bytes.");
         }
+        this.keyWords = unpackIntsLE(key, 0, 8);
     }
 
-    private static void columnRound(int[] state) {
-        quarterRound(state, 0, 4, 8, 12);
-        quarterRound(state, 1, 5, 9, 13);
-        quarterRound(state, 2, 6, 10, 14);
-        quarterRound(state, 3, 7, 11, 15);
+    /**
+     * Overwrites the unpacked key, the instance must not be used afterwards.
+     */
+    void destroy() {
+        Arrays.fill(keyWords, 0);
     }
 
-    private static void diagonalRound(int[] state) {
-        quarterRound(state, 0, 5, 10, 15);
-        quarterRound(state, 1, 6, 11, 12);
-        quarterRound(state, 2, 7, 8, 13);
-        quarterRound(state, 3, 4, 9, 14);
+    /**
+     * Encrypts {@code input[inputOffset, inputOffset + inputLength)} into {@code output} starting at
+     * {@code outputOffset}, which must have room for {@code inputLength + TAG_SIZE} bytes.
+     *
+     * @return the number of bytes written to {@code output}
+     */
+    int encrypt(byte[] nonce, byte[] aad, byte[] input, int inputOffset, int inputLength, byte[] output, int outputOffset)
+            throws GeneralSecurityException {
+        return engine(nonce).encrypt(aad, input, inputOffset, inputLength, output, outputOffset);
     }
 
-    private static void quarterRound(int[] state, int a, int b, int c, int d) {
-        state[a] += state[b];
-        state[d] = shiftLeftRotate(state[d] ^ state[a], 16);
-
-        state[c] += state[d];
-        state[b] = shiftLeftRotate(state[b] ^ state[c], 12);
+    /**
+     * Decrypts and authenticates {@code input[inputOffset, inputOffset + inputLength)}, which ends with the tag, into
+     * {@code output} starting at {@code outputOffset}, which must have room for {@code inputLength - TAG_SIZE} bytes.
+     *
+     * @return the number of bytes written to {@code output}
+     * @throws javax.crypto.AEADBadTagException if the tag does not match
+     */
+    int decrypt(byte[] nonce, byte[] aad, byte[] input, int inputOffset, int inputLength, byte[] output, int outputOffset)
+            throws GeneralSecurityException {
+        return engine(nonce).decrypt(aad, input, inputOffset, inputLength, output, outputOffset);
+    }
 
-        state[a] += state[b];
-        state[d] = shiftLeftRotate(state[d] ^ state[a], 8);
+    private ChaCha20Poly1305Engine engine(byte[] nonce) {
+        checkNonce(nonce);
+        ChaCha20Poly1305Engine engine = ENGINES.get();
+        engine.initXChaCha(keyWords, nonce);
+        return engine;
+    }
 
-        state[c] += state[d];
-        state[b] = shiftLeftRotate(state[b] ^ state[c], 7);
+    static byte[] calculateSubKey(byte[] key, byte[] nonce) {
+        return subKey(unpackIntsLE(key, 0, 8), nonce);
     }
 
-    // val <<< len
-    private static int shiftLeftRotate(int val, int len) {
-        return (val << len) | (val >>> -len);
+    // HChaCha20 of the key and the first 16 bytes of the nonce
+    private static byte[] subKey(int[] keyWords, byte[] nonce) {
+        int[] state = new int[16];
+        ChaCha20Poly1305Engine.hChaCha20(keyWords, nonce, state);
+        byte[] subkey = new byte[KEY_SIZE];
+        packIntsLE(state, 0, 4, subkey, 0);
+        packIntsLE(state, 12, 4, subkey, 16);
+        return subkey;
     }
 
-    private static Cipher getChaCha20Poly1305() {
-        try {
-            return Cipher.getInstance("ChaCha20-Poly1305");
-        } catch (NoSuchAlgorithmException | NoSuchPaddingException e) {
-            throw new IllegalStateException(e);
+    private static void checkNonce(byte[] nonce) {
+        if (nonce.length != NONCE_SIZE) {
+            throw new IllegalArgumentException("XChaCha20-Poly1305 nonce must be " + NONCE_SIZE + " bytes.");
         }
     }
 
@@ -143,4 +131,4 @@ final class XChaCha20Poly1305 {
         unpackIntsLE(buf, off, nrInts, values, 0);
         return values;
     }
-}
\ No newline at end of file
+}
@@ -22,6 +22,7 @@ import org.testng.annotations.Test
 
 import javax.crypto.SecretKey
 import java.nio.charset.StandardCharsets
+import java.util.concurrent.atomic.AtomicInteger
 
 import static org.hamcrest.MatcherAssert.assertThat
 import static org.hamcrest.Matchers.equalTo
@@ -44,6 +45,29 @@ class BouncyCastleV1LocalCryptoProviderTest {
         assertThat encodeToString(result), equalTo(expectedResult)
     }
 
+    @Test
+    void singleExtractStepTest() {
+        AtomicInteger extractCount = new AtomicInteger()
+        def cryptoProvider = new BouncyCastleV1LocalCryptoProvider() {
+            @Override
+            protected byte[] hkdfSha384Extract(byte[] salt, byte[] inputKeyingMaterial) {
+                extractCount.incrementAndGet()
+                return super.hkdfSha384Extract(salt, inputKeyingMaterial)
+            }
+        }
+
+        SecretKey secretKey = Keys.secretKey(decode("3nQBDXcLZRTcVZF0NS/6yZ3JO03i/Yv+C1CQRvPgmJk"))
+        byte[] nonce = new byte[32]
+        byte[] payload = "test-payload".getBytes(StandardCharsets.UTF_8)
+        byte[] footer = new byte[0]
+
+        byte[] encrypted = cryptoProvider.encrypt(payload, footer, nonce, secretKey)
+        assertThat extractCount.get(), equalTo(1)
+
+        assertThat cryptoProvider.decrypt(encrypted, footer, nonce, secretKey), equalTo(payload)
+        assertThat extractCount.get(), equalTo(2)
+    }
+
     private static String encodeToString(byte[] bytes) {
         return Base64.getEncoder().withoutPadding().encodeToString(bytes)
     }
@@ -0,0 +1,131 @@
+/*
+ * Copyright 2020-Present paseto.dev
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package dev.paseto.jpaseto.crypto.bouncycastle
+
+import dev.paseto.jpaseto.PasetoSecurityException
+import org.testng.annotations.Test
+
+import javax.crypto.SecretKey
+import javax.crypto.spec.SecretKeySpec
+
+import static org.hamcrest.MatcherAssert.assertThat
+import static org.hamcrest.Matchers.everyItem
+import static org.hamcrest.Matchers.is
+
+class BouncyCastleV2LocalCryptoProviderTest {
+
+    private static final byte[] FOOTER = "footer".getBytes("UTF-8")
+
+    @Test
+    void roundTripTest() {
+        def provider = new BouncyCastleV2LocalCryptoProvider()
+        def key = new SecretKeySpec(new byte[32], "XChaCha20-Poly1305")
+        byte[] payload = '{"sub":"jsmith"}'.getBytes("UTF-8")
+        byte[] nonce = provider.blake2b(payload, new byte[24])
+
+        byte[] encrypted = provider.encrypt(payload, FOOTER, nonce, key)
+        assertThat encrypted.length, is(24 + payload.length + 16)
+        assertThat Arrays.copyOf(encrypted, 24), is(nonce)
+
+        // the same token twice, and with an equal key instance
+        assertThat provider.decrypt(encrypted, FOOTER, key), is(payload)
+        assertThat provider.decrypt(encrypted, FOOTER, key), is(payload)
+        assertThat provider.decrypt(encrypted, FOOTER, new SecretKeySpec(new byte[32], "XChaCha20-Poly1305")), is(payload)
+        assertThat provider.encrypt(payload, FOOTER, nonce, key), is(encrypted)
+    }
+
+    @Test(expectedExceptions = PasetoSecurityException)
+    void wrongKeyTest() {
+        def provider = new BouncyCastleV2LocalCryptoProvider()
+        byte[] payload = "payload".getBytes("UTF-8")
+        byte[] encrypted = provider.encrypt(payload, FOOTER, new byte[24], new SecretKeySpec(new byte[32], "XChaCha20-Poly1305"))
+        byte[] otherKey = new byte[32]
+        otherKey[0] = 1
+        provider.decrypt(encrypted, FOOTER, new SecretKeySpec(otherKey, "XChaCha20-Poly1305"))
+    }
+
+    @Test(expectedExceptions = PasetoSecurityException)
+    void tooShortTest() {
+        new BouncyCastleV2LocalCryptoProvider().decrypt(new byte[39], FOOTER, new SecretKeySpec(new byte[32], "XChaCha20-Poly1305"))
+    }
+
+    @Test
+    void cachedKeyTest() {
+        def provider = new BouncyCastleV2LocalCryptoProvider()
+        def key = new RecordingKey()
+        def otherKey = new RecordingKey()
+        byte[] payload = "payload".getBytes("UTF-8")
+
+        byte[] encrypted = provider.encrypt(payload, FOOTER, new byte[24], key)
+        assertThat provider.decrypt(encrypted, FOOTER, key), is(payload)
+        assertThat key.copies.size(), is(1)
+
+        // switching keys unpacks the key again
+        assertThat provider.decrypt(encrypted, FOOTER, otherKey), is(payload)
+        assertThat provider.decrypt(encrypted, FOOTER, key), is(payload)
+        assertThat key.copies.size(), is(2)
+        assertThat otherKey.copies.size(), is(1)
+
+        // the copies returned by getEncoded() are wiped once unpacked
+        assertThat key.copies.flatten(), everyItem(is((byte) 0))
+    }
+
+    @Test(expectedExceptions = PasetoSecurityException)
+    void destroyedKeyTest() {
+        def provider = new BouncyCastleV2LocalCryptoProvider()
+        def key = new RecordingKey()
+        byte[] encrypted = provider.encrypt("payload".getBytes("UTF-8"), FOOTER, new byte[24], key)
+
+        key.destroy()
+        provider.decrypt(encrypted, FOOTER, key)
+    }
+
+    /**
+     * Records the copies returned by {@code getEncoded()}, and can be destroyed.
+     */
+    private static class RecordingKey implements SecretKey {
+        private final List<byte[]> copies = []
+        private boolean destroyed
+
+        @Override
+        String getAlgorithm() {
+            return "XChaCha20-Poly1305"
+        }
+
+        @Override
+        String getFormat() {
+            return "RAW"
+        }
+
+        @Override
+        byte[] getEncoded() {
+            byte[] copy = new byte[32]
+            Arrays.fill(copy, (byte) 7)
+            copies.add(copy)
+            return copy
+        }
+
+        @Override
+        void destroy() {
+            destroyed = true
+        }
+
+        @Override
+        boolean isDestroyed() {
+            return destroyed
+        }
+    }
+}
@@ -0,0 +1,115 @@
+/*
+ * Copyright 2019-Present paseto.dev
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package dev.paseto.jpaseto.crypto.bouncycastle
+
+import org.testng.annotations.Test
+
+import javax.crypto.AEADBadTagException
+import javax.crypto.ShortBufferException
+
+import static org.hamcrest.MatcherAssert.assertThat
+import static org.hamcrest.Matchers.equalTo
+import static org.bouncycastle.util.encoders.Hex.decode
+
+class ChaCha20Poly1305EngineTest {
+
+    // rfc8439, 2.8.2
+    private static final byte[] KEY = decode("808182838485868788898a8b8c8d8e8f909192939495969798999a9b9c9d9e9f")
+    private static final byte[] NONCE = decode("070000004041424344454647")
+    private static final byte[] AAD = decode("50515253c0c1c2c3c4c5c6c7")
+    private static final byte[] PLAIN_TEXT = ("Ladies and Gentlemen of the class of '99: If I could offer you only one tip for " +
+            "the future, sunscreen would be it.").getBytes("US-ASCII")
+    private static final byte[] CIPHER_TEXT = decode("d31a8d34648e60db7b86afbc53ef7ec2a4aded51296e08fea9e2b5a736ee62d6" +
+            "3dbea45e8ca9671282fafb69da92728b1a71de0a9e060b2905d6a5b67ecd3b3692ddbd7f2d778b8c9803aee328091b58fab324e4" +
+            "fad675945585808b4831d7bc3ff4def08e4b7a9de576d26586cec64b6116" +
+            "1ae10b594f09e26a7e902ecbd0600691")
+
+    @Test
+    void encrypt() {
+        def engine = new ChaCha20Poly1305Engine()
+        engine.init(KEY, NONCE)
+        byte[] output = new byte[CIPHER_TEXT.length]
+        int written = engine.encrypt(AAD, PLAIN_TEXT, 0, PLAIN_TEXT.length, output, 0)
+        assertThat written, equalTo(CIPHER_TEXT.length)
+        assertThat output, equalTo(CIPHER_TEXT)
+    }
+
+    @Test
+    void decrypt() {
+        def engine = new ChaCha20Poly1305Engine()
+        engine.init(KEY, NONCE)
+        byte[] output = new byte[PLAIN_TEXT.length]
+        int written = engine.decrypt(AAD, CIPHER_TEXT, 0, CIPHER_TEXT.length, output, 0)
+        assertThat written, equalTo(PLAIN_TEXT.length)
+        assertThat output, equalTo(PLAIN_TEXT)
+    }
+
+    @Test
+    void inPlace() {
+        def engine = new ChaCha20Poly1305Engine()
+        byte[] buffer = Arrays.copyOf(PLAIN_TEXT, CIPHER_TEXT.length)
+        engine.init(KEY, NONCE)
+        engine.encrypt(AAD, buffer, 0, PLAIN_TEXT.length, buffer, 0)
+        assertThat buffer, equalTo(CIPHER_TEXT)
+
+        engine.init(KEY, NONCE)
+        engine.decrypt(AAD, buffer, 0, buffer.length, buffer, 0)
+        assertThat Arrays.copyOf(buffer, PLAIN_TEXT.length), equalTo(PLAIN_TEXT)
+    }
+
+    @Test
+    void invalidTagDoesNotWriteOutput() {
+        def engine = new ChaCha20Poly1305Engine()
+        byte[] input = Arrays.copyOf(CIPHER_TEXT, CIPHER_TEXT.length)
+        input[0] ^= 1
+        byte[] output = new byte[PLAIN_TEXT.length]
+        engine.init(KEY, NONCE)
+        try {
+            engine.decrypt(AAD, input, 0, input.length, output, 0)
+            throw new AssertionError("expected AEADBadTagException")
+        } catch (AEADBadTagException expected) {
+            assertThat output, equalTo(new byte[PLAIN_TEXT.length])
+        }
+
+        // the engine is usable again after a failure
+        engine.init(KEY, NONCE)
+        engine.decrypt(AAD, CIPHER_TEXT, 0, CIPHER_TEXT.length, output, 0)
+        assertThat output, equalTo(PLAIN_TEXT)
+    }
+
+    @Test(expectedExceptions = AEADBadTagException)
+    void invalidAad() {
+        def engine = new ChaCha20Poly1305Engine()
+        byte[] aad = Arrays.copyOf(AAD, AAD.length)
+        aad[aad.length - 1] ^= 1
+        engine.init(KEY, NONCE)
+        engine.decrypt(aad, CIPHER_TEXT, 0, CIPHER_TEXT.length, new byte[PLAIN_TEXT.length], 0)
+    }
+
+    @Test(expectedExceptions = AEADBadTagException)
+    void inputShorterThanTag() {
+        def engine = new ChaCha20Poly1305Engine()
+        engine.init(KEY, NONCE)
+        engine.decrypt(AAD, new byte[15], 0, 15, new byte[0], 0)
+    }
+
+    @Test(expectedExceptions = ShortBufferException)
+    void outputTooSmall() {
+        def engine = new ChaCha20Poly1305Engine()
+        engine.init(KEY, NONCE)
+        engine.encrypt(AAD, PLAIN_TEXT, 0, PLAIN_TEXT.length, new byte[PLAIN_TEXT.length], 0)
+    }
+}
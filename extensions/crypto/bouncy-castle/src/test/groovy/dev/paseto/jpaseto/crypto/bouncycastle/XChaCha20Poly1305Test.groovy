@@ -16,8 +16,15 @@
  */
 package dev.paseto.jpaseto.crypto.bouncycastle
 
+import org.testng.SkipException
 import org.testng.annotations.Test
 
+import javax.crypto.AEADBadTagException
+import javax.crypto.Cipher
+import javax.crypto.spec.IvParameterSpec
+import javax.crypto.spec.SecretKeySpec
+import java.security.NoSuchAlgorithmException
+
 import static org.hamcrest.MatcherAssert.assertThat
 import static org.hamcrest.Matchers.equalTo
 import static org.bouncycastle.util.encoders.Hex.decode
@@ -32,4 +39,97 @@ class XChaCha20Poly1305Test {
         def actualKey = XChaCha20Poly1305.calculateSubKey(key, nonce)
         assertThat expectedKey, equalTo(actualKey)
     }
-}
\ No newline at end of file
+
+    // draft-irtf-cfrg-xchacha-03, A.3.1
+    private static final byte[] KEY = decode("808182838485868788898a8b8c8d8e8f909192939495969798999a9b9c9d9e9f")
+    private static final byte[] NONCE = decode("404142434445464748494a4b4c4d4e4f5051525354555657")
+    private static final byte[] AAD = decode("50515253c0c1c2c3c4c5c6c7")
+    private static final byte[] PLAIN_TEXT = ("Ladies and Gentlemen of the class of '99: If I could offer you only one tip for " +
+            "the future, sunscreen would be it.").getBytes("US-ASCII")
+    private static final byte[] CIPHER_TEXT = decode("bd6d179d3e83d43b9576579493c0e939572a1700252bfaccbed2902c21396cbb" +
+            "731c7f1b0b4aa6440bf3a82f4eda7e39ae64c6708c54c216cb96b72e1213b4522f8c9ba40db5d945b11b69b982c1bb9e3f3fac2b" +
+            "c369488f76b2383565d3fff921f9664c97637da9768812f615c68b13b52e" +
+            "c0875924c1c7987947deafd8780acf49")
+
+    @Test
+    void encryptIntoBuffer() {
+        def cipher = new XChaCha20Poly1305(KEY)
+        byte[] output = new byte[CIPHER_TEXT.length + 3]
+        int written = cipher.encrypt(NONCE, AAD, PLAIN_TEXT, 0, PLAIN_TEXT.length, output, 3)
+        assertThat written, equalTo(CIPHER_TEXT.length)
+        assertThat Arrays.copyOfRange(output, 3, output.length), equalTo(CIPHER_TEXT)
+    }
+
+    @Test
+    void decryptFromBuffer() {
+        def cipher = new XChaCha20Poly1305(KEY)
+        byte[] input = new byte[CIPHER_TEXT.length + 2]
+        System.arraycopy(CIPHER_TEXT, 0, input, 2, CIPHER_TEXT.length)
+        byte[] output = new byte[PLAIN_TEXT.length]
+        int written = cipher.decrypt(NONCE, AAD, input, 2, CIPHER_TEXT.length, output, 0)
+        assertThat written, equalTo(PLAIN_TEXT.length)
+        assertThat output, equalTo(PLAIN_TEXT)
+    }
+
+    @Test
+    void engineMatchesJce() {
+        requireJce()
+        assertThat jceEncrypt(KEY, NONCE, AAD, PLAIN_TEXT), equalTo(CIPHER_TEXT)
+
+        def random = new Random(7)
+        byte[] key = new byte[32]
+        random.nextBytes(key)
+        def engine = new XChaCha20Poly1305(key)
+
+        // every length around the 16 byte Poly1305 and 64 byte ChaCha20 block boundaries
+        for (int length = 0; length <= 300; length++) {
+            byte[] nonce = new byte[24]
+            byte[] aad = new byte[length % 37]
+            byte[] plainText = new byte[length]
+            random.nextBytes(nonce)
+            random.nextBytes(aad)
+            random.nextBytes(plainText)
+
+            byte[] expected = jceEncrypt(key, nonce, aad, plainText)
+            byte[] actual = new byte[length + 16]
+            engine.encrypt(nonce, aad, plainText, 0, length, actual, 0)
+            assertThat actual, equalTo(expected)
+
+            byte[] decrypted = new byte[length]
+            engine.decrypt(nonce, aad, expected, 0, expected.length, decrypted, 0)
+            assertThat decrypted, equalTo(plainText)
+        }
+    }
+
+    @Test(expectedExceptions = AEADBadTagException)
+    void decryptInvalidTag() {
+        byte[] input = Arrays.copyOf(CIPHER_TEXT, CIPHER_TEXT.length)
+        input[input.length - 1] ^= 1
+        new XChaCha20Poly1305(KEY).decrypt(NONCE, AAD, input, 0, input.length, new byte[PLAIN_TEXT.length], 0)
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException)
+    void invalidKeyLength() {
+        new XChaCha20Poly1305(new byte[16])
+    }
+
+    // XChaCha20-Poly1305 through the JDK's ChaCha20-Poly1305 cipher, as a reference for the engine
+    private static byte[] jceEncrypt(byte[] key, byte[] nonce, byte[] aad, byte[] plainText) {
+        byte[] sNonce = new byte[12] // 4 zero bytes followed by the last 8 bytes of the nonce
+        System.arraycopy(nonce, 16, sNonce, 4, 8)
+        Cipher cipher = Cipher.getInstance("ChaCha20-Poly1305")
+        cipher.init(Cipher.ENCRYPT_MODE, new SecretKeySpec(XChaCha20Poly1305.calculateSubKey(key, nonce), "ChaCha20"),
+                new IvParameterSpec(sNonce))
+        cipher.updateAAD(aad)
+        return cipher.doFinal(plainText)
+    }
+
+    // Java 8 has no ChaCha20-Poly1305 cipher
+    private static void requireJce() {
+        try {
+            Cipher.getInstance("ChaCha20-Poly1305")
+        } catch (NoSuchAlgorithmException e) {
+            throw new SkipException("ChaCha20-Poly1305 requires Java 11+", e)
+        }
+    }
+}
@@ -21,17 +21,21 @@ import com.google.auto.service.AutoService;
 import dev.paseto.jpaseto.impl.crypto.BaseV1LocalCryptoProvider;
 import dev.paseto.jpaseto.impl.crypto.V1LocalCryptoProvider;
 
-import javax.crypto.SecretKey;
-
 /**
  * @since 0.5.0
  */
 @AutoService(V1LocalCryptoProvider.class)
 public class HKDFV1LocalCryptoProvider extends BaseV1LocalCryptoProvider {
 
+    private static final HKDF HKDF_SHA384 = HKDF.from(new HkdfMacFactory.Default("HmacSHA384"));
+
+    @Override
+    protected byte[] hkdfSha384Extract(byte[] salt, byte[] inputKeyingMaterial) {
+        return HKDF_SHA384.extract(salt, inputKeyingMaterial);
+    }
+
     @Override
-    protected byte[] hkdfSha384(SecretKey sharedSecret, byte[] salt, byte[] info) {
-        HKDF hkdfSha384 = HKDF.from(new HkdfMacFactory.Default("HmacSHA384"));
-        return hkdfSha384.extractAndExpand(salt, sharedSecret.getEncoded(), info, 32);
+    protected byte[] hkdfSha384Expand(byte[] pseudoRandomKey, byte[] info) {
+        return HKDF_SHA384.expand(pseudoRandomKey, info, DERIVED_KEY_LENGTH);
     }
 }
@@ -15,6 +15,9 @@
  */
 package dev.paseto.jpaseto.crypto.hkdf
 
+import at.favre.lib.crypto.HKDF
+import at.favre.lib.crypto.HkdfMacFactory
+import dev.paseto.jpaseto.impl.crypto.BaseV1LocalCryptoProvider
 import dev.paseto.jpaseto.impl.crypto.V1LocalCryptoProvider
 import dev.paseto.jpaseto.lang.Keys
 import dev.paseto.jpaseto.lang.Services
@@ -22,6 +25,7 @@ import org.testng.annotations.Test
 
 import javax.crypto.SecretKey
 import java.nio.charset.StandardCharsets
+import java.util.concurrent.atomic.AtomicInteger
 
 import static org.hamcrest.MatcherAssert.assertThat
 import static org.hamcrest.Matchers.equalTo
@@ -45,6 +49,50 @@ class HKDFV1LocalCryptoProviderTest {
         assertThat encodeToString(result), equalTo(expectedResult)
     }
 
+    @Test
+    void singleExtractStepTest() {
+        AtomicInteger extractCount = new AtomicInteger()
+        def cryptoProvider = new HKDFV1LocalCryptoProvider() {
+            @Override
+            protected byte[] hkdfSha384Extract(byte[] salt, byte[] inputKeyingMaterial) {
+                extractCount.incrementAndGet()
+                return super.hkdfSha384Extract(salt, inputKeyingMaterial)
+            }
+        }
+
+        SecretKey secretKey = Keys.secretKey(decode("3nQBDXcLZRTcVZF0NS/6yZ3JO03i/Yv+C1CQRvPgmJk"))
+        byte[] nonce = new byte[32]
+        byte[] payload = "test-payload".getBytes(StandardCharsets.UTF_8)
+        byte[] footer = new byte[0]
+
+        byte[] encrypted = cryptoProvider.encrypt(payload, footer, nonce, secretKey)
+        assertThat extractCount.get(), equalTo(1)
+
+        assertThat cryptoProvider.decrypt(encrypted, footer, nonce, secretKey), equalTo(payload)
+        assertThat extractCount.get(), equalTo(2)
+    }
+
+    @Test
+    void legacySubclassTest() {
+        // providers written before 0.7.0 only implement hkdfSha384, the default extract and expand steps are used
+        def legacyProvider = new BaseV1LocalCryptoProvider() {
+            @Override
+            protected byte[] hkdfSha384(SecretKey sharedSecret, byte[] salt, byte[] info) {
+                HKDF hkdf = HKDF.from(new HkdfMacFactory.Default("HmacSHA384"))
+                return hkdf.extractAndExpand(salt, sharedSecret.getEncoded(), info, 32)
+            }
+        }
+
+        SecretKey secretKey = Keys.secretKey(decode("3nQBDXcLZRTcVZF0NS/6yZ3JO03i/Yv+C1CQRvPgmJk"))
+        byte[] nonce = (0..<32).collect { it as byte } as byte[]
+        byte[] payload = "test-payload".getBytes(StandardCharsets.UTF_8)
+        byte[] footer = new byte[0]
+
+        byte[] encrypted = legacyProvider.encrypt(payload, footer, nonce, secretKey)
+        assertThat encrypted, equalTo(new HKDFV1LocalCryptoProvider().encrypt(payload, footer, nonce, secretKey))
+        assertThat legacyProvider.decrypt(encrypted, footer, nonce, secretKey), equalTo(payload)
+    }
+
     private static String encodeToString(byte[] bytes) {
         return Base64.getEncoder().withoutPadding().encodeToString(bytes)
     }
@@ -17,43 +17,72 @@ package dev.paseto.jpaseto.crypto.sodium;
 
 import org.apache.tuweni.crypto.sodium.Sodium;
 
-import java.lang.reflect.InvocationTargetException;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
 import java.lang.reflect.Method;
 import java.security.AccessController;
 import java.security.PrivilegedAction;
 
 final class Blake2b {
 
+    /**
+     * Sodium's {@code crypto_generichash_blake2b}, resolved once, or {@code null} when the native library is not
+     * loaded and {@link Blake2bDigest} is used instead.
+     */
+    private static final MethodHandle SODIUM_BLAKE2B = findSodiumBlake2b();
+
+    private static final ThreadLocal<Blake2bDigest> DIGESTS = ThreadLocal.withInitial(Blake2bDigest::new);
+
     private Blake2b() {}
 
-    // TODO: This has been fixed in https://issues.apache.org/jira/browse/TUWENI-30
-    // See branch 'tuweni-snapshot' for fix, which can be merged as soon as Tuweni performs a release
     static byte[] hash(int hashLength, byte[] bytes, byte[] key) {
+        byte[] output = new byte[hashLength];
+        if (SODIUM_BLAKE2B == null) {
+            DIGESTS.get().init(hashLength, key).update(bytes, 0, bytes.length).doFinal(output);
+            return output;
+        }
 
-        // static int crypto_generichash_blake2b(byte[] out, long outlen, byte[] in, long inlen, byte[] key, long keylen)
+        int result;
+        try {
+            result = (int) SODIUM_BLAKE2B.invokeExact(
+                    output, (long) output.length,
+                    bytes, (long) bytes.length,
+                    key, (long) key.length);
+        } catch (Throwable e) {
+            throw new IllegalStateException("Failed to calculate BLAKE2b digest", e);
+        }
+        if (result != 0) {
+            throw new IllegalStateException("Failed to calculate BLAKE2b digest, crypto_generichash_blake2b returned: " + result);
+        }
+        return output;
+    }
 
-        byte[] output = new byte[hashLength];
+    static boolean isNative() {
+        return SODIUM_BLAKE2B != null;
+    }
 
+    // TODO: This has been fixed in https://issues.apache.org/jira/browse/TUWENI-30
+    // Once Tuweni releases it, the public binding can be called directly instead of looking up this package-private
+    // method: static int crypto_generichash_blake2b(byte[] out, long outlen, byte[] in, long inlen, byte[] key, long keylen)
+    private static MethodHandle findSodiumBlake2b() {
         try {
+            if (!Sodium.isAvailable()) {
+                return null;
+            }
             Method blake2b = Sodium.class.getDeclaredMethod("crypto_generichash_blake2b",
                     byte[].class, long.class,
                     byte[].class, long.class,
                     byte[].class, long.class);
 
-            AccessController.doPrivileged((PrivilegedAction<Method>) () -> {
+            AccessController.doPrivileged((PrivilegedAction<Void>) () -> {
                 blake2b.setAccessible(true);
-                return blake2b;
-            }).invoke(null,
-                           output, output.length,
-                           bytes, bytes.length,
-                           key, key.length);
-
-            return output;
+                return null;
+            });
+            return MethodHandles.lookup().unreflect(blake2b);
 
-        } catch (NoSuchMethodException e) {
-            throw new IllegalStateException("Failed to find method 'crypto_generichash_blake2b' in: " + Sodium.class, e);
-        } catch (IllegalAccessException | InvocationTargetException e) {
-            throw new IllegalStateException("Failed to calculate BLAKE2b digest", e);
+        } catch (NoSuchMethodException | IllegalAccessException | RuntimeException e) {
+            // fall back to the pure Java implementation, e.g. the method was renamed or module access is denied
+            return null;
         }
     }
 }
@@ -0,0 +1,182 @@
+/*
+ * Copyright 2019-Present paseto.dev
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package dev.paseto.jpaseto.crypto.sodium;
+
+import java.util.Arrays;
+
+/**
+ * A pure Java, keyed BLAKE2b (<a href="https://tools.ietf.org/html/rfc7693">RFC 7693</a>) used when the Sodium native
+ * library is not loaded. An instance keeps its state and working arrays between hashes, call
+ * {@link #init(int, byte[])} to start a new one. Instances are not thread safe.
+ */
+final class Blake2bDigest {
+
+    static final int MAX_OUTPUT_LENGTH = 64;
+    static final int MAX_KEY_LENGTH = 64;
+
+    private static final int BLOCK_LENGTH = 128;
+
+    private static final long[] IV = {
+            0x6a09e667f3bcc908L, 0xbb67ae8584caa73bL, 0x3c6ef372fe94f82bL, 0xa54ff53a5f1d36f1L,
+            0x510e527fade682d1L, 0x9b05688c2b3e6c1fL, 0x1f83d9abfb41bd6bL, 0x5be0cd19137e2179L
+    };
+
+    private static final byte[][] SIGMA = {
+            {0, 1, 2, 3, 4, 5, 6, 7, 8, 9, 10, 11, 12, 13, 14, 15},
+            {14, 10, 4, 8, 9, 15, 13, 6, 1, 12, 0, 2, 11, 7, 5, 3},
+            {11, 8, 12, 0, 5, 2, 15, 13, 10, 14, 3, 6, 7, 1, 9, 4},
+            {7, 9, 3, 1, 13, 12, 11, 14, 2, 6, 5, 10, 4, 0, 15, 8},
+            {9, 0, 5, 7, 2, 4, 10, 15, 14, 1, 11, 12, 6, 8, 3, 13},
+            {2, 12, 6, 10, 0, 11, 8, 3, 4, 13, 7, 5, 15, 14, 1, 9},
+            {12, 5, 1, 15, 14, 13, 4, 10, 0, 7, 6, 3, 9, 2, 8, 11},
+            {13, 11, 7, 14, 12, 1, 3, 9, 5, 0, 15, 4, 8, 6, 2, 10},
+            {6, 15, 14, 9, 11, 3, 0, 8, 12, 2, 13, 7, 1, 4, 10, 5},
+            {10, 2, 8, 4, 7, 6, 1, 5, 15, 11, 9, 14, 3, 12, 13, 0},
+            {0, 1, 2, 3, 4, 5, 6, 7, 8, 9, 10, 11, 12, 13, 14, 15},
+            {14, 10, 4, 8, 9, 15, 13, 6, 1, 12, 0, 2, 11, 7, 5, 3}
+    };
+
+    private final long[] h = new long[8];
+    private final long[] v = new long[16];
+    private final long[] m = new long[16];
+    private final byte[] buffer = new byte[BLOCK_LENGTH];
+
+    private int bufferLength;
+    private long counterLow;
+    private long counterHigh;
+    private int outputLength;
+
+    Blake2bDigest init(int outputLength, byte[] key) {
+        int keyLength = key != null ? key.length : 0;
+        if (outputLength < 1 || outputLength > MAX_OUTPUT_LENGTH) {
+            throw new IllegalArgumentException("BLAKE2b output length must be between 1 and " + MAX_OUTPUT_LENGTH + " bytes.");
+        }
+        if (keyLength > MAX_KEY_LENGTH) {
+            throw new IllegalArgumentException("BLAKE2b key length must not exceed " + MAX_KEY_LENGTH + " bytes.");
+        }
+        this.outputLength = outputLength;
+        System.arraycopy(IV, 0, h, 0, 8);
+        h[0] ^= 0x01010000L ^ ((long) keyLength << 8) ^ outputLength;
+        counterLow = 0;
+        counterHigh = 0;
+        bufferLength = 0;
+        if (keyLength > 0) {
+            // the key is padded to a full block, which is hashed as the first block of input
+            System.arraycopy(key, 0, buffer, 0, keyLength);
+            Arrays.fill(buffer, keyLength, BLOCK_LENGTH, (byte) 0);
+            bufferLength = BLOCK_LENGTH;
+        }
+        return this;
+    }
+
+    Blake2bDigest update(byte[] in, int offset, int length) {
+        while (length > 0) {
+            // the last block must be compressed with the final flag, so a full buffer is only compressed once more
+            // input arrives
+            if (bufferLength == BLOCK_LENGTH) {
+                incrementCounter(BLOCK_LENGTH);
+                compress(buffer, 0, false);
+                bufferLength = 0;
+            }
+            if (bufferLength == 0 && length > BLOCK_LENGTH) {
+                incrementCounter(BLOCK_LENGTH);
+                compress(in, offset, false);
+                offset += BLOCK_LENGTH;
+                length -= BLOCK_LENGTH;
+                continue;
+            }
+            int n = Math.min(BLOCK_LENGTH - bufferLength, length);
+            System.arraycopy(in, offset, buffer, bufferLength, n);
+            bufferLength += n;
+            offset += n;
+            length -= n;
+        }
+        return this;
+    }
+
+    void doFinal(byte[] out) {
+        incrementCounter(bufferLength);
+        Arrays.fill(buffer, bufferLength, BLOCK_LENGTH, (byte) 0);
+        compress(buffer, 0, true);
+        for (int i = 0; i < outputLength; i++) {
+            out[i] = (byte) (h[i >> 3] >>> (8 * (i & 7)));
+        }
+        // don't keep key material or input around
+        Arrays.fill(buffer, (byte) 0);
+        Arrays.fill(m, 0L);
+        Arrays.fill(v, 0L);
+        bufferLength = 0;
+    }
+
+    private void incrementCounter(int n) {
+        counterLow += n;
+        if (Long.compareUnsigned(counterLow, n) < 0) {
+            counterHigh++;
+        }
+    }
+
+    private void compress(byte[] block, int offset, boolean last) {
+        final long[] v = this.v;
+        final long[] m = this.m;
+        for (int i = 0; i < 16; i++) {
+            m[i] = littleEndian(block, offset + (i << 3));
+        }
+        System.arraycopy(h, 0, v, 0, 8);
+        System.arraycopy(IV, 0, v, 8, 8);
+        v[12] ^= counterLow;
+        v[13] ^= counterHigh;
+        if (last) {
+            v[14] = ~v[14];
+        }
+        for (int round = 0; round < 12; round++) {
+            byte[] s = SIGMA[round];
+            mix(0, 4, 8, 12, m[s[0]], m[s[1]]);
+            mix(1, 5, 9, 13, m[s[2]], m[s[3]]);
+            mix(2, 6, 10, 14, m[s[4]], m[s[5]]);
+            mix(3, 7, 11, 15, m[s[6]], m[s[7]]);
+            mix(0, 5, 10, 15, m[s[8]], m[s[9]]);
+            mix(1, 6, 11, 12, m[s[10]], m[s[11]]);
+            mix(2, 7, 8, 13, m[s[12]], m[s[13]]);
+            mix(3, 4, 9, 14, m[s[14]], m[s[15]]);
+        }
+        for (int i = 0; i < 8; i++) {
+            h[i] ^= v[i] ^ v[i + 8];
+        }
+    }
+
+    private void mix(int a, int b, int c, int d, long x, long y) {
+        final long[] v = this.v;
+        v[a] = v[a] + v[b] + x;
+        v[d] = Long.rotateRight(v[d] ^ v[a], 32);
+        v[c] = v[c] + v[d];
+        v[b] = Long.rotateRight(v[b] ^ v[c], 24);
+        v[a] = v[a] + v[b] + y;
+        v[d] = Long.rotateRight(v[d] ^ v[a], 16);
+        v[c] = v[c] + v[d];
+        v[b] = Long.rotateRight(v[b] ^ v[c], 63);
+    }
+
+    private static long littleEndian(byte[] b, int off) {
+        return (b[off] & 0xFFL)
+                | (b[off + 1] & 0xFFL) << 8
+                | (b[off + 2] & 0xFFL) << 16
+                | (b[off + 3] & 0xFFL) << 24
+                | (b[off + 4] & 0xFFL) << 32
+                | (b[off + 5] & 0xFFL) << 40
+                | (b[off + 6] & 0xFFL) << 48
+                | (b[off + 7] & 0xFFL) << 56;
+    }
+}
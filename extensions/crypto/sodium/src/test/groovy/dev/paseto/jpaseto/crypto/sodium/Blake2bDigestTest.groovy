@@ -0,0 +1,109 @@
+/*
+ * Copyright 2019-Present paseto.dev
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package dev.paseto.jpaseto.crypto.sodium
+
+import org.apache.commons.codec.binary.Hex
+import org.apache.tuweni.crypto.sodium.Sodium
+import org.testng.annotations.Test
+
+import static org.hamcrest.MatcherAssert.assertThat
+import static org.hamcrest.Matchers.is
+
+class Blake2bDigestTest {
+
+    @Test
+    void keyedTest() {
+        // from https://github.com/BLAKE2/BLAKE2/blob/master/testvectors/blake2b-kat.txt
+        def payload = decode("000102030405060708090a0b0c0d0e0f101112131415161718191a1b1c1d1e1f20")
+        def key = decode("000102030405060708090a0b0c0d0e0f101112131415161718191a1b1c1d1e1f202122232425262728292a2b2c2d2e2f303132333435363738393a3b3c3d3e3f")
+        def expectedHash = decode("5595e05c13a7ec4dc8f41fb70cb50a71bce17c024ff6de7af618d0cc4e9c32d9570d6d3ea45b86525491030c0d8f2b1836d5778c1ce735c17707df364d054347")
+
+        assertThat hash(expectedHash.length, payload, key), is(expectedHash)
+    }
+
+    @Test
+    void unkeyedTest() {
+        // RFC 7693, Appendix A
+        def expectedHash = decode("ba80a53f981c4d0d6a2797b69f12f6e94c212f14685ac4b74b12bb6fdbffa2d17d87c5392aab792dc252d5de4533cc9518d38aa8dbf1925ab92386edd4009923")
+
+        assertThat hash(64, "abc".getBytes("US-ASCII"), new byte[0]), is(expectedHash)
+        assertThat hash(64, "abc".getBytes("US-ASCII"), null), is(expectedHash)
+    }
+
+    @Test
+    void multiBlockUpdatesTest() {
+        byte[] payload = new byte[1000]
+        new Random(1).nextBytes(payload)
+        byte[] key = new byte[32]
+
+        byte[] expected = hash(24, payload, key)
+
+        def digest = new Blake2bDigest().init(24, key)
+        [0, 1, 127, 128, 129, 256, 359].inject(0) { int offset, int length ->
+            digest.update(payload, offset, length)
+            return offset + length
+        }
+        byte[] result = new byte[24]
+        digest.doFinal(result)
+        assertThat result, is(expected)
+    }
+
+    @Test
+    void reuseTest() {
+        def digest = new Blake2bDigest()
+        byte[] key = new byte[32]
+        byte[] first = hash(digest, 24, "first".getBytes("US-ASCII"), key)
+        hash(digest, 64, new byte[300], new byte[64])
+        assertThat hash(digest, 24, "first".getBytes("US-ASCII"), key), is(first)
+    }
+
+    @Test
+    void matchesBlake2bTest() {
+        // Blake2b calls libsodium whenever it is loaded, and only falls back to this digest without it
+        assertThat Blake2b.isNative(), is(Sodium.isAvailable())
+
+        byte[] payload = new byte[300]
+        new Random(2).nextBytes(payload)
+        byte[] key = new byte[32]
+        new Random(3).nextBytes(key)
+        assertThat Blake2b.hash(24, payload, key), is(hash(24, payload, key))
+        assertThat Blake2b.hash(64, payload, new byte[0]), is(hash(64, payload, new byte[0]))
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException)
+    void invalidOutputLengthTest() {
+        new Blake2bDigest().init(65, null)
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException)
+    void invalidKeyLengthTest() {
+        new Blake2bDigest().init(32, new byte[65])
+    }
+
+    private static byte[] hash(int length, byte[] payload, byte[] key) {
+        return hash(new Blake2bDigest(), length, payload, key)
+    }
+
+    private static byte[] hash(Blake2bDigest digest, int length, byte[] payload, byte[] key) {
+        byte[] out = new byte[length]
+        digest.init(length, key).update(payload, 0, payload.length).doFinal(out)
+        return out
+    }
+
+    private static byte[] decode(String input) {
+        return Hex.decodeHex(input)
+    }
+}
@@ -0,0 +1,119 @@
+/*
+ * Copyright 2019-Present paseto.dev
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package dev.paseto.jpaseto.io.fast;
+
+import dev.paseto.jpaseto.Claims;
+import dev.paseto.jpaseto.FooterClaims;
+import dev.paseto.jpaseto.lang.Assert;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Precomputed encodings of the registered claim names: the PASETO registered claims, {@code kid}, and any names added
+ * by the application. The writer copies a name's {@code "name":} bytes instead of escaping and encoding it for each
+ * token, and the parser returns the canonical {@code String} for a matching member name instead of decoding a new one.
+ */
+final class ClaimNames {
+
+    private static final Collection<String> REGISTERED = Arrays.asList(Claims.ISSUER, Claims.SUBJECT,
+            Claims.AUDIENCE, Claims.EXPIRATION, Claims.NOT_BEFORE, Claims.ISSUED_AT, Claims.TOKEN_ID,
+            FooterClaims.KEY_ID);
+
+    static final ClaimNames DEFAULT = new ClaimNames(Collections.emptySet());
+
+    private final Map<String, byte[]> fields;
+
+    // names that need no escaping, indexed by the length of their UTF-8 encoding
+    private final String[][] namesByLength;
+    private final byte[][][] bytesByLength;
+
+    ClaimNames(Collection<String> additionalNames) {
+        Assert.notNull(additionalNames, "Claim names cannot be null.");
+        Set<String> names = new LinkedHashSet<>(REGISTERED);
+        for (String name : additionalNames) {
+            Assert.hasText(name, "Claim names cannot be null or empty.");
+            names.add(name);
+        }
+
+        this.fields = new HashMap<>(names.size() * 2);
+        Map<Integer, Set<String>> lengths = new HashMap<>();
+        int maxLength = 0;
+        ClaimsWriter writer = new ClaimsWriter(null);
+        for (String name : names) {
+            writer.reset(null).writeString(name);
+            byte[] quoted = writer.toByteArray();
+            byte[] field = Arrays.copyOf(quoted, quoted.length + 1);
+            field[quoted.length] = ':';
+            fields.put(name, field);
+
+            byte[] utf8 = name.getBytes(StandardCharsets.UTF_8);
+            if (utf8.length == quoted.length - 2) { // nothing was escaped
+                lengths.computeIfAbsent(utf8.length, k -> new LinkedHashSet<>()).add(name);
+                maxLength = Math.max(maxLength, utf8.length);
+            }
+        }
+
+        this.namesByLength = new String[maxLength + 1][];
+        this.bytesByLength = new byte[maxLength + 1][][];
+        for (Map.Entry<Integer, Set<String>> entry : lengths.entrySet()) {
+            String[] bucket = entry.getValue().toArray(new String[0]);
+            byte[][] bucketBytes = new byte[bucket.length][];
+            for (int i = 0; i < bucket.length; i++) {
+                bucketBytes[i] = bucket[i].getBytes(StandardCharsets.UTF_8);
+            }
+            namesByLength[entry.getKey()] = bucket;
+            bytesByLength[entry.getKey()] = bucketBytes;
+        }
+    }
+
+    /**
+     * Returns the encoded {@code "name":} bytes for a registered name, or {@code null}.
+     */
+    byte[] field(String name) {
+        return fields.get(name);
+    }
+
+    /**
+     * Returns the registered name whose UTF-8 encoding equals {@code bytes[offset, offset + length)}, or {@code null}.
+     */
+    String lookup(byte[] bytes, int offset, int length) {
+        if (length >= namesByLength.length) {
+            return null;
+        }
+        byte[][] candidates = bytesByLength[length];
+        if (candidates == null) {
+            return null;
+        }
+        outer:
+        for (int i = 0; i < candidates.length; i++) {
+            byte[] candidate = candidates[i];
+            for (int j = 0; j < length; j++) {
+                if (candidate[j] != bytes[offset + j]) {
+                    continue outer;
+                }
+            }
+            return namesByLength[length][i];
+        }
+        return null;
+    }
+}
@@ -0,0 +1,397 @@
+/*
+ * Copyright 2019-Present paseto.dev
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package dev.paseto.jpaseto.io.fast;
+
+import java.io.IOException;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A byte level parser for the JSON that makes up claims. Objects are read into {@link LinkedHashMap}s (the top level
+ * one presized for a typical set of claims), arrays into {@link ArrayList}s, integers into the smallest of
+ * {@code Integer}, {@code Long} and {@code BigInteger} that holds them, and other numbers into {@code Double}s. Strings,
+ * including ISO-8601 dates, are returned as {@code String}s, which the claims convert to {@code Instant}s on access.
+ * <p>
+ * A new instance is needed for each document.
+ */
+final class ClaimsParser {
+
+    static final int CLAIMS_INITIAL_CAPACITY = 32;
+
+    private final ClaimNames claimNames;
+    private final byte[] bytes;
+    private int pos;
+
+    ClaimsParser(ClaimNames claimNames, byte[] bytes) {
+        this.claimNames = claimNames;
+        this.bytes = bytes;
+    }
+
+    Object parse() throws IOException {
+        skipWhitespace();
+        if (pos == bytes.length) {
+            throw error("No content to parse");
+        }
+        Object value = readValue(0);
+        skipWhitespace();
+        if (pos != bytes.length) {
+            throw error("Unexpected content after the end of the document");
+        }
+        return value;
+    }
+
+    private Object readValue(int depth) throws IOException {
+        if (pos == bytes.length) {
+            throw error("Unexpected end of input");
+        }
+        byte b = bytes[pos];
+        switch (b) {
+            case '{':
+                return readObject(depth + 1);
+            case '[':
+                return readArray(depth + 1);
+            case '"':
+                return readString();
+            case 't':
+                readLiteral("true");
+                return Boolean.TRUE;
+            case 'f':
+                readLiteral("false");
+                return Boolean.FALSE;
+            case 'n':
+                readLiteral("null");
+                return null;
+            default:
+                if (b == '-' || (b >= '0' && b <= '9')) {
+                    return readNumber();
+                }
+                throw error("Unexpected character " + describe(b));
+        }
+    }
+
+    private Map<String, Object> readObject(int depth) throws IOException {
+        checkDepth(depth);
+        pos++; // '{'
+        Map<String, Object> map = depth == 1 ? new LinkedHashMap<>(CLAIMS_INITIAL_CAPACITY) : new LinkedHashMap<>();
+        skipWhitespace();
+        if (peek() == '}') {
+            pos++;
+            return map;
+        }
+        while (true) {
+            if (peek() != '"') {
+                throw error("Expected a member name");
+            }
+            String name = readName();
+            skipWhitespace();
+            expect(':');
+            skipWhitespace();
+            map.put(name, readValue(depth));
+            skipWhitespace();
+            byte b = peek();
+            pos++;
+            if (b == '}') {
+                return map;
+            }
+            if (b != ',') {
+                pos--;
+                throw error("Expected ',' or '}'");
+            }
+            skipWhitespace();
+        }
+    }
+
+    private List<Object> readArray(int depth) throws IOException {
+        checkDepth(depth);
+        pos++; // '['
+        List<Object> list = new ArrayList<>();
+        skipWhitespace();
+        if (peek() == ']') {
+            pos++;
+            return list;
+        }
+        while (true) {
+            list.add(readValue(depth));
+            skipWhitespace();
+            byte b = peek();
+            pos++;
+            if (b == ']') {
+                return list;
+            }
+            if (b != ',') {
+                pos--;
+                throw error("Expected ',' or ']'");
+            }
+            skipWhitespace();
+        }
+    }
+
+    private String readName() throws IOException {
+        int start = pos + 1;
+        int end = scanPlainString(start);
+        if (end < 0) {
+            return readString();
+        }
+        pos = end + 1;
+        String name = claimNames.lookup(bytes, start, end - start);
+        return name != null ? name : new String(bytes, start, end - start, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Returns the index of the closing quote if the string starting at {@code start} has no escapes or control
+     * characters, -1 otherwise.
+     */
+    private int scanPlainString(int start) {
+        final byte[] in = bytes;
+        for (int i = start; i < in.length; i++) {
+            byte b = in[i];
+            if (b == '"') {
+                return i;
+            }
+            if (b == '\\' || (b >= 0 && b < 0x20)) {
+                return -1;
+            }
+        }
+        return -1;
+    }
+
+    private String readString() throws IOException {
+        final byte[] in = bytes;
+        final int start = pos + 1;
+        boolean ascii = true;
+        int i = start;
+        for (; i < in.length; i++) {
+            byte b = in[i];
+            if (b == '"') {
+                pos = i + 1;
+                return new String(in, start, i - start, ascii ? StandardCharsets.ISO_8859_1 : StandardCharsets.UTF_8);
+            }
+            if (b == '\\') {
+                break;
+            }
+            if (b < 0) {
+                ascii = false;
+            } else if (b < 0x20) {
+                pos = i;
+                throw error("Unescaped control character " + describe(b) + " in a string");
+            }
+        }
+        pos = i;
+        return readEscapedString(start);
+    }
+
+    private String readEscapedString(int start) throws IOException {
+        final byte[] in = bytes;
+        StringBuilder sb = new StringBuilder(pos - start + 16);
+        int segment = start; // start of the pending unescaped bytes
+        while (pos < in.length) {
+            byte b = in[pos];
+            if (b == '"') {
+                appendUtf8(sb, segment, pos);
+                pos++;
+                return sb.toString();
+            }
+            if (b == '\\') {
+                appendUtf8(sb, segment, pos);
+                pos++;
+                if (pos == in.length) {
+                    break;
+                }
+                byte escape = in[pos++];
+                switch (escape) {
+                    case '"':
+                    case '\\':
+                    case '/':
+                        sb.append((char) escape);
+                        break;
+                    case 'b':
+                        sb.append('\b');
+                        break;
+                    case 'f':
+                        sb.append('\f');
+                        break;
+                    case 'n':
+                        sb.append('\n');
+                        break;
+                    case 'r':
+                        sb.append('\r');
+                        break;
+                    case 't':
+                        sb.append('\t');
+                        break;
+                    case 'u':
+                        sb.append(readHexChar());
+                        break;
+                    default:
+                        pos--;
+                        throw error("Invalid escape sequence \\" + (char) (escape & 0xFF));
+                }
+                segment = pos;
+            } else if (b >= 0 && b < 0x20) {
+                throw error("Unescaped control character " + describe(b) + " in a string");
+            } else {
+                pos++;
+            }
+        }
+        throw error("Unterminated string");
+    }
+
+    private void appendUtf8(StringBuilder sb, int from, int to) {
+        if (to > from) {
+            sb.append(new String(bytes, from, to - from, StandardCharsets.UTF_8));
+        }
+    }
+
+    private char readHexChar() throws IOException {
+        if (pos + 4 > bytes.length) {
+            throw error("Truncated \\u escape");
+        }
+        int value = 0;
+        for (int i = 0; i < 4; i++) {
+            int digit = Character.digit(bytes[pos], 16);
+            if (digit < 0) {
+                throw error("Invalid \\u escape");
+            }
+            value = (value << 4) | digit;
+            pos++;
+        }
+        return (char) value;
+    }
+
+    private Number readNumber() throws IOException {
+        final byte[] in = bytes;
+        final int start = pos;
+        final boolean negative = in[pos] == '-';
+        if (negative) {
+            pos++;
+        }
+        int intStart = pos;
+        if (pos < in.length && in[pos] == '0') {
+            pos++;
+        } else {
+            skipDigits();
+        }
+        int intDigits = pos - intStart;
+        boolean integral = true;
+        if (pos < in.length && in[pos] == '.') {
+            integral = false;
+            pos++;
+            if (skipDigits() == 0) {
+                throw error("Expected a digit after the decimal point");
+            }
+        }
+        if (pos < in.length && (in[pos] == 'e' || in[pos] == 'E')) {
+            integral = false;
+            pos++;
+            if (pos < in.length && (in[pos] == '+' || in[pos] == '-')) {
+                pos++;
+            }
+            if (skipDigits() == 0) {
+                throw error("Expected a digit in the exponent");
+            }
+        }
+        if (intDigits == 0) {
+            pos = intStart;
+            throw error("Expected a digit");
+        }
+
+        if (integral && intDigits <= 18) {
+            long value = 0;
+            for (int i = intStart; i < pos; i++) {
+                value = value * 10 + (in[i] - '0');
+            }
+            if (negative) {
+                value = -value;
+            }
+            if (value >= Integer.MIN_VALUE && value <= Integer.MAX_VALUE) {
+                return (int) value;
+            }
+            return value;
+        }
+        String text = new String(in, start, pos - start, StandardCharsets.ISO_8859_1);
+        if (integral) {
+            BigInteger value = new BigInteger(text);
+            return value.bitLength() < 64 ? (Number) value.longValue() : value;
+        }
+        return Double.parseDouble(text);
+    }
+
+    private int skipDigits() {
+        final byte[] in = bytes;
+        int start = pos;
+        while (pos < in.length && in[pos] >= '0' && in[pos] <= '9') {
+            pos++;
+        }
+        return pos - start;
+    }
+
+    private void readLiteral(String literal) throws IOException {
+        final int length = literal.length();
+        if (pos + length > bytes.length) {
+            throw error("Unexpected end of input");
+        }
+        for (int i = 0; i < length; i++) {
+            if (bytes[pos + i] != literal.charAt(i)) {
+                throw error("Unexpected character " + describe(bytes[pos]));
+            }
+        }
+        pos += length;
+    }
+
+    private void skipWhitespace() {
+        final byte[] in = bytes;
+        while (pos < in.length) {
+            byte b = in[pos];
+            if (b != ' ' && b != '\n' && b != '\r' && b != '\t') {
+                return;
+            }
+            pos++;
+        }
+    }
+
+    private byte peek() throws IOException {
+        if (pos == bytes.length) {
+            throw error("Unexpected end of input");
+        }
+        return bytes[pos];
+    }
+
+    private void expect(char c) throws IOException {
+        if (peek() != c) {
+            throw error("Expected '" + c + "'");
+        }
+        pos++;
+    }
+
+    private void checkDepth(int depth) throws IOException {
+        if (depth > ClaimsWriter.MAX_DEPTH) {
+            throw error("Claims are nested more than " + ClaimsWriter.MAX_DEPTH + " levels deep");
+        }
+    }
+
+    private static String describe(byte b) {
+        int c = b & 0xFF;
+        return c >= 0x20 && c < 0x7F ? "'" + (char) c + "'" : String.format("0x%02X", c);
+    }
+
+    private IOException error(String message) {
+        return new IOException(message + " at offset " + pos + ".");
+    }
+}
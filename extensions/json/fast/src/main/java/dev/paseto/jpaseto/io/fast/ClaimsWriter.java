@@ -0,0 +1,315 @@
+/*
+ * Copyright 2019-Present paseto.dev
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package dev.paseto.jpaseto.io.fast;
+
+import dev.paseto.jpaseto.lang.DateFormats;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.net.URI;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Calendar;
+import java.util.Date;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Writes claim values as UTF-8 JSON into a growable byte array. Only the types claims are made of are supported, no
+ * reflection is used: maps, iterables and arrays, strings, numbers, booleans, {@code null}, and dates, which are
+ * written as ISO-8601 strings. Instances can be reused by calling {@link #reset(ClaimNames)}, and are not thread safe.
+ */
+final class ClaimsWriter {
+
+    static final int MAX_DEPTH = 1000;
+
+    private static final int INITIAL_CAPACITY = 256;
+
+    /**
+     * Buffers that grew past this size are not kept by {@link #reset(ClaimNames)}, so one large token does not pin
+     * memory to the thread that wrote it.
+     */
+    private static final int MAX_RETAINED_CAPACITY = 16 * 1024;
+
+    private static final byte[] HEX = {'0', '1', '2', '3', '4', '5', '6', '7', '8', '9', 'A', 'B', 'C', 'D', 'E', 'F'};
+    private static final byte[] TRUE = {'t', 'r', 'u', 'e'};
+    private static final byte[] FALSE = {'f', 'a', 'l', 's', 'e'};
+    private static final byte[] NULL = {'n', 'u', 'l', 'l'};
+
+    // 0: written as is, 'u': written as a 4 digit unicode escape, otherwise the character written after a backslash
+    private static final byte[] ESCAPES = new byte[128];
+
+    static {
+        for (int i = 0; i < 0x20; i++) {
+            ESCAPES[i] = 'u';
+        }
+        ESCAPES['\b'] = 'b';
+        ESCAPES['\f'] = 'f';
+        ESCAPES['\n'] = 'n';
+        ESCAPES['\r'] = 'r';
+        ESCAPES['\t'] = 't';
+        ESCAPES['"'] = '"';
+        ESCAPES['\\'] = '\\';
+    }
+
+    private ClaimNames claimNames;
+    private byte[] buf = new byte[INITIAL_CAPACITY];
+    private int count;
+
+    ClaimsWriter(ClaimNames claimNames) {
+        this.claimNames = claimNames;
+    }
+
+    ClaimsWriter reset(ClaimNames claimNames) {
+        if (buf.length > MAX_RETAINED_CAPACITY) {
+            buf = new byte[INITIAL_CAPACITY];
+        }
+        this.claimNames = claimNames;
+        this.count = 0;
+        return this;
+    }
+
+    byte[] toByteArray() {
+        return Arrays.copyOf(buf, count);
+    }
+
+    ClaimsWriter writeValue(Object value) {
+        writeValue(value, 0);
+        return this;
+    }
+
+    private void writeValue(Object value, int depth) {
+        if (value == null) {
+            writeRaw(NULL);
+        } else if (value instanceof CharSequence) {
+            writeString((CharSequence) value);
+        } else if (value instanceof Map) {
+            writeMap((Map<?, ?>) value, depth + 1);
+        } else if (value instanceof Iterable) {
+            writeIterable((Iterable<?>) value, depth + 1);
+        } else if (value instanceof Integer || value instanceof Long || value instanceof Short || value instanceof Byte) {
+            writeLong(((Number) value).longValue());
+        } else if (value instanceof Boolean) {
+            writeRaw((Boolean) value ? TRUE : FALSE);
+        } else if (value instanceof Instant) {
+            writeString(DateFormats.formatIso8601((Instant) value));
+        } else if (value instanceof Double || value instanceof Float) {
+            writeDouble((Number) value);
+        } else if (value instanceof BigInteger || value instanceof BigDecimal) {
+            writeAscii(value.toString());
+        } else if (value instanceof Date) {
+            writeString(DateFormats.formatIso8601(((Date) value).toInstant()));
+        } else if (value instanceof Calendar) {
+            writeString(DateFormats.formatIso8601(((Calendar) value).toInstant()));
+        } else if (value instanceof Object[]) {
+            writeIterable(Arrays.asList((Object[]) value), depth + 1);
+        } else if (value instanceof byte[]) {
+            writeString(Base64.getEncoder().encodeToString((byte[]) value));
+        } else if (value instanceof char[]) {
+            writeString(new String((char[]) value));
+        } else if (value instanceof int[]) {
+            writeInts((int[]) value);
+        } else if (value instanceof long[]) {
+            writeLongs((long[]) value);
+        } else if (value instanceof Enum) {
+            writeString(((Enum<?>) value).name());
+        } else if (value instanceof Character || value instanceof UUID || value instanceof URI) {
+            writeString(value.toString());
+        } else {
+            throw new IllegalArgumentException("Unsupported claim value type: " + value.getClass().getName() + ". " +
+                    "Only maps, collections, arrays, strings, numbers, booleans and dates can be written without " +
+                    "reflection, convert the value first or use the Jackson or Gson serializer.");
+        }
+    }
+
+    private void writeMap(Map<?, ?> map, int depth) {
+        checkDepth(depth);
+        writeByte('{');
+        boolean first = true;
+        for (Map.Entry<?, ?> entry : map.entrySet()) {
+            Object key = entry.getKey();
+            if (key == null) {
+                throw new IllegalArgumentException("Claim names cannot be null.");
+            }
+            if (!first) {
+                writeByte(',');
+            }
+            first = false;
+            String name = key.toString();
+            byte[] field = claimNames != null ? claimNames.field(name) : null;
+            if (field != null) {
+                writeRaw(field);
+            } else {
+                writeString(name);
+                writeByte(':');
+            }
+            writeValue(entry.getValue(), depth);
+        }
+        writeByte('}');
+    }
+
+    private void writeIterable(Iterable<?> values, int depth) {
+        checkDepth(depth);
+        writeByte('[');
+        boolean first = true;
+        for (Object value : values) {
+            if (!first) {
+                writeByte(',');
+            }
+            first = false;
+            writeValue(value, depth);
+        }
+        writeByte(']');
+    }
+
+    private void writeInts(int[] values) {
+        writeByte('[');
+        for (int i = 0; i < values.length; i++) {
+            if (i > 0) {
+                writeByte(',');
+            }
+            writeLong(values[i]);
+        }
+        writeByte(']');
+    }
+
+    private void writeLongs(long[] values) {
+        writeByte('[');
+        for (int i = 0; i < values.length; i++) {
+            if (i > 0) {
+                writeByte(',');
+            }
+            writeLong(values[i]);
+        }
+        writeByte(']');
+    }
+
+    private static void checkDepth(int depth) {
+        if (depth > MAX_DEPTH) {
+            throw new IllegalArgumentException("Claims are nested more than " + MAX_DEPTH + " levels deep.");
+        }
+    }
+
+    void writeString(CharSequence s) {
+        final int length = s.length();
+        // at most 6 bytes per char (an escaped control character), plus the quotes
+        ensureCapacity((long) length * 6 + 2);
+        final byte[] out = buf;
+        int n = count;
+        out[n++] = '"';
+        for (int i = 0; i < length; i++) {
+            char c = s.charAt(i);
+            if (c < 0x80) {
+                byte escape = ESCAPES[c];
+                if (escape == 0) {
+                    out[n++] = (byte) c;
+                } else if (escape == 'u') {
+                    out[n++] = '\\';
+                    out[n++] = 'u';
+                    out[n++] = '0';
+                    out[n++] = '0';
+                    out[n++] = HEX[c >> 4];
+                    out[n++] = HEX[c & 0xF];
+                } else {
+                    out[n++] = '\\';
+                    out[n++] = escape;
+                }
+            } else if (c < 0x800) {
+                out[n++] = (byte) (0xC0 | (c >> 6));
+                out[n++] = (byte) (0x80 | (c & 0x3F));
+            } else if (Character.isSurrogate(c)) {
+                char low;
+                if (Character.isHighSurrogate(c) && i + 1 < length && Character.isLowSurrogate(low = s.charAt(i + 1))) {
+                    int cp = Character.toCodePoint(c, low);
+                    out[n++] = (byte) (0xF0 | (cp >> 18));
+                    out[n++] = (byte) (0x80 | ((cp >> 12) & 0x3F));
+                    out[n++] = (byte) (0x80 | ((cp >> 6) & 0x3F));
+                    out[n++] = (byte) (0x80 | (cp & 0x3F));
+                    i++;
+                } else {
+                    out[n++] = '?'; // unpaired surrogate, like String.getBytes
+                }
+            } else {
+                out[n++] = (byte) (0xE0 | (c >> 12));
+                out[n++] = (byte) (0x80 | ((c >> 6) & 0x3F));
+                out[n++] = (byte) (0x80 | (c & 0x3F));
+            }
+        }
+        out[n++] = '"';
+        count = n;
+    }
+
+    private void writeLong(long value) {
+        if (value == Long.MIN_VALUE) {
+            writeAscii(Long.toString(value));
+            return;
+        }
+        ensureCapacity(20);
+        if (value < 0) {
+            buf[count++] = '-';
+            value = -value;
+        }
+        int digits = 1;
+        for (long q = value / 10; q != 0; q /= 10) {
+            digits++;
+        }
+        int pos = count + digits;
+        count = pos;
+        do {
+            buf[--pos] = (byte) ('0' + (value % 10));
+            value /= 10;
+        } while (value != 0);
+    }
+
+    private void writeDouble(Number value) {
+        double d = value.doubleValue();
+        if (Double.isNaN(d) || Double.isInfinite(d)) {
+            throw new IllegalArgumentException("JSON cannot represent the number " + value + ".");
+        }
+        writeAscii(value.toString());
+    }
+
+    private void writeAscii(String s) {
+        final int length = s.length();
+        ensureCapacity(length);
+        for (int i = 0; i < length; i++) {
+            buf[count++] = (byte) s.charAt(i);
+        }
+    }
+
+    private void writeRaw(byte[] bytes) {
+        ensureCapacity(bytes.length);
+        System.arraycopy(bytes, 0, buf, count, bytes.length);
+        count += bytes.length;
+    }
+
+    private void writeByte(char c) {
+        ensureCapacity(1);
+        buf[count++] = (byte) c;
+    }
+
+    private void ensureCapacity(long additional) {
+        long required = count + additional;
+        if (required > buf.length) {
+            if (required > Integer.MAX_VALUE - 8) {
+                throw new IllegalArgumentException("Claims are too large to serialize.");
+            }
+            long grown = Math.min((long) buf.length << 1, Integer.MAX_VALUE - 8);
+            buf = Arrays.copyOf(buf, (int) Math.max(grown, required));
+        }
+    }
+}
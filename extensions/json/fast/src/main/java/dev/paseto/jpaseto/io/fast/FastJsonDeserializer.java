@@ -0,0 +1,67 @@
+/*
+ * Copyright 2019-Present paseto.dev
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package dev.paseto.jpaseto.io.fast;
+
+import com.google.auto.service.AutoService;
+import dev.paseto.jpaseto.io.DeserializationException;
+import dev.paseto.jpaseto.io.Deserializer;
+
+import java.io.IOException;
+import java.util.Collection;
+
+/**
+ * A {@link Deserializer} for the JSON subset PASETO claims use: objects, arrays, strings, numbers, booleans and
+ * {@code null}, with ISO-8601 dates left as strings for the claims to convert. The parser works directly on the UTF-8
+ * bytes, uses no reflection and has no dependencies, so it avoids the startup cost of a general purpose object mapper.
+ * Claim values are never mapped to custom types, use the Jackson deserializer for that.
+ *
+ * @since 0.7.0
+ */
+@AutoService(Deserializer.class)
+public class FastJsonDeserializer<T> implements Deserializer<T> {
+
+    private final ClaimNames claimNames;
+
+    public FastJsonDeserializer() {
+        this.claimNames = ClaimNames.DEFAULT;
+    }
+
+    /**
+     * Creates a deserializer that returns shared {@code String} instances for the given claim names, in addition to
+     * the PASETO registered claims and {@code kid}, instead of decoding a new {@code String} for each token.
+     *
+     * @param claimNames the names of the application's own claims
+     */
+    @SuppressWarnings("unused") // for end-users with their own claims
+    public FastJsonDeserializer(Collection<String> claimNames) {
+        this.claimNames = new ClaimNames(claimNames);
+    }
+
+    @Override
+    public T deserialize(byte[] bytes) throws DeserializationException {
+        try {
+            return readValue(bytes);
+        } catch (IOException e) {
+            String msg = "Unable to deserialize bytes into a " + Object.class.getName() + " instance: " + e.getMessage();
+            throw new DeserializationException(msg, e);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    protected T readValue(byte[] bytes) throws IOException {
+        return (T) new ClaimsParser(claimNames, bytes).parse();
+    }
+}
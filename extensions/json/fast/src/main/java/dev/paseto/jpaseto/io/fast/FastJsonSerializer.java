@@ -0,0 +1,68 @@
+/*
+ * Copyright 2019-Present paseto.dev
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package dev.paseto.jpaseto.io.fast;
+
+import com.google.auto.service.AutoService;
+import dev.paseto.jpaseto.io.SerializationException;
+import dev.paseto.jpaseto.io.Serializer;
+import dev.paseto.jpaseto.lang.Assert;
+
+import java.util.Collection;
+
+/**
+ * A {@link Serializer} for the JSON subset PASETO claims use, with no dependencies and no reflection. See
+ * {@link FastJsonDeserializer}.
+ *
+ * @since 0.7.0
+ */
+@AutoService(Serializer.class)
+public class FastJsonSerializer<T> implements Serializer<T> {
+
+    private static final ThreadLocal<ClaimsWriter> WRITERS = ThreadLocal.withInitial(() -> new ClaimsWriter(null));
+
+    private final ClaimNames claimNames;
+
+    public FastJsonSerializer() {
+        this.claimNames = ClaimNames.DEFAULT;
+    }
+
+    /**
+     * Creates a serializer that also precomputes the encoding of the given claim names, in addition to the PASETO
+     * registered claims and {@code kid}.
+     *
+     * @param claimNames the names of the application's own claims
+     */
+    @SuppressWarnings("unused") // for end-users with their own claims
+    public FastJsonSerializer(Collection<String> claimNames) {
+        this.claimNames = new ClaimNames(claimNames);
+    }
+
+    @Override
+    public byte[] serialize(T t) throws SerializationException {
+        Assert.notNull(t, "Object to serialize cannot be null.");
+        try {
+            return writeValueAsBytes(t);
+        } catch (Exception e) {
+            String msg = "Unable to serialize object: " + e.getMessage();
+            throw new SerializationException(msg, e);
+        }
+    }
+
+    @SuppressWarnings("WeakerAccess") //for testing
+    protected byte[] writeValueAsBytes(T t) {
+        return WRITERS.get().reset(claimNames).writeValue(t).toByteArray();
+    }
+}
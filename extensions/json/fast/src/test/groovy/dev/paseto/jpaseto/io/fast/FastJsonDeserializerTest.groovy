@@ -0,0 +1,113 @@
+/*
+ * Copyright 2019-Present paseto.dev
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package dev.paseto.jpaseto.io.fast
+
+import dev.paseto.jpaseto.io.DeserializationException
+import org.testng.Assert
+import org.testng.annotations.Test
+
+import static java.nio.charset.StandardCharsets.UTF_8
+import static org.hamcrest.MatcherAssert.assertThat
+import static org.hamcrest.Matchers.instanceOf
+import static org.hamcrest.Matchers.is
+import static org.hamcrest.Matchers.nullValue
+import static org.hamcrest.Matchers.sameInstance
+
+class FastJsonDeserializerTest {
+
+    @Test
+    void testDeserialize() {
+        byte[] serialized = '{"hello":"世界"}'.getBytes(UTF_8)
+        def expected = [hello: '世界']
+        def result = new FastJsonDeserializer().deserialize(serialized)
+        assertThat result, is(expected)
+    }
+
+    @Test
+    void testDeserializeClaims() {
+        String json = ' { "iss" : "https://example.com", "exp":"2019-01-01T00:00:00Z", "aud":["a","b"], "n":42, ' +
+                '"l":9223372036854775807, "big":9223372036854775808, "d":-1.5e-3, "zero":-0, "ok":true, "no":false, ' +
+                '"none":null, "nested":{"empty":{},"list":[]} } '
+        def result = new FastJsonDeserializer().deserialize(json.getBytes(UTF_8))
+        assertThat result, instanceOf(LinkedHashMap)
+        assertThat result, is([
+                iss   : 'https://example.com',
+                exp   : '2019-01-01T00:00:00Z',
+                aud   : ['a', 'b'],
+                n     : 42,
+                l     : Long.MAX_VALUE,
+                big   : new BigInteger('9223372036854775808'),
+                d     : -0.0015d,
+                zero  : 0,
+                ok    : true,
+                no    : false,
+                none  : null,
+                nested: [empty: [:], list: []]
+        ])
+        assertThat result.n, instanceOf(Integer)
+        assertThat result.l, instanceOf(Long)
+    }
+
+    @Test
+    void testEscapes() {
+        String json = '"a\\"b\\\\c\\/d\\b\\f\\n\\r\\t\\u00e9\\ud83d\\ude00 é"'
+        def result = new FastJsonDeserializer().deserialize(json.getBytes(UTF_8))
+        assertThat result, is('a"b\\c/d\b\f\n\r\té😀 é')
+    }
+
+    @Test
+    void testRegisteredClaimNamesAreShared() {
+        def deserializer = new FastJsonDeserializer(['user'])
+        def first = deserializer.deserialize('{"sub":"a","user":"b"}'.getBytes(UTF_8)) as Map
+        def second = deserializer.deserialize('{"sub":"c","user":"d"}'.getBytes(UTF_8)) as Map
+        assertThat first.keySet().toList()[0], sameInstance(second.keySet().toList()[0])
+        assertThat first.keySet().toList()[1], sameInstance(second.keySet().toList()[1])
+    }
+
+    @Test
+    void testMalformed() {
+        ['', ' ', '{', '[1,]', '{"a"}', '{"a":1,}', '{a:1}', '01', '-', '1.', '1e', '.5', '+1', 'tru', 'nul',
+         '"abc', '"\\x"', '"\\u12"', '"a\u0001"', '[1 2]', '{"a":1} x'].each { String json ->
+            try {
+                new FastJsonDeserializer().deserialize(json.getBytes(UTF_8))
+                Assert.fail("Expected DeserializationException for: " + json)
+            } catch (DeserializationException e) {
+                assertThat e.getCause(), instanceOf(IOException)
+            }
+        }
+    }
+
+    @Test
+    void testErrorMessage() {
+        try {
+            new FastJsonDeserializer().deserialize('[1,]'.getBytes(UTF_8))
+            Assert.fail("Expected DeserializationException to be thrown")
+        } catch (DeserializationException e) {
+            assertThat e.getMessage(), is("Unable to deserialize bytes into a java.lang.Object instance: " +
+                    "Unexpected character ']' at offset 3.")
+        }
+    }
+
+    @Test(expectedExceptions = DeserializationException)
+    void testTooDeep() {
+        new FastJsonDeserializer().deserialize(('[' * 1001).getBytes(UTF_8))
+    }
+
+    @Test
+    void testNull() {
+        assertThat new FastJsonDeserializer().deserialize('null'.getBytes(UTF_8)), nullValue()
+    }
+}
@@ -0,0 +1,133 @@
+/*
+ * Copyright 2019-Present paseto.dev
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package dev.paseto.jpaseto.io.fast
+
+import dev.paseto.jpaseto.io.SerializationException
+import org.testng.Assert
+import org.testng.annotations.Test
+
+import java.time.Instant
+
+import static java.nio.charset.StandardCharsets.UTF_8
+import static org.hamcrest.MatcherAssert.assertThat
+import static org.hamcrest.Matchers.containsString
+import static org.hamcrest.Matchers.instanceOf
+import static org.hamcrest.Matchers.is
+
+class FastJsonSerializerTest {
+
+    @Test(expectedExceptions = IllegalArgumentException)
+    void testNullArgument() {
+        new FastJsonSerializer().serialize(null)
+    }
+
+    @Test
+    void testSerialize() {
+        byte[] expected = '{"hello":"世界"}'.getBytes(UTF_8)
+        byte[] result = new FastJsonSerializer().serialize([hello: '世界'])
+        assertThat result, is(expected)
+    }
+
+    @Test
+    void testSerializeClaims() {
+        def claims = [
+                iss : 'https://example.com',
+                exp : Instant.parse('2019-01-01T00:00:00Z'),
+                iat : Date.from(Instant.parse('2019-01-01T00:00:00.5Z')),
+                aud : ['a', 'b'],
+                n   : 42,
+                l   : Long.MIN_VALUE,
+                d   : 1.5d,
+                big : new BigInteger('123456789012345678901234'),
+                ok  : true,
+                none: null,
+                nested: [ints: [1, 2] as int[], strings: ['x'] as String[]]
+        ]
+        String expected = '{"iss":"https://example.com","exp":"2019-01-01T00:00:00Z","iat":"2019-01-01T00:00:00.5Z",' +
+                '"aud":["a","b"],"n":42,"l":-9223372036854775808,"d":1.5,"big":123456789012345678901234,"ok":true,' +
+                '"none":null,"nested":{"ints":[1,2],"strings":["x"]}}'
+        assertThat new String(new FastJsonSerializer().serialize(claims), UTF_8), is(expected)
+    }
+
+    @Test
+    void testEscaping() {
+        def claims = ['a"b': 'line\nbreak\t\u0001\\/', emoji: '😀', unpaired: '\uD800x']
+        String expected = '{"a\\"b":"line\\nbreak\\t\\u0001\\\\/","emoji":"😀","unpaired":"?x"}'
+        assertThat new FastJsonSerializer().serialize(claims), is(expected.getBytes(UTF_8))
+    }
+
+    @Test
+    void testByteArray() { //expect Base64 string by default:
+        byte[] result = new FastJsonSerializer().serialize('hi'.getBytes(UTF_8))
+        assertThat new String(result, UTF_8), is('"aGk="')
+    }
+
+    @Test
+    void testCharArray() {
+        byte[] result = new FastJsonSerializer().serialize('hi'.toCharArray())
+        assertThat new String(result, UTF_8), is('"hi"')
+    }
+
+    @Test
+    void testCustomClaimNames() {
+        def serializer = new FastJsonSerializer(['user', 'quo"te'])
+        byte[] result = serializer.serialize([user: 'jsmith', 'quo"te': 1, other: 2])
+        assertThat new String(result, UTF_8), is('{"user":"jsmith","quo\\"te":1,"other":2}')
+    }
+
+    @Test
+    void testUnsupportedType() {
+        try {
+            new FastJsonSerializer().serialize([user: new Object()])
+            Assert.fail("Expected SerializationException to be thrown")
+        } catch (SerializationException e) {
+            assertThat e.getMessage(), containsString('Unsupported claim value type: java.lang.Object')
+            assertThat e.getCause(), instanceOf(IllegalArgumentException)
+        }
+    }
+
+    @Test(expectedExceptions = SerializationException)
+    void testNaN() {
+        new FastJsonSerializer().serialize([d: Double.NaN])
+    }
+
+    @Test(expectedExceptions = SerializationException)
+    void testNullKey() {
+        def map = new HashMap()
+        map.put(null, 'value')
+        new FastJsonSerializer().serialize(map)
+    }
+
+    @Test(expectedExceptions = SerializationException)
+    void testTooDeep() {
+        def value = []
+        def current = value
+        1001.times {
+            def next = []
+            current.add(next)
+            current = next
+        }
+        new FastJsonSerializer().serialize(value)
+    }
+
+    @Test
+    void testLargeValueAndReuse() {
+        def serializer = new FastJsonSerializer()
+        String large = 'x' * 100000
+        assertThat serializer.serialize([large: large]).length, is(large.length() + 12)
+        assertThat new String(serializer.serialize([a: 1]), UTF_8), is('{"a":1}')
+    }
+}
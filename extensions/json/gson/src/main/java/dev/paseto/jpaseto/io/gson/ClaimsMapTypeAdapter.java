@@ -0,0 +1,59 @@
+/*
+ * Copyright 2019-Present paseto.dev
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package dev.paseto.jpaseto.io.gson;
+
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Reads a top level JSON object into a presized {@link LinkedHashMap}, so a typical set of claims never triggers a
+ * resize. Member values, and any non-object document, are handled by the {@code Object} adapter of the configured Gson.
+ */
+final class ClaimsMapTypeAdapter extends TypeAdapter<Object> {
+
+    static final int INITIAL_CAPACITY = 32;
+
+    private final TypeAdapter<Object> values;
+
+    ClaimsMapTypeAdapter(TypeAdapter<Object> values) {
+        this.values = values;
+    }
+
+    @Override
+    public void write(JsonWriter out, Object value) throws IOException {
+        values.write(out, value);
+    }
+
+    @Override
+    public Object read(JsonReader in) throws IOException {
+        if (in.peek() != JsonToken.BEGIN_OBJECT) {
+            return values.read(in);
+        }
+        Map<String, Object> claims = new LinkedHashMap<>(INITIAL_CAPACITY);
+        in.beginObject();
+        while (in.hasNext()) {
+            claims.put(in.nextName(), values.read(in));
+        }
+        in.endObject();
+        return claims;
+    }
+}
@@ -17,14 +17,17 @@ package dev.paseto.jpaseto.io.gson;
 
 import com.google.auto.service.AutoService;
 import com.google.gson.Gson;
+import com.google.gson.JsonSyntaxException;
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
 import dev.paseto.jpaseto.io.DeserializationException;
 import dev.paseto.jpaseto.io.Deserializer;
 import dev.paseto.jpaseto.lang.Assert;
 
+import java.io.EOFException;
 import java.io.IOException;
 
-import static java.nio.charset.StandardCharsets.UTF_8;
-
 /**
  * @since 0.1.0
  */
@@ -33,6 +36,9 @@ public class GsonDeserializer<T> implements Deserializer<T> {
 
     private final Class<T> returnType;
     private final Gson gson;
+    private final TypeAdapter<Object> claimsAdapter;
+
+    private static final ThreadLocal<Utf8Reader> READERS = ThreadLocal.withInitial(Utf8Reader::new);
 
     public GsonDeserializer() {
         this(GsonSerializer.DEFAULT_GSON);
@@ -48,6 +54,7 @@ public class GsonDeserializer<T> implements Deserializer<T> {
         Assert.notNull(returnType, "Return type cannot be null.");
         this.gson = gson;
         this.returnType = returnType;
+        this.claimsAdapter = new ClaimsMapTypeAdapter(gson.getAdapter(Object.class));
     }
 
     @Override
@@ -60,7 +67,25 @@ public class GsonDeserializer<T> implements Deserializer<T> {
         }
     }
 
+    @SuppressWarnings("unchecked")
     protected T readValue(byte[] bytes) throws IOException {
-        return gson.fromJson(new String(bytes, UTF_8), returnType);
+        // decode the UTF-8 bytes as they are read instead of copying them into a String first
+        Utf8Reader utf8Reader = READERS.get().reset(bytes);
+        try {
+            JsonReader reader = gson.newJsonReader(utf8Reader);
+            reader.setLenient(true); // same as Gson.fromJson
+            try {
+                reader.peek();
+            } catch (EOFException e) {
+                return null; // an empty document, which Gson.fromJson also reads as null
+            }
+            Object value = claimsAdapter.read(reader);
+            if (reader.peek() != JsonToken.END_DOCUMENT) {
+                throw new JsonSyntaxException("JSON document was not fully consumed.");
+            }
+            return (T) value;
+        } finally {
+            utf8Reader.close();
+        }
     }
 }
\ No newline at end of file
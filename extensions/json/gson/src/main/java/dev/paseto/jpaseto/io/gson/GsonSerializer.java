@@ -18,11 +18,14 @@ package dev.paseto.jpaseto.io.gson;
 import com.google.auto.service.AutoService;
 import com.google.gson.Gson;
 import com.google.gson.GsonBuilder;
+import com.google.gson.JsonIOException;
+import com.google.gson.stream.JsonWriter;
 import dev.paseto.jpaseto.io.SerializationException;
 import dev.paseto.jpaseto.io.Serializer;
 import dev.paseto.jpaseto.lang.Assert;
 
-import java.nio.charset.StandardCharsets;
+import java.io.IOException;
+import java.time.Instant;
 import java.util.Base64;
 
 /**
@@ -31,7 +34,13 @@ import java.util.Base64;
 @AutoService(Serializer.class)
 public class GsonSerializer<T> implements Serializer<T> {
 
-    static final Gson DEFAULT_GSON = new GsonBuilder().disableHtmlEscaping().create();
+    static final Gson DEFAULT_GSON = new GsonBuilder()
+            .disableHtmlEscaping()
+            .registerTypeAdapter(Instant.class, new InstantTypeAdapter())
+            .create();
+
+    private static final ThreadLocal<Utf8Writer> WRITERS = ThreadLocal.withInitial(Utf8Writer::new);
+
     private Gson gson;
 
     @SuppressWarnings("unused") //used via reflection by RuntimeClasspathDeserializerLocator
@@ -66,6 +75,15 @@ public class GsonSerializer<T> implements Serializer<T> {
         } else {
             o = t;
         }
-        return this.gson.toJson(o).getBytes(StandardCharsets.UTF_8);
+        // encode directly to UTF-8 bytes instead of building a String and copying it with getBytes
+        Utf8Writer writer = WRITERS.get().reset();
+        try {
+            JsonWriter jsonWriter = this.gson.newJsonWriter(writer);
+            this.gson.toJson(o, o.getClass(), jsonWriter);
+            jsonWriter.flush();
+        } catch (IOException e) {
+            throw new JsonIOException(e);
+        }
+        return writer.toByteArray();
     }
 }
@@ -0,0 +1,116 @@
+/*
+ * Copyright 2019-Present paseto.dev
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package dev.paseto.jpaseto.io.gson;
+
+import java.io.Reader;
+
+/**
+ * A {@link Reader} that decodes UTF-8 directly from a byte array, without first copying it into a {@code String} or an
+ * intermediate buffer. Instances can be reused for another array by calling {@link #reset(byte[])}, and are not thread
+ * safe. Malformed input is replaced with {@code U+FFFD}.
+ */
+final class Utf8Reader extends Reader {
+
+    private static final char REPLACEMENT = '\uFFFD';
+    private static final byte[] EMPTY = new byte[0];
+
+    private byte[] bytes = EMPTY;
+    private int pos;
+    private char pendingLowSurrogate;
+
+    Utf8Reader reset(byte[] bytes) {
+        this.bytes = bytes;
+        this.pos = 0;
+        this.pendingLowSurrogate = 0;
+        return this;
+    }
+
+    @Override
+    public int read(char[] cbuf, int off, int len) {
+        if (len == 0) {
+            return 0;
+        }
+        int n = 0;
+        if (pendingLowSurrogate != 0) {
+            cbuf[off + n++] = pendingLowSurrogate;
+            pendingLowSurrogate = 0;
+        }
+        final byte[] in = bytes;
+        while (n < len && pos < in.length) {
+            int b = in[pos];
+            if (b >= 0) {
+                cbuf[off + n++] = (char) b;
+                pos++;
+                continue;
+            }
+            int cp = decodeMultiByte();
+            if (cp < Character.MIN_SUPPLEMENTARY_CODE_POINT) {
+                cbuf[off + n++] = (char) cp;
+            } else {
+                cbuf[off + n++] = Character.highSurrogate(cp);
+                char low = Character.lowSurrogate(cp);
+                if (n < len) {
+                    cbuf[off + n++] = low;
+                } else {
+                    pendingLowSurrogate = low;
+                }
+            }
+        }
+        return n == 0 ? -1 : n;
+    }
+
+    private int decodeMultiByte() {
+        final byte[] in = bytes;
+        int b0 = in[pos] & 0xFF;
+        int cp;
+        int count;
+        int min;
+        if (b0 >= 0xC2 && b0 <= 0xDF) {
+            cp = b0 & 0x1F;
+            count = 1;
+            min = 0x80;
+        } else if (b0 >= 0xE0 && b0 <= 0xEF) {
+            cp = b0 & 0x0F;
+            count = 2;
+            min = 0x800;
+        } else if (b0 >= 0xF0 && b0 <= 0xF4) {
+            cp = b0 & 0x07;
+            count = 3;
+            min = Character.MIN_SUPPLEMENTARY_CODE_POINT;
+        } else {
+            pos++;
+            return REPLACEMENT;
+        }
+        for (int i = 1; i <= count; i++) {
+            int b = pos + i < in.length ? in[pos + i] : 0;
+            if ((b & 0xC0) != 0x80) {
+                pos += i;
+                return REPLACEMENT;
+            }
+            cp = (cp << 6) | (b & 0x3F);
+        }
+        pos += count + 1;
+        if (cp < min || cp > Character.MAX_CODE_POINT || (cp >= Character.MIN_SURROGATE && cp <= Character.MAX_SURROGATE)) {
+            return REPLACEMENT;
+        }
+        return cp;
+    }
+
+    @Override
+    public void close() {
+        reset(EMPTY);
+    }
+}
@@ -0,0 +1,128 @@
+/*
+ * Copyright 2019-Present paseto.dev
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package dev.paseto.jpaseto.io.gson;
+
+import java.io.Writer;
+import java.util.Arrays;
+
+/**
+ * A {@link Writer} that encodes UTF-8 directly into a growable byte array, avoiding the intermediate {@code String}
+ * created by {@code gson.toJson(Object).getBytes(UTF_8)}. Instances can be reused by calling {@link #reset()}, and are
+ * not thread safe. Unpaired surrogates are written as {@code '?'}, like {@link String#getBytes(java.nio.charset.Charset)}.
+ */
+final class Utf8Writer extends Writer {
+
+    private static final int INITIAL_CAPACITY = 256;
+
+    /**
+     * Buffers that grew past this size are not kept by {@link #reset()}, so one large token does not pin memory to the
+     * thread that wrote it.
+     */
+    private static final int MAX_RETAINED_CAPACITY = 16 * 1024;
+
+    private byte[] buf = new byte[INITIAL_CAPACITY];
+    private int count;
+    private char pendingHighSurrogate;
+
+    Utf8Writer reset() {
+        if (buf.length > MAX_RETAINED_CAPACITY) {
+            buf = new byte[INITIAL_CAPACITY];
+        }
+        count = 0;
+        pendingHighSurrogate = 0;
+        return this;
+    }
+
+    byte[] toByteArray() {
+        if (pendingHighSurrogate != 0) {
+            pendingHighSurrogate = 0;
+            ensureCapacity(1);
+            buf[count++] = '?';
+        }
+        return Arrays.copyOf(buf, count);
+    }
+
+    @Override
+    public void write(int c) {
+        ensureCapacity(4);
+        writeChar((char) c);
+    }
+
+    @Override
+    public void write(char[] cbuf, int off, int len) {
+        ensureCapacity(len * 3);
+        for (int i = off, end = off + len; i < end; i++) {
+            writeChar(cbuf[i]);
+        }
+    }
+
+    @Override
+    public void write(String str, int off, int len) {
+        ensureCapacity(len * 3);
+        for (int i = off, end = off + len; i < end; i++) {
+            writeChar(str.charAt(i));
+        }
+    }
+
+    // callers ensure there is room for 3 bytes per char, which also covers a 4 byte supplementary code point since its
+    // high surrogate wrote nothing
+    private void writeChar(char c) {
+        final byte[] out = buf;
+        if (pendingHighSurrogate != 0) {
+            char high = pendingHighSurrogate;
+            pendingHighSurrogate = 0;
+            if (Character.isLowSurrogate(c)) {
+                int cp = Character.toCodePoint(high, c);
+                out[count++] = (byte) (0xF0 | (cp >> 18));
+                out[count++] = (byte) (0x80 | ((cp >> 12) & 0x3F));
+                out[count++] = (byte) (0x80 | ((cp >> 6) & 0x3F));
+                out[count++] = (byte) (0x80 | (cp & 0x3F));
+                return;
+            }
+            out[count++] = '?';
+        }
+        if (c < 0x80) {
+            out[count++] = (byte) c;
+        } else if (c < 0x800) {
+            out[count++] = (byte) (0xC0 | (c >> 6));
+            out[count++] = (byte) (0x80 | (c & 0x3F));
+        } else if (Character.isHighSurrogate(c)) {
+            pendingHighSurrogate = c;
+        } else if (Character.isLowSurrogate(c)) {
+            out[count++] = '?';
+        } else {
+            out[count++] = (byte) (0xE0 | (c >> 12));
+            out[count++] = (byte) (0x80 | ((c >> 6) & 0x3F));
+            out[count++] = (byte) (0x80 | (c & 0x3F));
+        }
+    }
+
+    private void ensureCapacity(int additional) {
+        // one extra byte for a '?' written in place of a pending, unpaired high surrogate
+        int required = count + additional + 1;
+        if (required > buf.length) {
+            buf = Arrays.copyOf(buf, Math.max(buf.length << 1, required));
+        }
+    }
+
+    @Override
+    public void flush() {
+    }
+
+    @Override
+    public void close() {
+    }
+}
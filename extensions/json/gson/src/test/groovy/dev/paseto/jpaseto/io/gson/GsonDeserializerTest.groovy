@@ -16,6 +16,7 @@
 package dev.paseto.jpaseto.io.gson
 
 import com.google.gson.Gson
+import com.google.gson.JsonSyntaxException
 import dev.paseto.jpaseto.io.DeserializationException
 import org.testng.Assert
 import org.testng.annotations.Test
@@ -75,4 +76,38 @@ class GsonDeserializerTest {
             assertThat se.getCause(), is(ex)
         }
     }
+
+    @Test
+    void testDeserializeObjectIntoLinkedHashMap() {
+        byte[] serialized = '{"sub":"jsmith","exp":"2019-01-01T00:00:00Z","nested":{"a":[1,2]}}'.getBytes(UTF_8)
+        def result = new GsonDeserializer().deserialize(serialized)
+        assertThat result, instanceOf(LinkedHashMap)
+        assertThat result, is([sub: 'jsmith', exp: '2019-01-01T00:00:00Z', nested: [a: [1.0d, 2.0d]]])
+    }
+
+    @Test
+    void testDeserializeNonObject() {
+        assertThat new GsonDeserializer().deserialize('"世界"'.getBytes(UTF_8)), is('世界')
+        assertThat new GsonDeserializer().deserialize('[1]'.getBytes(UTF_8)), is([1.0d])
+    }
+
+    @Test
+    void testDeserializeEmpty() {
+        assertThat new GsonDeserializer().deserialize(new byte[0]), nullValue()
+    }
+
+    @Test(expectedExceptions = JsonSyntaxException)
+    void testDeserializeTrailingContent() {
+        new GsonDeserializer().deserialize('{"hello":"world"} {}'.getBytes(UTF_8))
+    }
+
+    @Test
+    void testDeserializeMalformed() {
+        try {
+            new GsonDeserializer().deserialize('{"hello":'.getBytes(UTF_8))
+            Assert.fail("Expected DeserializationException to be thrown")
+        } catch (DeserializationException e) {
+            assertThat e.getCause(), instanceOf(IOException)
+        }
+    }
 }
@@ -16,10 +16,13 @@
 package dev.paseto.jpaseto.io.gson
 
 import com.google.gson.Gson
+import com.google.gson.GsonBuilder
 import dev.paseto.jpaseto.io.SerializationException
 import org.testng.Assert
 import org.testng.annotations.Test
 
+import java.time.Instant
+
 import static java.nio.charset.StandardCharsets.UTF_8
 import static org.hamcrest.MatcherAssert.assertThat
 import static org.hamcrest.Matchers.is
@@ -112,4 +115,25 @@ class GsonSerializerTest {
             assertThat se.getCause(), is(ex)
         }
     }
-}
\ No newline at end of file
+
+    @Test
+    void testSerializeInstant() {
+        def claims = [sub: 'jsmith', exp: Instant.parse('2019-01-01T00:00:00Z')]
+        byte[] result = new GsonSerializer().serialize(claims)
+        assertThat new String(result, UTF_8), is('{"sub":"jsmith","exp":"2019-01-01T00:00:00Z"}')
+    }
+
+    @Test
+    void testSerializeSupplementaryCharacters() {
+        def claims = [emoji: '\uD83D\uDE00', unpaired: '\uD800x']
+        byte[] result = new GsonSerializer().serialize(claims)
+        assertThat result, is('{"emoji":"\uD83D\uDE00","unpaired":"?x"}'.getBytes(UTF_8))
+    }
+
+    @Test
+    void testSerializeUsesGsonFormatting() {
+        def gson = new GsonBuilder().serializeNulls().setPrettyPrinting().create()
+        byte[] result = new GsonSerializer(gson).serialize([a: null])
+        assertThat new String(result, UTF_8), is('{\n  "a": null\n}')
+    }
+}
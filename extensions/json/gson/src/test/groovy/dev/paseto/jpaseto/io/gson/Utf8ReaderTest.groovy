@@ -0,0 +1,71 @@
+/*
+ * Copyright 2019-Present paseto.dev
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package dev.paseto.jpaseto.io.gson
+
+import org.testng.annotations.Test
+
+import static java.nio.charset.StandardCharsets.UTF_8
+import static org.hamcrest.MatcherAssert.assertThat
+import static org.hamcrest.Matchers.is
+
+class Utf8ReaderTest {
+
+    @Test
+    void testReadMatchesNewString() {
+        ['', 'hello', '{"hello":"世界"}', 'éࠀ￿', 'a😀b'].each { String s ->
+            assertThat read(s.getBytes(UTF_8), 1024), is(s)
+        }
+    }
+
+    @Test
+    void testSurrogatePairSplitAcrossReads() {
+        String s = '😀😀x'
+        assertThat read(s.getBytes(UTF_8), 1), is(s)
+        assertThat read(s.getBytes(UTF_8), 3), is(s)
+    }
+
+    @Test
+    void testMalformedInputIsReplaced() {
+        assertThat read([0x61, 0xFF, 0x62] as byte[], 16), is('a�b')
+        assertThat read([0xC3] as byte[], 16), is('�') // truncated
+        assertThat read([0xE4, 0xB8, 0x7D] as byte[], 16), is('�}') // bad continuation byte is not consumed
+        assertThat read([0xED, 0xA0, 0x80] as byte[], 16), is('�') // encoded surrogate
+        assertThat read([0xE0, 0x80, 0x80] as byte[], 16), is('�') // overlong
+    }
+
+    @Test
+    void testReset() {
+        def reader = new Utf8Reader()
+        char[] buf = new char[8]
+        assertThat reader.reset('ab'.getBytes(UTF_8)).read(buf, 0, 8), is(2)
+        assertThat reader.read(buf, 0, 8), is(-1)
+        assertThat reader.reset('c'.getBytes(UTF_8)).read(buf, 0, 8), is(1)
+        assertThat buf[0], is('c' as char)
+        assertThat reader.read(buf, 0, 0), is(0)
+    }
+
+    private static String read(byte[] bytes, int bufferSize) {
+        def reader = new Utf8Reader().reset(bytes)
+        def sb = new StringBuilder()
+        char[] buf = new char[bufferSize]
+        int n
+        while ((n = reader.read(buf, 0, bufferSize)) != -1) {
+            assertThat n > 0, is(true)
+            sb.append(buf, 0, n)
+        }
+        return sb.toString()
+    }
+}
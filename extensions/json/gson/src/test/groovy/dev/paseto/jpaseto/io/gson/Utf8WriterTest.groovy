@@ -0,0 +1,54 @@
+/*
+ * Copyright 2019-Present paseto.dev
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package dev.paseto.jpaseto.io.gson
+
+import org.testng.annotations.Test
+
+import static java.nio.charset.StandardCharsets.UTF_8
+import static org.hamcrest.MatcherAssert.assertThat
+import static org.hamcrest.Matchers.is
+
+class Utf8WriterTest {
+
+    @Test
+    void testWriteMatchesGetBytes() {
+        ['', 'hello', '{"hello":"世界"}', 'éࠀ￿', 'a😀b', '\uD800', 'a\uDC00b', '\uD83D😀'].each { String s ->
+            def writer = new Utf8Writer()
+            writer.write(s)
+            assertThat writer.toByteArray(), is(s.getBytes(UTF_8))
+        }
+    }
+
+    @Test
+    void testSurrogatePairSplitAcrossWrites() {
+        def writer = new Utf8Writer()
+        writer.write('x\uD83D')
+        writer.write(0xDE00)
+        writer.write('y'.toCharArray(), 0, 1)
+        assertThat writer.toByteArray(), is('x😀y'.getBytes(UTF_8))
+    }
+
+    @Test
+    void testGrowAndReset() {
+        def writer = new Utf8Writer()
+        String s = '世界' * 20000
+        writer.write(s)
+        assertThat writer.toByteArray(), is(s.getBytes(UTF_8))
+
+        writer.reset().write('a')
+        assertThat writer.toByteArray(), is('a'.getBytes(UTF_8))
+    }
+}
@@ -0,0 +1,105 @@
+/*
+ * Copyright 2019-Present paseto.dev
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package dev.paseto.jpaseto.io.jackson;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.JsonDeserializer;
+import com.fasterxml.jackson.databind.deser.std.StdDeserializer;
+import dev.paseto.jpaseto.lang.DateFormats;
+
+import java.io.IOException;
+import java.time.DateTimeException;
+import java.time.Instant;
+import java.util.Map;
+
+/**
+ * Streams the top level members of a claims object into a {@link PasetoClaimsMap}, see {@link PasetoClaimsModule}.
+ */
+final class ClaimsDeserializer extends StdDeserializer<PasetoClaimsMap> {
+
+    private static final long serialVersionUID = 1L;
+
+    // room for 24 claims before the map is resized
+    private static final int INITIAL_CAPACITY = 32;
+
+    private final Map<String, Class> claimTypeMap;
+
+    ClaimsDeserializer(Map<String, Class> claimTypeMap) {
+        super(PasetoClaimsMap.class);
+        this.claimTypeMap = claimTypeMap;
+    }
+
+    @Override
+    public PasetoClaimsMap deserialize(JsonParser parser, DeserializationContext context) throws IOException {
+
+        JsonToken token = parser.currentToken();
+        if (token == JsonToken.START_OBJECT) {
+            token = parser.nextToken();
+        } else if (token != JsonToken.FIELD_NAME && token != JsonToken.END_OBJECT) {
+            return (PasetoClaimsMap) context.handleUnexpectedToken(PasetoClaimsMap.class, parser);
+        }
+
+        PasetoClaimsMap claims = new PasetoClaimsMap(INITIAL_CAPACITY);
+        JsonDeserializer<Object> valueDeserializer = null;
+
+        for (; token == JsonToken.FIELD_NAME; token = parser.nextToken()) {
+            String name = parser.currentName();
+            JsonToken valueToken = parser.nextToken();
+            Class<?> type = claimTypeMap.get(name);
+
+            Object value;
+            if (valueToken == JsonToken.VALUE_NULL) {
+                value = null;
+            } else if (type != null) {
+                value = context.readValue(parser, type);
+            } else if (valueToken == JsonToken.VALUE_STRING && isSpecDate(name)) {
+                value = readInstant(parser);
+            } else {
+                if (valueDeserializer == null) {
+                    valueDeserializer = context.findRootValueDeserializer(context.constructType(Object.class));
+                }
+                value = valueDeserializer.deserialize(parser, context);
+            }
+            claims.put(name, value);
+        }
+        return claims;
+    }
+
+    /**
+     * Reads the current string value as an Instant, or as a String if it is not a valid ISO-8601 date, the error is
+     * then reported when the claim is read.
+     */
+    private static Object readInstant(JsonParser parser) throws IOException {
+        Instant instant = IsoInstants.parse(parser.getTextCharacters(), parser.getTextOffset(), parser.getTextLength());
+        if (instant != null) {
+            return instant;
+        }
+
+        // less common formats, e.g. offsets with seconds
+        String text = parser.getText();
+        try {
+            return DateFormats.parseIso8601Date(text);
+        } catch (DateTimeException e) {
+            return text;
+        }
+    }
+
+    private static boolean isSpecDate(String name) {
+        return "exp".equals(name) || "iat".equals(name) || "nbf".equals(name);
+    }
+}
@@ -0,0 +1,111 @@
+/*
+ * Copyright 2019-Present paseto.dev
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package dev.paseto.jpaseto.io.jackson;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.Month;
+import java.time.Year;
+
+/**
+ * Parses the common ISO-8601 date formats used by the {@code exp}, {@code iat} and {@code nbf} claims directly from
+ * the parser's character buffer, i.e. {@code 2020-01-01T00:00:00Z}, {@code 2020-01-01T00:00:00.123+01:00}.
+ */
+final class IsoInstants {
+
+    private static final int SECONDS_PER_DAY = 86_400;
+
+    private IsoInstants() {}
+
+    /**
+     * Returns the instant represented by {@code chars[offset, offset + length)}, or {@code null} if it is not in the
+     * {@code yyyy-MM-ddTHH:mm:ss[.SSSSSSSSS](Z|+HH:MM)} format or is not a valid date, in which case callers are
+     * expected to fall back to {@link dev.paseto.jpaseto.lang.DateFormats#parseIso8601Date(String)}.
+     */
+    static Instant parse(char[] chars, int offset, int length) {
+        int end = offset + length;
+        if (length < 20
+                || chars[offset + 4] != '-' || chars[offset + 7] != '-'
+                || (chars[offset + 10] != 'T' && chars[offset + 10] != 't')
+                || chars[offset + 13] != ':' || chars[offset + 16] != ':') {
+            return null;
+        }
+
+        int year = digits(chars, offset, 4);
+        int month = digits(chars, offset + 5, 2);
+        int day = digits(chars, offset + 8, 2);
+        int hour = digits(chars, offset + 11, 2);
+        int minute = digits(chars, offset + 14, 2);
+        int second = digits(chars, offset + 17, 2);
+        if (year < 0 || month < 1 || month > 12 || day < 1 || day > Month.of(month).length(Year.isLeap(year))
+                || hour < 0 || hour > 23 || minute < 0 || minute > 59 || second < 0 || second > 59) {
+            return null;
+        }
+
+        int pos = offset + 19;
+        int nanos = 0;
+        if (chars[pos] == '.') {
+            int start = ++pos;
+            while (pos < end && pos - start < 9 && isDigit(chars[pos])) {
+                nanos = nanos * 10 + (chars[pos++] - '0');
+            }
+            int fractionDigits = pos - start;
+            if (fractionDigits == 0 || (pos < end && isDigit(chars[pos]))) {
+                return null;
+            }
+            for (int i = fractionDigits; i < 9; i++) {
+                nanos *= 10;
+            }
+        }
+
+        int offsetSeconds;
+        if (pos == end - 1 && (chars[pos] == 'Z' || chars[pos] == 'z')) {
+            offsetSeconds = 0;
+        } else if (pos == end - 6 && (chars[pos] == '+' || chars[pos] == '-') && chars[pos + 3] == ':') {
+            int offsetHours = digits(chars, pos + 1, 2);
+            int offsetMinutes = digits(chars, pos + 4, 2);
+            if (offsetHours < 0 || offsetHours > 18 || offsetMinutes < 0 || offsetMinutes > 59
+                    || (offsetHours == 18 && offsetMinutes != 0)) {
+                return null;
+            }
+            offsetSeconds = (offsetHours * 3600 + offsetMinutes * 60) * (chars[pos] == '-' ? -1 : 1);
+        } else {
+            return null;
+        }
+
+        long epochDay = LocalDate.of(year, month, day).toEpochDay();
+        long epochSecond = epochDay * SECONDS_PER_DAY + hour * 3600 + minute * 60 + second - offsetSeconds;
+        return Instant.ofEpochSecond(epochSecond, nanos);
+    }
+
+    /**
+     * Returns the value of {@code count} decimal digits, or {@code -1} if any of them is not a digit.
+     */
+    private static int digits(char[] chars, int offset, int count) {
+        int value = 0;
+        for (int i = offset; i < offset + count; i++) {
+            if (!isDigit(chars[i])) {
+                return -1;
+            }
+            value = value * 10 + (chars[i] - '0');
+        }
+        return value;
+    }
+
+    private static boolean isDigit(char c) {
+        return c >= '0' && c <= '9';
+    }
+}
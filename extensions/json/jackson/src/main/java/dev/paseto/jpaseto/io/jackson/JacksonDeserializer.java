@@ -38,6 +38,7 @@ public class JacksonDeserializer<T> implements Deserializer<T> {
 
     private final Class<T> returnType;
     private final ObjectReader objectReader;
+    private final ObjectReader claimsReader;
 
     public JacksonDeserializer() {
         this(JacksonSerializer.DEFAULT_OBJECT_MAPPER);
@@ -64,7 +65,9 @@ public class JacksonDeserializer<T> implements Deserializer<T> {
      * <p>
      * If you would like to use your own {@code ObjectMapper} instance that also supports custom types for
      * JWT {@code Claims}, you will need to first customize your {@code ObjectMapper} instance by registering
-     * your custom types and then use the {@link #JacksonDeserializer(ObjectMapper)} constructor instead.
+     * your custom types and then use the {@link #JacksonDeserializer(ObjectMapper)} constructor instead. Registering a
+     * {@link PasetoClaimsModule} also reads the {@code exp}, {@code iat} and {@code nbf} claims as {@code Instant}
+     * values.
      * 
      * @param claimTypeMap The claim name-to-class map used to deserialize claims into the given type
      */
@@ -81,6 +84,12 @@ public class JacksonDeserializer<T> implements Deserializer<T> {
         Assert.notNull(objectMapper, "ObjectMapper cannot be null.");
         Assert.notNull(returnType, "Return type cannot be null.");
         this.objectReader = objectMapper.reader();
+        // read the top level object as a PasetoClaimsMap only when it can be customized by the PasetoClaimsModule, or
+        // must be a map anyway, other values (e.g. a top level array) are read as the return type as before
+        boolean claimsModule = objectMapper.getRegisteredModuleIds().contains(PasetoClaimsModule.class.getName());
+        this.claimsReader = claimsModule || Map.class.isAssignableFrom(returnType)
+                ? objectReader.forType(PasetoClaimsMap.class)
+                : null;
         this.returnType = returnType;
     }
 
@@ -94,7 +103,11 @@ public class JacksonDeserializer<T> implements Deserializer<T> {
         }
     }
 
+    @SuppressWarnings("unchecked")
     protected T readValue(byte[] bytes) throws IOException {
+        if (claimsReader != null) {
+            return (T) claimsReader.readValue(bytes);
+        }
         return objectReader.readValue(bytes, returnType);
     }
 
@@ -125,10 +138,10 @@ public class JacksonDeserializer<T> implements Deserializer<T> {
 
         @Override
         public Object deserialize(JsonParser parser, DeserializationContext context) throws IOException {
-            // check if the current claim key is mapped, if so traverse it's value
+            // check if the current claim key is mapped, if so read its value directly as the mapped type
             if (claimTypeMap != null && claimTypeMap.containsKey(parser.currentName())) {
                 Class<?> type = claimTypeMap.get(parser.currentName());
-                return parser.readValueAsTree().traverse(parser.getCodec()).readValueAs(type);
+                return context.readValue(parser, type);
             }
             // otherwise default to super
             return super.deserialize(parser, context);
@@ -0,0 +1,36 @@
+/*
+ * Copyright 2019-Present paseto.dev
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package dev.paseto.jpaseto.io.jackson;
+
+import java.util.LinkedHashMap;
+
+/**
+ * The root type {@link JacksonDeserializer} reads claims into. It is only a distinct type so that
+ * {@link PasetoClaimsModule} can replace how the top level claims object is deserialized, without affecting other
+ * maps.
+ */
+final class PasetoClaimsMap extends LinkedHashMap<String, Object> {
+
+    private static final long serialVersionUID = 1L;
+
+    PasetoClaimsMap() {
+        super();
+    }
+
+    PasetoClaimsMap(int initialCapacity) {
+        super(initialCapacity);
+    }
+}
@@ -0,0 +1,67 @@
+/*
+ * Copyright 2019-Present paseto.dev
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package dev.paseto.jpaseto.io.jackson;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import dev.paseto.jpaseto.lang.Assert;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * A Jackson module that streams the top level claims of a token directly into a map, without building intermediate
+ * trees:
+ * <ul>
+ *     <li>the {@code exp}, {@code iat} and {@code nbf} claims are read as {@link java.time.Instant Instant} values
+ *     instead of ISO-8601 strings</li>
+ *     <li>claims listed in the {@code claimTypeMap} are read directly into their mapped types</li>
+ *     <li>all other claims are read as usual, i.e. as {@code String}, {@code Number}, {@code Boolean}, {@code List}
+ *     or {@code Map} values</li>
+ * </ul>
+ * To use this module, register it with an {@link ObjectMapper} and pass that mapper to
+ * {@link JacksonDeserializer#JacksonDeserializer(ObjectMapper)}:
+ * <pre>{@code
+ * ObjectMapper objectMapper = new ObjectMapper()
+ *     .registerModule(new PasetoClaimsModule(Collections.singletonMap("user", User.class)));
+ *
+ * PasetoParser parser = Pasetos.parserBuilder()
+ *     .setDeserializer(new JacksonDeserializer<>(objectMapper))
+ *     ...
+ * }</pre>
+ *
+ * @since 0.7.0
+ */
+public class PasetoClaimsModule extends SimpleModule {
+
+    private static final long serialVersionUID = 1L;
+
+    public PasetoClaimsModule() {
+        this(Collections.emptyMap());
+    }
+
+    /**
+     * Creates a module that reads the claims named in {@code claimTypeMap} into the mapped types.
+     *
+     * @param claimTypeMap The claim name-to-class map used to deserialize claims into the given type
+     */
+    public PasetoClaimsModule(Map<String, Class> claimTypeMap) {
+        super(PasetoClaimsModule.class.getName());
+        Assert.notNull(claimTypeMap, "Claim type map cannot be null.");
+        addDeserializer(PasetoClaimsMap.class, new ClaimsDeserializer(Collections.unmodifiableMap(new HashMap<>(claimTypeMap))));
+    }
+}
@@ -0,0 +1,87 @@
+/*
+ * Copyright 2019-Present paseto.dev
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package dev.paseto.jpaseto.io.jackson
+
+import dev.paseto.jpaseto.lang.DateFormats
+import org.testng.annotations.DataProvider
+import org.testng.annotations.Test
+
+import static org.hamcrest.MatcherAssert.assertThat
+import static org.hamcrest.Matchers.is
+import static org.hamcrest.Matchers.nullValue
+
+class IsoInstantsTest {
+
+    @DataProvider
+    Object[][] validDates() {
+        return [
+            ["2020-01-02T03:04:05Z"],
+            ["2020-01-02t03:04:05z"],
+            ["2020-01-02T03:04:05.1Z"],
+            ["2020-01-02T03:04:05.123+01:00"],
+            ["2020-01-02T03:04:05.123456789-05:30"],
+            ["2019-01-01T00:00:00+00:00"],
+            ["2020-02-29T23:59:59+18:00"],
+            ["1969-12-31T23:59:59.999Z"],
+            ["0001-01-01T00:00:00Z"],
+            ["9999-12-31T23:59:59.999999999-18:00"],
+        ]
+    }
+
+    @Test(dataProvider = "validDates")
+    void sameAsDateFormatsTest(String date) {
+        assertThat parse(date), is(DateFormats.parseIso8601Date(date))
+    }
+
+    @DataProvider
+    Object[][] unsupportedDates() {
+        return [
+            [""],
+            ["2020-01-02"],
+            ["2020-01-02T03:04Z"],
+            ["2020-01-02 03:04:05Z"],
+            ["2020-01-02T03:04:05"],
+            ["2020-01-02T03:04:05+01"],
+            ["2020-01-02T03:04:05+01:00:30"],
+            ["2020-01-02T03:04:05.Z"],
+            ["2020-01-02T03:04:05.1234567890Z"],
+            ["2020-13-02T03:04:05Z"],
+            ["2019-02-29T03:04:05Z"],
+            ["2020-01-02T24:00:00Z"],
+            ["2020-01-02T03:60:05Z"],
+            ["2020-01-02T03:04:60Z"],
+            ["2020-01-02T03:04:05+19:00"],
+            ["+2020-01-02T03:04:05Z"],
+            ["2020-0a-02T03:04:05Z"],
+            ["2020-01-02T03:04:05ZZ"],
+        ]
+    }
+
+    @Test(dataProvider = "unsupportedDates")
+    void unsupportedTest(String date) {
+        assertThat parse(date), nullValue()
+    }
+
+    @Test
+    void offsetTest() {
+        char[] chars = 'xx"2020-01-02T03:04:05Z"yy'.toCharArray()
+        assertThat IsoInstants.parse(chars, 3, 20), is(DateFormats.parseIso8601Date("2020-01-02T03:04:05Z"))
+    }
+
+    private static Object parse(String date) {
+        return IsoInstants.parse(date.toCharArray(), 0, date.length())
+    }
+}
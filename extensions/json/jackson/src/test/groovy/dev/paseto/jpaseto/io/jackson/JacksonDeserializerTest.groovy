@@ -55,6 +55,13 @@ class JacksonDeserializerTest {
         assertThat result, is(expected)
     }
 
+    @Test
+    void testDeserializeNotAnObject() {
+        // without the PasetoClaimsModule, any JSON value is read as before
+        assertThat new JacksonDeserializer().deserialize('["hello"]'.getBytes(UTF_8)), is(["hello"])
+        assertThat new JacksonDeserializer(new ObjectMapper()).deserialize('"hello"'.getBytes(UTF_8)), is("hello")
+    }
+
     @Test
     void testDeserializeWithCustomObject() {
 
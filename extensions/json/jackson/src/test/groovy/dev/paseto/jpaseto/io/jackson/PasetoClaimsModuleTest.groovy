@@ -0,0 +1,106 @@
+/*
+ * Copyright 2019-Present paseto.dev
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package dev.paseto.jpaseto.io.jackson
+
+import com.fasterxml.jackson.databind.ObjectMapper
+import dev.paseto.jpaseto.io.DeserializationException
+import dev.paseto.jpaseto.io.jackson.stubs.CustomBean
+import org.testng.annotations.Test
+
+import java.time.Instant
+
+import static java.nio.charset.StandardCharsets.UTF_8
+import static org.hamcrest.MatcherAssert.assertThat
+import static org.hamcrest.Matchers.*
+
+class PasetoClaimsModuleTest {
+
+    @Test
+    void specDatesAsInstantsTest() {
+        Map<String, Object> claims = deserializer().deserialize('''{
+            "sub": "joe",
+            "exp": "2020-01-02T03:04:05.123+01:00",
+            "iat": "2020-01-02T03:04:05Z",
+            "nbf": "2020-01-02T03:04:05+01:00:30",
+            "other": "2020-01-02T03:04:05Z"
+        }'''.getBytes(UTF_8))
+
+        assertThat claims.sub, is("joe")
+        assertThat claims.exp, is(Instant.parse("2020-01-02T02:04:05.123Z"))
+        assertThat claims.iat, is(Instant.parse("2020-01-02T03:04:05Z"))
+        assertThat claims.nbf, is(Instant.parse("2020-01-02T02:03:35Z"))
+        // not a spec date
+        assertThat claims.other, is("2020-01-02T03:04:05Z")
+    }
+
+    @Test
+    void invalidSpecDatesTest() {
+        // left as strings, the error is reported when the claim is read
+        Map<String, Object> claims = deserializer().deserialize('{"exp":"not-a-date","iat":1577934245,"nbf":null}'.getBytes(UTF_8))
+        assertThat claims, is([exp: "not-a-date", iat: 1577934245, nbf: null])
+    }
+
+    @Test
+    void untypedClaimsTest() {
+        Map<String, Object> claims = deserializer().deserialize('{"n":42,"l":12345678901,"b":true,"a":[1,"two",{"three":3}],"o":{"p":[]}}'.getBytes(UTF_8))
+
+        assertThat claims, is([n: 42, l: 12345678901L, b: true, a: [1, "two", [three: 3]], o: [p: []]])
+        assertThat claims, equalTo(new JacksonDeserializer().deserialize('{"n":42,"l":12345678901,"b":true,"a":[1,"two",{"three":3}],"o":{"p":[]}}'.getBytes(UTF_8)))
+    }
+
+    @Test
+    void claimTypeMapTest() {
+        Map<String, Object> claims = deserializer(["custom": CustomBean]).deserialize('''{
+            "custom": {"stringValue": "s-value", "intValue": "11", "nestedValue": {"stringValue": "nested-value"}},
+            "other": {"custom": {"stringValue": "not-mapped"}},
+            "missing": null
+        }'''.getBytes(UTF_8))
+
+        // field by field, CustomBean.equals cannot compare its null byte array from Groovy
+        CustomBean custom = claims.custom
+        assertThat custom.stringValue, is("s-value")
+        assertThat custom.intValue, is(11)
+        assertThat custom.nestedValue.stringValue, is("nested-value")
+
+        // only top level claims are mapped
+        assertThat claims.other, is([custom: [stringValue: "not-mapped"]])
+        assertThat claims.containsKey("missing"), is(true)
+    }
+
+    @Test
+    void emptyObjectTest() {
+        assertThat deserializer().deserialize('{}'.getBytes(UTF_8)), is([:])
+    }
+
+    @Test(expectedExceptions = DeserializationException)
+    void notAnObjectTest() {
+        deserializer().deserialize('["exp"]'.getBytes(UTF_8))
+    }
+
+    @Test(expectedExceptions = DeserializationException)
+    void truncatedObjectTest() {
+        deserializer().deserialize('{"exp":'.getBytes(UTF_8))
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException)
+    void nullClaimTypeMapTest() {
+        new PasetoClaimsModule(null)
+    }
+
+    private static JacksonDeserializer<Map<String, Object>> deserializer(Map<String, Class> claimTypeMap = [:]) {
+        return new JacksonDeserializer<>(new ObjectMapper().registerModule(new PasetoClaimsModule(claimTypeMap)))
+    }
+}
@@ -16,6 +16,11 @@
 package dev.paseto.jpaseto.impl;
 
 import dev.paseto.jpaseto.PasetoBuilder;
+import dev.paseto.jpaseto.PasetoIssuer;
+import dev.paseto.jpaseto.PasetoMetrics;
+import dev.paseto.jpaseto.PasetoMetrics.Stage;
+import dev.paseto.jpaseto.Purpose;
+import dev.paseto.jpaseto.Version;
 import dev.paseto.jpaseto.impl.lang.Bytes;
 import dev.paseto.jpaseto.io.Serializer;
 import dev.paseto.jpaseto.lang.Collections;
@@ -35,6 +40,16 @@ abstract class AbstractPasetoBuilder<T extends PasetoBuilder> implements PasetoB
 
     private Serializer<Map<String, Object>> serializer;
 
+    private PasetoMetrics metrics = null;
+
+    private final Version version;
+    private final Purpose purpose;
+
+    AbstractPasetoBuilder(Version version, Purpose purpose) {
+        this.version = version;
+        this.purpose = purpose;
+    }
+
     @Override
     public T claim(String key, Object value) {
         payload.put(key, value);
@@ -61,9 +76,9 @@ abstract class AbstractPasetoBuilder<T extends PasetoBuilder> implements PasetoB
     @SuppressWarnings("unchecked")
     protected Serializer<Map<String, Object>> getSerializer() {
 
-        // if null just return the first service
+        // if null use the first service, resolved once per builder
         if (serializer == null) {
-            return Services.loadFirst(Serializer.class);
+            serializer = Services.loadFirst(Serializer.class);
         }
         return serializer;
     }
@@ -74,7 +89,48 @@ abstract class AbstractPasetoBuilder<T extends PasetoBuilder> implements PasetoB
         return self();
     }
 
-    protected String footerToString(byte[] footer) {
+    @Override
+    public T setMetrics(PasetoMetrics metrics) {
+        this.metrics = metrics;
+        return self();
+    }
+
+    @Override
+    public String compact() {
+
+        StageRecorder recorder = StageRecorder.start(metrics, version, purpose);
+        if (recorder == null) {
+            return tokenEncoder().encode(payloadAsBytes(), footerAsBytes());
+        }
+
+        try {
+            TokenEncoder tokenEncoder = tokenEncoder();
+            recorder.stage(Stage.SERIALIZATION);
+            byte[] payloadBytes = payloadAsBytes();
+            byte[] footerBytes = footerAsBytes();
+            recorder.stage(Stage.SIGN_OR_ENCRYPT);
+            String token = tokenEncoder.encode(payloadBytes, footerBytes);
+            recorder.done();
+            return token;
+        } catch (RuntimeException e) {
+            recorder.failed(e);
+            throw e;
+        }
+    }
+
+    @Override
+    public PasetoIssuer issuer() {
+        return new DefaultPasetoIssuer(tokenEncoder(), getSerializer(), getPayload(), getFooter(), getFooterString(),
+                metrics, version, purpose);
+    }
+
+    /**
+     * Returns an encoder for the current key and crypto provider of this builder.
+     * @return an encoder for the current key and crypto provider of this builder.
+     */
+    abstract TokenEncoder tokenEncoder();
+
+    static String footerToString(byte[] footer) {
 
         if (footer == null || footer.length == 0) {
             return "";
@@ -83,7 +139,7 @@ abstract class AbstractPasetoBuilder<T extends PasetoBuilder> implements PasetoB
         return "." + noPadBase64(footer);
     }
 
-    protected String noPadBase64(byte[]... inputs) {
+    static String noPadBase64(byte[]... inputs) {
         return Base64.getUrlEncoder().withoutPadding().encodeToString(Bytes.concat(inputs));
     }
 
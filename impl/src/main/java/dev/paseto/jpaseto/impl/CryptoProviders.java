@@ -23,9 +23,71 @@ import dev.paseto.jpaseto.impl.crypto.V2LocalCryptoProvider;
 import dev.paseto.jpaseto.impl.crypto.V2PublicCryptoProvider;
 import dev.paseto.jpaseto.lang.Services;
 
-final class CryptoProviders {
+import java.util.Iterator;
+import java.util.ServiceLoader;
 
-    private CryptoProviders() {}
+/**
+ * An immutable set of crypto providers, one for each version/purpose. A {@link dev.paseto.jpaseto.PasetoParser}
+ * resolves its providers once when it is built, instead of using a {@link ServiceLoader} for each token.
+ * <p>
+ * Use {@link DefaultPasetoParserBuilder#setCryptoProviders(CryptoProviders)} to use specific providers, any
+ * {@code null} provider is discovered from the classpath.
+ * @since 0.7.0
+ */
+public final class CryptoProviders {
+
+    private final V1LocalCryptoProvider v1LocalCryptoProvider;
+    private final V1PublicCryptoProvider v1PublicCryptoProvider;
+    private final V2LocalCryptoProvider v2LocalCryptoProvider;
+    private final V2PublicCryptoProvider v2PublicCryptoProvider;
+
+    public CryptoProviders(V1LocalCryptoProvider v1LocalCryptoProvider,
+                           V1PublicCryptoProvider v1PublicCryptoProvider,
+                           V2LocalCryptoProvider v2LocalCryptoProvider,
+                           V2PublicCryptoProvider v2PublicCryptoProvider) {
+
+        // local providers are optional (they require an extension), a missing one only fails when it is used
+        this.v1LocalCryptoProvider = v1LocalCryptoProvider != null
+                ? v1LocalCryptoProvider
+                : loadFirstOrNull(V1LocalCryptoProvider.class);
+        this.v1PublicCryptoProvider = v1PublicCryptoProvider != null
+                ? v1PublicCryptoProvider
+                : v1PublicCryptoProvider();
+        this.v2LocalCryptoProvider = v2LocalCryptoProvider != null
+                ? v2LocalCryptoProvider
+                : loadFirstOrNull(V2LocalCryptoProvider.class);
+        this.v2PublicCryptoProvider = v2PublicCryptoProvider != null
+                ? v2PublicCryptoProvider
+                : v2PublicCryptoProvider();
+    }
+
+    /**
+     * Returns the crypto providers discovered from the classpath.
+     * @return the crypto providers discovered from the classpath.
+     */
+    public static CryptoProviders defaults() {
+        return new CryptoProviders(null, null, null, null);
+    }
+
+    public V1LocalCryptoProvider getV1LocalCryptoProvider() {
+        return v1LocalCryptoProvider != null
+                ? v1LocalCryptoProvider
+                : v1LocalCryptoProvider(); // fails with a descriptive message
+    }
+
+    public V1PublicCryptoProvider getV1PublicCryptoProvider() {
+        return v1PublicCryptoProvider;
+    }
+
+    public V2LocalCryptoProvider getV2LocalCryptoProvider() {
+        return v2LocalCryptoProvider != null
+                ? v2LocalCryptoProvider
+                : v2LocalCryptoProvider(); // fails with a descriptive message
+    }
+
+    public V2PublicCryptoProvider getV2PublicCryptoProvider() {
+        return v2PublicCryptoProvider;
+    }
 
     static V1LocalCryptoProvider v1LocalCryptoProvider() {
         return  Services.loadFirst(V1LocalCryptoProvider.class);
@@ -42,4 +104,9 @@ final class CryptoProviders {
     static V2PublicCryptoProvider v2PublicCryptoProvider() {
         return  Services.loadFirst(V2PublicCryptoProvider.class, new JcaV2PublicCryptoProvider());
     }
+
+    private static <T> T loadFirstOrNull(Class<T> spi) {
+        Iterator<T> iterator = ServiceLoader.load(spi).iterator();
+        return iterator.hasNext() ? iterator.next() : null;
+    }
 }
@@ -0,0 +1,168 @@
+/*
+ * Copyright 2019-Present paseto.dev
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package dev.paseto.jpaseto.impl;
+
+import dev.paseto.jpaseto.PasetoIssuer;
+import dev.paseto.jpaseto.PasetoMetrics;
+import dev.paseto.jpaseto.PasetoMetrics.Stage;
+import dev.paseto.jpaseto.Purpose;
+import dev.paseto.jpaseto.Version;
+import dev.paseto.jpaseto.io.Serializer;
+import dev.paseto.jpaseto.lang.Assert;
+import dev.paseto.jpaseto.lang.Collections;
+import dev.paseto.jpaseto.lang.Strings;
+
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Immutable {@link PasetoIssuer}, the key, crypto provider and serializer are captured when the issuer is created, and
+ * the default footer is serialized only once.
+ */
+final class DefaultPasetoIssuer implements PasetoIssuer {
+
+    private static final byte[] EMPTY = new byte[0];
+
+    private final TokenEncoder tokenEncoder;
+    private final Serializer<Map<String, Object>> serializer;
+    private final Map<String, Object> defaultClaims;
+    private final Map<String, Object> defaultFooterClaims;
+    private final String defaultFooterString;
+    private final byte[] defaultFooter;
+    private final PasetoMetrics metrics;
+    private final Version version;
+    private final Purpose purpose;
+
+    DefaultPasetoIssuer(TokenEncoder tokenEncoder,
+                        Serializer<Map<String, Object>> serializer,
+                        Map<String, Object> defaultClaims,
+                        Map<String, Object> defaultFooterClaims,
+                        String defaultFooterString,
+                        PasetoMetrics metrics,
+                        Version version,
+                        Purpose purpose) {
+
+        Assert.notNull(tokenEncoder, "tokenEncoder cannot be null");
+        Assert.notNull(serializer, "serializer cannot be null");
+
+        this.tokenEncoder = tokenEncoder;
+        this.serializer = serializer;
+        this.defaultClaims = java.util.Collections.unmodifiableMap(new HashMap<>(defaultClaims));
+        this.defaultFooterClaims = java.util.Collections.unmodifiableMap(new HashMap<>(defaultFooterClaims));
+        this.defaultFooterString = defaultFooterString;
+        this.defaultFooter = footerAsBytes(defaultFooterString, this.defaultFooterClaims);
+        this.metrics = metrics;
+        this.version = version;
+        this.purpose = purpose;
+    }
+
+    @Override
+    public TokenBuilder builder() {
+        return new DefaultTokenBuilder();
+    }
+
+    @Override
+    public String compact(Map<String, Object> claims) {
+        Map<String, Object> payload = new HashMap<>(defaultClaims);
+        if (claims != null) {
+            payload.putAll(claims);
+        }
+        return encode(payload, null);
+    }
+
+    /**
+     * @param builder the token's builder, or null to use the default footer
+     */
+    private String encode(Map<String, Object> payload, DefaultTokenBuilder builder) {
+
+        StageRecorder recorder = StageRecorder.start(metrics, version, purpose);
+        if (recorder == null) {
+            return tokenEncoder.encode(serializer.serialize(payload), footerAsBytes(builder));
+        }
+
+        try {
+            recorder.stage(Stage.SERIALIZATION);
+            byte[] payloadBytes = serializer.serialize(payload);
+            byte[] footerBytes = footerAsBytes(builder);
+            recorder.stage(Stage.SIGN_OR_ENCRYPT);
+            String token = tokenEncoder.encode(payloadBytes, footerBytes);
+            recorder.done();
+            return token;
+        } catch (RuntimeException e) {
+            recorder.failed(e);
+            throw e;
+        }
+    }
+
+    private byte[] footerAsBytes(DefaultTokenBuilder builder) {
+
+        if (builder == null || !builder.footerModified) {
+            return defaultFooter.clone();
+        }
+
+        return footerAsBytes(builder.footerString, builder.footer != null ? builder.footer : defaultFooterClaims);
+    }
+
+    private byte[] footerAsBytes(String footerString, Map<String, Object> footerClaims) {
+
+        if (Strings.hasText(footerString)) {
+            return footerString.getBytes(StandardCharsets.UTF_8);
+        }
+
+        if (!Collections.isEmpty(footerClaims)) {
+            return serializer.serialize(footerClaims);
+        }
+
+        return EMPTY;
+    }
+
+    private final class DefaultTokenBuilder implements TokenBuilder {
+
+        private final Map<String, Object> payload = new HashMap<>(defaultClaims);
+        private Map<String, Object> footer = null; // copied from the defaults only when modified
+        private String footerString = defaultFooterString;
+        private boolean footerModified = false;
+
+        @Override
+        public TokenBuilder claim(String key, Object value) {
+            payload.put(key, value);
+            return this;
+        }
+
+        @Override
+        public TokenBuilder footerClaim(String key, Object value) {
+            if (footer == null) {
+                footer = new HashMap<>(defaultFooterClaims);
+            }
+            footer.put(key, value);
+            footerModified = true;
+            return this;
+        }
+
+        @Override
+        public TokenBuilder setFooter(String footer) {
+            this.footerString = footer;
+            footerModified = true;
+            return this;
+        }
+
+        @Override
+        public String compact() {
+            return encode(payload, this);
+        }
+    }
+}
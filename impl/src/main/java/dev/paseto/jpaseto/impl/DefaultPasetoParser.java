@@ -15,19 +15,29 @@
  */
 package dev.paseto.jpaseto.impl;
 
+import dev.paseto.jpaseto.AsyncKeyResolver;
+import dev.paseto.jpaseto.CacheStats;
 import dev.paseto.jpaseto.ClaimPasetoException;
+import dev.paseto.jpaseto.Claims;
 import dev.paseto.jpaseto.ExpiredPasetoException;
 import dev.paseto.jpaseto.FooterClaims;
 import dev.paseto.jpaseto.IncorrectClaimException;
 import dev.paseto.jpaseto.InvalidClaimException;
 import dev.paseto.jpaseto.KeyResolver;
+import dev.paseto.jpaseto.MalformedPasetoException;
 import dev.paseto.jpaseto.MissingClaimException;
+import dev.paseto.jpaseto.ParseResult;
 import dev.paseto.jpaseto.Paseto;
+import dev.paseto.jpaseto.PasetoMetrics;
+import dev.paseto.jpaseto.PasetoMetrics.Stage;
 import dev.paseto.jpaseto.PasetoParser;
 import dev.paseto.jpaseto.PasetoSignatureException;
 import dev.paseto.jpaseto.PrematurePasetoException;
 import dev.paseto.jpaseto.Purpose;
+import dev.paseto.jpaseto.ReplayGuard;
+import dev.paseto.jpaseto.ReplayedPasetoException;
 import dev.paseto.jpaseto.UnsupportedPasetoException;
+import dev.paseto.jpaseto.UnverifiedPaseto;
 import dev.paseto.jpaseto.Version;
 import dev.paseto.jpaseto.io.Deserializer;
 import dev.paseto.jpaseto.lang.Assert;
@@ -35,133 +45,459 @@ import dev.paseto.jpaseto.lang.DateFormats;
 import dev.paseto.jpaseto.lang.DescribedPredicate;
 
 import javax.crypto.SecretKey;
+import java.nio.ByteBuffer;
 import java.nio.charset.StandardCharsets;
+import java.security.Key;
 import java.security.PublicKey;
 import java.time.Clock;
 import java.time.Duration;
 import java.time.Instant;
+import java.util.ArrayList;
 import java.util.Arrays;
-import java.util.Base64;
 import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Executor;
 import java.util.function.Predicate;
+import java.util.stream.Stream;
 
 class DefaultPasetoParser implements PasetoParser {
 
+    private static final String INVALID_PARTS_MESSAGE = "Paseto token expected to have 3 or 4 parts.";
+    private static final String INVALID_BASE64_MESSAGE = "Paseto token payload and footer must be base64url encoded.";
+
+    private static final String REPLAY_GUARD_CLAIM_DESCRIPTION = "present when a ReplayGuard is configured";
+
+    private static final int BATCH_CHUNK_SIZE = 64;
+
     private final KeyResolver keyResolver;
+    private final AsyncKeyResolver asyncKeyResolver;
+    private final Executor executor;
+    private final PasetoMetrics metrics;
+    private final int maximumTokenLength;
+    private final int maximumPayloadSize;
+    private final int maximumFooterSize;
+    private final CryptoProviders cryptoProviders;
     private final Deserializer<Map<String, Object>> deserializer;
     private final Clock clock;
     private final Duration allowedClockSkew;
     private final Map<String, Predicate<Object>> userExpectedClaimsMap;
     private final Map<String, Predicate<Object>> userExpectedFooterClaimsMap;
+    private final VerifiedTokenCache cache;
+    private final ReplayGuard replayGuard;
 
-    DefaultPasetoParser(KeyResolver keyResolver, Deserializer<Map<String, Object>> deserializer, Clock clock, Duration allowedClockSkew, Map<String, Predicate<Object>> expectedClaimsMap, Map<String, Predicate<Object>> expectedFooterClaimsMap) {
+    // the claims read while validating a token, deserialized up front when lazy claims are enabled
+    private final Set<String> lazyClaimNames;
+    private final byte[][] lazyClaimNameBytes;
+
+    DefaultPasetoParser(KeyResolver keyResolver, AsyncKeyResolver asyncKeyResolver, Executor executor, PasetoMetrics metrics, int maximumTokenLength, int maximumPayloadSize, int maximumFooterSize, CryptoProviders cryptoProviders, Deserializer<Map<String, Object>> deserializer, Clock clock, Duration allowedClockSkew, Map<String, Predicate<Object>> expectedClaimsMap, Map<String, Predicate<Object>> expectedFooterClaimsMap, VerifiedTokenCache cache, ReplayGuard replayGuard, boolean lazyClaims) {
         this.keyResolver = keyResolver;
+        this.asyncKeyResolver = asyncKeyResolver;
+        this.executor = executor;
+        this.metrics = metrics;
+        this.maximumTokenLength = maximumTokenLength;
+        this.maximumPayloadSize = maximumPayloadSize;
+        this.maximumFooterSize = maximumFooterSize;
+        this.cryptoProviders = cryptoProviders;
         this.deserializer = deserializer;
         this.clock = clock;
         this.allowedClockSkew = allowedClockSkew;
         this.userExpectedClaimsMap = Collections.unmodifiableMap(expectedClaimsMap);
         this.userExpectedFooterClaimsMap = Collections.unmodifiableMap(expectedFooterClaimsMap);
+        this.cache = cache;
+        this.replayGuard = replayGuard;
+
+        if (lazyClaims) {
+            Set<String> names = new LinkedHashSet<>(Arrays.asList(Claims.EXPIRATION, Claims.NOT_BEFORE));
+            names.addAll(expectedClaimsMap.keySet());
+            if (replayGuard != null) {
+                names.add(Claims.TOKEN_ID);
+            }
+            this.lazyClaimNames = Collections.unmodifiableSet(names);
+            this.lazyClaimNameBytes = names.stream()
+                    .map(name -> name.getBytes(StandardCharsets.UTF_8))
+                    .toArray(byte[][]::new);
+        } else {
+            this.lazyClaimNames = null;
+            this.lazyClaimNameBytes = null;
+        }
+    }
+
+    @Override
+    public CacheStats getCacheStats() {
+        return cache;
     }
 
     @Override
     public Paseto parse(String token) {
         Assert.hasText(token, "Paseto token cannot be null or empty");
+        return parse(TokenSource.of(token, 0, token.length()), token, keyResolver);
+    }
+
+    @Override
+    public Paseto parse(CharSequence token, int start, int end) {
+        Assert.notNull(token, "Paseto token cannot be null or empty");
+        return parse(TokenSource.of(token, start, end), null, keyResolver);
+    }
+
+    @Override
+    public Paseto parse(byte[] token) {
+        Assert.notNull(token, "Paseto token cannot be null or empty");
+        return parse(TokenSource.of(token), null, keyResolver);
+    }
+
+    @Override
+    public Paseto parse(ByteBuffer token) {
+        Assert.notNull(token, "Paseto token cannot be null or empty");
+        return parse(TokenSource.of(token), null, keyResolver);
+    }
+
+    @Override
+    public CompletionStage<Paseto> parseAsync(String token) {
+        if (asyncKeyResolver == null) {
+            return CompletableFuture.supplyAsync(() -> parse(token), executor);
+        }
+
+        try {
+            Assert.hasText(token, "Paseto token cannot be null or empty");
+            checkLength(token.length());
+
+            // a cached token needs neither a key nor any crypto, validate it on the calling thread
+            if (cache != null) {
+                Paseto paseto = cache.get(token, clock.instant().minus(allowedClockSkew));
+                if (paseto != null) {
+                    return CompletableFuture.completedFuture(validate(paseto));
+                }
+            }
+
+            // only the header and footer are read on the calling thread, they are all the key resolver needs
+            TokenSource source = TokenSource.of(token, 0, token.length());
+            Sections sections = sections(source);
+            Version version = sections.version;
+            Purpose purpose = sections.purpose;
+            FooterClaims footer = toFooter(sections.footerBytes(source));
+
+            CompletionStage<? extends Key> key = purpose == Purpose.PUBLIC
+                    ? asyncKeyResolver.resolvePublicKey(version, purpose, footer)
+                    : asyncKeyResolver.resolveSharedKey(version, purpose, footer);
+            Assert.notNull(key, "AsyncKeyResolver returned a null CompletionStage.");
+
+            return key.thenApplyAsync(resolved -> parseResolved(source, token, new ResolvedKeyResolver(resolved)), executor);
+        } catch (RuntimeException e) {
+            StageRecorder recorder = StageRecorder.start(metrics);
+            if (recorder != null) {
+                recorder.failed(e);
+            }
+            CompletableFuture<Paseto> failed = new CompletableFuture<>();
+            failed.completeExceptionally(e);
+            return failed;
+        }
+    }
+
+    @Override
+    public UnverifiedPaseto peek(String token) {
+        Assert.hasText(token, "Paseto token cannot be null or empty");
+        checkLength(token.length());
+
+        TokenSource source = TokenSource.of(token, 0, token.length());
+        Sections sections = Sections.peek(source, maximumPayloadSize, maximumFooterSize);
+        return new DefaultUnverifiedPaseto(sections.version, sections.purpose, () -> toFooter(sections.footerBytes(source)));
+    }
+
+    @Override
+    public List<ParseResult> parseAll(List<String> tokens) {
+        KeyResolver batchKeyResolver = new MemoizingKeyResolver(keyResolver);
+        List<ParseResult> results = new ArrayList<>(tokens.size());
+        for (String token : tokens) {
+            results.add(parseResult(token, batchKeyResolver));
+        }
+        return results;
+    }
+
+    @Override
+    public List<ParseResult> parseAll(List<String> tokens, Executor executor) {
+        KeyResolver batchKeyResolver = new MemoizingKeyResolver(keyResolver);
+        String[] tokenArray = tokens.toArray(new String[0]);
+        ParseResult[] results = new ParseResult[tokenArray.length];
+
+        // submit chunks rather than individual tokens to limit the scheduling overhead
+        int chunks = (tokenArray.length + BATCH_CHUNK_SIZE - 1) / BATCH_CHUNK_SIZE;
+        CompletableFuture<?>[] futures = new CompletableFuture<?>[chunks];
+        for (int chunk = 0; chunk < futures.length; chunk++) {
+            int from = chunk * BATCH_CHUNK_SIZE;
+            int to = Math.min(tokenArray.length, from + BATCH_CHUNK_SIZE);
+            futures[chunk] = CompletableFuture.runAsync(() -> {
+                for (int i = from; i < to; i++) {
+                    results[i] = parseResult(tokenArray[i], batchKeyResolver);
+                }
+            }, executor);
+        }
+        CompletableFuture.allOf(futures).join();
+
+        return Arrays.asList(results);
+    }
+
+    @Override
+    public Stream<ParseResult> parseAll(Stream<String> tokens) {
+        KeyResolver batchKeyResolver = new MemoizingKeyResolver(keyResolver);
+        return tokens.map(token -> parseResult(token, batchKeyResolver));
+    }
 
-        String[] parts = token.split("\\.");
-        Assert.isTrue(parts.length == 3 || parts.length == 4, "Paseto token expected to have 3 or 4 parts."); // header is optional
-        // format is <version>.<purpose>.<payload>[.<footer>]
-
-        Version version = Version.from(parts[0]);
-        Purpose purpose = Purpose.from(parts[1]);
-        byte[] payloadBytes = Base64.getUrlDecoder().decode(parts[2].getBytes(StandardCharsets.UTF_8));
-        byte[] footerBytes = parts.length == 4 ? Base64.getUrlDecoder().decode(parts[3].getBytes(StandardCharsets.UTF_8)) : new byte[0];
-
-        Paseto paseto;
-        if (version == Version.V2 && purpose == Purpose.LOCAL) {
-            paseto = v2Local(payloadBytes, footerBytes);
-        } else if (version == Version.V2 && purpose == Purpose.PUBLIC) {
-            paseto = v2Public(payloadBytes, footerBytes);
-        } else if (version == Version.V1 && purpose == Purpose.LOCAL) {
-            paseto = v1Local(payloadBytes, footerBytes);
-        } else if (version == Version.V1 && purpose == Purpose.PUBLIC) {
-            paseto = v1Public(payloadBytes, footerBytes);
+    private ParseResult parseResult(String token, KeyResolver batchKeyResolver) {
+        try {
+            Assert.hasText(token, "Paseto token cannot be null or empty");
+            return ParseResult.success(token, parse(TokenSource.of(token, 0, token.length()), token, batchKeyResolver));
+        } catch (RuntimeException e) {
+            return ParseResult.failure(token, e);
+        }
+    }
+
+    /**
+     * @param tokenString the token as a String if already available, used as the cache key
+     * @param keyResolver the parser's key resolver, or a memoizing wrapper for batches
+     */
+    private Paseto parse(TokenSource token, String tokenString, KeyResolver keyResolver) {
+        Assert.isTrue(token.length() > 0, "Paseto token cannot be null or empty");
+
+        StageRecorder recorder = StageRecorder.start(metrics);
+        if (recorder == null) {
+            return parse(token, tokenString, keyResolver, null);
+        }
+        try {
+            Paseto paseto = parse(token, tokenString, keyResolver, recorder);
+            recorder.done();
+            return paseto;
+        } catch (RuntimeException e) {
+            recorder.failed(e);
+            throw e;
+        }
+    }
+
+    /**
+     * @param recorder times the stages of the token, null when no metrics are enabled
+     */
+    private Paseto parse(TokenSource token, String tokenString, KeyResolver keyResolver, StageRecorder recorder) {
+
+        // before the token is copied into a cache key or decoded
+        checkLength(token.length());
+
+        if (cache == null) {
+            return validate(decode(token, keyResolver, recorder), recorder);
+        }
+
+        String key = tokenString != null ? tokenString : token.toString();
+        Instant expiredBefore = clock.instant().minus(allowedClockSkew);
+        Paseto paseto = cache.get(key, expiredBefore);
+        if (paseto != null) {
+            if (recorder != null) {
+                recorder.header(paseto.getVersion(), paseto.getPurpose());
+            }
+            return validate(paseto, recorder);
+        }
+
+        return decodeAndCache(token, key, expiredBefore, keyResolver, recorder);
+    }
+
+    /**
+     * Parses a token whose key was fetched by the {@link AsyncKeyResolver}, the cache has already been checked.
+     */
+    private Paseto parseResolved(TokenSource token, String tokenString, KeyResolver keyResolver) {
+        StageRecorder recorder = StageRecorder.start(metrics);
+        try {
+            Paseto paseto = cache != null
+                    ? decodeAndCache(token, tokenString, clock.instant().minus(allowedClockSkew), keyResolver, recorder)
+                    : validate(decode(token, keyResolver, recorder), recorder);
+            if (recorder != null) {
+                recorder.done();
+            }
+            return paseto;
+        } catch (RuntimeException e) {
+            if (recorder != null) {
+                recorder.failed(e);
+            }
+            throw e;
+        }
+    }
+
+    private Paseto decodeAndCache(TokenSource token, String key, Instant expiredBefore, KeyResolver keyResolver, StageRecorder recorder) {
+        Paseto paseto = validate(decode(token, keyResolver, recorder), recorder);
+
+        // only tokens with an expiration are cached, see PasetoParserBuilder.setCacheMaximumSize
+        Instant exp = paseto.getClaims().getExpiration();
+        if (exp != null) {
+            cache.put(key, paseto, exp, expiredBefore);
+        }
+        return paseto;
+    }
+
+    private Paseto decode(TokenSource token, KeyResolver keyResolver, StageRecorder recorder) {
+
+        if (recorder != null) {
+            recorder.stage(Stage.BASE64_DECODE);
+        }
+        Sections sections = sections(token);
+        Version version = sections.version;
+        Purpose purpose = sections.purpose;
+        if (recorder != null) {
+            recorder.header(version, purpose);
+        }
+        byte[] payloadBytes = token.decodeBase64Url(sections.purposeEnd + 1, sections.payloadEnd);
+        byte[] footerBytes = sections.footerBytes(token);
+
+        // parse footer to map (if available)
+        if (recorder != null) {
+            recorder.stage(Stage.FOOTER_PARSE);
+        }
+        FooterClaims footer = toFooter(footerBytes);
+
+        if (recorder != null) {
+            recorder.stage(Stage.KEY_RESOLUTION);
+        }
+        byte[] message;
+        if (purpose == Purpose.LOCAL) {
+            SecretKey sharedSecret = keyResolver.resolveSharedKey(version, purpose, footer);
+            Assert.notNull(sharedSecret, "A shared secret could not be resolved.  A shared secret must be configured in " +
+                    "'Pasetos.parserBuilder().setSharedSecret(...)' or Pasetos.parserBuilder().setKeyResolver(...)");
+            if (recorder != null) {
+                recorder.stage(Stage.VERIFY_OR_DECRYPT);
+            }
+            if (version == Version.V2) {
+                message = v2Local(payloadBytes, footerBytes, sharedSecret);
+            } else if (version == Version.V1) {
+                message = v1Local(payloadBytes, footerBytes, sharedSecret);
+            } else {
+                throw unsupported(version, purpose);
+            }
+        } else if (purpose == Purpose.PUBLIC) {
+            PublicKey publicKey = keyResolver.resolvePublicKey(version, purpose, footer);
+            Assert.notNull(publicKey, "A public key could not be resolved.  A public key must be configured in " +
+                    "'Pasetos.parserBuilder().setPublicKey(...)' or Pasetos.parserBuilder().setKeyResolver(...)");
+            if (recorder != null) {
+                recorder.stage(Stage.VERIFY_OR_DECRYPT);
+            }
+            if (version == Version.V2) {
+                message = v2Public(payloadBytes, footerBytes, publicKey);
+            } else if (version == Version.V1) {
+                message = v1Public(payloadBytes, footerBytes, publicKey);
+            } else {
+                throw unsupported(version, purpose);
+            }
         } else {
-            // Cannot reach this point unless the Version and/or Purpose enum have been changed
-            // parsing those enums will fail before this point
-            throw new UnsupportedPasetoException("Paseto token with header: '" + version.toString() + "." + purpose.toString() +".' is not supported.");
+            throw unsupported(version, purpose);
+        }
+
+        if (recorder != null) {
+            recorder.stage(Stage.DESERIALIZATION);
+        }
+        return new DefaultPaseto(version, purpose, toClaims(message), footer);
+    }
+
+    private void checkLength(int length) {
+        if (length > maximumTokenLength) {
+            throw new MalformedPasetoException("Paseto token length of " + length + " characters exceeds the maximum of " +
+                    maximumTokenLength + " characters.");
+        }
+    }
+
+    /**
+     * Finds the parts of the token and checks its structure, see {@link Sections#of}.
+     */
+    private Sections sections(TokenSource token) {
+        return Sections.of(token, maximumPayloadSize, maximumFooterSize);
+    }
+
+    private static UnsupportedPasetoException unsupported(Version version, Purpose purpose) {
+        // Cannot reach this point unless the Version and/or Purpose enum have been changed
+        // parsing those enums will fail before this point
+        return new UnsupportedPasetoException("Paseto token with header: '" + version.toString() + "." + purpose.toString() +".' is not supported.");
+    }
+
+    private static Version version(TokenSource token, int end) {
+        for (Version version : Version.values()) {
+            if (token.regionEquals(0, end, version.toString())) {
+                return version;
+            }
+        }
+        return Version.from(token.substring(0, end)); // throws UnsupportedPasetoException
+    }
+
+    private static Purpose purpose(TokenSource token, int start, int end) {
+        for (Purpose purpose : Purpose.values()) {
+            if (token.regionEquals(start, end, purpose.toString())) {
+                return purpose;
+            }
         }
+        return Purpose.from(token.substring(start, end)); // throws UnsupportedPasetoException
+    }
 
+    private Paseto validate(Paseto paseto, StageRecorder recorder) {
+        if (recorder != null) {
+            recorder.stage(Stage.CLAIM_VALIDATION);
+        }
+        return validate(paseto);
+    }
+
+    private Paseto validate(Paseto paseto) {
         verifyExpiration(paseto);
         verifyNotBefore(paseto);
         validateExpectedClaims(paseto);
         validateExpectedFooterClaims(paseto);
+        verifyNotReplayed(paseto);
 
         return paseto;
     }
 
-    private Paseto v2Local(byte[] encryptedBytes, byte[] footerBytes) {
-        // parse footer to map (if available)
-        FooterClaims footer = toFooter(footerBytes);
-
-        SecretKey sharedSecret = keyResolver.resolveSharedKey(Version.V2, Purpose.LOCAL, footer);
-        Assert.notNull(sharedSecret, "A shared secret could not be resolved.  A shared secret must be configured in " +
-                "'Pasetos.parserBuilder().setSharedSecret(...)' or Pasetos.parserBuilder().setKeyResolver(...)");
-        byte[] payload = CryptoProviders.v2LocalCryptoProvider().decrypt(encryptedBytes, footerBytes, sharedSecret);
-        Map<String, Object> claims = deserializer.deserialize(payload);
-        return new DefaultPaseto(Version.V2, Purpose.LOCAL, new DefaultClaims(claims), footer);
+    private byte[] v2Local(byte[] encryptedBytes, byte[] footerBytes, SecretKey sharedSecret) {
+        return cryptoProviders.getV2LocalCryptoProvider().decrypt(encryptedBytes, footerBytes, sharedSecret);
     }
 
-    private Paseto v1Public(byte[] payload, byte[] footerBytes) {
-        // parse footer to map (if available)
-        FooterClaims footer = toFooter(footerBytes);
-
+    private byte[] v1Public(byte[] payload, byte[] footerBytes, PublicKey publicKey) {
         // 3
         byte[] message = Arrays.copyOf(payload, payload.length - 256);
         byte[] signature = Arrays.copyOfRange(payload, payload.length - 256, payload.length);
 
-        PublicKey publicKey = keyResolver.resolvePublicKey(Version.V1, Purpose.PUBLIC, footer);
-        Assert.notNull(publicKey, "A public key could not be resolved.  A public key must be configured in " +
-                "'Pasetos.parserBuilder().setPublicKey(...)' or Pasetos.parserBuilder().setKeyResolver(...)");
-        boolean valid = CryptoProviders.v1PublicCryptoProvider().verify(message, footerBytes, signature, publicKey);
+        boolean valid = cryptoProviders.getV1PublicCryptoProvider().verify(message, footerBytes, signature, publicKey);
         if (!valid) {
             throw new PasetoSignatureException("Signature could not be validated in paseto token.");
         }
-
-        Map<String, Object> claims = deserializer.deserialize(message);
-        return new DefaultPaseto(Version.V1, Purpose.PUBLIC, new DefaultClaims(claims), footer);
+        return message;
     }
 
-    private Paseto v1Local(byte[] encryptedBytes, byte[] footerBytes) {
-        // parse footer to map (if available)
-        FooterClaims footer = toFooter(footerBytes);
-
-        SecretKey sharedSecret = keyResolver.resolveSharedKey(Version.V1, Purpose.LOCAL, footer);
-        Assert.notNull(sharedSecret, "A shared secret could not be resolved.  A shared secret must be configured in " +
-                "'Pasetos.parserBuilder().setSharedSecret(...)' or Pasetos.parserBuilder().setKeyResolver(...)");
+    private byte[] v1Local(byte[] encryptedBytes, byte[] footerBytes, SecretKey sharedSecret) {
         byte[] nonce = Arrays.copyOf(encryptedBytes, 32);
-        byte[] payload = CryptoProviders.v1LocalCryptoProvider().decrypt(encryptedBytes, footerBytes, nonce, sharedSecret);
-        Map<String, Object> claims = deserializer.deserialize(payload);
-        return new DefaultPaseto(Version.V1, Purpose.LOCAL, new DefaultClaims(claims), footer);
+        return cryptoProviders.getV1LocalCryptoProvider().decrypt(encryptedBytes, footerBytes, nonce, sharedSecret);
     }
 
-    private Paseto v2Public(byte[] payload, byte[] footerBytes) {
-        // parse footer to map (if available)
-        FooterClaims footer = toFooter(footerBytes);
-
+    private byte[] v2Public(byte[] payload, byte[] footerBytes, PublicKey publicKey) {
         byte[] message = Arrays.copyOf(payload, payload.length - 64);
         byte[] signature = Arrays.copyOfRange(payload, payload.length - 64, payload.length);
 
-        PublicKey publicKey = keyResolver.resolvePublicKey(Version.V2, Purpose.PUBLIC, footer);
-        Assert.notNull(publicKey, "A public key could not be resolved.  A public key must be configured in " +
-                "'Pasetos.parserBuilder().setPublicKey(...)' or Pasetos.parserBuilder().setKeyResolver(...)");
-        boolean valid = CryptoProviders.v2PublicCryptoProvider().verify(message, footerBytes, signature, publicKey);
+        boolean valid = cryptoProviders.getV2PublicCryptoProvider().verify(message, footerBytes, signature, publicKey);
         if (!valid) {
             throw new PasetoSignatureException("Signature could not be validated in paseto token.");
         }
+        return message;
+    }
 
-        Map<String, Object> claims = deserializer.deserialize(message);
-        return new DefaultPaseto(Version.V2, Purpose.PUBLIC, new DefaultClaims(claims), footer);
+    private Claims toClaims(byte[] payload) {
+        Map<String, Object> claims = lazyClaimNames != null ? lazyClaims(payload) : deserializer.deserialize(payload);
+        // cached tokens are shared between callers, and must not be modified
+        return new DefaultClaims(cache != null ? Collections.unmodifiableMap(claims) : claims);
+    }
+
+    private Map<String, Object> lazyClaims(byte[] payload) {
+        byte[] selected = JsonMembers.select(payload, lazyClaimNameBytes);
+        if (selected == null) {
+            return deserializer.deserialize(payload);
+        }
+        Map<String, Object> selectedClaims = selected.length > 2 // more than '{}'
+                ? deserializer.deserialize(selected)
+                : Collections.emptyMap();
+        return new LazyClaimsMap(deserializer, payload, lazyClaimNames, selectedClaims);
     }
 
     private FooterClaims toFooter(byte[] footerBytes) {
@@ -235,6 +571,28 @@ class DefaultPasetoParser implements PasetoParser {
         }
     }
 
+    /**
+     * Records the token's ID with the replay guard, after all other checks so that only accepted tokens are recorded.
+     */
+    private void verifyNotReplayed(Paseto paseto) {
+        if (replayGuard == null) {
+            return;
+        }
+
+        String jti = paseto.getClaims().getTokenId();
+        Instant exp = paseto.getClaims().getExpiration();
+        if (jti == null || exp == null) {
+            String claimName = jti == null ? Claims.TOKEN_ID : Claims.EXPIRATION;
+            String msg = String.format(ClaimPasetoException.MISSING_EXPECTED_CLAIM_MESSAGE_TEMPLATE,
+                    claimName, REPLAY_GUARD_CLAIM_DESCRIPTION);
+            throw new MissingClaimException(paseto, claimName, REPLAY_GUARD_CLAIM_DESCRIPTION, msg);
+        }
+
+        if (!replayGuard.markUsed(jti, exp.plus(allowedClockSkew), clock.instant())) {
+            throw new ReplayedPasetoException(paseto, "Paseto with token ID '" + jti + "' was already used.");
+        }
+    }
+
     private void validateExpectedClaims(Paseto paseto) {
         validateExpected(paseto, paseto.getClaims(), userExpectedClaimsMap);
     }
@@ -274,6 +632,144 @@ class DefaultPasetoParser implements PasetoParser {
         });
     }
 
+    /**
+     * The positions of the separators in a token, the format is {@code <version>.<purpose>.<payload>[.<footer>]}.
+     */
+    private static final class Sections {
+
+        private final Version version;
+        private final Purpose purpose;
+        private final int versionEnd;
+        private final int purposeEnd;
+        private final int payloadEnd;
+        private final boolean hasFooter;
+
+        private Sections(Version version, Purpose purpose, int versionEnd, int purposeEnd, int payloadEnd, boolean hasFooter) {
+            this.version = version;
+            this.purpose = purpose;
+            this.versionEnd = versionEnd;
+            this.purposeEnd = purposeEnd;
+            this.payloadEnd = payloadEnd;
+            this.hasFooter = hasFooter;
+        }
+
+        /**
+         * Finds the separators in a single pass, then rejects tokens that cannot be valid before anything is decoded:
+         * payloads too short for the signature, or nonce and tag, of their version and purpose, payloads or footers
+         * over the configured maximum size, and characters outside the base64url alphabet.
+         */
+        private static Sections of(TokenSource token, int maximumPayloadSize, int maximumFooterSize) {
+            int length = token.length();
+            int versionEnd = -1;
+            int purposeEnd = -1;
+            int payloadEnd = -1;
+            for (int i = 0; i < length; i++) {
+                if (token.charAt(i) == '.') {
+                    if (versionEnd < 0) {
+                        versionEnd = i;
+                    } else if (purposeEnd < 0) {
+                        purposeEnd = i;
+                    } else if (payloadEnd < 0) {
+                        payloadEnd = i;
+                    } else {
+                        throw new MalformedPasetoException(INVALID_PARTS_MESSAGE);
+                    }
+                }
+            }
+            if (purposeEnd < 0) { // footer is optional
+                throw new MalformedPasetoException(INVALID_PARTS_MESSAGE);
+            }
+            return check(token, versionEnd, purposeEnd, payloadEnd, maximumPayloadSize, maximumFooterSize, true);
+        }
+
+        /**
+         * Like {@link #of}, but only the header and footer are read: the payload is neither scanned for extra
+         * separators nor checked for invalid characters, only its length is checked.
+         */
+        private static Sections peek(TokenSource token, int maximumPayloadSize, int maximumFooterSize) {
+            int versionEnd = token.indexOf('.', 0);
+            int purposeEnd = versionEnd >= 0 ? token.indexOf('.', versionEnd + 1) : -1;
+            if (purposeEnd < 0) {
+                throw new MalformedPasetoException(INVALID_PARTS_MESSAGE);
+            }
+            // base64url has no '.', the last separator ends the payload if there is a footer
+            int lastSeparator = token.lastIndexOf('.');
+            int payloadEnd = lastSeparator > purposeEnd ? lastSeparator : -1;
+            return check(token, versionEnd, purposeEnd, payloadEnd, maximumPayloadSize, maximumFooterSize, false);
+        }
+
+        private static Sections check(TokenSource token, int versionEnd, int purposeEnd, int payloadEnd,
+                                      int maximumPayloadSize, int maximumFooterSize, boolean checkPayload) {
+            int length = token.length();
+            boolean hasFooter = payloadEnd >= 0;
+            int end = hasFooter ? payloadEnd : length;
+            if (end <= purposeEnd + 1) {
+                throw new MalformedPasetoException(INVALID_PARTS_MESSAGE);
+            }
+
+            Version version = version(token, versionEnd);
+            Purpose purpose = purpose(token, versionEnd + 1, purposeEnd);
+
+            int payloadSize = token.base64UrlDecodedLength(purposeEnd + 1, end);
+            int footerSize = hasFooter ? token.base64UrlDecodedLength(end + 1, length) : 0;
+            if (payloadSize < 0 || footerSize < 0) {
+                throw new MalformedPasetoException(INVALID_BASE64_MESSAGE);
+            }
+            int minimumPayloadSize = minimumPayloadSize(version, purpose);
+            if (payloadSize < minimumPayloadSize) {
+                throw new MalformedPasetoException("Paseto " + version + "." + purpose + " token payload of " + payloadSize +
+                        " bytes is shorter than the minimum of " + minimumPayloadSize + " bytes.");
+            }
+            if (payloadSize > maximumPayloadSize) {
+                throw new MalformedPasetoException("Paseto token payload of " + payloadSize + " bytes exceeds the maximum of " +
+                        maximumPayloadSize + " bytes.");
+            }
+            if (footerSize > maximumFooterSize) {
+                throw new MalformedPasetoException("Paseto token footer of " + footerSize + " bytes exceeds the maximum of " +
+                        maximumFooterSize + " bytes.");
+            }
+            if ((checkPayload && !token.isBase64Url(purposeEnd + 1, end)) || (hasFooter && !token.isBase64Url(end + 1, length))) {
+                throw new MalformedPasetoException(INVALID_BASE64_MESSAGE);
+            }
+
+            return new Sections(version, purpose, versionEnd, purposeEnd, end, hasFooter);
+        }
+
+        // the signature, or the nonce and authentication tag
+        private static int minimumPayloadSize(Version version, Purpose purpose) {
+            if (purpose == Purpose.PUBLIC) {
+                return version == Version.V1 ? 256 : 64;
+            }
+            return version == Version.V1 ? 32 + 48 : 24 + 16;
+        }
+
+        private byte[] footerBytes(TokenSource token) {
+            return hasFooter ? token.decodeBase64Url(payloadEnd + 1, token.length()) : new byte[0];
+        }
+    }
+
+    /**
+     * Returns a key fetched by an {@link AsyncKeyResolver}, the checks in {@code decode} report a missing key.
+     */
+    private static final class ResolvedKeyResolver implements KeyResolver {
+
+        private final Key key;
+
+        private ResolvedKeyResolver(Key key) {
+            this.key = key;
+        }
+
+        @Override
+        public PublicKey resolvePublicKey(Version version, Purpose purpose, FooterClaims footer) {
+            return key instanceof PublicKey ? (PublicKey) key : null;
+        }
+
+        @Override
+        public SecretKey resolveSharedKey(Version version, Purpose purpose, FooterClaims footer) {
+            return key instanceof SecretKey ? (SecretKey) key : null;
+        }
+    }
+
     private static Object normalize(Object o) {
         if (o instanceof Integer) {
             o = ((Integer) o).longValue();
@@ -16,9 +16,12 @@
 package dev.paseto.jpaseto.impl;
 
 import com.google.auto.service.AutoService;
+import dev.paseto.jpaseto.AsyncKeyResolver;
 import dev.paseto.jpaseto.FooterClaims;
 import dev.paseto.jpaseto.KeyResolver;
+import dev.paseto.jpaseto.PasetoMetrics;
 import dev.paseto.jpaseto.PasetoParser;
+import dev.paseto.jpaseto.ReplayGuard;
 import dev.paseto.jpaseto.PasetoParserBuilder;
 import dev.paseto.jpaseto.Purpose;
 import dev.paseto.jpaseto.Version;
@@ -32,17 +35,34 @@ import java.time.Clock;
 import java.time.Duration;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
 import java.util.function.Predicate;
 
 @AutoService(PasetoParserBuilder.class)
 public class DefaultPasetoParserBuilder implements PasetoParserBuilder {
 
+    private static final int DEFAULT_MAXIMUM_TOKEN_LENGTH = 64 * 1024;
+
     private PublicKey publicKey = null;
     private SecretKey sharedSecret = null;
     private KeyResolver keyResolver = null;
+    private AsyncKeyResolver asyncKeyResolver = null;
+    private Executor executor = ForkJoinPool.commonPool();
+    private PasetoMetrics metrics = null;
+    private CryptoProviders cryptoProviders = null;
     private Deserializer<Map<String, Object>> deserializer;
     private Clock clock = Clock.systemUTC();
     private Duration allowedClockSkew = Duration.ofMillis(0);
+    private int cacheMaximumSize = 0;
+    private boolean lazyClaims = false;
+    private int maximumTokenLength = DEFAULT_MAXIMUM_TOKEN_LENGTH;
+    private int maximumPayloadSize = Integer.MAX_VALUE;
+    private int maximumFooterSize = Integer.MAX_VALUE;
+    private ReplayGuard replayGuard = null;
+    private int replayGuardMaximumSize = 0;
 
     private final Map<String, Predicate<Object>> expectedClaimsMap = new HashMap<>();
     private final Map<String, Predicate<Object>> expectedFooterClaimsMap = new HashMap<>();
@@ -53,6 +73,25 @@ public class DefaultPasetoParserBuilder implements PasetoParserBuilder {
         return this;
     }
 
+    @Override
+    public PasetoParserBuilder setAsyncKeyResolver(AsyncKeyResolver asyncKeyResolver) {
+        this.asyncKeyResolver = asyncKeyResolver;
+        return this;
+    }
+
+    @Override
+    public PasetoParserBuilder setExecutor(Executor executor) {
+        Assert.notNull(executor, "Executor cannot be null.");
+        this.executor = executor;
+        return this;
+    }
+
+    @Override
+    public PasetoParserBuilder setMetrics(PasetoMetrics metrics) {
+        this.metrics = metrics;
+        return this;
+    }
+
     @Override
     public PasetoParserBuilder setSharedSecret(SecretKey sharedSecret) {
         this.sharedSecret = sharedSecret;
@@ -71,10 +110,70 @@ public class DefaultPasetoParserBuilder implements PasetoParserBuilder {
         return this;
     }
 
+    @Override
+    public PasetoParserBuilder setCacheMaximumSize(int maximumSize) {
+        Assert.isTrue(maximumSize >= 0, "Cache maximumSize cannot be negative.");
+        this.cacheMaximumSize = maximumSize;
+        return this;
+    }
+
+    @Override
+    public PasetoParserBuilder setLazyClaims(boolean lazyClaims) {
+        this.lazyClaims = lazyClaims;
+        return this;
+    }
+
+    @Override
+    public PasetoParserBuilder setMaximumTokenLength(int maximumTokenLength) {
+        Assert.isTrue(maximumTokenLength > 0, "maximumTokenLength must be greater than 0.");
+        this.maximumTokenLength = maximumTokenLength;
+        return this;
+    }
+
+    @Override
+    public PasetoParserBuilder setMaximumPayloadSize(int maximumPayloadSize) {
+        Assert.isTrue(maximumPayloadSize > 0, "maximumPayloadSize must be greater than 0.");
+        this.maximumPayloadSize = maximumPayloadSize;
+        return this;
+    }
+
+    @Override
+    public PasetoParserBuilder setMaximumFooterSize(int maximumFooterSize) {
+        Assert.isTrue(maximumFooterSize >= 0, "maximumFooterSize cannot be negative.");
+        this.maximumFooterSize = maximumFooterSize;
+        return this;
+    }
+
+    @Override
+    public PasetoParserBuilder setReplayGuard(ReplayGuard replayGuard) {
+        this.replayGuard = replayGuard;
+        return this;
+    }
+
+    @Override
+    public PasetoParserBuilder setReplayGuardMaximumSize(int maximumSize) {
+        Assert.isTrue(maximumSize >= 0, "Replay guard maximumSize cannot be negative.");
+        this.replayGuardMaximumSize = maximumSize;
+        return this;
+    }
+
+    /**
+     * Sets the crypto providers used to verify and decrypt tokens. By default the providers are discovered from the
+     * classpath once, when {@link #build()} is called.
+     *
+     * @param cryptoProviders the crypto providers the built parser will use.
+     * @return the parser builder for method chaining.
+     * @since 0.7.0
+     */
+    public PasetoParserBuilder setCryptoProviders(CryptoProviders cryptoProviders) {
+        this.cryptoProviders = cryptoProviders;
+        return this;
+    }
+
     @Override
     public PasetoParser build() {
 
-        Assert.isTrue( keyResolver != null || publicKey != null || sharedSecret != null,"PasetoParser must be configure with a public key (for public tokens) and/or a sharedSecret (for local tokens).");
+        Assert.isTrue( keyResolver != null || asyncKeyResolver != null || publicKey != null || sharedSecret != null,"PasetoParser must be configure with a public key (for public tokens) and/or a sharedSecret (for local tokens).");
 
         @SuppressWarnings("unchecked")
         Deserializer<Map<String, Object>> tmpDeserializer = (this.deserializer != null)
@@ -86,12 +185,35 @@ public class DefaultPasetoParserBuilder implements PasetoParserBuilder {
         if (hasDirectKeys && keyResolver != null) {
             throw new IllegalStateException("Both a KeyResolver and a publicKey/sharedSecret cannot be used together, use one or the other");
         }
+        if (asyncKeyResolver != null && (hasDirectKeys || keyResolver != null)) {
+            throw new IllegalStateException("An AsyncKeyResolver cannot be used together with a KeyResolver or a publicKey/sharedSecret, use one or the other");
+        }
+
+        KeyResolver tmpKeyResolver;
+        if (keyResolver != null) {
+            tmpKeyResolver = keyResolver;
+        } else if (asyncKeyResolver != null) {
+            tmpKeyResolver = new BlockingKeyResolver(asyncKeyResolver);
+        } else {
+            tmpKeyResolver = new SimpleKeyResolver(publicKey, sharedSecret);
+        }
+
+        CryptoProviders tmpCryptoProviders = cryptoProviders != null
+                ? cryptoProviders
+                : CryptoProviders.defaults();
+
+        VerifiedTokenCache cache = cacheMaximumSize > 0
+                ? new VerifiedTokenCache(cacheMaximumSize)
+                : null;
 
-        KeyResolver tmpKeyResolver = keyResolver != null
-                ? keyResolver
-                : new SimpleKeyResolver(publicKey, sharedSecret);
+        if (replayGuard != null && replayGuardMaximumSize > 0) {
+            throw new IllegalStateException("Both a ReplayGuard and a replay guard maximum size cannot be used together, use one or the other");
+        }
+        ReplayGuard tmpReplayGuard = replayGuardMaximumSize > 0
+                ? new TimeBucketedReplayGuard(replayGuardMaximumSize, TimeBucketedReplayGuard.DEFAULT_BUCKET_DURATION)
+                : replayGuard;
 
-        return new DefaultPasetoParser(tmpKeyResolver, tmpDeserializer, clock, allowedClockSkew, expectedClaimsMap, expectedFooterClaimsMap);
+        return new DefaultPasetoParser(tmpKeyResolver, asyncKeyResolver, executor, metrics, maximumTokenLength, maximumPayloadSize, maximumFooterSize, tmpCryptoProviders, tmpDeserializer, clock, allowedClockSkew, expectedClaimsMap, expectedFooterClaimsMap, cache, tmpReplayGuard, lazyClaims);
     }
 
 
@@ -148,4 +270,39 @@ public class DefaultPasetoParserBuilder implements PasetoParserBuilder {
             return sharedSecret;
         }
     }
+
+    /**
+     * Waits for an {@link AsyncKeyResolver}, used by the synchronous parse methods.
+     */
+    private static class BlockingKeyResolver implements KeyResolver {
+
+        private final AsyncKeyResolver asyncKeyResolver;
+
+        private BlockingKeyResolver(AsyncKeyResolver asyncKeyResolver) {
+            this.asyncKeyResolver = asyncKeyResolver;
+        }
+
+        @Override
+        public PublicKey resolvePublicKey(Version version, Purpose purpose, FooterClaims footer) {
+            return join(asyncKeyResolver.resolvePublicKey(version, purpose, footer));
+        }
+
+        @Override
+        public SecretKey resolveSharedKey(Version version, Purpose purpose, FooterClaims footer) {
+            return join(asyncKeyResolver.resolveSharedKey(version, purpose, footer));
+        }
+
+        private static <T> T join(CompletionStage<T> stage) {
+            Assert.notNull(stage, "AsyncKeyResolver returned a null CompletionStage.");
+            try {
+                return stage.toCompletableFuture().join();
+            } catch (CompletionException e) {
+                // rethrow the resolver's own exception, like a KeyResolver would
+                if (e.getCause() instanceof RuntimeException) {
+                    throw (RuntimeException) e.getCause();
+                }
+                throw e;
+            }
+        }
+    }
 }
@@ -17,10 +17,13 @@ package dev.paseto.jpaseto.impl;
 
 import com.google.auto.service.AutoService;
 import dev.paseto.jpaseto.PasetoV1LocalBuilder;
+import dev.paseto.jpaseto.Purpose;
+import dev.paseto.jpaseto.Version;
 import dev.paseto.jpaseto.impl.crypto.V1LocalCryptoProvider;
+import dev.paseto.jpaseto.impl.lang.SecureRandoms;
+import dev.paseto.jpaseto.lang.Assert;
 
 import javax.crypto.SecretKey;
-import java.security.NoSuchAlgorithmException;
 import java.security.SecureRandom;
 
 
@@ -31,14 +34,17 @@ public class DefaultPasetoV1LocalBuilder extends AbstractPasetoBuilder<PasetoV1L
 
     private SecretKey sharedSecret = null;
 
+    private SecureRandom secureRandom = null;
+
     private final V1LocalCryptoProvider cryptoProvider;
 
     public DefaultPasetoV1LocalBuilder() {
         this(CryptoProviders.v1LocalCryptoProvider());
     }
 
-    DefaultPasetoV1LocalBuilder(V1LocalCryptoProvider cryptoProvider) {
-     this.cryptoProvider = cryptoProvider;
+    public DefaultPasetoV1LocalBuilder(V1LocalCryptoProvider cryptoProvider) {
+        super(Version.V1, Purpose.LOCAL);
+        this.cryptoProvider = cryptoProvider;
     }
 
     @Override
@@ -48,27 +54,31 @@ public class DefaultPasetoV1LocalBuilder extends AbstractPasetoBuilder<PasetoV1L
     }
 
     @Override
-    public String compact() {
+    public PasetoV1LocalBuilder setSecureRandom(SecureRandom secureRandom) {
+        this.secureRandom = secureRandom;
+        return this;
+    }
 
-        byte[] payload = payloadAsBytes();
-        byte[] footer = footerAsBytes();
+    @Override
+    TokenEncoder tokenEncoder() {
+        Assert.notNull(sharedSecret, "A shared secret must be configured with 'setSharedSecret(...)'");
+        return tokenEncoder(cryptoProvider, sharedSecret, secureRandom);
+    }
 
-        // 2
-        byte[] randomBytes = new byte[32];
-        try {
-            SecureRandom.getInstanceStrong().nextBytes(randomBytes);
-        } catch (NoSuchAlgorithmException e) {
-            throw new SecurityException("JVM does not provide a strong secure random number generator", e);
-        }
+    private static TokenEncoder tokenEncoder(V1LocalCryptoProvider cryptoProvider, SecretKey sharedSecret, SecureRandom secureRandom) {
+        return (payload, footer) -> {
+            // 2
+            byte[] randomBytes = SecureRandoms.nextBytes(secureRandom, new byte[32]);
 
-        // 3
-        byte[] nonce = cryptoProvider.nonce(payload, randomBytes);
+            // 3
+            byte[] nonce = cryptoProvider.nonce(payload, randomBytes);
 
-        // 4, 5, 6, 7
-        byte[] cipherText = cryptoProvider.encrypt(payload, footer, nonce, sharedSecret);
+            // 4, 5, 6, 7
+            byte[] cipherText = cryptoProvider.encrypt(payload, footer, nonce, sharedSecret);
 
-        // 8
-        String base64d = noPadBase64(cipherText);
-        return HEADER + base64d + footerToString(footer);
+            // 8
+            String base64d = noPadBase64(cipherText);
+            return HEADER + base64d + footerToString(footer);
+        };
     }
 }
\ No newline at end of file
@@ -17,7 +17,10 @@ package dev.paseto.jpaseto.impl;
 
 import com.google.auto.service.AutoService;
 import dev.paseto.jpaseto.PasetoV2PublicBuilder;
+import dev.paseto.jpaseto.Purpose;
+import dev.paseto.jpaseto.Version;
 import dev.paseto.jpaseto.impl.crypto.V2PublicCryptoProvider;
+import dev.paseto.jpaseto.lang.Assert;
 
 import java.security.PrivateKey;
 
@@ -34,7 +37,8 @@ public class DefaultPasetoV2PublicBuilder extends AbstractPasetoBuilder<PasetoV2
         this(CryptoProviders.v2PublicCryptoProvider());
     }
 
-    private DefaultPasetoV2PublicBuilder(V2PublicCryptoProvider cryptoProvider) {
+    public DefaultPasetoV2PublicBuilder(V2PublicCryptoProvider cryptoProvider) {
+        super(Version.V2, Purpose.PUBLIC);
         this.cryptoProvider = cryptoProvider;
     }
 
@@ -45,13 +49,16 @@ public class DefaultPasetoV2PublicBuilder extends AbstractPasetoBuilder<PasetoV2
     }
 
     @Override
-    public String compact() {
-
-        byte[] payload = payloadAsBytes();
-        byte[] footer = footerAsBytes();
+    TokenEncoder tokenEncoder() {
+        Assert.notNull(privateKey, "A private key must be configured with 'setPrivateKey(...)'");
+        return tokenEncoder(cryptoProvider, privateKey);
+    }
 
-        byte[] signature = cryptoProvider.sign(payload, footer, privateKey);
+    private static TokenEncoder tokenEncoder(V2PublicCryptoProvider cryptoProvider, PrivateKey privateKey) {
+        return (payload, footer) -> {
+            byte[] signature = cryptoProvider.sign(payload, footer, privateKey);
 
-        return HEADER + noPadBase64(payload, signature) + footerToString(footer);
+            return HEADER + noPadBase64(payload, signature) + footerToString(footer);
+        };
     }
 }
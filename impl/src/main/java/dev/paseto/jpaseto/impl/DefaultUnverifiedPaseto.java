@@ -0,0 +1,62 @@
+/*
+ * Copyright 2019-Present paseto.dev
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package dev.paseto.jpaseto.impl;
+
+import dev.paseto.jpaseto.FooterClaims;
+import dev.paseto.jpaseto.Purpose;
+import dev.paseto.jpaseto.UnverifiedPaseto;
+import dev.paseto.jpaseto.Version;
+
+import java.util.function.Supplier;
+
+/**
+ * The result of {@link DefaultPasetoParser#peek(String)}, the footer is decoded on first access.
+ */
+final class DefaultUnverifiedPaseto implements UnverifiedPaseto {
+
+    private final Version version;
+    private final Purpose purpose;
+    private final Supplier<FooterClaims> footerSupplier;
+
+    private volatile FooterClaims footer;
+
+    DefaultUnverifiedPaseto(Version version, Purpose purpose, Supplier<FooterClaims> footerSupplier) {
+        this.version = version;
+        this.purpose = purpose;
+        this.footerSupplier = footerSupplier;
+    }
+
+    @Override
+    public Version getVersion() {
+        return version;
+    }
+
+    @Override
+    public Purpose getPurpose() {
+        return purpose;
+    }
+
+    @Override
+    public FooterClaims getFooter() {
+        FooterClaims result = footer;
+        if (result == null) {
+            // racing threads may both decode the footer, they get equal results
+            result = footerSupplier.get();
+            footer = result;
+        }
+        return result;
+    }
+}
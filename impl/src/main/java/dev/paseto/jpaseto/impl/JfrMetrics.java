@@ -0,0 +1,34 @@
+/*
+ * Copyright 2019-Present paseto.dev
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package dev.paseto.jpaseto.impl;
+
+import dev.paseto.jpaseto.PasetoMetrics;
+
+/**
+ * Records the stages and failures of {@link StageRecorder} as JDK Flight Recorder events. The jar is a multi-release
+ * jar, the events are only available in the Java 11+ version of this class.
+ */
+final class JfrMetrics {
+
+    private JfrMetrics() {}
+
+    /**
+     * Returns the JFR metrics, or null if JFR is not available.
+     */
+    static PasetoMetrics create() {
+        return null;
+    }
+}
@@ -0,0 +1,213 @@
+/*
+ * Copyright 2019-Present paseto.dev
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package dev.paseto.jpaseto.impl;
+
+import java.io.ByteArrayOutputStream;
+
+/**
+ * Minimal scanner for the top level members of a UTF-8 encoded JSON object. It does not decode values, it only finds
+ * where each member starts and ends, so selected members can be copied into a smaller JSON object and deserialized on
+ * their own.
+ */
+final class JsonMembers {
+
+    private JsonMembers() {}
+
+    /**
+     * Copies the top level members of the {@code json} object named {@code names} into a new JSON object, in the order
+     * they appear. Returns {@code null} if {@code json} is not a well formed object or a member name contains an escape
+     * sequence, callers are expected to fall back to deserializing the whole document.
+     *
+     * @param json a UTF-8 encoded JSON object.
+     * @param names the UTF-8 encoded names of the members to select.
+     * @return a UTF-8 encoded JSON object containing only the selected members, or {@code null}.
+     */
+    static byte[] select(byte[] json, byte[][] names) {
+        ByteArrayOutputStream selected = new ByteArrayOutputStream(64);
+        selected.write('{');
+
+        int pos = skipWhitespace(json, 0);
+        if (pos >= json.length || json[pos] != '{') {
+            return null;
+        }
+        pos = skipWhitespace(json, pos + 1);
+        if (pos < json.length && json[pos] == '}') {
+            return end(json, pos + 1, selected);
+        }
+
+        while (pos < json.length) {
+            // member name
+            if (json[pos] != '"') {
+                return null;
+            }
+            int nameStart = pos;
+            int nameEnd = skipString(json, pos);
+            if (nameEnd < 0 || indexOf(json, (byte) '\\', nameStart, nameEnd) >= 0) {
+                return null;
+            }
+
+            pos = skipWhitespace(json, nameEnd);
+            if (pos >= json.length || json[pos] != ':') {
+                return null;
+            }
+
+            // member value
+            pos = skipWhitespace(json, pos + 1);
+            int valueStart = pos;
+            int valueEnd = skipValue(json, pos);
+            if (valueEnd < 0) {
+                return null;
+            }
+
+            if (isSelected(json, nameStart + 1, nameEnd - 1, names)) {
+                if (selected.size() > 1) {
+                    selected.write(',');
+                }
+                selected.write(json, nameStart, nameEnd - nameStart);
+                selected.write(':');
+                selected.write(json, valueStart, valueEnd - valueStart);
+            }
+
+            pos = skipWhitespace(json, valueEnd);
+            if (pos >= json.length) {
+                return null;
+            } else if (json[pos] == '}') {
+                return end(json, pos + 1, selected);
+            } else if (json[pos] != ',') {
+                return null;
+            }
+            pos = skipWhitespace(json, pos + 1);
+        }
+        return null;
+    }
+
+    private static byte[] end(byte[] json, int pos, ByteArrayOutputStream selected) {
+        if (skipWhitespace(json, pos) != json.length) {
+            return null;
+        }
+        selected.write('}');
+        return selected.toByteArray();
+    }
+
+    private static boolean isSelected(byte[] json, int start, int end, byte[][] names) {
+        for (byte[] name : names) {
+            if (regionEquals(json, start, end, name)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean regionEquals(byte[] json, int start, int end, byte[] name) {
+        if (name.length != end - start) {
+            return false;
+        }
+        for (int i = 0; i < name.length; i++) {
+            if (json[start + i] != name[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Returns the position after the value starting at {@code pos}, or {@code -1} if the value is not terminated.
+     */
+    private static int skipValue(byte[] json, int pos) {
+        if (pos >= json.length) {
+            return -1;
+        }
+
+        byte b = json[pos];
+        if (b == '"') {
+            return skipString(json, pos);
+        }
+
+        if (b == '{' || b == '[') {
+            int depth = 0;
+            while (pos < json.length) {
+                b = json[pos];
+                if (b == '"') {
+                    pos = skipString(json, pos);
+                    if (pos < 0) {
+                        return -1;
+                    }
+                    continue;
+                }
+                if (b == '{' || b == '[') {
+                    depth++;
+                } else if (b == '}' || b == ']') {
+                    depth--;
+                    if (depth == 0) {
+                        return pos + 1;
+                    }
+                }
+                pos++;
+            }
+            return -1;
+        }
+
+        // number, true, false or null
+        int start = pos;
+        while (pos < json.length && !isDelimiter(json[pos])) {
+            pos++;
+        }
+        return pos > start ? pos : -1;
+    }
+
+    /**
+     * Returns the position after the closing quote of the string starting at {@code pos}, or {@code -1} if the string
+     * is not terminated.
+     */
+    private static int skipString(byte[] json, int pos) {
+        pos++; // opening quote
+        while (pos < json.length) {
+            byte b = json[pos];
+            if (b == '\\') {
+                pos += 2;
+            } else if (b == '"') {
+                return pos + 1;
+            } else {
+                pos++;
+            }
+        }
+        return -1;
+    }
+
+    private static int skipWhitespace(byte[] json, int pos) {
+        while (pos < json.length && isWhitespace(json[pos])) {
+            pos++;
+        }
+        return pos;
+    }
+
+    private static int indexOf(byte[] json, byte b, int start, int end) {
+        for (int i = start; i < end; i++) {
+            if (json[i] == b) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static boolean isWhitespace(byte b) {
+        return b == ' ' || b == '\t' || b == '\n' || b == '\r';
+    }
+
+    private static boolean isDelimiter(byte b) {
+        return b == ',' || b == '}' || b == ']' || isWhitespace(b);
+    }
+}
@@ -0,0 +1,151 @@
+/*
+ * Copyright 2019-Present paseto.dev
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package dev.paseto.jpaseto.impl;
+
+import dev.paseto.jpaseto.io.Deserializer;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
+
+/**
+ * Claims map of a verified token that deserializes the payload only when it is first needed. The members needed to
+ * validate the token ({@code exp}, {@code nbf} and any required claims) are deserialized up front from a copy of the
+ * payload containing only those members, see {@link JsonMembers#select(byte[], byte[][])}. Any other access
+ * deserializes the whole payload once.
+ * <p>
+ * Errors in the JSON of members that were not selected are thrown by the {@link Deserializer} when the map is first
+ * accessed, not when the token is parsed.
+ */
+final class LazyClaimsMap implements Map<String, Object> {
+
+    private final Deserializer<Map<String, Object>> deserializer;
+    private final Set<String> selectedNames;
+    private final Map<String, Object> selected;
+
+    @SuppressWarnings("rawtypes")
+    private static final AtomicReferenceFieldUpdater<LazyClaimsMap, Map> CLAIMS =
+            AtomicReferenceFieldUpdater.newUpdater(LazyClaimsMap.class, Map.class, "claims");
+
+    private volatile byte[] payload;
+    private volatile Map<String, Object> claims;
+
+    LazyClaimsMap(Deserializer<Map<String, Object>> deserializer, byte[] payload, Set<String> selectedNames, Map<String, Object> selected) {
+        this.deserializer = deserializer;
+        this.payload = payload;
+        this.selectedNames = selectedNames;
+        this.selected = selected;
+    }
+
+    private Map<String, Object> claims() {
+        Map<String, Object> result = claims;
+        if (result != null) {
+            return result;
+        }
+
+        // lock-free (a virtual thread waiting for a monitor pins its carrier), threads racing to deserialize the
+        // payload all return the first map that is published
+        byte[] tmpPayload = payload;
+        if (tmpPayload != null) {
+            CLAIMS.compareAndSet(this, null, deserializer.deserialize(tmpPayload));
+            payload = null;
+        }
+        return claims;
+    }
+
+    /**
+     * Returns true if {@code key} can be read without deserializing the whole payload.
+     */
+    private boolean isSelected(Object key) {
+        return claims == null && selectedNames.contains(key);
+    }
+
+    @Override
+    public Object get(Object key) {
+        return isSelected(key) ? selected.get(key) : claims().get(key);
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        return isSelected(key) ? selected.containsKey(key) : claims().containsKey(key);
+    }
+
+    @Override
+    public int size() {
+        return claims().size();
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return claims().isEmpty();
+    }
+
+    @Override
+    public boolean containsValue(Object value) {
+        return claims().containsValue(value);
+    }
+
+    @Override
+    public Object put(String key, Object value) {
+        return claims().put(key, value);
+    }
+
+    @Override
+    public Object remove(Object key) {
+        return claims().remove(key);
+    }
+
+    @Override
+    public void putAll(Map<? extends String, ?> m) {
+        claims().putAll(m);
+    }
+
+    @Override
+    public void clear() {
+        claims().clear();
+    }
+
+    @Override
+    public Set<String> keySet() {
+        return claims().keySet();
+    }
+
+    @Override
+    public Collection<Object> values() {
+        return claims().values();
+    }
+
+    @Override
+    public Set<Entry<String, Object>> entrySet() {
+        return claims().entrySet();
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return claims().equals(o);
+    }
+
+    @Override
+    public int hashCode() {
+        return claims().hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return claims().toString();
+    }
+}
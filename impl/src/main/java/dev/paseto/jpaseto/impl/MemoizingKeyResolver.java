@@ -0,0 +1,70 @@
+/*
+ * Copyright 2019-Present paseto.dev
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package dev.paseto.jpaseto.impl;
+
+import dev.paseto.jpaseto.FooterClaims;
+import dev.paseto.jpaseto.KeyResolver;
+import dev.paseto.jpaseto.Purpose;
+import dev.paseto.jpaseto.Version;
+
+import javax.crypto.SecretKey;
+import java.security.PublicKey;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Supplier;
+
+/**
+ * Remembers the keys returned by a {@link KeyResolver} by version, purpose and footer, so tokens in a batch with the
+ * same header and footer (e.g. the same {@code kid}) resolve their key once. Used for the duration of a single batch,
+ * at most {@code MAX_ENTRIES} keys are remembered.
+ */
+final class MemoizingKeyResolver implements KeyResolver {
+
+    private static final int MAX_ENTRIES = 1024;
+
+    private final KeyResolver delegate;
+    private final ConcurrentMap<List<Object>, Object> keys = new ConcurrentHashMap<>();
+
+    MemoizingKeyResolver(KeyResolver delegate) {
+        this.delegate = delegate;
+    }
+
+    @Override
+    public PublicKey resolvePublicKey(Version version, Purpose purpose, FooterClaims footer) {
+        return (PublicKey) resolve(version, purpose, footer, () -> delegate.resolvePublicKey(version, purpose, footer));
+    }
+
+    @Override
+    public SecretKey resolveSharedKey(Version version, Purpose purpose, FooterClaims footer) {
+        return (SecretKey) resolve(version, purpose, footer, () -> delegate.resolveSharedKey(version, purpose, footer));
+    }
+
+    private Object resolve(Version version, Purpose purpose, FooterClaims footer, Supplier<Object> resolver) {
+        List<Object> id = Arrays.asList(version, purpose, footer);
+        Object key = keys.get(id);
+        if (key != null) {
+            return key;
+        }
+
+        key = resolver.get();
+        if (key != null && keys.size() < MAX_ENTRIES) {
+            keys.putIfAbsent(id, key);
+        }
+        return key;
+    }
+}
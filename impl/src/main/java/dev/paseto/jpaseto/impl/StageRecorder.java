@@ -0,0 +1,102 @@
+/*
+ * Copyright 2019-Present paseto.dev
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package dev.paseto.jpaseto.impl;
+
+import dev.paseto.jpaseto.PasetoMetrics;
+import dev.paseto.jpaseto.PasetoMetrics.Stage;
+import dev.paseto.jpaseto.Purpose;
+import dev.paseto.jpaseto.Version;
+
+/**
+ * Times the stages of parsing or creating a single token, for the configured {@link PasetoMetrics} and the JDK Flight
+ * Recorder events. A recorder is only created when one of them is enabled, otherwise {@link #start} returns
+ * {@code null} and the caller skips timing altogether.
+ */
+final class StageRecorder {
+
+    // null before Java 11, see JfrMetrics
+    private static final PasetoMetrics JFR = JfrMetrics.create();
+
+    private final PasetoMetrics first;
+    private final PasetoMetrics second;
+
+    private Version version;
+    private Purpose purpose;
+    private Stage stage;
+    private long stageStart;
+
+    private StageRecorder(PasetoMetrics first, PasetoMetrics second) {
+        this.first = first;
+        this.second = second;
+    }
+
+    /**
+     * Returns a new recorder, or null if neither {@code metrics} nor the JFR events are enabled.
+     */
+    static StageRecorder start(PasetoMetrics metrics) {
+        PasetoMetrics configured = metrics != null && metrics.isEnabled() ? metrics : null;
+        PasetoMetrics jfr = JFR != null && JFR.isEnabled() ? JFR : null;
+        if (configured == null && jfr == null) {
+            return null;
+        }
+        return configured != null ? new StageRecorder(configured, jfr) : new StageRecorder(jfr, null);
+    }
+
+    static StageRecorder start(PasetoMetrics metrics, Version version, Purpose purpose) {
+        StageRecorder recorder = start(metrics);
+        if (recorder != null) {
+            recorder.header(version, purpose);
+        }
+        return recorder;
+    }
+
+    void header(Version tokenVersion, Purpose tokenPurpose) {
+        this.version = tokenVersion;
+        this.purpose = tokenPurpose;
+    }
+
+    /**
+     * Completes the current stage, if any, and starts {@code next}.
+     */
+    void stage(Stage next) {
+        long now = System.nanoTime();
+        if (stage != null) {
+            first.stageCompleted(stage, version, purpose, now - stageStart);
+            if (second != null) {
+                second.stageCompleted(stage, version, purpose, now - stageStart);
+            }
+        }
+        stage = next;
+        stageStart = now;
+    }
+
+    /**
+     * Completes the current stage.
+     */
+    void done() {
+        stage(null);
+    }
+
+    /**
+     * Reports the failure of the current stage.
+     */
+    void failed(RuntimeException exception) {
+        first.failed(stage, version, purpose, exception);
+        if (second != null) {
+            second.failed(stage, version, purpose, exception);
+        }
+    }
+}
@@ -0,0 +1,132 @@
+/*
+ * Copyright 2019-Present paseto.dev
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package dev.paseto.jpaseto.impl;
+
+import dev.paseto.jpaseto.PasetoException;
+import dev.paseto.jpaseto.ReplayGuard;
+import dev.paseto.jpaseto.lang.Assert;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * In-memory {@link ReplayGuard}. Token IDs are grouped in buckets of {@code bucketDuration} by the expiration of their
+ * token, kept in expiration order. Once a bucket's time has passed, all of its tokens have expired and the whole bucket
+ * is dropped, without looking at its entries. A replayed token has the same (signed) expiration as the original, so
+ * only its own bucket has to be checked.
+ * <p>
+ * Each bucket is guarded by its own {@link ReentrantLock} (a virtual thread waiting for it does not pin its carrier
+ * thread), so recording an ID and dropping its bucket cannot interleave: an ID is either counted when its bucket is
+ * dropped, or sees the bucket closed. The guard holds at most {@code maximumSize} token IDs, when it is full new tokens
+ * are rejected rather than forgetting unexpired IDs.
+ */
+final class TimeBucketedReplayGuard implements ReplayGuard {
+
+    static final Duration DEFAULT_BUCKET_DURATION = Duration.ofMinutes(1);
+
+    private final int maximumSize;
+    private final long bucketSeconds;
+    private final ConcurrentSkipListMap<Long, Bucket> buckets = new ConcurrentSkipListMap<>();
+    private final AtomicInteger size = new AtomicInteger();
+
+    TimeBucketedReplayGuard(int maximumSize, Duration bucketDuration) {
+        Assert.isTrue(maximumSize > 0, "maximumSize must be greater than 0");
+        Assert.isTrue(bucketDuration.getSeconds() > 0, "bucketDuration must be at least 1 second");
+        this.maximumSize = maximumSize;
+        this.bucketSeconds = bucketDuration.getSeconds();
+    }
+
+    @Override
+    public boolean markUsed(String tokenId, Instant expiration, Instant now) {
+
+        long current = bucket(now);
+        evictBefore(current);
+
+        long bucket = bucket(expiration);
+        if (bucket < current) {
+            // the token expired since it was validated, replays of it are rejected as expired
+            return true;
+        }
+
+        return buckets.computeIfAbsent(bucket, key -> new Bucket()).add(tokenId);
+    }
+
+    /**
+     * Returns the number of token IDs held.
+     */
+    int size() {
+        return size.get();
+    }
+
+    private long bucket(Instant instant) {
+        return Math.floorDiv(instant.getEpochSecond(), bucketSeconds);
+    }
+
+    // every token in a bucket before the current one has expired
+    private void evictBefore(long current) {
+        Map.Entry<Long, Bucket> oldest;
+        while ((oldest = buckets.firstEntry()) != null && oldest.getKey() < current) {
+            if (buckets.remove(oldest.getKey(), oldest.getValue())) {
+                oldest.getValue().close();
+            }
+        }
+    }
+
+    private final class Bucket {
+
+        private final ReentrantLock lock = new ReentrantLock();
+        private final Set<String> tokenIds = new HashSet<>();
+        private boolean closed;
+
+        boolean add(String tokenId) {
+            lock.lock();
+            try {
+                if (closed) {
+                    // dropped by a caller with a later clock, the token has expired and replays are rejected as expired
+                    return true;
+                }
+                if (tokenIds.contains(tokenId)) {
+                    return false;
+                }
+                if (size.incrementAndGet() > maximumSize) {
+                    size.decrementAndGet();
+                    throw new PasetoException("Replay guard is full, it holds the IDs of " + maximumSize + " unexpired tokens.");
+                }
+                tokenIds.add(tokenId);
+                return true;
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        void close() {
+            lock.lock();
+            try {
+                closed = true;
+                size.addAndGet(-tokenIds.size());
+                tokenIds.clear();
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+}
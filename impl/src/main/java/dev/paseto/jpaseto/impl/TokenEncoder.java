@@ -0,0 +1,26 @@
+/*
+ * Copyright 2019-Present paseto.dev
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package dev.paseto.jpaseto.impl;
+
+/**
+ * Encrypts or signs an already serialized payload and footer into a compact token string. Implementations capture
+ * the key and crypto provider when they are created, so they can be shared between threads.
+ */
+@FunctionalInterface
+interface TokenEncoder {
+
+    String encode(byte[] payload, byte[] footer);
+}
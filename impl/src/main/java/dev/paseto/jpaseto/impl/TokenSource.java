@@ -0,0 +1,283 @@
+/*
+ * Copyright 2019-Present paseto.dev
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package dev.paseto.jpaseto.impl;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * Index-based, read-only view of the characters of a token, backed by a {@code CharSequence}, {@code byte[]} or
+ * {@code ByteBuffer}. Used to find the {@code .} separators in a single pass and decode base64url parts directly from
+ * the source, without creating intermediate Strings or byte arrays.
+ */
+abstract class TokenSource {
+
+    private static final int[] BASE64_URL = new int[128];
+
+    static {
+        Arrays.fill(BASE64_URL, -1);
+        String alphabet = "ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz0123456789-_";
+        for (int i = 0; i < alphabet.length(); i++) {
+            BASE64_URL[alphabet.charAt(i)] = i;
+        }
+    }
+
+    static TokenSource of(CharSequence token, int start, int end) {
+        return new CharSequenceSource(token, start, end);
+    }
+
+    static TokenSource of(byte[] token) {
+        return new ByteArraySource(token);
+    }
+
+    /**
+     * The source is the {@code remaining()} bytes of {@code token}, the buffer's position is not modified.
+     */
+    static TokenSource of(ByteBuffer token) {
+        return new ByteBufferSource(token);
+    }
+
+    abstract int length();
+
+    abstract int charAt(int index);
+
+    /**
+     * Returns the index of the first {@code ch} at or after {@code fromIndex}, or -1.
+     */
+    int indexOf(char ch, int fromIndex) {
+        int length = length();
+        for (int i = fromIndex; i < length; i++) {
+            if (charAt(i) == ch) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Returns the index of the last {@code ch}, or -1.
+     */
+    int lastIndexOf(char ch) {
+        for (int i = length() - 1; i >= 0; i--) {
+            if (charAt(i) == ch) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Returns true if the characters from {@code start} (inclusive) to {@code end} (exclusive) equal {@code value}.
+     */
+    boolean regionEquals(int start, int end, String value) {
+        if (end - start != value.length()) {
+            return false;
+        }
+        for (int i = 0; i < value.length(); i++) {
+            if (charAt(start + i) != value.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Decodes the base64url characters from {@code start} (inclusive) to {@code end} (exclusive). Padding is optional,
+     * at most two {@code '='} characters.
+     *
+     * @throws IllegalArgumentException if the input is not valid base64url
+     */
+    byte[] decodeBase64Url(int start, int end) {
+
+        end = stripPadding(start, end);
+
+        int length = end - start;
+        int remainder = length % 4;
+        if (remainder == 1) {
+            throw new IllegalArgumentException("Input byte array has incorrect ending byte at " + (end - 1));
+        }
+
+        byte[] result = new byte[length / 4 * 3 + (remainder == 0 ? 0 : remainder - 1)];
+        int fullEnd = end - remainder;
+        int out = 0;
+        for (int i = start; i < fullEnd; i += 4) {
+            int bits = sextet(i) << 18 | sextet(i + 1) << 12 | sextet(i + 2) << 6 | sextet(i + 3);
+            result[out++] = (byte) (bits >> 16);
+            result[out++] = (byte) (bits >> 8);
+            result[out++] = (byte) bits;
+        }
+
+        if (remainder == 2) {
+            int bits = sextet(fullEnd) << 18 | sextet(fullEnd + 1) << 12;
+            result[out] = (byte) (bits >> 16);
+        } else if (remainder == 3) {
+            int bits = sextet(fullEnd) << 18 | sextet(fullEnd + 1) << 12 | sextet(fullEnd + 2) << 6;
+            result[out++] = (byte) (bits >> 16);
+            result[out] = (byte) (bits >> 8);
+        }
+        return result;
+    }
+
+    /**
+     * Returns the number of bytes {@link #decodeBase64Url} returns for the characters from {@code start} (inclusive) to
+     * {@code end} (exclusive), or -1 if the number of characters is not a valid base64url length. Only the padding is
+     * read, use {@link #isBase64Url} to check the characters.
+     */
+    int base64UrlDecodedLength(int start, int end) {
+
+        end = stripPadding(start, end);
+
+        int length = end - start;
+        int remainder = length % 4;
+        if (remainder == 1) {
+            return -1;
+        }
+        return length / 4 * 3 + (remainder == 0 ? 0 : remainder - 1);
+    }
+
+    /**
+     * Returns true if the characters from {@code start} (inclusive) to {@code end} (exclusive) are in the base64url
+     * alphabet, optionally followed by at most two {@code '='} padding characters.
+     */
+    boolean isBase64Url(int start, int end) {
+
+        end = stripPadding(start, end);
+
+        for (int i = start; i < end; i++) {
+            int ch = charAt(i);
+            if (ch >= 128 || BASE64_URL[ch] < 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Returns the characters from {@code start} (inclusive) to {@code end} (exclusive) as a String.
+     */
+    abstract String substring(int start, int end);
+
+    @Override
+    public String toString() {
+        return substring(0, length());
+    }
+
+    // base64 has at most two padding characters, any other '=' is rejected as outside the alphabet
+    private int stripPadding(int start, int end) {
+        int unpadded = end;
+        while (unpadded > start && end - unpadded < 2 && charAt(unpadded - 1) == '=') {
+            unpadded--;
+        }
+        return unpadded;
+    }
+
+    private int sextet(int index) {
+        int ch = charAt(index);
+        int value = ch < 128 ? BASE64_URL[ch] : -1;
+        if (value < 0) {
+            throw new IllegalArgumentException("Illegal base64 character " + Integer.toString(ch, 16));
+        }
+        return value;
+    }
+
+    private static final class CharSequenceSource extends TokenSource {
+
+        private final CharSequence token;
+        private final int offset;
+        private final int length;
+
+        private CharSequenceSource(CharSequence token, int start, int end) {
+            if (start < 0 || end > token.length() || start > end) {
+                throw new IndexOutOfBoundsException("start " + start + ", end " + end + ", length " + token.length());
+            }
+            this.token = token;
+            this.offset = start;
+            this.length = end - start;
+        }
+
+        @Override
+        int length() {
+            return length;
+        }
+
+        @Override
+        int charAt(int index) {
+            return token.charAt(offset + index);
+        }
+
+        @Override
+        String substring(int start, int end) {
+            return token.subSequence(offset + start, offset + end).toString();
+        }
+    }
+
+    private static final class ByteArraySource extends TokenSource {
+
+        private final byte[] token;
+
+        private ByteArraySource(byte[] token) {
+            this.token = token;
+        }
+
+        @Override
+        int length() {
+            return token.length;
+        }
+
+        @Override
+        int charAt(int index) {
+            return token[index] & 0xff;
+        }
+
+        @Override
+        String substring(int start, int end) {
+            return new String(token, start, end - start, StandardCharsets.ISO_8859_1);
+        }
+    }
+
+    private static final class ByteBufferSource extends TokenSource {
+
+        private final ByteBuffer token;
+        private final int offset;
+        private final int length;
+
+        private ByteBufferSource(ByteBuffer token) {
+            this.token = token;
+            this.offset = token.position();
+            this.length = token.remaining();
+        }
+
+        @Override
+        int length() {
+            return length;
+        }
+
+        @Override
+        int charAt(int index) {
+            return token.get(offset + index) & 0xff;
+        }
+
+        @Override
+        String substring(int start, int end) {
+            byte[] bytes = new byte[end - start];
+            for (int i = 0; i < bytes.length; i++) {
+                bytes[i] = token.get(offset + start + i);
+            }
+            return new String(bytes, StandardCharsets.ISO_8859_1);
+        }
+    }
+}
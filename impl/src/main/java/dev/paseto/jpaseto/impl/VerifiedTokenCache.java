@@ -0,0 +1,170 @@
+/*
+ * Copyright 2019-Present paseto.dev
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package dev.paseto.jpaseto.impl;
+
+import dev.paseto.jpaseto.CacheStats;
+import dev.paseto.jpaseto.Paseto;
+import dev.paseto.jpaseto.lang.Assert;
+
+import java.time.Instant;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * A bounded cache of verified tokens keyed by the raw token string. Entries are split across a number of independently
+ * locked LRU segments (by the hash of the token) to limit contention, each segment holds at most its share of
+ * {@code maximumSize} entries. An entry is removed when it is looked up after its {@code exp} time.
+ * <p>
+ * Segments are guarded by a {@link ReentrantLock} rather than {@code synchronized}, a virtual thread waiting for a
+ * monitor pins its carrier thread (before Java 24).
+ */
+final class VerifiedTokenCache implements CacheStats {
+
+    private static final int MAX_SEGMENTS = 16;
+    private static final int MIN_SEGMENT_SIZE = 64;
+
+    private final Segment[] segments;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    VerifiedTokenCache(int maximumSize) {
+        Assert.isTrue(maximumSize > 0, "maximumSize must be greater than 0");
+
+        int segmentCount = Math.max(1, Math.min(MAX_SEGMENTS, maximumSize / MIN_SEGMENT_SIZE));
+        this.segments = new Segment[segmentCount];
+        for (int i = 0; i < segmentCount; i++) {
+            // spread the remainder over the first segments, so the total is exactly maximumSize
+            int segmentSize = maximumSize / segmentCount + (i < maximumSize % segmentCount ? 1 : 0);
+            segments[i] = new Segment(segmentSize);
+        }
+    }
+
+    /**
+     * Returns the cached token, or null if the token is not cached or it expired before {@code expiredBefore}.
+     */
+    Paseto get(String token, Instant expiredBefore) {
+        Paseto paseto = segmentFor(token).get(token, expiredBefore);
+        if (paseto != null) {
+            hits.increment();
+        } else {
+            misses.increment();
+        }
+        return paseto;
+    }
+
+    /**
+     * Caches a verified token, {@code exp} must not be null. Least recently used entries that expired before
+     * {@code expiredBefore} are removed from the token's segment.
+     */
+    void put(String token, Paseto paseto, Instant exp, Instant expiredBefore) {
+        segmentFor(token).put(token, new CachedToken(paseto, exp), expiredBefore);
+    }
+
+    @Override
+    public long getHitCount() {
+        return hits.sum();
+    }
+
+    @Override
+    public long getMissCount() {
+        return misses.sum();
+    }
+
+    @Override
+    public int getSize() {
+        int size = 0;
+        for (Segment segment : segments) {
+            size += segment.size();
+        }
+        return size;
+    }
+
+    private Segment segmentFor(String token) {
+        int hash = token.hashCode();
+        hash ^= (hash >>> 16);
+        return segments[(hash & Integer.MAX_VALUE) % segments.length];
+    }
+
+    private static final class CachedToken {
+        private final Paseto paseto;
+        private final Instant exp;
+
+        private CachedToken(Paseto paseto, Instant exp) {
+            this.paseto = paseto;
+            this.exp = exp;
+        }
+    }
+
+    private static final class Segment {
+
+        private final ReentrantLock lock = new ReentrantLock();
+        private final LinkedHashMap<String, CachedToken> entries;
+
+        private Segment(int maximumSize) {
+            this.entries = new LinkedHashMap<String, CachedToken>(16, 0.75f, true) {
+                private static final long serialVersionUID = 1L;
+
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<String, CachedToken> eldest) {
+                    return size() > maximumSize;
+                }
+            };
+        }
+
+        Paseto get(String token, Instant expiredBefore) {
+            lock.lock();
+            try {
+                CachedToken entry = entries.get(token);
+                if (entry == null) {
+                    return null;
+                }
+                if (expiredBefore.isAfter(entry.exp)) {
+                    entries.remove(token);
+                    return null;
+                }
+                return entry.paseto;
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        void put(String token, CachedToken entry, Instant expiredBefore) {
+            lock.lock();
+            try {
+                // entries are in access order, drop the expired least recently used entries
+                Iterator<CachedToken> iterator = entries.values().iterator();
+                while (iterator.hasNext() && expiredBefore.isAfter(iterator.next().exp)) {
+                    iterator.remove();
+                }
+                entries.put(token, entry);
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        int size() {
+            lock.lock();
+            try {
+                return entries.size();
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+}
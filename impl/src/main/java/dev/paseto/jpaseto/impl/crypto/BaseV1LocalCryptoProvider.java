@@ -28,6 +28,14 @@ import static java.nio.charset.StandardCharsets.UTF_8;
 public abstract class BaseV1LocalCryptoProvider implements V1LocalCryptoProvider {
 
     private static final byte[] HEADER_BYTES = "v1.local.".getBytes(UTF_8);
+    private static final byte[] ENCRYPTION_KEY_INFO = "paseto-encryption-key".getBytes(UTF_8);
+    private static final byte[] AUTHENTICATION_KEY_INFO = "paseto-auth-key-for-aead".getBytes(UTF_8);
+
+    /**
+     * Length of the derived encryption and authentication keys, shorter than a SHA-384 output so each key takes a
+     * single HKDF expand block.
+     */
+    protected static final int DERIVED_KEY_LENGTH = 32;
 
     @Override
     public byte[] encrypt(byte[] payload, byte[] footer, byte[] nonce, SecretKey sharedSecret) {
@@ -35,18 +43,16 @@ public abstract class BaseV1LocalCryptoProvider implements V1LocalCryptoProvider
         byte[] salt = Arrays.copyOf(nonce, 16);
         byte[] rightNonce = Arrays.copyOfRange(nonce, 16, nonce.length);
 
-        // 4
-        byte[] encryptionKey = encryptionKey(sharedSecret, salt);
-        byte[] authenticationKey = authenticationKey(sharedSecret, salt);
+        // 4, both keys are expanded from a single extract step
+        byte[] pseudoRandomKey = hkdfSha384Extract(salt, sharedSecret.getEncoded());
+        byte[] encryptionKey = hkdfSha384Expand(pseudoRandomKey, ENCRYPTION_KEY_INFO);
+        byte[] authenticationKey = hkdfSha384Expand(pseudoRandomKey, AUTHENTICATION_KEY_INFO);
 
         // 5
         byte[] cipherText = V1LocalCryptoProvider.doCipher(Cipher.ENCRYPT_MODE, encryptionKey, rightNonce, payload);
 
-        //6
-        byte[] preAuth = PreAuthEncoder.encode(HEADER_BYTES, nonce, cipherText, footer);
-
-        //7
-        byte[] calculatedMac = Hmacs.hmacSha384(authenticationKey, preAuth);
+        //6, 7
+        byte[] calculatedMac = Hmacs.hmacSha384PreAuth(authenticationKey, HEADER_BYTES, nonce, cipherText, footer);
 
         // 8
         return Bytes.concat(nonce, cipherText, calculatedMac);
@@ -62,15 +68,13 @@ public abstract class BaseV1LocalCryptoProvider implements V1LocalCryptoProvider
         byte[] cipherText = Arrays.copyOfRange(encryptedBytes, 32, encryptedBytes.length - 48);
         byte[] mac = Arrays.copyOfRange(encryptedBytes, encryptedBytes.length - 48, encryptedBytes.length);
 
-        // 4
-        byte[] encryptionKey = encryptionKey(sharedSecret, salt);
-        byte[] authenticationKey = authenticationKey(sharedSecret, salt);
+        // 4, both keys are expanded from a single extract step
+        byte[] pseudoRandomKey = hkdfSha384Extract(salt, sharedSecret.getEncoded());
+        byte[] encryptionKey = hkdfSha384Expand(pseudoRandomKey, ENCRYPTION_KEY_INFO);
+        byte[] authenticationKey = hkdfSha384Expand(pseudoRandomKey, AUTHENTICATION_KEY_INFO);
 
-        // 5
-        byte[] preAuth = PreAuthEncoder.encode(HEADER_BYTES, nonce, cipherText, footer);
-
-        // 6
-        byte[] calculatedMac = Hmacs.hmacSha384(authenticationKey, preAuth);
+        // 5, 6
+        byte[] calculatedMac = Hmacs.hmacSha384PreAuth(authenticationKey, HEADER_BYTES, nonce, cipherText, footer);
 
         // 7
         if (!MessageDigest.isEqual(calculatedMac, mac)) {
@@ -81,17 +85,48 @@ public abstract class BaseV1LocalCryptoProvider implements V1LocalCryptoProvider
         return V1LocalCryptoProvider.doCipher(Cipher.DECRYPT_MODE, encryptionKey, rightNonce, cipherText);
     }
 
-    private byte[] encryptionKey(SecretKey sharedSecret, byte[] salt) {
-        return hkdfSha384(sharedSecret, salt, "paseto-encryption-key");
+    /**
+     * Calculates the HKDF-SHA384 of {@code sharedSecret} in one step, see
+     * <a href="https://tools.ietf.org/html/rfc5869">RFC 5869</a>.
+     *
+     * @param sharedSecret the input keying material.
+     * @param salt the salt.
+     * @param info the context information.
+     * @return a {@value #DERIVED_KEY_LENGTH} byte key.
+     * @deprecated since 0.7.0, {@link #encrypt(byte[], byte[], byte[], SecretKey) encrypt} and
+     * {@link #decrypt(byte[], byte[], byte[], SecretKey) decrypt} expand both keys from a single extract step and no
+     * longer call this method. Override {@link #hkdfSha384Extract(byte[], byte[])} and
+     * {@link #hkdfSha384Expand(byte[], byte[])} instead.
+     */
+    @Deprecated
+    protected byte[] hkdfSha384(SecretKey sharedSecret, byte[] salt, byte[] info) {
+        return hkdfSha384Expand(hkdfSha384Extract(salt, sharedSecret.getEncoded()), info);
     }
 
-    private byte[] authenticationKey(SecretKey sharedSecret, byte[] salt) {
-        return hkdfSha384(sharedSecret, salt, "paseto-auth-key-for-aead");
+    /**
+     * The HKDF-SHA384 extract step, see <a href="https://tools.ietf.org/html/rfc5869#section-2.2">RFC 5869</a>.
+     * Defaults to the JCA {@code HmacSHA384}.
+     *
+     * @param salt the salt.
+     * @param inputKeyingMaterial the input keying material.
+     * @return the pseudorandom key.
+     * @since 0.7.0
+     */
+    protected byte[] hkdfSha384Extract(byte[] salt, byte[] inputKeyingMaterial) {
+        return Hmacs.hmacSha384(salt, inputKeyingMaterial);
     }
 
-    private byte[] hkdfSha384(SecretKey sharedSecret, byte[] salt, String info) {
-        return hkdfSha384(sharedSecret, salt, info.getBytes(UTF_8));
+    /**
+     * The HKDF-SHA384 expand step, see <a href="https://tools.ietf.org/html/rfc5869#section-2.3">RFC 5869</a>.
+     * Defaults to the JCA {@code HmacSHA384}, a {@value #DERIVED_KEY_LENGTH} byte key is the first output block.
+     *
+     * @param pseudoRandomKey the pseudorandom key returned by {@link #hkdfSha384Extract(byte[], byte[])}.
+     * @param info the context information.
+     * @return a {@value #DERIVED_KEY_LENGTH} byte key.
+     * @since 0.7.0
+     */
+    protected byte[] hkdfSha384Expand(byte[] pseudoRandomKey, byte[] info) {
+        // T(1) = HMAC-Hash(PRK, info | 0x01)
+        return Arrays.copyOf(Hmacs.hmacSha384(pseudoRandomKey, Bytes.concat(info, new byte[] {1})), DERIVED_KEY_LENGTH);
     }
-
-    protected abstract byte[] hkdfSha384(SecretKey sharedSecret, byte[] salt, byte[] info);
 }
@@ -0,0 +1,51 @@
+/*
+ * Copyright 2019-Present paseto.dev
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package dev.paseto.jpaseto.impl.crypto;
+
+import dev.paseto.jpaseto.impl.lang.PerThread;
+
+import javax.crypto.Cipher;
+import javax.crypto.NoSuchPaddingException;
+import java.security.NoSuchAlgorithmException;
+
+/**
+ * Per-thread {@link Cipher} instances, {@code Cipher.getInstance} requires a (synchronized) provider lookup, so each
+ * thread resolves its instance once and re-initializes it for every use, see {@link PerThread}.
+ */
+final class Ciphers {
+
+    private static final PerThread<Cipher> AES_CTR = PerThread.withInitial(() -> {
+        try {
+            return Cipher.getInstance("AES/CTR/NoPadding");
+        } catch (NoSuchAlgorithmException | NoSuchPaddingException e) {
+            throw new SecurityException("Failed create cipher.", e);
+        }
+    });
+
+    private Ciphers() {}
+
+    /**
+     * Returns the calling thread's "AES/CTR/NoPadding" cipher, callers must call {@code init} before each use and
+     * {@link #release(Cipher)} after it.
+     */
+    static Cipher aesCtr() {
+        return AES_CTR.acquire();
+    }
+
+    static void release(Cipher cipher) {
+        AES_CTR.release(cipher);
+    }
+}
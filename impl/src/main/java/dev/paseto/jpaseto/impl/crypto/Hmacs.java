@@ -15,6 +15,7 @@
  */
 package dev.paseto.jpaseto.impl.crypto;
 
+import dev.paseto.jpaseto.impl.lang.PerThread;
 import dev.paseto.jpaseto.lang.Assert;
 
 import javax.crypto.Mac;
@@ -24,15 +25,53 @@ import java.security.NoSuchAlgorithmException;
 import java.util.Arrays;
 
 public final class Hmacs {
+
+    private static final PerThread<Mac> HMAC_SHA384 = PerThread.withInitial(() -> {
+        try {
+            return Mac.getInstance("HmacSHA384"); //"HMac-SHA384"
+        } catch (NoSuchAlgorithmException e) {
+            throw new SecurityException("Could not calculate 'HmacSHA384'", e);
+        }
+    });
+
     private Hmacs() {}
 
     public static byte[] hmacSha384(byte[] key, byte[] input) {
+        Mac mac = hmacSha384(key);
+        try {
+            return mac.doFinal(input);
+        } finally {
+            HMAC_SHA384.release(mac);
+        }
+    }
+
+    /**
+     * Calculates the HmacSHA384 of the pre-authentication encoding of {@code preAuthInputs}, without materializing
+     * the encoded message.
+     */
+    public static byte[] hmacSha384PreAuth(byte[] key, byte[]... preAuthInputs) {
+        Mac mac = hmacSha384(key);
+        try {
+            PreAuthEncoder.update(mac, preAuthInputs);
+            return mac.doFinal();
+        } finally {
+            HMAC_SHA384.release(mac);
+        }
+    }
+
+    /**
+     * Returns the calling thread's HmacSHA384 instance initialized with {@code key}. Mac lookups are synchronized in
+     * the JCA, so the instance is resolved once per thread and re-initialized for each use, the returned Mac must be
+     * finished and released before this method is called again.
+     */
+    private static Mac hmacSha384(byte[] key) {
+        Mac mac = HMAC_SHA384.acquire();
         try {
-            Mac mac = Mac.getInstance("HmacSHA384"); //"HMac-SHA384"
             SecretKeySpec secretKeySpec = new SecretKeySpec(key, "HmacSHA384"); //"HMac-SHA384"
             mac.init(secretKeySpec);
-            return mac.doFinal(input);
-        } catch (NoSuchAlgorithmException | InvalidKeyException e) {
+            return mac;
+        } catch (InvalidKeyException e) {
+            HMAC_SHA384.release(mac);
             throw new SecurityException("Could not calculate 'HmacSHA384'", e);
         }
     }
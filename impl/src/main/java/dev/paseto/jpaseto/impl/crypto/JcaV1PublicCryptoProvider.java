@@ -16,6 +16,8 @@
 package dev.paseto.jpaseto.impl.crypto;
 
 import dev.paseto.jpaseto.PasetoSignatureException;
+import dev.paseto.jpaseto.Version;
+import dev.paseto.jpaseto.impl.lang.PerThread;
 
 import java.security.InvalidAlgorithmParameterException;
 import java.security.InvalidKeyException;
@@ -36,20 +38,26 @@ public class JcaV1PublicCryptoProvider implements V1PublicCryptoProvider {
 
     private static final byte[] HEADER_BYTES = "v1.public.".getBytes(UTF_8);
 
+    // Signature lookups are synchronized in the JCA, resolve (and configure) one instance per thread and
+    // re-initialize it for each use
+    private static final PerThread<Signature> PSS_SIGNATURE = PerThread.withInitial(JcaV1PublicCryptoProvider::newPssSignature);
+
     @Override
     public byte[] sign(byte[] payload, byte[] footer, PrivateKey privateKey) {
 
-        // 2
-        byte[] preAuth = PreAuthEncoder.encode(HEADER_BYTES, payload, footer);
-
-        // 3
+        // 2, 3
+        Signature rsaSignature = null;
+        boolean completed = false;
         try {
-            Signature rsaSignature = pssSignature();
-            rsaSignature.initSign(privateKey);
-            rsaSignature.update(preAuth);
-            return rsaSignature.sign();
+            rsaSignature = Signatures.signer(Version.V1, privateKey, PSS_SIGNATURE, JcaV1PublicCryptoProvider::newPssSignature);
+            PreAuthEncoder.update(rsaSignature, HEADER_BYTES, payload, footer);
+            byte[] result = rsaSignature.sign();
+            completed = true;
+            return result;
         } catch (InvalidKeyException | SignatureException e) {
             throw new PasetoSignatureException("Failed to sign token", e);
+        } finally {
+            Signatures.release(privateKey, PSS_SIGNATURE, rsaSignature, completed);
         }
     }
 
@@ -57,19 +65,22 @@ public class JcaV1PublicCryptoProvider implements V1PublicCryptoProvider {
     public boolean verify(byte[] message, byte[] footer, byte[] signature, PublicKey publicKey) {
 
         // 4
-        byte[] preAuth = PreAuthEncoder.encode(HEADER_BYTES, message, footer);
-
+        Signature rsaSignature = null;
+        boolean completed = false;
         try {
-            Signature rsaSignature = pssSignature();
-            rsaSignature.initVerify(publicKey);
-            rsaSignature.update(preAuth);
-            return rsaSignature.verify(signature);
+            rsaSignature = Signatures.verifier(Version.V1, publicKey, PSS_SIGNATURE, JcaV1PublicCryptoProvider::newPssSignature);
+            PreAuthEncoder.update(rsaSignature, HEADER_BYTES, message, footer);
+            boolean verified = rsaSignature.verify(signature);
+            completed = true;
+            return verified;
         } catch (InvalidKeyException | SignatureException e) {
             throw new PasetoSignatureException("Could not verify token signature", e);
+        } finally {
+            Signatures.release(publicKey, PSS_SIGNATURE, rsaSignature, completed);
         }
     }
 
-    private Signature pssSignature() {
+    private static Signature newPssSignature() {
         Signature rsaSignature;
         if (IS_IN_BC_FIPS_MODE) {
             // bouncy castle's FIPS-approved mode does not directly expose RSASSA-PSS, so we must construct an RSA
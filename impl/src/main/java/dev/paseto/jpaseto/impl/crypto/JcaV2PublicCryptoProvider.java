@@ -16,6 +16,8 @@
 package dev.paseto.jpaseto.impl.crypto;
 
 import dev.paseto.jpaseto.PasetoSignatureException;
+import dev.paseto.jpaseto.Version;
+import dev.paseto.jpaseto.impl.lang.PerThread;
 
 import java.nio.charset.StandardCharsets;
 import java.security.InvalidKeyException;
@@ -29,38 +31,46 @@ public class JcaV2PublicCryptoProvider implements V2PublicCryptoProvider {
 
     private static final byte[] HEADER_BYTES = "v2.public.".getBytes(StandardCharsets.UTF_8);
 
+    // Signature lookups are synchronized in the JCA, resolve one instance per thread and re-initialize it for each use
+    private static final PerThread<Signature> SIGNATURE = PerThread.withInitial(JcaV2PublicCryptoProvider::newSignature);
+
     @Override
     public byte[] sign(byte[] payload, byte[] footer, PrivateKey privateKey) {
-        // 2
-        byte[] m2 = PreAuthEncoder.encode(HEADER_BYTES, payload, footer);
-
-        // 3
+        // 2, 3
+        Signature signature = null;
+        boolean completed = false;
         try {
-            Signature signature = signature();
-            signature.initSign(privateKey);
-            signature.update(m2);
-            return signature.sign();
+            signature = Signatures.signer(Version.V2, privateKey, SIGNATURE, JcaV2PublicCryptoProvider::newSignature);
+            PreAuthEncoder.update(signature, HEADER_BYTES, payload, footer);
+            byte[] result = signature.sign();
+            completed = true;
+            return result;
         } catch (InvalidKeyException | SignatureException e) {
             throw new PasetoSignatureException("Failed to sign token", e);
+        } finally {
+            Signatures.release(privateKey, SIGNATURE, signature, completed);
         }
     }
 
     @Override
     public boolean verify(byte[] message, byte[] footer, byte[] signature, PublicKey publicKey) {
         // 4
-        byte[] preAuth = PreAuthEncoder.encode(HEADER_BYTES, message, footer);
-
+        Signature eddsaSignature = null;
+        boolean completed = false;
         try {
-            Signature eddsaSignature = signature();
-            eddsaSignature.initVerify(publicKey);
-            eddsaSignature.update(preAuth);
-            return eddsaSignature.verify(signature);
+            eddsaSignature = Signatures.verifier(Version.V2, publicKey, SIGNATURE, JcaV2PublicCryptoProvider::newSignature);
+            PreAuthEncoder.update(eddsaSignature, HEADER_BYTES, message, footer);
+            boolean verified = eddsaSignature.verify(signature);
+            completed = true;
+            return verified;
         } catch (InvalidKeyException | SignatureException e) {
             throw new PasetoSignatureException("Could not verify token signature", e);
+        } finally {
+            Signatures.release(publicKey, SIGNATURE, eddsaSignature, completed);
         }
     }
 
-    private Signature signature() {
+    private static Signature newSignature() {
         try {
             return Signature.getInstance("Ed25519");
         } catch (NoSuchAlgorithmException e) {
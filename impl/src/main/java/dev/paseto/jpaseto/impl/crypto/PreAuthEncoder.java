@@ -17,35 +17,121 @@ package dev.paseto.jpaseto.impl.crypto;
 
 import dev.paseto.jpaseto.PasetoIOException;
 
-import java.io.ByteArrayOutputStream;
-import java.io.IOException;
+import javax.crypto.Mac;
 import java.nio.ByteBuffer;
-import java.nio.ByteOrder;
+import java.security.Signature;
+import java.security.SignatureException;
 
+/**
+ * Pre-Authentication Encoding (PAE), see the <a href="https://github.com/paragonie/paseto/blob/master/docs/01-Protocol-Versions/Common.md#pae-definition">paseto spec</a>.
+ * <p>
+ * {@code PAE(pieces) = LE64(count) || LE64(len(piece[0])) || piece[0] || ... }
+ * <p>
+ * The encoding can be written to an exact-size array, to a caller supplied {@link ByteBuffer}, or fed directly into a
+ * {@link Signature} or {@link Mac} without materializing the encoded message.
+ */
 public class PreAuthEncoder {
 
+    private static final int LE64_LENGTH = Long.BYTES;
+
     private PreAuthEncoder() {}
 
+    /**
+     * Returns the encoded length of {@code inputs}.
+     *
+     * @param inputs the pieces to encode.
+     * @return the number of bytes {@link #encode(byte[]...)} would produce.
+     * @throws PasetoIOException if the encoded length exceeds the maximum array size.
+     */
+    public static int encodedLength(byte[]... inputs) {
+        long length = LE64_LENGTH;
+        for (byte[] input : inputs) {
+            length += LE64_LENGTH + input.length;
+        }
+        if (length > Integer.MAX_VALUE - 8) {
+            throw new PasetoIOException("Failed to encode preAuth, encoded length is too large: " + length);
+        }
+        return (int) length;
+    }
+
     public static byte[] encode(byte[]... inputs) {
-        try {
-            ByteArrayOutputStream stream = new ByteArrayOutputStream();
-            stream.write(toLongLe(inputs.length));
-
-            for (byte[] input : inputs) {
-                stream.write(toLongLe(input.length));
-                stream.write(input);
-            }
-            return stream.toByteArray();
-        } catch (IOException e) {
-            throw new PasetoIOException("Failed to encode preAuth", e);
+        byte[] result = new byte[encodedLength(inputs)];
+        int offset = putLongLe(result, 0, inputs.length);
+
+        for (byte[] input : inputs) {
+            offset = putLongLe(result, offset, input.length);
+            System.arraycopy(input, 0, result, offset, input.length);
+            offset += input.length;
+        }
+        return result;
+    }
+
+    /**
+     * Writes the encoding of {@code inputs} into {@code buffer} at its current position.
+     *
+     * @param buffer the destination buffer, must have at least {@link #encodedLength(byte[]...)} bytes remaining.
+     * @param inputs the pieces to encode.
+     * @return {@code buffer}
+     * @throws java.nio.BufferOverflowException if the buffer does not have enough space remaining.
+     */
+    public static ByteBuffer encode(ByteBuffer buffer, byte[]... inputs) {
+        byte[] le64 = new byte[LE64_LENGTH];
+        putLongLe(le64, 0, inputs.length);
+        buffer.put(le64);
+
+        for (byte[] input : inputs) {
+            putLongLe(le64, 0, input.length);
+            buffer.put(le64);
+            buffer.put(input);
+        }
+        return buffer;
+    }
+
+    /**
+     * Feeds the encoding of {@code inputs} to {@code signature} one piece at a time.
+     *
+     * @param signature an initialized signature.
+     * @param inputs the pieces to encode.
+     * @throws SignatureException if the signature was not initialized.
+     */
+    public static void update(Signature signature, byte[]... inputs) throws SignatureException {
+        byte[] le64 = new byte[LE64_LENGTH];
+        putLongLe(le64, 0, inputs.length);
+        signature.update(le64);
+
+        for (byte[] input : inputs) {
+            putLongLe(le64, 0, input.length);
+            signature.update(le64);
+            signature.update(input);
         }
     }
 
-    private static byte[] toLongLe(long input) {
+    /**
+     * Feeds the encoding of {@code inputs} to {@code mac} one piece at a time.
+     *
+     * @param mac an initialized mac.
+     * @param inputs the pieces to encode.
+     */
+    public static void update(Mac mac, byte[]... inputs) {
+        byte[] le64 = new byte[LE64_LENGTH];
+        putLongLe(le64, 0, inputs.length);
+        mac.update(le64);
+
+        for (byte[] input : inputs) {
+            putLongLe(le64, 0, input.length);
+            mac.update(le64);
+            mac.update(input);
+        }
+    }
+
+    /**
+     * Writes {@code input} as an unsigned 64-bit little-endian integer (most significant bit cleared).
+     */
+    private static int putLongLe(byte[] dest, int offset, long input) {
         long unsignedLong = input & Long.MAX_VALUE;
-        ByteBuffer buffer = ByteBuffer.allocate(java.lang.Long.BYTES);
-        buffer.order(ByteOrder.LITTLE_ENDIAN);
-        buffer.putLong(unsignedLong);
-        return buffer.array();
+        for (int i = 0; i < LE64_LENGTH; i++) {
+            dest[offset + i] = (byte) (unsignedLong >>> (8 * i));
+        }
+        return offset + LE64_LENGTH;
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,77 @@
+/*
+ * Copyright 2019-Present paseto.dev
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package dev.paseto.jpaseto.impl.crypto;
+
+import dev.paseto.jpaseto.Version;
+import dev.paseto.jpaseto.impl.lang.PerThread;
+import dev.paseto.jpaseto.lang.PreparedPrivateKey;
+import dev.paseto.jpaseto.lang.PreparedPublicKey;
+
+import java.security.InvalidKeyException;
+import java.security.Key;
+import java.security.PrivateKey;
+import java.security.PublicKey;
+import java.security.Signature;
+import java.util.function.Supplier;
+
+/**
+ * Initialized {@link Signature} instances for the public crypto providers. A {@link PreparedPublicKey} or
+ * {@link PreparedPrivateKey} keeps its own pool of instances that are initialized once, any other key re-initializes
+ * the calling thread's instance of the provider for each use. Either must be {@link #release released} afterwards.
+ */
+final class Signatures {
+
+    private Signatures() {}
+
+    static Signature signer(Version version, PrivateKey privateKey, PerThread<Signature> threadSignature,
+                            Supplier<Signature> factory) throws InvalidKeyException {
+        if (privateKey instanceof PreparedPrivateKey) {
+            return ((PreparedPrivateKey) privateKey).acquireSignature(version, factory);
+        }
+        Signature signature = threadSignature.acquire();
+        signature.initSign(privateKey);
+        return signature;
+    }
+
+    static Signature verifier(Version version, PublicKey publicKey, PerThread<Signature> threadSignature,
+                              Supplier<Signature> factory) throws InvalidKeyException {
+        if (publicKey instanceof PreparedPublicKey) {
+            return ((PreparedPublicKey) publicKey).acquireSignature(version, factory);
+        }
+        Signature signature = threadSignature.acquire();
+        signature.initVerify(publicKey);
+        return signature;
+    }
+
+    /**
+     * Returns an instance after use. A prepared key's instance is only reused if the use {@code completed}, any failure
+     * (including runtime exceptions) may have left it part way through a message. The provider's instance is
+     * re-initialized for each use, see {@link PerThread#release(Object)}.
+     */
+    static void release(Key key, PerThread<Signature> threadSignature, Signature signature, boolean completed) {
+        if (key instanceof PreparedPublicKey) {
+            if (completed) {
+                ((PreparedPublicKey) key).releaseSignature(signature);
+            }
+        } else if (key instanceof PreparedPrivateKey) {
+            if (completed) {
+                ((PreparedPrivateKey) key).releaseSignature(signature);
+            }
+        } else {
+            threadSignature.release(signature);
+        }
+    }
+}
@@ -18,13 +18,11 @@ package dev.paseto.jpaseto.impl.crypto;
 import javax.crypto.BadPaddingException;
 import javax.crypto.Cipher;
 import javax.crypto.IllegalBlockSizeException;
-import javax.crypto.NoSuchPaddingException;
 import javax.crypto.SecretKey;
 import javax.crypto.spec.IvParameterSpec;
 import javax.crypto.spec.SecretKeySpec;
 import java.security.InvalidAlgorithmParameterException;
 import java.security.InvalidKeyException;
-import java.security.NoSuchAlgorithmException;
 
 public interface V1LocalCryptoProvider {
 
@@ -37,14 +35,16 @@ public interface V1LocalCryptoProvider {
     }
 
     static byte[] doCipher(int mode, byte[] key, byte[] nonce, byte[] input) {
+        Cipher cipher = Ciphers.aesCtr();
         try {
-            Cipher cipher = Cipher.getInstance("AES/CTR/NoPadding");
             SecretKeySpec secretKeySpec = new SecretKeySpec(key, "AES");
             cipher.init(mode, secretKeySpec, new IvParameterSpec(nonce));
             return cipher.doFinal(input);
 
-        } catch (NoSuchAlgorithmException | NoSuchPaddingException | IllegalBlockSizeException | BadPaddingException | InvalidAlgorithmParameterException | InvalidKeyException e) {
+        } catch (IllegalBlockSizeException | BadPaddingException | InvalidAlgorithmParameterException | InvalidKeyException e) {
             throw new SecurityException("Failed create cipher.");
+        } finally {
+            Ciphers.release(cipher);
         }
     }
 }
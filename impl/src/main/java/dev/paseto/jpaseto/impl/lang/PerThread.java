@@ -0,0 +1,88 @@
+/*
+ * Copyright 2019-Present paseto.dev
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package dev.paseto.jpaseto.impl.lang;
+
+import dev.paseto.jpaseto.lang.Assert;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Reusable instances of a class that is not thread safe and expensive to create, such as a JCA {@code Cipher},
+ * {@code Mac} or {@code Signature} (created with a provider lookup) or a {@code SecureRandom} (seeded from the
+ * platform's entropy source).
+ * <p>
+ * A platform thread keeps its own instance in a {@link ThreadLocal}. A virtual thread usually runs a single task, so a
+ * {@code ThreadLocal} would create an instance for each task, instead virtual threads borrow instances from a small
+ * lock-free pool. Each {@link #acquire()} must be followed by a {@link #release(Object)} once the instance is no longer
+ * used, the release is a no-op on platform threads.
+ *
+ * @param <T> the type of the instances.
+ */
+public final class PerThread<T> {
+
+    // virtual threads run on a carrier thread per processor, more instances are only needed when tasks are preempted
+    private static final int MAXIMUM_POOLED = Math.max(16, 4 * Runtime.getRuntime().availableProcessors());
+
+    private final Supplier<T> factory;
+    private final ThreadLocal<T> threadLocal;
+    private final Queue<T> pool = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger pooled = new AtomicInteger();
+
+    private PerThread(Supplier<T> factory) {
+        this.factory = factory;
+        this.threadLocal = ThreadLocal.withInitial(factory);
+    }
+
+    public static <T> PerThread<T> withInitial(Supplier<T> factory) {
+        Assert.notNull(factory, "factory cannot be null");
+        return new PerThread<>(factory);
+    }
+
+    /**
+     * Returns the calling platform thread's instance, or an unused instance for a virtual thread.
+     *
+     * @return an instance only used by the calling thread until it is released.
+     */
+    public T acquire() {
+        if (!Threads.isVirtual()) {
+            return threadLocal.get();
+        }
+        T instance = pool.poll();
+        if (instance == null) {
+            return factory.get();
+        }
+        pooled.decrementAndGet();
+        return instance;
+    }
+
+    /**
+     * Returns an instance acquired by a virtual thread to the pool.
+     *
+     * @param instance the instance returned by {@link #acquire()}, may be {@code null}.
+     */
+    public void release(T instance) {
+        if (instance != null && Threads.isVirtual()) {
+            if (pooled.incrementAndGet() <= MAXIMUM_POOLED) {
+                pool.offer(instance);
+            } else {
+                pooled.decrementAndGet();
+            }
+        }
+    }
+}
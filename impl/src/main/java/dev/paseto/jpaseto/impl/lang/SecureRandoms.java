@@ -0,0 +1,78 @@
+/*
+ * Copyright 2019-Present paseto.dev
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package dev.paseto.jpaseto.impl.lang;
+
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+
+/**
+ * Default source of randomness for token nonces.
+ * <p>
+ * {@code SecureRandom.getInstanceStrong()} may block (on Linux it is backed by {@code /dev/random}) and requires a
+ * provider lookup each call, and a single shared {@code SecureRandom} is contended under load. Instead, each thread
+ * lazily creates its own non-blocking {@code DRBG} instance (JDK 9+), falling back to {@code new SecureRandom()} when
+ * {@code DRBG} is not available. Both are seeded from the platform's entropy source when created, virtual threads
+ * reuse pooled instances rather than seeding one per thread, see {@link PerThread}.
+ */
+public final class SecureRandoms {
+
+    private static final String DRBG = "DRBG";
+
+    private static final PerThread<SecureRandom> INSTANCES = PerThread.withInitial(SecureRandoms::newSecureRandom);
+
+    private SecureRandoms() {}
+
+    /**
+     * Returns the calling thread's default {@link SecureRandom}. The returned instance should not be shared with other
+     * threads. A virtual thread gets an instance of its own, prefer {@link #nextBytes(SecureRandom, byte[])} which
+     * reuses pooled instances.
+     *
+     * @return the calling thread's default {@link SecureRandom}.
+     */
+    public static SecureRandom threadLocal() {
+        return INSTANCES.acquire();
+    }
+
+    /**
+     * Fills {@code bytes} from {@code secureRandom}, or from the calling thread's default when {@code secureRandom} is
+     * {@code null}.
+     *
+     * @param secureRandom the configured {@link SecureRandom}, may be {@code null}.
+     * @param bytes the array to fill.
+     * @return {@code bytes}
+     */
+    public static byte[] nextBytes(SecureRandom secureRandom, byte[] bytes) {
+        if (secureRandom != null) {
+            secureRandom.nextBytes(bytes);
+            return bytes;
+        }
+        SecureRandom random = INSTANCES.acquire();
+        try {
+            random.nextBytes(bytes);
+        } finally {
+            INSTANCES.release(random);
+        }
+        return bytes;
+    }
+
+    private static SecureRandom newSecureRandom() {
+        try {
+            return SecureRandom.getInstance(DRBG);
+        } catch (NoSuchAlgorithmException e) {
+            return new SecureRandom();
+        }
+    }
+}
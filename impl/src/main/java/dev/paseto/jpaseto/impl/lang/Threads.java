@@ -0,0 +1,59 @@
+/*
+ * Copyright 2019-Present paseto.dev
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package dev.paseto.jpaseto.impl.lang;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+
+/**
+ * Thread helpers.
+ */
+public final class Threads {
+
+    /**
+     * {@code Thread.isVirtual()}, resolved once, or {@code null} before Java 21. Looked up at runtime so a jar built
+     * with any JDK detects virtual threads.
+     */
+    private static final MethodHandle IS_VIRTUAL = findIsVirtual();
+
+    private Threads() {}
+
+    /**
+     * Returns true if the calling thread is a virtual thread, always false before Java 21.
+     *
+     * @return true if the calling thread is a virtual thread.
+     */
+    public static boolean isVirtual() {
+        if (IS_VIRTUAL == null) {
+            return false;
+        }
+        try {
+            return (boolean) IS_VIRTUAL.invokeExact(Thread.currentThread());
+        } catch (Throwable e) {
+            throw new IllegalStateException("Failed to call Thread.isVirtual()", e);
+        }
+    }
+
+    private static MethodHandle findIsVirtual() {
+        try {
+            return MethodHandles.publicLookup().findVirtual(Thread.class, "isVirtual", MethodType.methodType(boolean.class));
+        } catch (NoSuchMethodException | IllegalAccessException e) {
+            // before Java 21 (or 19 with preview features) there are no virtual threads
+            return null;
+        }
+    }
+}
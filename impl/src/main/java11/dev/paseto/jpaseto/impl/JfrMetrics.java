@@ -0,0 +1,128 @@
+/*
+ * Copyright 2019-Present paseto.dev
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package dev.paseto.jpaseto.impl;
+
+import dev.paseto.jpaseto.PasetoMetrics;
+import dev.paseto.jpaseto.Purpose;
+import dev.paseto.jpaseto.Version;
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.EventType;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+/**
+ * Records the stages and failures of {@link StageRecorder} as JDK Flight Recorder events, Java 11+ version. Both
+ * events are disabled by default, a recording must enable them by name, e.g. with a {@code .jfc} settings file or
+ * {@code recording.enable("dev.paseto.jpaseto.Stage")}. Stages are only timed while a recording enables them.
+ */
+final class JfrMetrics implements PasetoMetrics {
+
+    private final EventType stageEventType = EventType.getEventType(StageEvent.class);
+    private final EventType failureEventType = EventType.getEventType(FailureEvent.class);
+
+    private JfrMetrics() {}
+
+    /**
+     * Returns the JFR metrics, or null if the {@code jdk.jfr} module is not available.
+     */
+    static PasetoMetrics create() {
+        try {
+            return new JfrMetrics();
+        } catch (LinkageError e) {
+            return null;
+        }
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return stageEventType.isEnabled() || failureEventType.isEnabled();
+    }
+
+    @Override
+    public void stageCompleted(Stage stage, Version version, Purpose purpose, long nanos) {
+        StageEvent event = new StageEvent();
+        if (event.shouldCommit()) {
+            event.stage = stage.name();
+            event.version = version != null ? version.toString() : null;
+            event.purpose = purpose != null ? purpose.toString() : null;
+            event.elapsed = nanos;
+            event.commit();
+        }
+    }
+
+    @Override
+    public void failed(Stage stage, Version version, Purpose purpose, RuntimeException exception) {
+        FailureEvent event = new FailureEvent();
+        if (event.shouldCommit()) {
+            event.stage = stage != null ? stage.name() : null;
+            event.version = version != null ? version.toString() : null;
+            event.purpose = purpose != null ? purpose.toString() : null;
+            event.exceptionType = exception.getClass().getName();
+            event.message = exception.getMessage();
+            event.commit();
+        }
+    }
+
+    @Name("dev.paseto.jpaseto.Stage")
+    @Label("Paseto Stage")
+    @Description("A stage of parsing or creating a Paseto token")
+    @Category("Paseto")
+    @Enabled(false)
+    @StackTrace(false)
+    static final class StageEvent extends Event {
+
+        @Label("Stage")
+        String stage;
+
+        @Label("Version")
+        String version;
+
+        @Label("Purpose")
+        String purpose;
+
+        @Label("Elapsed")
+        @Timespan(Timespan.NANOSECONDS)
+        long elapsed;
+    }
+
+    @Name("dev.paseto.jpaseto.Failure")
+    @Label("Paseto Failure")
+    @Description("A Paseto token that was rejected or could not be created")
+    @Category("Paseto")
+    @Enabled(false)
+    static final class FailureEvent extends Event {
+
+        @Label("Stage")
+        String stage;
+
+        @Label("Version")
+        String version;
+
+        @Label("Purpose")
+        String purpose;
+
+        @Label("Exception Type")
+        String exceptionType;
+
+        @Label("Message")
+        String message;
+    }
+}
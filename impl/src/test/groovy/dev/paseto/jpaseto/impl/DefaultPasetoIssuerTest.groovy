@@ -0,0 +1,151 @@
+/*
+ * Copyright 2019-Present paseto.dev
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package dev.paseto.jpaseto.impl
+
+import dev.paseto.jpaseto.Paseto
+import dev.paseto.jpaseto.PasetoIssuer
+import dev.paseto.jpaseto.PasetoParser
+import dev.paseto.jpaseto.Pasetos
+import dev.paseto.jpaseto.Version
+import dev.paseto.jpaseto.io.Serializer
+import dev.paseto.jpaseto.lang.Keys
+import org.testng.annotations.Test
+
+import java.security.KeyPair
+
+import static dev.paseto.jpaseto.impl.Util.expect
+import static java.nio.charset.StandardCharsets.UTF_8
+import static org.hamcrest.MatcherAssert.assertThat
+import static org.hamcrest.Matchers.*
+import static org.mockito.ArgumentMatchers.any
+import static org.mockito.Mockito.*
+
+class DefaultPasetoIssuerTest {
+
+    DefaultPasetoIssuerTest() {
+        BouncyCastleInitializer.enableBouncyCastle()
+    }
+
+    @Test
+    void v1PublicIssuerTest() {
+        KeyPair keyPair = Keys.keyPairFor(Version.V1)
+        PasetoIssuer issuer = Pasetos.V1.PUBLIC.builder()
+            .setPrivateKey(keyPair.getPrivate())
+            .setIssuer("test-issuer")
+            .setKeyId("test-kid")
+            .issuer()
+
+        assertIssuer(issuer, Pasetos.parserBuilder().setPublicKey(keyPair.getPublic()).build(), "v1.public.")
+    }
+
+    @Test
+    void v2PublicIssuerTest() {
+        KeyPair keyPair = Keys.keyPairFor(Version.V2)
+        PasetoIssuer issuer = Pasetos.V2.PUBLIC.builder()
+            .setPrivateKey(keyPair.getPrivate())
+            .setIssuer("test-issuer")
+            .setKeyId("test-kid")
+            .issuer()
+
+        assertIssuer(issuer, Pasetos.parserBuilder().setPublicKey(keyPair.getPublic()).build(), "v2.public.")
+    }
+
+    @Test
+    void builderChangesDoNotAffectIssuerTest() {
+        KeyPair keyPair = Keys.keyPairFor(Version.V2)
+        def builder = Pasetos.V2.PUBLIC.builder()
+            .setPrivateKey(keyPair.getPrivate())
+            .setIssuer("test-issuer")
+
+        PasetoIssuer issuer = builder.issuer()
+        builder.setIssuer("other-issuer")
+            .setPrivateKey(Keys.keyPairFor(Version.V2).getPrivate())
+
+        PasetoParser parser = Pasetos.parserBuilder().setPublicKey(keyPair.getPublic()).build()
+        Paseto result = parser.parse(issuer.builder().compact())
+        assertThat result.claims.getIssuer(), is("test-issuer")
+    }
+
+    @Test
+    void footerOverrideTest() {
+        KeyPair keyPair = Keys.keyPairFor(Version.V2)
+        PasetoIssuer issuer = Pasetos.V2.PUBLIC.builder()
+            .setPrivateKey(keyPair.getPrivate())
+            .setKeyId("test-kid")
+            .issuer()
+
+        PasetoParser parser = Pasetos.parserBuilder().setPublicKey(keyPair.getPublic()).build()
+
+        Paseto result = parser.parse(issuer.builder().footerClaim("foo", "bar").compact())
+        assertThat result.footer.getKeyId(), is("test-kid")
+        assertThat result.footer.get("foo"), is("bar")
+
+        result = parser.parse(issuer.builder().setFooter("a-string-footer").compact())
+        assertThat result.footer.value(), is("a-string-footer")
+
+        // the default footer is left untouched
+        result = parser.parse(issuer.builder().compact())
+        assertThat result.footer.getKeyId(), is("test-kid")
+        assertThat result.footer.get("foo"), nullValue()
+    }
+
+    @Test
+    void serializerResolvedOnceTest() {
+        Serializer<Map<String, Object>> serializer = mock(Serializer)
+        when(serializer.serialize(any())).thenReturn('{"sub":"test-sub"}'.getBytes(UTF_8))
+
+        PasetoIssuer issuer = Pasetos.V2.PUBLIC.builder()
+            .setPrivateKey(Keys.keyPairFor(Version.V2).getPrivate())
+            .setSerializer(serializer)
+            .issuer()
+
+        issuer.builder().compact()
+        issuer.compact([:])
+
+        // the footer is empty, only the payloads are serialized
+        verify(serializer, times(2)).serialize(any())
+    }
+
+    @Test
+    void missingKeyTest() {
+        expect IllegalArgumentException, { Pasetos.V2.PUBLIC.builder().issuer() }
+        expect IllegalArgumentException, { Pasetos.V1.PUBLIC.builder().issuer() }
+    }
+
+    private static void assertIssuer(PasetoIssuer issuer, PasetoParser parser, String header) {
+
+        String token = issuer.builder()
+            .setSubject("test-sub")
+            .compact()
+
+        assertThat token, startsWith(header)
+        Paseto result = parser.parse(token)
+        assertThat result.claims.getIssuer(), is("test-issuer")
+        assertThat result.claims.getSubject(), is("test-sub")
+        assertThat result.footer.getKeyId(), is("test-kid")
+
+        // per token claims take precedence over the defaults
+        token = issuer.compact([iss: "other-issuer", foo: "bar"])
+        result = parser.parse(token)
+        assertThat result.claims.getIssuer(), is("other-issuer")
+        assertThat result.claims.get("foo"), is("bar")
+        assertThat result.claims.getSubject(), nullValue()
+        assertThat result.footer.getKeyId(), is("test-kid")
+
+        // builders are independent of each other
+        assertThat parser.parse(issuer.builder().compact()).claims.getSubject(), nullValue()
+    }
+}
@@ -0,0 +1,98 @@
+/*
+ * Copyright 2019-Present paseto.dev
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package dev.paseto.jpaseto.impl
+
+import dev.paseto.jpaseto.impl.crypto.V1LocalCryptoProvider
+import dev.paseto.jpaseto.impl.crypto.V2LocalCryptoProvider
+import dev.paseto.jpaseto.lang.Keys
+import org.testng.annotations.Test
+
+import javax.crypto.SecretKey
+import java.security.SecureRandom
+
+import static org.mockito.ArgumentMatchers.any
+import static org.mockito.ArgumentMatchers.eq
+import static org.mockito.Mockito.*
+
+class DefaultPasetoLocalBuilderTest {
+
+    SecretKey sharedSecret = Keys.secretKey()
+
+    @Test
+    void v1SecureRandomTest() {
+        def cryptoProvider = mock(V1LocalCryptoProvider)
+        def nonce = new byte[32]
+        when(cryptoProvider.nonce(any(), any())).thenReturn(nonce)
+        when(cryptoProvider.encrypt(any(), any(), any(), any())).thenReturn(new byte[48])
+
+        def issuer = new DefaultPasetoV1LocalBuilder(cryptoProvider)
+            .setSharedSecret(sharedSecret)
+            .setSecureRandom(new FixedSecureRandom())
+            .issuer()
+
+        issuer.builder().compact()
+        issuer.builder().compact()
+
+        verify(cryptoProvider, times(2)).nonce(any(), eq(FixedSecureRandom.bytes(32)))
+    }
+
+    @Test
+    void v2SecureRandomTest() {
+        def cryptoProvider = mock(V2LocalCryptoProvider)
+        def nonce = new byte[24]
+        when(cryptoProvider.blake2b(any(), any())).thenReturn(nonce)
+        when(cryptoProvider.encrypt(any(), any(), any(), any())).thenReturn(new byte[40])
+
+        new DefaultPasetoV2LocalBuilder(cryptoProvider)
+            .setSharedSecret(sharedSecret)
+            .setSecureRandom(new FixedSecureRandom())
+            .compact()
+
+        verify(cryptoProvider).blake2b(any(), eq(FixedSecureRandom.bytes(24)))
+    }
+
+    @Test
+    void defaultSecureRandomTest() {
+        def cryptoProvider = mock(V2LocalCryptoProvider)
+        when(cryptoProvider.blake2b(any(), any())).thenReturn(new byte[24])
+        when(cryptoProvider.encrypt(any(), any(), any(), any())).thenReturn(new byte[40])
+
+        new DefaultPasetoV2LocalBuilder(cryptoProvider)
+            .setSharedSecret(sharedSecret)
+            .compact()
+
+        verify(cryptoProvider).blake2b(any(), any())
+    }
+
+    /**
+     * Predictable SecureRandom, fills each array with its index.
+     */
+    static class FixedSecureRandom extends SecureRandom {
+
+        static byte[] bytes(int length) {
+            byte[] result = new byte[length]
+            for (int i = 0; i < length; i++) {
+                result[i] = (byte) i
+            }
+            return result
+        }
+
+        @Override
+        void nextBytes(byte[] output) {
+            System.arraycopy(bytes(output.length), 0, output, 0, output.length)
+        }
+    }
+}
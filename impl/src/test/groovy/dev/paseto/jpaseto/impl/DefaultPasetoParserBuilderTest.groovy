@@ -16,6 +16,8 @@
 package dev.paseto.jpaseto.impl
 
 import dev.paseto.jpaseto.*
+import dev.paseto.jpaseto.impl.crypto.V1PublicCryptoProvider
+import dev.paseto.jpaseto.impl.crypto.V2PublicCryptoProvider
 import dev.paseto.jpaseto.io.Deserializer
 import dev.paseto.jpaseto.lang.DescribedPredicate
 import dev.paseto.jpaseto.lang.Keys
@@ -34,6 +36,7 @@ import static dev.paseto.jpaseto.impl.Util.expect
 import static java.nio.charset.StandardCharsets.UTF_8
 import static org.hamcrest.MatcherAssert.assertThat
 import static org.hamcrest.Matchers.*
+import static org.mockito.ArgumentMatchers.any
 import static org.mockito.ArgumentMatchers.eq
 import static org.mockito.Mockito.mock
 import static org.mockito.Mockito.when
@@ -94,6 +97,49 @@ class DefaultPasetoParserBuilderTest {
         assertThat parser.keyResolver.sharedSecret.encoded, is(secret)
     }
 
+    @Test
+    void cryptoProvidersTest() {
+
+        KeyPair v2KeyPair = Keys.keyPairFor(Version.V2)
+        String token = Pasetos.V2.PUBLIC.builder()
+            .setPrivateKey(v2KeyPair.getPrivate())
+            .setSubject("test-sub")
+            .compact()
+
+        def v2PublicCryptoProvider = mock(V2PublicCryptoProvider)
+        when(v2PublicCryptoProvider.verify(any(), any(), any(), any())).thenReturn(false)
+        def cryptoProviders = new CryptoProviders(null, null, null, v2PublicCryptoProvider)
+
+        DefaultPasetoParser parser = new DefaultPasetoParserBuilder()
+            .setCryptoProviders(cryptoProviders)
+            .setPublicKey(v2KeyPair.getPublic())
+            .build()
+
+        assertThat parser.cryptoProviders, sameInstance(cryptoProviders)
+        assertThat parser.cryptoProviders.getV2PublicCryptoProvider(), sameInstance(v2PublicCryptoProvider)
+        assertThat parser.cryptoProviders.getV1PublicCryptoProvider(), instanceOf(V1PublicCryptoProvider)
+
+        // the configured provider rejects everything
+        expect PasetoSignatureException, { parser.parse(token) }
+    }
+
+    @Test
+    void defaultCryptoProvidersResolvedOnBuildTest() {
+        DefaultPasetoParser parser = Pasetos.parserBuilder()
+            .setPublicKey(keyPair.getPublic())
+            .build()
+
+        def v1PublicCryptoProvider = parser.cryptoProviders.getV1PublicCryptoProvider()
+
+        String token = Pasetos.V1.PUBLIC.builder()
+            .setPrivateKey(keyPair.getPrivate())
+            .setSubject("test-sub")
+            .compact()
+
+        assertThat parser.parse(token).getClaims().getSubject(), is("test-sub")
+        assertThat parser.cryptoProviders.getV1PublicCryptoProvider(), sameInstance(v1PublicCryptoProvider)
+    }
+
     @Test
     void requiredClaimsTest() {
 
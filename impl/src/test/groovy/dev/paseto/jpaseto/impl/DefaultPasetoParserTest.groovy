@@ -15,18 +15,26 @@
  */
 package dev.paseto.jpaseto.impl
 
+import dev.paseto.jpaseto.MalformedPasetoException
 import dev.paseto.jpaseto.PasetoParser
 import dev.paseto.jpaseto.Pasetos
+import dev.paseto.jpaseto.UnsupportedPasetoException
+import dev.paseto.jpaseto.Version
 import dev.paseto.jpaseto.lang.Keys
 import org.apache.commons.codec.binary.Hex
 import org.mockito.Mockito
 import org.testng.annotations.Test
 
 import javax.crypto.SecretKey
+import java.nio.ByteBuffer
+import java.security.KeyPair
 import java.security.PublicKey
 
 import static dev.paseto.jpaseto.impl.Util.clockForVectors
 import static dev.paseto.jpaseto.impl.Util.expect
+import static java.nio.charset.StandardCharsets.US_ASCII
+import static org.hamcrest.MatcherAssert.assertThat
+import static org.hamcrest.Matchers.is
 import static org.mockito.Mockito.mock
 
 class DefaultPasetoParserTest {
@@ -64,4 +72,46 @@ class DefaultPasetoParserTest {
         // wrong type of key configured
         expect IllegalArgumentException, { parser.parse(token) }
     }
+
+    @Test
+    void parseOverloadsTest() {
+        KeyPair keyPair = Keys.keyPairFor(Version.V2)
+        String token = Pasetos.V2.PUBLIC.builder()
+            .setPrivateKey(keyPair.getPrivate())
+            .setSubject("test-sub")
+            .setKeyId("test-kid")
+            .compact()
+
+        PasetoParser parser = Pasetos.parserBuilder()
+            .setPublicKey(keyPair.getPublic())
+            .build()
+
+        String header = "Bearer ${token}"
+        byte[] bytes = token.getBytes(US_ASCII)
+        ByteBuffer direct = ByteBuffer.allocateDirect(bytes.length)
+        direct.put(bytes).flip()
+
+        [parser.parse(token),
+         parser.parse(header, 7, header.length()),
+         parser.parse(bytes),
+         parser.parse(ByteBuffer.wrap(bytes)),
+         parser.parse(direct)].each {
+            assertThat it.claims.getSubject(), is("test-sub")
+            assertThat it.footer.getKeyId(), is("test-kid")
+        }
+        assertThat direct.position(), is(0)
+    }
+
+    @Test
+    void invalidPartsTest() {
+        PasetoParser parser = Pasetos.parserBuilder()
+            .setPublicKey(mock(PublicKey))
+            .build()
+
+        expect MalformedPasetoException, { parser.parse("v2.public") }
+        expect MalformedPasetoException, { parser.parse("v2.public.") }
+        expect MalformedPasetoException, { parser.parse("v2.public.payload.footer.extra") }
+        expect IllegalArgumentException, { parser.parse(new byte[0]) }
+        expect UnsupportedPasetoException, { parser.parse("v2.other.payload".getBytes(US_ASCII)) }
+    }
 }
@@ -0,0 +1,80 @@
+/*
+ * Copyright 2019-Present paseto.dev
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package dev.paseto.jpaseto.impl
+
+import org.testng.annotations.Test
+
+import static java.nio.charset.StandardCharsets.UTF_8
+import static org.hamcrest.MatcherAssert.assertThat
+import static org.hamcrest.Matchers.is
+import static org.hamcrest.Matchers.nullValue
+
+class JsonMembersTest {
+
+    private static final byte[][] NAMES = [bytes("exp"), bytes("iss")]
+
+    @Test
+    void selectTest() {
+        assertThat select('{"sub":"joe","exp":"2020-01-01T00:00:00Z","iss":"me"}'), is('{"exp":"2020-01-01T00:00:00Z","iss":"me"}')
+        assertThat select(' { "iss" : 42 , "exp":null } '), is('{"iss":42,"exp":null}')
+        assertThat select('{"sub":"joe"}'), is('{}')
+        assertThat select('{}'), is('{}')
+        assertThat select(' {\n} \n'), is('{}')
+    }
+
+    @Test
+    void skipNestedValuesTest() {
+        String json = '{"perms":["a","b\\"]}",{"c":[1,2,{"d":"}"}]}],"obj":{"exp":"nested"},"exp":"top","iss":true}'
+        assertThat select(json), is('{"exp":"top","iss":true}')
+    }
+
+    @Test
+    void selectedValuesAreCopiedAsIsTest() {
+        assertThat select('{"iss":{"a":[1,"\\u0041"]},"exp":-1.5e3}'), is('{"iss":{"a":[1,"\\u0041"]},"exp":-1.5e3}')
+    }
+
+    @Test
+    void duplicateMembersTest() {
+        // left to the deserializer to decide
+        assertThat select('{"iss":"a","iss":"b"}'), is('{"iss":"a","iss":"b"}')
+    }
+
+    @Test
+    void unsupportedInputTest() {
+        assertThat select(''), nullValue()
+        assertThat select('[]'), nullValue()
+        assertThat select('"exp"'), nullValue()
+        assertThat select('{"exp":"a"'), nullValue()
+        assertThat select('{"exp":"a"}}'), nullValue()
+        assertThat select('{"exp":"a" "iss":"b"}'), nullValue()
+        assertThat select('{"exp"}'), nullValue()
+        assertThat select('{"exp":}'), nullValue()
+        assertThat select('{"exp":"unterminated}'), nullValue()
+        assertThat select('{"exp":{"a":1}'), nullValue()
+        assertThat select('{exp:1}'), nullValue()
+        assertThat select('{"e\\u0078p":"a"}'), nullValue()
+        assertThat select('{"exp":1,}'), nullValue()
+    }
+
+    private static String select(String json) {
+        byte[] result = JsonMembers.select(bytes(json), NAMES)
+        return result != null ? new String(result, UTF_8) : null
+    }
+
+    private static byte[] bytes(String s) {
+        return s.getBytes(UTF_8)
+    }
+}
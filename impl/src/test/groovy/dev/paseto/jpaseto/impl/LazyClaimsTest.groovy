@@ -0,0 +1,185 @@
+/*
+ * Copyright 2019-Present paseto.dev
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package dev.paseto.jpaseto.impl
+
+import dev.paseto.jpaseto.Claims
+import dev.paseto.jpaseto.ExpiredPasetoException
+import dev.paseto.jpaseto.IncorrectClaimException
+import dev.paseto.jpaseto.Paseto
+import dev.paseto.jpaseto.PasetoParser
+import dev.paseto.jpaseto.Pasetos
+import dev.paseto.jpaseto.Version
+import dev.paseto.jpaseto.io.DeserializationException
+import dev.paseto.jpaseto.io.Deserializer
+import dev.paseto.jpaseto.io.jackson.JacksonDeserializer
+import dev.paseto.jpaseto.lang.Keys
+import org.testng.annotations.BeforeMethod
+import org.testng.annotations.Test
+
+import java.security.KeyPair
+import java.time.Instant
+import java.time.temporal.ChronoUnit
+
+import static dev.paseto.jpaseto.impl.Util.expect
+import static java.nio.charset.StandardCharsets.UTF_8
+import static org.hamcrest.MatcherAssert.assertThat
+import static org.hamcrest.Matchers.*
+
+class LazyClaimsTest {
+
+    private final KeyPair keyPair = Keys.keyPairFor(Version.V2)
+    private final Instant expiration = Instant.now().plus(1, ChronoUnit.HOURS).truncatedTo(ChronoUnit.SECONDS)
+    private final List<String> deserialized = []
+    private final Deserializer<Map<String, Object>> deserializer = new RecordingDeserializer()
+
+    // TestNG uses one instance for all test methods
+    @BeforeMethod
+    void clearDeserialized() {
+        deserialized.clear()
+    }
+
+    @Test
+    void onlyValidatedClaimsDeserializedTest() {
+        PasetoParser parser = Pasetos.parserBuilder()
+            .setPublicKey(keyPair.getPublic())
+            .setDeserializer(deserializer)
+            .setLazyClaims(true)
+            .requireIssuer("test-issuer")
+            .build()
+
+        Paseto paseto = parser.parse(token())
+        assertThat deserialized.size(), is(1)
+        assertThat deserialized[0], allOf(containsString('"iss":'), containsString('"exp":'), not(containsString('"perms":')))
+
+        Claims claims = paseto.claims
+        assertThat claims.getExpiration(), is(expiration)
+        assertThat claims.getIssuer(), is("test-issuer")
+        assertThat deserialized.size(), is(1)
+
+        // any other claim deserializes the whole payload, once
+        assertThat claims.get("perms"), is(["read", "write"])
+        assertThat claims.getSubject(), is("test-sub")
+        assertThat claims.size(), is(4)
+        assertThat deserialized.size(), is(2)
+    }
+
+    @Test
+    void validationTest() {
+        expect IncorrectClaimException, {
+            Pasetos.parserBuilder()
+                .setPublicKey(keyPair.getPublic())
+                .setLazyClaims(true)
+                .requireIssuer("other-issuer")
+                .build()
+                .parse(token())
+        }
+
+        String expired = Pasetos.V2.PUBLIC.builder()
+            .setPrivateKey(keyPair.getPrivate())
+            .setExpiration(Instant.now().minusSeconds(60))
+            .compact()
+        expect ExpiredPasetoException, {
+            Pasetos.parserBuilder()
+                .setPublicKey(keyPair.getPublic())
+                .setLazyClaims(true)
+                .build()
+                .parse(expired)
+        }
+    }
+
+    @Test
+    void sameClaimsAsEagerParsingTest() {
+        String token = token()
+        Claims lazy = Pasetos.parserBuilder().setPublicKey(keyPair.getPublic()).setLazyClaims(true).build().parse(token).claims
+        Claims eager = Pasetos.parserBuilder().setPublicKey(keyPair.getPublic()).build().parse(token).claims
+
+        assertThat lazy, equalTo(eager)
+        assertThat lazy.hashCode(), is(eager.hashCode())
+        assertThat lazy.toString(), is(eager.toString())
+    }
+
+    @Test
+    void modifyLazyClaimsTest() {
+        Claims claims = Pasetos.parserBuilder()
+            .setPublicKey(keyPair.getPublic())
+            .setDeserializer(deserializer)
+            .setLazyClaims(true)
+            .build()
+            .parse(token())
+            .claims
+
+        claims.put("foo", "bar")
+        claims.remove("perms")
+        assertThat claims.keySet(), containsInAnyOrder("sub", "iss", "exp", "foo")
+    }
+
+    @Test
+    void lazyClaimsWithCacheTest() {
+        PasetoParser parser = Pasetos.parserBuilder()
+            .setPublicKey(keyPair.getPublic())
+            .setDeserializer(deserializer)
+            .setLazyClaims(true)
+            .setCacheMaximumSize(10)
+            .build()
+
+        String token = token()
+        Claims claims = parser.parse(token).claims
+        assertThat parser.parse(token).claims.getSubject(), is("test-sub")
+        assertThat deserialized.size(), is(2)
+
+        expect UnsupportedOperationException, { claims.put("foo", "bar") }
+    }
+
+    @Test
+    void malformedPayloadFallbackTest() {
+        // not a JSON object, deserialized eagerly so the deserializer reports the error while parsing
+        String token = Pasetos.V2.PUBLIC.builder()
+            .setPrivateKey(keyPair.getPrivate())
+            .setSerializer({ 'not-json'.getBytes(UTF_8) })
+            .compact()
+
+        expect DeserializationException, {
+            Pasetos.parserBuilder()
+                .setPublicKey(keyPair.getPublic())
+                .setDeserializer(deserializer)
+                .setLazyClaims(true)
+                .build()
+                .parse(token)
+        }
+        assertThat deserialized, is(['not-json'])
+    }
+
+    private String token() {
+        return Pasetos.V2.PUBLIC.builder()
+            .setPrivateKey(keyPair.getPrivate())
+            .setSubject("test-sub")
+            .setIssuer("test-issuer")
+            .setExpiration(expiration)
+            .claim("perms", ["read", "write"])
+            .compact()
+    }
+
+    private class RecordingDeserializer implements Deserializer<Map<String, Object>> {
+
+        private final JacksonDeserializer<Map<String, Object>> delegate = new JacksonDeserializer<>()
+
+        @Override
+        Map<String, Object> deserialize(byte[] bytes) throws DeserializationException {
+            deserialized.add(new String(bytes, UTF_8))
+            return delegate.deserialize(bytes)
+        }
+    }
+}
@@ -0,0 +1,139 @@
+/*
+ * Copyright 2019-Present paseto.dev
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package dev.paseto.jpaseto.impl
+
+import dev.paseto.jpaseto.FooterClaims
+import dev.paseto.jpaseto.KeyResolver
+import dev.paseto.jpaseto.ParseResult
+import dev.paseto.jpaseto.MalformedPasetoException
+import dev.paseto.jpaseto.PasetoParser
+import dev.paseto.jpaseto.Pasetos
+import dev.paseto.jpaseto.Purpose
+import dev.paseto.jpaseto.Version
+import dev.paseto.jpaseto.lang.Keys
+import org.testng.annotations.Test
+
+import java.security.KeyPair
+import java.util.concurrent.ExecutorService
+import java.util.concurrent.Executors
+import java.util.stream.Collectors
+
+import static dev.paseto.jpaseto.impl.Util.expect
+import static org.hamcrest.MatcherAssert.assertThat
+import static org.hamcrest.Matchers.*
+import static org.mockito.ArgumentMatchers.any
+import static org.mockito.ArgumentMatchers.eq
+import static org.mockito.Mockito.*
+
+class ParseAllTest {
+
+    private final KeyPair keyPair = Keys.keyPairFor(Version.V2)
+
+    @Test
+    void sequentialTest() {
+        List<String> tokens = tokens(10)
+        tokens.set(3, "not-a-token")
+        tokens.set(7, null)
+
+        List<ParseResult> results = Pasetos.parserBuilder().setPublicKey(keyPair.getPublic()).build().parseAll(tokens)
+        assertResults(tokens, results, [3, 7])
+    }
+
+    @Test
+    void executorTest() {
+        List<String> tokens = tokens(200)
+        String token = tokens.get(150)
+        tokens.set(150, token.substring(0, token.length() - 4) + "AAAA") // tampered signature
+
+        ExecutorService executor = Executors.newFixedThreadPool(4)
+        try {
+            List<ParseResult> results = Pasetos.parserBuilder().setPublicKey(keyPair.getPublic()).build().parseAll(tokens, executor)
+            assertResults(tokens, results, [150])
+        } finally {
+            executor.shutdownNow()
+        }
+    }
+
+    @Test
+    void streamTest() {
+        List<String> tokens = tokens(100)
+        tokens.set(0, "v2.public.")
+
+        List<ParseResult> results = Pasetos.parserBuilder().setPublicKey(keyPair.getPublic()).build()
+            .parseAll(tokens.parallelStream())
+            .collect(Collectors.toList())
+        assertResults(tokens, results, [0])
+    }
+
+    @Test
+    void keyResolvedOncePerFooterTest() {
+        KeyPair otherKeyPair = Keys.keyPairFor(Version.V2)
+        KeyResolver keyResolver = mock(KeyResolver)
+        when(keyResolver.resolvePublicKey(eq(Version.V2), eq(Purpose.PUBLIC), any(FooterClaims))).thenAnswer({
+            FooterClaims footer = it.getArgument(2)
+            return footer.getKeyId() == "kid-1" ? keyPair.getPublic() : otherKeyPair.getPublic()
+        })
+
+        List<String> tokens = []
+        50.times {
+            tokens.add(Pasetos.V2.PUBLIC.builder().setPrivateKey(keyPair.getPrivate()).setKeyId("kid-1").setSubject("sub-" + it).compact())
+            tokens.add(Pasetos.V2.PUBLIC.builder().setPrivateKey(otherKeyPair.getPrivate()).setKeyId("kid-2").setSubject("sub-" + it).compact())
+        }
+
+        PasetoParser parser = Pasetos.parserBuilder().setKeyResolver(keyResolver).build()
+        List<ParseResult> results = parser.parseAll(tokens)
+        assertThat results.every { it.success }, is(true)
+        verify(keyResolver, times(2)).resolvePublicKey(any(), any(), any())
+
+        // each batch resolves its keys again
+        parser.parseAll(tokens)
+        verify(keyResolver, times(4)).resolvePublicKey(any(), any(), any())
+    }
+
+    @Test
+    void getOrThrowTest() {
+        List<ParseResult> results = Pasetos.parserBuilder().setPublicKey(keyPair.getPublic()).build()
+            .parseAll(["invalid"] + tokens(1))
+
+        expect MalformedPasetoException, { results.get(0).getOrThrow() }
+        assertThat results.get(1).getOrThrow().claims.getSubject(), is("sub-0")
+    }
+
+    private List<String> tokens(int count) {
+        return (0..<count).collect {
+            Pasetos.V2.PUBLIC.builder()
+                .setPrivateKey(keyPair.getPrivate())
+                .setSubject("sub-" + it)
+                .compact()
+        }
+    }
+
+    private static void assertResults(List<String> tokens, List<ParseResult> results, List<Integer> rejected) {
+        assertThat results.size(), is(tokens.size())
+        results.eachWithIndex { ParseResult result, int i ->
+            assertThat result.token, is(tokens.get(i))
+            if (rejected.contains(i)) {
+                assertThat result.success, is(false)
+                assertThat result.paseto, nullValue()
+                assertThat result.exception, notNullValue()
+            } else {
+                assertThat result.success, is(true)
+                assertThat result.exception, nullValue()
+                assertThat result.paseto.claims.getSubject(), is("sub-" + i)
+            }
+        }
+    }
+}
@@ -0,0 +1,285 @@
+/*
+ * Copyright 2019-Present paseto.dev
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package dev.paseto.jpaseto.impl
+
+import dev.paseto.jpaseto.AsyncKeyResolver
+import dev.paseto.jpaseto.FooterClaims
+import dev.paseto.jpaseto.KeyResolverAdapter
+import dev.paseto.jpaseto.MalformedPasetoException
+import dev.paseto.jpaseto.Paseto
+import dev.paseto.jpaseto.PasetoParser
+import dev.paseto.jpaseto.PasetoSignatureException
+import dev.paseto.jpaseto.Pasetos
+import dev.paseto.jpaseto.Purpose
+import dev.paseto.jpaseto.Version
+import dev.paseto.jpaseto.impl.crypto.V2LocalCryptoProvider
+import dev.paseto.jpaseto.impl.lang.Bytes
+import dev.paseto.jpaseto.lang.Keys
+import org.testng.annotations.Test
+
+import javax.crypto.SecretKey
+import java.security.KeyPair
+import java.security.PublicKey
+import java.time.Instant
+import java.time.temporal.ChronoUnit
+import java.util.concurrent.CompletableFuture
+import java.util.concurrent.CompletionException
+import java.util.concurrent.CompletionStage
+import java.util.concurrent.Executor
+import java.util.concurrent.atomic.AtomicInteger
+
+import static dev.paseto.jpaseto.impl.Util.expect
+import static org.hamcrest.MatcherAssert.assertThat
+import static org.hamcrest.Matchers.*
+
+class ParseAsyncTest {
+
+    private final KeyPair keyPair = Keys.keyPairFor(Version.V2)
+    private final SecretKey sharedSecret = Keys.secretKey()
+
+    @Test
+    void asyncKeyResolverTest() {
+        CompletableFuture<PublicKey> pendingKey = new CompletableFuture<>()
+        TestAsyncKeyResolver keyResolver = new TestAsyncKeyResolver(pendingKey, null)
+        CountingExecutor executor = new CountingExecutor()
+
+        PasetoParser parser = Pasetos.parserBuilder()
+            .setAsyncKeyResolver(keyResolver)
+            .setExecutor(executor)
+            .build()
+
+        CompletableFuture<Paseto> result = parser.parseAsync(publicToken("kid-1")).toCompletableFuture()
+        assertThat keyResolver.publicKeyCalls.get(), is(1)
+        assertThat keyResolver.lastKeyId, is("kid-1")
+        assertThat result.isDone(), is(false)
+        assertThat executor.count.get(), is(0)
+
+        pendingKey.complete(keyPair.getPublic())
+        assertThat result.join().claims.getSubject(), is("jsmith")
+        assertThat executor.count.get(), is(1)
+    }
+
+    @Test
+    void asyncSharedKeyTest() {
+        // impl does not include a local crypto provider, "encrypt" the payload with a pass-through provider
+        V2LocalCryptoProvider cryptoProvider = new PassThroughV2LocalCryptoProvider(sharedSecret)
+        TestAsyncKeyResolver keyResolver = new TestAsyncKeyResolver(null, CompletableFuture.completedFuture(sharedSecret))
+        PasetoParser parser = new DefaultPasetoParserBuilder()
+            .setCryptoProviders(new CryptoProviders(null, null, cryptoProvider, null))
+            .setAsyncKeyResolver(keyResolver)
+            .setExecutor(new CountingExecutor())
+            .build()
+
+        String token = new DefaultPasetoV2LocalBuilder(cryptoProvider).setSharedSecret(sharedSecret).setSubject("v2").compact()
+
+        assertThat parser.parseAsync(token).toCompletableFuture().join().claims.getSubject(), is("v2")
+        assertThat keyResolver.sharedKeyCalls.get(), is(1)
+        assertThat keyResolver.publicKeyCalls.get(), is(0)
+    }
+
+    @Test
+    void keyResolverRunsOnExecutorTest() {
+        CountingExecutor executor = new CountingExecutor()
+        PasetoParser parser = Pasetos.parserBuilder()
+            .setPublicKey(keyPair.getPublic())
+            .setExecutor(executor)
+            .build()
+
+        assertThat parser.parseAsync(publicToken("kid-1")).toCompletableFuture().join().claims.getSubject(), is("jsmith")
+        assertThat executor.count.get(), is(1)
+    }
+
+    @Test
+    void invalidTokenTest() {
+        PasetoParser parser = Pasetos.parserBuilder()
+            .setAsyncKeyResolver(new TestAsyncKeyResolver(CompletableFuture.completedFuture(keyPair.getPublic()), null))
+            .build()
+
+        // failures are reported through the stage, not thrown
+        CompletableFuture<Paseto> result = parser.parseAsync("not-a-token").toCompletableFuture()
+        assertThat result.isCompletedExceptionally(), is(true)
+        assertThat expect(CompletionException, { result.join() }).cause, instanceOf(MalformedPasetoException)
+
+        result = parser.parseAsync(null).toCompletableFuture()
+        assertThat expect(CompletionException, { result.join() }).cause, instanceOf(IllegalArgumentException)
+    }
+
+    @Test
+    void invalidSignatureTest() {
+        PasetoParser parser = Pasetos.parserBuilder()
+            .setAsyncKeyResolver(new TestAsyncKeyResolver(CompletableFuture.completedFuture(keyPair.getPublic()), null))
+            .build()
+
+        String token = publicToken("kid-1")
+        CompletableFuture<Paseto> result = parser.parseAsync(token.substring(0, token.length() - 4) + "AAAA").toCompletableFuture()
+        assertThat expect(CompletionException, { result.join() }).cause, instanceOf(PasetoSignatureException)
+    }
+
+    @Test
+    void keyResolverFailureTest() {
+        CompletableFuture<PublicKey> failedKey = new CompletableFuture<>()
+        failedKey.completeExceptionally(new IllegalStateException("key agent unavailable"))
+        PasetoParser parser = Pasetos.parserBuilder()
+            .setAsyncKeyResolver(new TestAsyncKeyResolver(failedKey, null))
+            .build()
+
+        CompletableFuture<Paseto> result = parser.parseAsync(publicToken("kid-1")).toCompletableFuture()
+        assertThat expect(CompletionException, { result.join() }).cause.message, is("key agent unavailable")
+
+        // the synchronous parse rethrows the resolver's exception
+        assertThat expect(IllegalStateException, { parser.parse(publicToken("kid-1")) }).message, is("key agent unavailable")
+    }
+
+    @Test
+    void missingKeyTest() {
+        PasetoParser parser = Pasetos.parserBuilder()
+            .setAsyncKeyResolver(new TestAsyncKeyResolver(CompletableFuture.completedFuture(null), null))
+            .build()
+
+        CompletableFuture<Paseto> result = parser.parseAsync(publicToken("kid-1")).toCompletableFuture()
+        assertThat expect(CompletionException, { result.join() }).cause, instanceOf(IllegalArgumentException)
+    }
+
+    @Test
+    void synchronousParseTest() {
+        TestAsyncKeyResolver keyResolver = new TestAsyncKeyResolver(CompletableFuture.completedFuture(keyPair.getPublic()), null)
+        PasetoParser parser = Pasetos.parserBuilder()
+            .setAsyncKeyResolver(keyResolver)
+            .build()
+
+        assertThat parser.parse(publicToken("kid-1")).claims.getSubject(), is("jsmith")
+        assertThat parser.parseAll([publicToken("kid-1"), publicToken("kid-1")]).every { it.success }, is(true)
+    }
+
+    @Test
+    void cachedTokenTest() {
+        TestAsyncKeyResolver keyResolver = new TestAsyncKeyResolver(CompletableFuture.completedFuture(keyPair.getPublic()), null)
+        CountingExecutor executor = new CountingExecutor()
+        PasetoParser parser = Pasetos.parserBuilder()
+            .setAsyncKeyResolver(keyResolver)
+            .setExecutor(executor)
+            .setCacheMaximumSize(10)
+            .build()
+
+        String token = Pasetos.V2.PUBLIC.builder()
+            .setPrivateKey(keyPair.getPrivate())
+            .setSubject("jsmith")
+            .setExpiration(Instant.now().plus(1, ChronoUnit.HOURS))
+            .compact()
+
+        assertThat parser.parseAsync(token).toCompletableFuture().join().claims.getSubject(), is("jsmith")
+
+        // a cached token completes without resolving a key or using the executor
+        CompletableFuture<Paseto> result = parser.parseAsync(token).toCompletableFuture()
+        assertThat result.isDone(), is(true)
+        assertThat result.join().claims.getSubject(), is("jsmith")
+        assertThat keyResolver.publicKeyCalls.get(), is(1)
+        assertThat executor.count.get(), is(1)
+        assertThat parser.getCacheStats().getHitCount(), is(1L)
+        assertThat parser.getCacheStats().getMissCount(), is(1L)
+    }
+
+    @Test
+    void asyncKeyResolverWithOtherKeysTest() {
+        AsyncKeyResolver keyResolver = new TestAsyncKeyResolver(null, null)
+        expect IllegalStateException, {
+            Pasetos.parserBuilder().setAsyncKeyResolver(keyResolver).setPublicKey(keyPair.getPublic()).build()
+        }
+        expect IllegalStateException, {
+            Pasetos.parserBuilder().setAsyncKeyResolver(keyResolver).setSharedSecret(sharedSecret).build()
+        }
+        expect IllegalStateException, {
+            Pasetos.parserBuilder().setAsyncKeyResolver(keyResolver).setKeyResolver(new KeyResolverAdapter() {}).build()
+        }
+    }
+
+    @Test
+    void nullExecutorTest() {
+        expect IllegalArgumentException, { Pasetos.parserBuilder().setExecutor(null) }
+    }
+
+    private String publicToken(String keyId) {
+        return Pasetos.V2.PUBLIC.builder()
+            .setPrivateKey(keyPair.getPrivate())
+            .setKeyId(keyId)
+            .setSubject("jsmith")
+            .compact()
+    }
+
+    private static class TestAsyncKeyResolver implements AsyncKeyResolver {
+
+        private final CompletionStage<PublicKey> publicKey
+        private final CompletionStage<SecretKey> sharedKey
+        private final AtomicInteger publicKeyCalls = new AtomicInteger()
+        private final AtomicInteger sharedKeyCalls = new AtomicInteger()
+        private volatile String lastKeyId
+
+        TestAsyncKeyResolver(CompletionStage<PublicKey> publicKey, CompletionStage<SecretKey> sharedKey) {
+            this.publicKey = publicKey
+            this.sharedKey = sharedKey
+        }
+
+        @Override
+        CompletionStage<PublicKey> resolvePublicKey(Version version, Purpose purpose, FooterClaims footer) {
+            publicKeyCalls.incrementAndGet()
+            lastKeyId = footer.getKeyId()
+            return publicKey
+        }
+
+        @Override
+        CompletionStage<SecretKey> resolveSharedKey(Version version, Purpose purpose, FooterClaims footer) {
+            sharedKeyCalls.incrementAndGet()
+            return sharedKey
+        }
+    }
+
+    private static class PassThroughV2LocalCryptoProvider implements V2LocalCryptoProvider {
+
+        private final SecretKey sharedSecret
+
+        PassThroughV2LocalCryptoProvider(SecretKey sharedSecret) {
+            this.sharedSecret = sharedSecret
+        }
+
+        @Override
+        byte[] blake2b(byte[] payload, byte[] random) {
+            return random
+        }
+
+        @Override
+        byte[] encrypt(byte[] payload, byte[] footer, byte[] nonce, SecretKey key) {
+            // nonce, "ciphertext" and an empty 16 byte tag, the layout of a real v2.local payload
+            return Bytes.concat(nonce, payload, new byte[16])
+        }
+
+        @Override
+        byte[] decrypt(byte[] encryptedBytes, byte[] footer, SecretKey key) {
+            assertThat key, sameInstance(sharedSecret)
+            return Arrays.copyOfRange(encryptedBytes, 24, encryptedBytes.length - 16)
+        }
+    }
+
+    private static class CountingExecutor implements Executor {
+
+        private final AtomicInteger count = new AtomicInteger()
+
+        @Override
+        void execute(Runnable command) {
+            count.incrementAndGet()
+            command.run()
+        }
+    }
+}
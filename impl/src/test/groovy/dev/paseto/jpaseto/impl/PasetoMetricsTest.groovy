@@ -0,0 +1,197 @@
+/*
+ * Copyright 2019-Present paseto.dev
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package dev.paseto.jpaseto.impl
+
+import dev.paseto.jpaseto.ExpiredPasetoException
+import dev.paseto.jpaseto.PasetoIssuer
+import dev.paseto.jpaseto.PasetoMetrics
+import dev.paseto.jpaseto.PasetoMetrics.Stage
+import dev.paseto.jpaseto.PasetoParser
+import dev.paseto.jpaseto.PasetoSignatureException
+import dev.paseto.jpaseto.Pasetos
+import dev.paseto.jpaseto.Purpose
+import dev.paseto.jpaseto.Version
+import dev.paseto.jpaseto.lang.Keys
+import org.testng.annotations.Test
+
+import java.security.KeyPair
+import java.time.Instant
+import java.time.temporal.ChronoUnit
+
+import static dev.paseto.jpaseto.impl.Util.expect
+import static org.hamcrest.MatcherAssert.assertThat
+import static org.hamcrest.Matchers.*
+
+class PasetoMetricsTest {
+
+    private final KeyPair keyPair = Keys.keyPairFor(Version.V2)
+
+    @Test
+    void parseStagesTest() {
+        RecordingMetrics metrics = new RecordingMetrics()
+        PasetoParser parser = Pasetos.parserBuilder()
+            .setPublicKey(keyPair.getPublic())
+            .setMetrics(metrics)
+            .build()
+
+        parser.parse(token())
+
+        assertThat metrics.stages, is([Stage.BASE64_DECODE, Stage.FOOTER_PARSE, Stage.KEY_RESOLUTION,
+                                       Stage.VERIFY_OR_DECRYPT, Stage.DESERIALIZATION, Stage.CLAIM_VALIDATION])
+        assertThat metrics.versions.unique(), is([Version.V2])
+        assertThat metrics.purposes.unique(), is([Purpose.PUBLIC])
+        assertThat metrics.nanos.every { it >= 0 }, is(true)
+        assertThat metrics.failures, empty()
+    }
+
+    @Test
+    void cachedParseStagesTest() {
+        RecordingMetrics metrics = new RecordingMetrics()
+        PasetoParser parser = Pasetos.parserBuilder()
+            .setPublicKey(keyPair.getPublic())
+            .setCacheMaximumSize(10)
+            .setMetrics(metrics)
+            .build()
+
+        // only tokens with an expiration are cached
+        String token = Pasetos.V2.PUBLIC.builder()
+            .setPrivateKey(keyPair.getPrivate())
+            .setExpiration(Instant.now().plus(1, ChronoUnit.HOURS))
+            .compact()
+        parser.parse(token)
+        metrics.stages.clear()
+
+        // a cache hit skips straight to claim validation
+        parser.parse(token)
+        assertThat metrics.stages, is([Stage.CLAIM_VALIDATION])
+        assertThat metrics.versions.last(), is(Version.V2)
+    }
+
+    @Test
+    void invalidSignatureTest() {
+        RecordingMetrics metrics = new RecordingMetrics()
+        PasetoParser parser = Pasetos.parserBuilder()
+            .setPublicKey(Keys.keyPairFor(Version.V2).getPublic())
+            .setMetrics(metrics)
+            .build()
+
+        expect(PasetoSignatureException, { parser.parse(token()) })
+
+        assertThat metrics.stages, is([Stage.BASE64_DECODE, Stage.FOOTER_PARSE, Stage.KEY_RESOLUTION])
+        assertThat metrics.failures, is([Stage.VERIFY_OR_DECRYPT])
+        assertThat metrics.exceptions[0], instanceOf(PasetoSignatureException)
+    }
+
+    @Test
+    void expiredTokenTest() {
+        RecordingMetrics metrics = new RecordingMetrics()
+        PasetoParser parser = Pasetos.parserBuilder()
+            .setPublicKey(keyPair.getPublic())
+            .setMetrics(metrics)
+            .build()
+
+        String token = Pasetos.V2.PUBLIC.builder()
+            .setPrivateKey(keyPair.getPrivate())
+            .setExpiration(Instant.now().minus(1, ChronoUnit.HOURS))
+            .compact()
+
+        expect(ExpiredPasetoException, { parser.parse(token) })
+
+        assertThat metrics.failures, is([Stage.CLAIM_VALIDATION])
+        assertThat metrics.exceptions[0], instanceOf(ExpiredPasetoException)
+    }
+
+    @Test
+    void compactStagesTest() {
+        RecordingMetrics metrics = new RecordingMetrics()
+        Pasetos.V2.PUBLIC.builder()
+            .setPrivateKey(keyPair.getPrivate())
+            .setMetrics(metrics)
+            .setSubject("jsmith")
+            .compact()
+
+        assertThat metrics.stages, is([Stage.SERIALIZATION, Stage.SIGN_OR_ENCRYPT])
+        assertThat metrics.versions.unique(), is([Version.V2])
+        assertThat metrics.purposes.unique(), is([Purpose.PUBLIC])
+    }
+
+    @Test
+    void issuerStagesTest() {
+        RecordingMetrics metrics = new RecordingMetrics()
+        PasetoIssuer issuer = Pasetos.V2.PUBLIC.builder()
+            .setPrivateKey(keyPair.getPrivate())
+            .setMetrics(metrics)
+            .issuer()
+
+        issuer.builder().setSubject("jsmith").compact()
+        issuer.compact([sub: "jsmith"])
+
+        assertThat metrics.stages, is([Stage.SERIALIZATION, Stage.SIGN_OR_ENCRYPT,
+                                       Stage.SERIALIZATION, Stage.SIGN_OR_ENCRYPT])
+    }
+
+    @Test
+    void disabledMetricsTest() {
+        RecordingMetrics metrics = new RecordingMetrics(enabled: false)
+        PasetoParser parser = Pasetos.parserBuilder()
+            .setPublicKey(keyPair.getPublic())
+            .setMetrics(metrics)
+            .build()
+
+        parser.parse(token())
+        expect(PasetoSignatureException, { parser.parse(token().replaceAll(/.{4}$/, "AAAA")) })
+
+        assertThat metrics.stages, empty()
+        assertThat metrics.failures, empty()
+    }
+
+    private String token() {
+        return Pasetos.V2.PUBLIC.builder()
+            .setPrivateKey(keyPair.getPrivate())
+            .setSubject("jsmith")
+            .compact()
+    }
+
+    static class RecordingMetrics implements PasetoMetrics {
+
+        boolean enabled = true
+        List<Stage> stages = []
+        List<Version> versions = []
+        List<Purpose> purposes = []
+        List<Long> nanos = []
+        List<Stage> failures = []
+        List<RuntimeException> exceptions = []
+
+        @Override
+        boolean isEnabled() {
+            return enabled
+        }
+
+        @Override
+        void stageCompleted(Stage stage, Version version, Purpose purpose, long nanos) {
+            stages.add(stage)
+            versions.add(version)
+            purposes.add(purpose)
+            this.nanos.add(nanos)
+        }
+
+        @Override
+        void failed(Stage stage, Version version, Purpose purpose, RuntimeException exception) {
+            failures.add(stage)
+            exceptions.add(exception)
+        }
+    }
+}
@@ -0,0 +1,147 @@
+/*
+ * Copyright 2019-Present paseto.dev, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package dev.paseto.jpaseto.impl
+
+import dev.paseto.jpaseto.FooterClaims
+import dev.paseto.jpaseto.KeyResolver
+import dev.paseto.jpaseto.MalformedPasetoException
+import dev.paseto.jpaseto.PasetoParser
+import dev.paseto.jpaseto.Pasetos
+import dev.paseto.jpaseto.Purpose
+import dev.paseto.jpaseto.UnsupportedPasetoException
+import dev.paseto.jpaseto.UnverifiedPaseto
+import dev.paseto.jpaseto.Version
+import dev.paseto.jpaseto.io.Deserializer
+import dev.paseto.jpaseto.lang.Keys
+import dev.paseto.jpaseto.lang.Services
+import org.testng.annotations.Test
+
+import javax.crypto.SecretKey
+import java.security.KeyPair
+import java.security.PublicKey
+import java.util.concurrent.atomic.AtomicInteger
+
+import static dev.paseto.jpaseto.impl.Util.expect
+import static java.nio.charset.StandardCharsets.UTF_8
+import static org.hamcrest.MatcherAssert.assertThat
+import static org.hamcrest.Matchers.*
+
+class PeekTest {
+
+    private final KeyPair keyPair = Keys.keyPairFor(Version.V2)
+
+    @Test
+    void peekPublicTokenTest() {
+        CountingDeserializer deserializer = new CountingDeserializer()
+        PasetoParser parser = Pasetos.parserBuilder()
+            .setKeyResolver(new FailingKeyResolver())
+            .setDeserializer(deserializer)
+            .build()
+
+        String token = Pasetos.V2.PUBLIC.builder()
+            .setPrivateKey(keyPair.getPrivate())
+            .setSubject("jsmith")
+            .setKeyId("cluster-a")
+            .compact()
+
+        UnverifiedPaseto peeked = parser.peek(token)
+        assertThat peeked.version, is(Version.V2)
+        assertThat peeked.purpose, is(Purpose.PUBLIC)
+
+        // the footer is only deserialized when accessed, and only once
+        assertThat deserializer.count.get(), is(0)
+        assertThat peeked.footer.getKeyId(), is("cluster-a")
+        assertThat peeked.footer.getKeyId(), is("cluster-a")
+        assertThat deserializer.count.get(), is(1)
+    }
+
+    @Test
+    void peekIsNotVerifiedTest() {
+        PasetoParser parser = Pasetos.parserBuilder()
+            .setKeyResolver(new FailingKeyResolver())
+            .build()
+
+        // a local token with a random "ciphertext", no key or local crypto provider is needed
+        String token = "v2.local." + encode(new byte[64]) + "." + encode("plain footer".getBytes(UTF_8))
+        UnverifiedPaseto peeked = parser.peek(token)
+        assertThat peeked.version, is(Version.V2)
+        assertThat peeked.purpose, is(Purpose.LOCAL)
+        assertThat peeked.footer.value(), is("plain footer")
+
+        // the payload is not read, but it would not parse
+        expect MalformedPasetoException, { parser.parse("v2.local." + encode(new byte[64]).replace('A', '+')) }
+        assertThat parser.peek("v2.local." + encode(new byte[64]).replace('A', '+')).purpose, is(Purpose.LOCAL)
+    }
+
+    @Test
+    void peekWithoutFooterTest() {
+        PasetoParser parser = Pasetos.parserBuilder()
+            .setKeyResolver(new FailingKeyResolver())
+            .build()
+
+        UnverifiedPaseto peeked = parser.peek("v1.public." + encode(new byte[300]))
+        assertThat peeked.version, is(Version.V1)
+        assertThat peeked.purpose, is(Purpose.PUBLIC)
+        assertThat peeked.footer.value(), is("")
+        assertThat peeked.footer.getKeyId(), nullValue()
+    }
+
+    @Test
+    void malformedTokenTest() {
+        PasetoParser parser = Pasetos.parserBuilder()
+            .setKeyResolver(new FailingKeyResolver())
+            .setMaximumFooterSize(16)
+            .build()
+
+        String payload = encode(new byte[64])
+        expect MalformedPasetoException, { parser.peek("v2.public") }
+        expect MalformedPasetoException, { parser.peek("v2.public.") }
+        expect MalformedPasetoException, { parser.peek("v2.public." + encode(new byte[63])) }
+        expect MalformedPasetoException, { parser.peek("v2.public." + payload + ".e30/") }
+        expect MalformedPasetoException, { parser.peek("v2.public." + payload + "." + encode(new byte[17])) }
+        expect UnsupportedPasetoException, { parser.peek("v5.public." + payload) }
+        expect IllegalArgumentException, { parser.peek("") }
+    }
+
+    private static String encode(byte[] bytes) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(bytes)
+    }
+
+    private static class FailingKeyResolver implements KeyResolver {
+
+        @Override
+        PublicKey resolvePublicKey(Version version, Purpose purpose, FooterClaims footer) {
+            throw new AssertionError("peek must not resolve keys")
+        }
+
+        @Override
+        SecretKey resolveSharedKey(Version version, Purpose purpose, FooterClaims footer) {
+            throw new AssertionError("peek must not resolve keys")
+        }
+    }
+
+    private static class CountingDeserializer implements Deserializer<Map<String, Object>> {
+
+        private final Deserializer<Map<String, Object>> delegate = Services.loadFirst(Deserializer)
+        private final AtomicInteger count = new AtomicInteger()
+
+        @Override
+        Map<String, Object> deserialize(byte[] bytes) {
+            count.incrementAndGet()
+            return delegate.deserialize(bytes)
+        }
+    }
+}
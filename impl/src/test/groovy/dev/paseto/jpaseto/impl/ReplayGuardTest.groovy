@@ -0,0 +1,299 @@
+/*
+ * Copyright 2019-Present paseto.dev, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package dev.paseto.jpaseto.impl
+
+import dev.paseto.jpaseto.ExpiredPasetoException
+import dev.paseto.jpaseto.MissingClaimException
+import dev.paseto.jpaseto.ParseResult
+import dev.paseto.jpaseto.PasetoException
+import dev.paseto.jpaseto.PasetoParser
+import dev.paseto.jpaseto.Pasetos
+import dev.paseto.jpaseto.ReplayGuard
+import dev.paseto.jpaseto.ReplayedPasetoException
+import dev.paseto.jpaseto.Version
+import dev.paseto.jpaseto.lang.Keys
+import org.testng.annotations.Test
+
+import java.security.KeyPair
+import java.time.Duration
+import java.time.Instant
+import java.time.temporal.ChronoUnit
+import java.util.concurrent.Callable
+import java.util.concurrent.CountDownLatch
+import java.util.concurrent.ExecutorService
+import java.util.concurrent.Executors
+import java.util.concurrent.Future
+
+import static dev.paseto.jpaseto.impl.Util.expect
+import static org.hamcrest.MatcherAssert.assertThat
+import static org.hamcrest.Matchers.*
+
+class ReplayGuardTest {
+
+    private final KeyPair keyPair = Keys.keyPairFor(Version.V2)
+
+    @Test
+    void replayedTokenTest() {
+        PasetoParser parser = Pasetos.parserBuilder()
+            .setPublicKey(keyPair.getPublic())
+            .setReplayGuardMaximumSize(100)
+            .build()
+
+        String token = resetToken("reset-1", Instant.now().plus(15, ChronoUnit.MINUTES))
+        assertThat parser.parse(token).claims.getTokenId(), is("reset-1")
+
+        ReplayedPasetoException e = expect(ReplayedPasetoException, { parser.parse(token) })
+        assertThat e.paseto.claims.getTokenId(), is("reset-1")
+
+        // other token IDs are not affected
+        assertThat parser.parse(resetToken("reset-2", Instant.now().plus(15, ChronoUnit.MINUTES))).claims.getTokenId(), is("reset-2")
+    }
+
+    @Test
+    void replayedCachedTokenTest() {
+        PasetoParser parser = Pasetos.parserBuilder()
+            .setPublicKey(keyPair.getPublic())
+            .setCacheMaximumSize(10)
+            .setReplayGuardMaximumSize(100)
+            .build()
+
+        String token = resetToken("reset-1", Instant.now().plus(15, ChronoUnit.MINUTES))
+        parser.parse(token)
+        expect ReplayedPasetoException, { parser.parse(token) }
+        assertThat parser.getCacheStats().getHitCount(), is(1L)
+    }
+
+    @Test
+    void replayedTokenInBatchTest() {
+        PasetoParser parser = Pasetos.parserBuilder()
+            .setPublicKey(keyPair.getPublic())
+            .setReplayGuardMaximumSize(100)
+            .build()
+
+        String token = resetToken("reset-1", Instant.now().plus(15, ChronoUnit.MINUTES))
+        List<ParseResult> results = parser.parseAll([token, token])
+        assertThat results[0].success, is(true)
+        assertThat results[1].exception, instanceOf(ReplayedPasetoException)
+    }
+
+    @Test
+    void missingClaimsTest() {
+        PasetoParser parser = Pasetos.parserBuilder()
+            .setPublicKey(keyPair.getPublic())
+            .setReplayGuardMaximumSize(100)
+            .build()
+
+        String noTokenId = Pasetos.V2.PUBLIC.builder()
+            .setPrivateKey(keyPair.getPrivate())
+            .setExpiration(Instant.now().plus(15, ChronoUnit.MINUTES))
+            .compact()
+        assertThat expect(MissingClaimException, { parser.parse(noTokenId) }).claimName, is("jti")
+
+        String noExpiration = Pasetos.V2.PUBLIC.builder()
+            .setPrivateKey(keyPair.getPrivate())
+            .setTokenId("reset-1")
+            .compact()
+        assertThat expect(MissingClaimException, { parser.parse(noExpiration) }).claimName, is("exp")
+    }
+
+    @Test
+    void rejectedTokenNotRecordedTest() {
+        RecordingReplayGuard replayGuard = new RecordingReplayGuard()
+        PasetoParser parser = Pasetos.parserBuilder()
+            .setPublicKey(keyPair.getPublic())
+            .setReplayGuard(replayGuard)
+            .setAllowedClockSkew(Duration.ofSeconds(30))
+            .build()
+
+        expect ExpiredPasetoException, { parser.parse(resetToken("reset-1", Instant.now().minus(1, ChronoUnit.HOURS))) }
+        assertThat replayGuard.tokenIds, empty()
+
+        Instant exp = Instant.now().plus(15, ChronoUnit.MINUTES).truncatedTo(ChronoUnit.SECONDS)
+        parser.parse(resetToken("reset-2", exp))
+        assertThat replayGuard.tokenIds, is(["reset-2"])
+
+        // remembered until the token is rejected as expired, including the clock skew
+        assertThat replayGuard.expirations, is([exp.plusSeconds(30)])
+    }
+
+    @Test
+    void customReplayGuardTest() {
+        RecordingReplayGuard replayGuard = new RecordingReplayGuard()
+        PasetoParser parser = Pasetos.parserBuilder()
+            .setPublicKey(keyPair.getPublic())
+            .setReplayGuard(replayGuard)
+            .build()
+
+        String token = resetToken("reset-1", Instant.now().plus(15, ChronoUnit.MINUTES))
+        parser.parse(token)
+        expect ReplayedPasetoException, { parser.parse(token) }
+        assertThat replayGuard.tokenIds, is(["reset-1", "reset-1"])
+    }
+
+    @Test
+    void bothReplayGuardsTest() {
+        expect IllegalStateException, {
+            Pasetos.parserBuilder()
+                .setPublicKey(keyPair.getPublic())
+                .setReplayGuard(new RecordingReplayGuard())
+                .setReplayGuardMaximumSize(100)
+                .build()
+        }
+        expect IllegalArgumentException, { Pasetos.parserBuilder().setReplayGuardMaximumSize(-1) }
+    }
+
+    @Test
+    void bucketEvictionTest() {
+        TimeBucketedReplayGuard guard = new TimeBucketedReplayGuard(10, Duration.ofMinutes(1))
+        Instant now = Instant.parse("2020-01-01T00:00:00Z")
+
+        assertThat guard.markUsed("a", now.plusSeconds(30), now), is(true)
+        assertThat guard.markUsed("b", now.plusSeconds(90), now), is(true)
+        assertThat guard.markUsed("a", now.plusSeconds(30), now), is(false)
+        assertThat guard.size(), is(2)
+
+        // the first bucket ends at 00:01:00, it is dropped once the current time reaches it
+        assertThat guard.markUsed("c", now.plusSeconds(600), now.plusSeconds(59)), is(true)
+        assertThat guard.size(), is(3)
+        assertThat guard.markUsed("d", now.plusSeconds(600), now.plusSeconds(60)), is(true)
+        assertThat guard.size(), is(3)
+
+        // "b" is still held
+        assertThat guard.markUsed("b", now.plusSeconds(90), now.plusSeconds(60)), is(false)
+        assertThat guard.markUsed("b", now.plusSeconds(90), now.plusSeconds(120)), is(true)
+    }
+
+    @Test
+    void fullReplayGuardTest() {
+        TimeBucketedReplayGuard guard = new TimeBucketedReplayGuard(2, Duration.ofMinutes(1))
+        Instant now = Instant.parse("2020-01-01T00:00:00Z")
+
+        assertThat guard.markUsed("a", now.plusSeconds(30), now), is(true)
+        assertThat guard.markUsed("b", now.plusSeconds(30), now), is(true)
+
+        // rejects new tokens rather than forgetting unexpired ones, replays are still detected
+        expect PasetoException, { guard.markUsed("c", now.plusSeconds(30), now) }
+        assertThat guard.markUsed("a", now.plusSeconds(30), now), is(false)
+
+        // room again once the recorded tokens expire
+        assertThat guard.markUsed("c", now.plusSeconds(600), now.plusSeconds(60)), is(true)
+        assertThat guard.size(), is(1)
+    }
+
+    @Test
+    void concurrentReplayTest() {
+        TimeBucketedReplayGuard guard = new TimeBucketedReplayGuard(100_000, Duration.ofMinutes(1))
+        Instant now = Instant.now()
+        int threads = 8
+        ExecutorService executor = Executors.newFixedThreadPool(threads)
+        CountDownLatch start = new CountDownLatch(1)
+        try {
+            // every thread marks the same 1000 token IDs, each ID is accepted exactly once
+            List<Future<Integer>> futures = (0..<threads).collect {
+                executor.submit({
+                    start.await()
+                    int accepted = 0
+                    for (int i = 0; i < 1000; i++) {
+                        if (guard.markUsed("id-" + i, now.plusSeconds(60 + i % 300), now)) {
+                            accepted++
+                        }
+                    }
+                    return accepted
+                } as Callable<Integer>)
+            }
+            start.countDown()
+            assertThat futures.sum { it.get() }, is(1000)
+            assertThat guard.size(), is(1000)
+        } finally {
+            executor.shutdownNow()
+        }
+    }
+
+    @Test
+    void concurrentEvictionTest() {
+        TimeBucketedReplayGuard guard = new TimeBucketedReplayGuard(100_000, Duration.ofSeconds(1))
+        Instant start = Instant.parse("2020-01-01T00:00:00Z")
+        int threads = 8
+        ExecutorService executor = Executors.newFixedThreadPool(threads)
+        CountDownLatch ready = new CountDownLatch(1)
+        try {
+            // each thread's clock runs at a different speed, so buckets are dropped while other threads still add to them
+            List<Future<?>> futures = (0..<threads).collect { thread ->
+                executor.submit({
+                    ready.await()
+                    for (int i = 0; i < 20_000; i++) {
+                        Instant now = start.plusMillis(i * (thread + 1) as long)
+                        guard.markUsed("id-" + thread + "-" + i, now.plusMillis(i % 2000), now)
+                    }
+                } as Callable<Void>)
+            }
+            ready.countDown()
+            futures.each { it.get() }
+
+            // every recorded token has expired by then, an expired token drops all buckets without being recorded
+            Instant later = start.plusSeconds(3600)
+            assertThat guard.markUsed("expired", later.minusSeconds(10), later), is(true)
+            assertThat guard.size(), is(0)
+        } finally {
+            executor.shutdownNow()
+        }
+    }
+
+    @Test
+    void concurrentReplayNearCapacityTest() {
+        TimeBucketedReplayGuard guard = new TimeBucketedReplayGuard(1, Duration.ofMinutes(1))
+        Instant now = Instant.now()
+        int threads = 8
+        ExecutorService executor = Executors.newFixedThreadPool(threads)
+        CountDownLatch start = new CountDownLatch(1)
+        try {
+            // replays of the only recorded ID are rejected as replays, not because the guard is full
+            List<Future<Boolean>> futures = (0..<threads).collect {
+                executor.submit({
+                    start.await()
+                    return guard.markUsed("id", now.plusSeconds(60), now)
+                } as Callable<Boolean>)
+            }
+            start.countDown()
+            assertThat futures.count { it.get() }, is(1)
+            assertThat guard.size(), is(1)
+        } finally {
+            executor.shutdownNow()
+        }
+    }
+
+    private String resetToken(String tokenId, Instant expiration) {
+        return Pasetos.V2.PUBLIC.builder()
+            .setPrivateKey(keyPair.getPrivate())
+            .setTokenId(tokenId)
+            .setExpiration(expiration)
+            .compact()
+    }
+
+    private static class RecordingReplayGuard implements ReplayGuard {
+
+        List<String> tokenIds = []
+        List<Instant> expirations = []
+        Set<String> used = []
+
+        @Override
+        boolean markUsed(String tokenId, Instant expiration, Instant now) {
+            tokenIds.add(tokenId)
+            expirations.add(expiration)
+            return used.add(tokenId)
+        }
+    }
+}
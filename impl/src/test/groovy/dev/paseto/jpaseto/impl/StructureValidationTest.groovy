@@ -0,0 +1,159 @@
+/*
+ * Copyright 2019-Present paseto.dev, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package dev.paseto.jpaseto.impl
+
+import dev.paseto.jpaseto.FooterClaims
+import dev.paseto.jpaseto.KeyResolverAdapter
+import dev.paseto.jpaseto.MalformedPasetoException
+import dev.paseto.jpaseto.PasetoParser
+import dev.paseto.jpaseto.Pasetos
+import dev.paseto.jpaseto.Purpose
+import dev.paseto.jpaseto.Version
+import dev.paseto.jpaseto.lang.Keys
+import org.testng.annotations.Test
+
+import javax.crypto.SecretKey
+import java.security.KeyPair
+import java.security.PublicKey
+import java.util.concurrent.atomic.AtomicInteger
+
+import static dev.paseto.jpaseto.impl.Util.expect
+import static org.hamcrest.MatcherAssert.assertThat
+import static org.hamcrest.Matchers.*
+
+class StructureValidationTest {
+
+    private final KeyPair keyPair = Keys.keyPairFor(Version.V2)
+
+    @Test
+    void shortPayloadTest() {
+        CountingKeyResolver keyResolver = new CountingKeyResolver()
+        PasetoParser parser = Pasetos.parserBuilder()
+            .setKeyResolver(keyResolver)
+            .build()
+
+        // each payload is one byte shorter than the signature, or the nonce and tag, of its version and purpose
+        [v1PublicPayload: "v1.public." + encode(255),
+         v2PublicPayload: "v2.public." + encode(63),
+         v1LocalPayload : "v1.local." + encode(79),
+         v2LocalPayload : "v2.local." + encode(39)].each { name, token ->
+            assertThat name, expect(MalformedPasetoException, { parser.parse(token) }).message, containsString("shorter than the minimum")
+        }
+
+        // rejected before the key is resolved
+        assertThat keyResolver.count.get(), is(0)
+    }
+
+    @Test
+    void invalidBase64Test() {
+        CountingKeyResolver keyResolver = new CountingKeyResolver()
+        PasetoParser parser = Pasetos.parserBuilder()
+            .setKeyResolver(keyResolver)
+            .build()
+
+        String payload = encode(64)
+        expect MalformedPasetoException, { parser.parse("v2.public." + payload.substring(0, 10) + "+" + payload.substring(11)) }
+        expect MalformedPasetoException, { parser.parse("v2.public." + payload + ".e30/") }
+        expect MalformedPasetoException, { parser.parse("v2.public." + payload + "AAA") } // not a base64 length
+        assertThat keyResolver.count.get(), is(0)
+    }
+
+    @Test
+    void maximumTokenLengthTest() {
+        CountingKeyResolver keyResolver = new CountingKeyResolver()
+        PasetoParser parser = Pasetos.parserBuilder()
+            .setKeyResolver(keyResolver)
+            .setCacheMaximumSize(10)
+            .build()
+
+        // the default limit is 64 KiB
+        String oversized = "v2.public." + encode(1024 * 1024)
+        assertThat expect(MalformedPasetoException, { parser.parse(oversized) }).message, containsString("exceeds the maximum")
+        expect MalformedPasetoException, { parser.parse(oversized.getBytes("US-ASCII")) }
+        assertThat keyResolver.count.get(), is(0)
+        assertThat parser.getCacheStats().getMissCount(), is(0L)
+
+        String valid = token()
+        PasetoParser limited = Pasetos.parserBuilder()
+            .setPublicKey(keyPair.getPublic())
+            .setMaximumTokenLength(valid.length() - 1)
+            .build()
+        expect MalformedPasetoException, { limited.parse(valid) }
+    }
+
+    @Test
+    void maximumPayloadAndFooterSizeTest() {
+        String token = Pasetos.V2.PUBLIC.builder()
+            .setPrivateKey(keyPair.getPrivate())
+            .setSubject("jsmith")
+            .setFooter("a footer of 23 bytes...")
+            .compact()
+
+        PasetoParser parser = Pasetos.parserBuilder()
+            .setPublicKey(keyPair.getPublic())
+            .setMaximumPayloadSize(128)
+            .setMaximumFooterSize(23)
+            .build()
+        assertThat parser.parse(token).claims.getSubject(), is("jsmith")
+
+        PasetoParser smallPayload = Pasetos.parserBuilder()
+            .setPublicKey(keyPair.getPublic())
+            .setMaximumPayloadSize(64)
+            .build()
+        assertThat expect(MalformedPasetoException, { smallPayload.parse(token) }).message, containsString("payload")
+
+        PasetoParser smallFooter = Pasetos.parserBuilder()
+            .setPublicKey(keyPair.getPublic())
+            .setMaximumFooterSize(22)
+            .build()
+        assertThat expect(MalformedPasetoException, { smallFooter.parse(token) }).message, containsString("footer")
+    }
+
+    @Test
+    void invalidLimitsTest() {
+        expect IllegalArgumentException, { Pasetos.parserBuilder().setMaximumTokenLength(0) }
+        expect IllegalArgumentException, { Pasetos.parserBuilder().setMaximumPayloadSize(0) }
+        expect IllegalArgumentException, { Pasetos.parserBuilder().setMaximumFooterSize(-1) }
+    }
+
+    private String token() {
+        return Pasetos.V2.PUBLIC.builder()
+            .setPrivateKey(keyPair.getPrivate())
+            .setSubject("jsmith")
+            .compact()
+    }
+
+    private static String encode(int length) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(new byte[length])
+    }
+
+    private class CountingKeyResolver extends KeyResolverAdapter {
+
+        final AtomicInteger count = new AtomicInteger()
+
+        @Override
+        PublicKey resolvePublicKey(Version version, Purpose purpose, FooterClaims footer) {
+            count.incrementAndGet()
+            return keyPair.getPublic()
+        }
+
+        @Override
+        SecretKey resolveSharedKey(Version version, Purpose purpose, FooterClaims footer) {
+            count.incrementAndGet()
+            return Keys.secretKey()
+        }
+    }
+}
@@ -0,0 +1,111 @@
+/*
+ * Copyright 2019-Present paseto.dev, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package dev.paseto.jpaseto.impl
+
+import org.testng.annotations.DataProvider
+import org.testng.annotations.Test
+
+import java.nio.ByteBuffer
+
+import static dev.paseto.jpaseto.impl.Util.expect
+import static java.nio.charset.StandardCharsets.US_ASCII
+import static org.hamcrest.MatcherAssert.assertThat
+import static org.hamcrest.Matchers.is
+
+class TokenSourceTest {
+
+    @Test(dataProvider = "sources")
+    void decodeBase64UrlTest(Closure<TokenSource> sourceFor) {
+        Random random = new Random(42)
+        (0..<200).each { int length ->
+            byte[] data = new byte[length]
+            random.nextBytes(data)
+
+            String encoded = Base64.getUrlEncoder().withoutPadding().encodeToString(data)
+            assertThat sourceFor(encoded).decodeBase64Url(0, encoded.length()), is(data)
+            assertThat sourceFor(encoded).base64UrlDecodedLength(0, encoded.length()), is(length)
+            assertThat sourceFor(encoded).isBase64Url(0, encoded.length()), is(true)
+
+            String padded = Base64.getUrlEncoder().encodeToString(data)
+            assertThat sourceFor(padded).decodeBase64Url(0, padded.length()), is(data)
+            assertThat sourceFor(padded).base64UrlDecodedLength(0, padded.length()), is(length)
+            assertThat sourceFor(padded).isBase64Url(0, padded.length()), is(true)
+        }
+    }
+
+    @Test(dataProvider = "sources")
+    void decodeRegionTest(Closure<TokenSource> sourceFor) {
+        TokenSource source = sourceFor("v2.local.SGVsbG8.d29ybGQ")
+        assertThat source.indexOf('.' as char, 0), is(2)
+        assertThat source.indexOf('.' as char, 3), is(8)
+        assertThat source.regionEquals(3, 8, "local"), is(true)
+        assertThat source.regionEquals(3, 8, "publi"), is(false)
+        assertThat new String(source.decodeBase64Url(9, 16), US_ASCII), is("Hello")
+        assertThat new String(source.decodeBase64Url(17, 24), US_ASCII), is("world")
+        assertThat source.substring(0, 2), is("v2")
+    }
+
+    @Test(dataProvider = "sources")
+    void invalidBase64UrlTest(Closure<TokenSource> sourceFor) {
+        expect IllegalArgumentException, { sourceFor("SGVs+G8").decodeBase64Url(0, 7) }
+        expect IllegalArgumentException, { sourceFor("SGVsb").decodeBase64Url(0, 5) }
+        expect IllegalArgumentException, { sourceFor("SGVséG8").decodeBase64Url(0, 7) }
+
+        assertThat sourceFor("SGVs+G8").isBase64Url(0, 7), is(false)
+        assertThat sourceFor("SGVséG8").isBase64Url(0, 7), is(false)
+        assertThat sourceFor("SG=sbG8").isBase64Url(0, 7), is(false)
+        assertThat sourceFor("SGVsb").base64UrlDecodedLength(0, 5), is(-1)
+
+        // at most two padding characters
+        expect IllegalArgumentException, { sourceFor("SGVsbG8===").decodeBase64Url(0, 10) }
+        expect IllegalArgumentException, { sourceFor("SGVsbA===").decodeBase64Url(0, 9) }
+        expect IllegalArgumentException, { sourceFor("SGVsbG8" + "=" * 100).decodeBase64Url(0, 107) }
+        assertThat sourceFor("SGVsbG8===").isBase64Url(0, 10), is(false)
+        assertThat sourceFor("SGVsbG8" + "=" * 100).isBase64Url(0, 107), is(false)
+    }
+
+    @Test
+    void charSequenceOffsetTest() {
+        TokenSource source = TokenSource.of("Bearer SGVsbG8 ", 7, 14)
+        assertThat source.length(), is(7)
+        assertThat new String(source.decodeBase64Url(0, 7), US_ASCII), is("Hello")
+        expect IndexOutOfBoundsException, { TokenSource.of("short", 2, 10) }
+    }
+
+    @Test
+    void byteBufferPositionTest() {
+        ByteBuffer buffer = ByteBuffer.allocateDirect(16)
+        buffer.put("xxSGVsbG8yy".getBytes(US_ASCII))
+        buffer.position(2).limit(9)
+
+        TokenSource source = TokenSource.of(buffer)
+        assertThat new String(source.decodeBase64Url(0, source.length()), US_ASCII), is("Hello")
+        assertThat buffer.position(), is(2)
+    }
+
+    @DataProvider
+    Object[][] sources() {
+        return [
+                [{ String token -> TokenSource.of(token, 0, token.length()) }],
+                [{ String token -> TokenSource.of(token.getBytes("ISO-8859-1")) }],
+                [{ String token ->
+                    byte[] bytes = token.getBytes("ISO-8859-1")
+                    ByteBuffer buffer = ByteBuffer.allocateDirect(bytes.length)
+                    buffer.put(bytes).flip()
+                    return TokenSource.of(buffer) }]
+        ]
+    }
+}
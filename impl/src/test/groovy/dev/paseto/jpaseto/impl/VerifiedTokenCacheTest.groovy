@@ -0,0 +1,215 @@
+/*
+ * Copyright 2019-Present paseto.dev, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package dev.paseto.jpaseto.impl
+
+import dev.paseto.jpaseto.ExpiredPasetoException
+import dev.paseto.jpaseto.IncorrectClaimException
+import dev.paseto.jpaseto.KeyResolver
+import dev.paseto.jpaseto.Paseto
+import dev.paseto.jpaseto.PasetoParser
+import dev.paseto.jpaseto.Pasetos
+import dev.paseto.jpaseto.Purpose
+import dev.paseto.jpaseto.Version
+import dev.paseto.jpaseto.lang.Keys
+import org.testng.annotations.Test
+
+import java.security.KeyPair
+import java.time.Clock
+import java.time.Instant
+import java.time.ZoneId
+import java.time.temporal.ChronoUnit
+
+import static dev.paseto.jpaseto.impl.Util.expect
+import static org.hamcrest.MatcherAssert.assertThat
+import static org.hamcrest.Matchers.*
+import static org.mockito.ArgumentMatchers.any
+import static org.mockito.Mockito.*
+
+class VerifiedTokenCacheTest {
+
+    KeyPair keyPair = Keys.keyPairFor(Version.V1)
+
+    VerifiedTokenCacheTest() {
+        BouncyCastleInitializer.enableBouncyCastle()
+    }
+
+    @Test
+    void lruEvictionTest() {
+        def cache = new VerifiedTokenCache(2)
+        def now = Instant.now()
+        def exp = now.plus(1, ChronoUnit.HOURS)
+
+        cache.put("one", mock(Paseto), exp, now)
+        cache.put("two", mock(Paseto), exp, now)
+        assertThat cache.get("one", now), notNullValue() // "two" is now the least recently used
+        cache.put("three", mock(Paseto), exp, now)
+
+        assertThat cache.getSize(), is(2)
+        assertThat cache.get("two", now), nullValue()
+        assertThat cache.get("one", now), notNullValue()
+        assertThat cache.get("three", now), notNullValue()
+        assertThat cache.getHitCount(), is(3L)
+        assertThat cache.getMissCount(), is(1L)
+    }
+
+    @Test
+    void expirationEvictionTest() {
+        def cache = new VerifiedTokenCache(10)
+        def now = Instant.now()
+
+        cache.put("expires", mock(Paseto), now.plus(1, ChronoUnit.MINUTES), now)
+        cache.put("valid", mock(Paseto), now.plus(1, ChronoUnit.HOURS), now)
+        assertThat cache.get("expires", now), notNullValue()
+
+        def later = now.plus(10, ChronoUnit.MINUTES)
+        assertThat cache.get("expires", later), nullValue()
+        assertThat cache.get("valid", later), notNullValue()
+        assertThat cache.getSize(), is(1)
+
+        // expired least recently used entries are removed when other tokens are added
+        cache = new VerifiedTokenCache(10)
+        cache.put("expires", mock(Paseto), now.plus(1, ChronoUnit.MINUTES), now)
+        cache.put("valid", mock(Paseto), now.plus(1, ChronoUnit.HOURS), now)
+        cache.put("another", mock(Paseto), now.plus(1, ChronoUnit.HOURS), later)
+        assertThat cache.getSize(), is(2)
+        assertThat cache.get("expires", now), nullValue()
+    }
+
+    @Test
+    void segmentSizeTest() {
+        def cache = new VerifiedTokenCache(1000)
+        def now = Instant.now()
+        def exp = now.plus(1, ChronoUnit.HOURS)
+
+        (0..<2000).each { cache.put("token-${it}".toString(), mock(Paseto), exp, now) }
+        assertThat cache.getSize(), is(1000)
+    }
+
+    @Test
+    void invalidSizeTest() {
+        expect IllegalArgumentException, { new VerifiedTokenCache(0) }
+        expect IllegalArgumentException, { Pasetos.parserBuilder().setCacheMaximumSize(-1) }
+    }
+
+    @Test
+    void cachingDisabledByDefaultTest() {
+        PasetoParser parser = Pasetos.parserBuilder()
+            .setPublicKey(keyPair.getPublic())
+            .build()
+        assertThat parser.getCacheStats(), nullValue()
+    }
+
+    @Test
+    void parserCacheTest() {
+        def clock = new MutableClock(Instant.now())
+        String token = Pasetos.V1.PUBLIC.builder()
+            .setPrivateKey(keyPair.getPrivate())
+            .setSubject("test-sub")
+            .setExpiration(clock.instant().plus(1, ChronoUnit.HOURS))
+            .compact()
+
+        def keyResolver = mock(KeyResolver)
+        when(keyResolver.resolvePublicKey(any(), any(), any())).thenReturn(keyPair.getPublic())
+
+        PasetoParser parser = Pasetos.parserBuilder()
+            .setKeyResolver(keyResolver)
+            .setClock(clock)
+            .setCacheMaximumSize(100)
+            .build()
+
+        Paseto first = parser.parse(token)
+        Paseto second = parser.parse(token)
+
+        assertThat second, sameInstance(first)
+        assertThat second.claims.getSubject(), is("test-sub")
+        assertThat parser.getCacheStats().getHitCount(), is(1L)
+        assertThat parser.getCacheStats().getMissCount(), is(1L)
+        assertThat parser.getCacheStats().getSize(), is(1)
+        verify(keyResolver, times(1)).resolvePublicKey(any(), any(), any())
+
+        // cached claims are shared and cannot be modified
+        expect UnsupportedOperationException, { second.claims.put("sub", "other") }
+
+        // the cache does not skip the expiration check
+        clock.now = clock.now.plus(2, ChronoUnit.HOURS)
+        expect ExpiredPasetoException, { parser.parse(token) }
+        assertThat parser.getCacheStats().getSize(), is(0)
+    }
+
+    @Test
+    void expectedClaimsCheckedOnHitTest() {
+        String token = Pasetos.V1.PUBLIC.builder()
+            .setPrivateKey(keyPair.getPrivate())
+            .setSubject("test-sub")
+            .setExpiration(Instant.now().plus(1, ChronoUnit.HOURS))
+            .compact()
+
+        // a token that failed validation is not cached
+        PasetoParser parser = Pasetos.parserBuilder()
+            .setPublicKey(keyPair.getPublic())
+            .requireSubject("other-sub")
+            .setCacheMaximumSize(100)
+            .build()
+
+        expect IncorrectClaimException, { parser.parse(token) }
+        expect IncorrectClaimException, { parser.parse(token) }
+        assertThat parser.getCacheStats().getHitCount(), is(0L)
+        assertThat parser.getCacheStats().getSize(), is(0)
+    }
+
+    @Test
+    void noExpirationNotCachedTest() {
+        String token = Pasetos.V1.PUBLIC.builder()
+            .setPrivateKey(keyPair.getPrivate())
+            .setSubject("test-sub")
+            .compact()
+
+        PasetoParser parser = Pasetos.parserBuilder()
+            .setPublicKey(keyPair.getPublic())
+            .setCacheMaximumSize(100)
+            .build()
+
+        parser.parse(token)
+        parser.parse(token)
+        assertThat parser.getCacheStats().getHitCount(), is(0L)
+        assertThat parser.getCacheStats().getMissCount(), is(2L)
+        assertThat parser.getCacheStats().getSize(), is(0)
+    }
+
+    static class MutableClock extends Clock {
+
+        Instant now
+
+        MutableClock(Instant now) {
+            this.now = now
+        }
+
+        @Override
+        ZoneId getZone() {
+            return ZoneId.of("UTC")
+        }
+
+        @Override
+        Clock withZone(ZoneId zone) {
+            return this
+        }
+
+        @Override
+        Instant instant() {
+            return now
+        }
+    }
+}
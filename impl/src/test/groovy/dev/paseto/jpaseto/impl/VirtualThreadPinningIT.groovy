@@ -0,0 +1,143 @@
+/*
+ * Copyright 2019-Present paseto.dev
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package dev.paseto.jpaseto.impl
+
+import dev.paseto.jpaseto.FooterClaims
+import dev.paseto.jpaseto.KeyResolverAdapter
+import dev.paseto.jpaseto.PasetoIssuer
+import dev.paseto.jpaseto.PasetoParser
+import dev.paseto.jpaseto.Pasetos
+import dev.paseto.jpaseto.Purpose
+import dev.paseto.jpaseto.Version
+import dev.paseto.jpaseto.impl.lang.SecureRandoms
+import dev.paseto.jpaseto.impl.lang.Threads
+import dev.paseto.jpaseto.lang.Keys
+import jdk.jfr.Recording
+import jdk.jfr.consumer.RecordedEvent
+import jdk.jfr.consumer.RecordingFile
+import org.testng.SkipException
+import org.testng.annotations.Test
+
+import java.nio.file.Files
+import java.nio.file.Path
+import java.security.KeyPair
+import java.security.PublicKey
+import java.time.Duration
+import java.time.Instant
+import java.time.temporal.ChronoUnit
+import java.util.concurrent.Callable
+import java.util.concurrent.CountDownLatch
+import java.util.concurrent.ExecutorService
+import java.util.concurrent.Executors
+import java.util.concurrent.Future
+
+import static org.hamcrest.MatcherAssert.assertThat
+import static org.hamcrest.Matchers.*
+
+/**
+ * Parses 100k tokens concurrently, each on its own virtual thread, and asserts no virtual thread was pinned to its
+ * carrier thread, using both the {@code jdk.VirtualThreadPinned} JFR event and {@code -Djdk.tracePinnedThreads}.
+ * Requires Java 21+, each task also asserts {@link Threads#isVirtual()} detects its virtual thread. The
+ * {@code jdk.tracePinnedThreads} property is set by the {@code java-21} profile's failsafe {@code argLine}, it has no
+ * effect once a virtual thread has been started.
+ */
+class VirtualThreadPinningIT {
+
+    private static final int TASKS = 100_000
+    private static final String PINNED_EVENT = "jdk.VirtualThreadPinned"
+
+    @Test
+    void noPinnedVirtualThreadsTest() {
+        if (javaVersion() < 21) {
+            throw new SkipException("Virtual threads require Java 21+")
+        }
+
+        KeyPair v1KeyPair = Keys.keyPairFor(Version.V1)
+        KeyPair v2KeyPair = Keys.keyPairFor(Version.V2)
+        Instant exp = Instant.now().plus(1, ChronoUnit.HOURS)
+
+        PasetoIssuer v1Issuer = Pasetos.V1.PUBLIC.builder().setPrivateKey(v1KeyPair.getPrivate()).setExpiration(exp).issuer()
+        PasetoIssuer v2Issuer = Pasetos.V2.PUBLIC.builder().setPrivateKey(v2KeyPair.getPrivate()).setExpiration(exp).issuer()
+        List<String> tokens = (0..<64).collect { (it % 8 == 0 ? v1Issuer : v2Issuer).builder().setSubject("sub-" + it).compact() }
+
+        PasetoParser parser = Pasetos.parserBuilder()
+            .setKeyResolver(new KeyResolverAdapter() {
+                @Override
+                PublicKey resolvePublicKey(Version version, Purpose purpose, FooterClaims footer) {
+                    return version == Version.V1 ? v1KeyPair.getPublic() : v2KeyPair.getPublic()
+                }
+            })
+            .build()
+        PasetoParser cachingParser = Pasetos.parserBuilder()
+            .setPublicKey(v2KeyPair.getPublic())
+            .setCacheMaximumSize(16)
+            .setLazyClaims(true)
+            .build()
+
+        // warm up on this platform thread, class initialization and provider loading are expected to block once
+        tokens.each { parser.parse(it) }
+
+        Path recordingFile = Files.createTempFile("pinned", ".jfr")
+        ByteArrayOutputStream trace = new ByteArrayOutputStream()
+        PrintStream out = System.out
+        Recording recording = new Recording()
+        recording.enable(PINNED_EVENT).withThreshold(Duration.ZERO).withStackTrace()
+        recording.start()
+        System.setOut(new PrintStream(trace, true))
+        try {
+            ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()
+            CountDownLatch start = new CountDownLatch(1)
+            List<Future<Boolean>> results = new ArrayList<>(TASKS)
+            try {
+                for (int i = 0; i < TASKS; i++) {
+                    int task = i
+                    results.add(executor.submit({
+                        // all tasks are started before any is released, so they run concurrently
+                        start.await()
+                        assert Threads.isVirtual()
+                        String token = tokens.get(task % tokens.size())
+                        if (task % 100 == 0) {
+                            // issue a token, drawing nonce bytes like the local builders do
+                            SecureRandoms.nextBytes(null, new byte[24])
+                            token = v2Issuer.builder().setSubject("sub-" + (task % tokens.size())).compact()
+                        }
+                        PasetoParser taskParser = token.startsWith("v2") && task % 2 == 0 ? cachingParser : parser
+                        return taskParser.parse(token).claims.getSubject() == "sub-" + (task % tokens.size())
+                    } as Callable<Boolean>))
+                }
+                start.countDown()
+                results.each { assertThat it.get(), is(true) }
+            } finally {
+                executor.shutdown()
+            }
+        } finally {
+            System.setOut(out)
+            recording.stop()
+            recording.dump(recordingFile)
+            recording.close()
+        }
+
+        List<RecordedEvent> pinned = RecordingFile.readAllEvents(recordingFile).findAll { it.eventType.name == PINNED_EVENT }
+        Files.delete(recordingFile)
+        assertThat pinned.collect { it.stackTrace?.toString() }, empty()
+        assertThat trace.toString("UTF-8"), not(containsString("<== monitors"))
+    }
+
+    private static int javaVersion() {
+        String version = System.getProperty("java.specification.version")
+        return version.startsWith("1.") ? 8 : Integer.parseInt(version)
+    }
+}
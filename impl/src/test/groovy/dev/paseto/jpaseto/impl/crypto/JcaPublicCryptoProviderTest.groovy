@@ -0,0 +1,168 @@
+/*
+ * Copyright 2019-Present paseto.dev
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package dev.paseto.jpaseto.impl.crypto
+
+import dev.paseto.jpaseto.PasetoSignatureException
+import dev.paseto.jpaseto.Version
+import dev.paseto.jpaseto.impl.BouncyCastleInitializer
+import dev.paseto.jpaseto.lang.Keys
+import org.testng.annotations.DataProvider
+import org.testng.annotations.Test
+
+import java.security.InvalidKeyException
+import java.security.KeyPair
+import java.util.concurrent.Callable
+import java.util.concurrent.Executors
+
+import static dev.paseto.jpaseto.impl.Util.expect
+import static java.nio.charset.StandardCharsets.UTF_8
+import static org.hamcrest.MatcherAssert.assertThat
+import static org.hamcrest.Matchers.instanceOf
+import static org.hamcrest.Matchers.is
+
+/**
+ * The JCA providers reuse a Signature per thread (or from a prepared key's pool), validate instances are correctly
+ * re-initialized between calls.
+ */
+class JcaPublicCryptoProviderTest {
+
+    JcaPublicCryptoProviderTest() {
+        BouncyCastleInitializer.enableBouncyCastle()
+    }
+
+    @Test(dataProvider = "providers")
+    void reuseAfterFailedVerifyTest(def cryptoProvider, KeyPair keyPair, Version version) {
+        byte[] payload = "a-payload".getBytes(UTF_8)
+        byte[] footer = "a-footer".getBytes(UTF_8)
+
+        byte[] signature = cryptoProvider.sign(payload, footer, keyPair.private)
+        assertThat cryptoProvider.verify(payload, footer, signature, keyPair.public), is(true)
+
+        // a failed verification must not leave any state behind
+        assertThat cryptoProvider.verify("other".getBytes(UTF_8), footer, signature, keyPair.public), is(false)
+        assertThat cryptoProvider.verify(payload, footer, signature, keyPair.public), is(true)
+
+        // same for a second signature
+        byte[] signature2 = cryptoProvider.sign(payload, new byte[0], keyPair.private)
+        assertThat cryptoProvider.verify(payload, new byte[0], signature2, keyPair.public), is(true)
+        assertThat cryptoProvider.verify(payload, footer, signature, keyPair.public), is(true)
+    }
+
+    @Test(dataProvider = "providers")
+    void multipleThreadsTest(def cryptoProvider, KeyPair keyPair, Version version) {
+        def executor = Executors.newFixedThreadPool(4)
+        try {
+            def futures = (0..<16).collect { int ii ->
+                executor.submit({
+                    byte[] payload = "payload-${ii}".getBytes(UTF_8)
+                    byte[] signature = cryptoProvider.sign(payload, new byte[0], keyPair.private)
+                    return cryptoProvider.verify(payload, new byte[0], signature, keyPair.public)
+                } as Callable<Boolean>)
+            }
+            futures.each { assertThat it.get(), is(true) }
+        } finally {
+            executor.shutdownNow()
+        }
+    }
+
+    @Test(dataProvider = "providers")
+    void preparedKeysTest(def cryptoProvider, KeyPair keyPair, Version version) {
+        def privateKey = Keys.prepare(version, keyPair.private)
+        def publicKey = Keys.prepare(version, keyPair.public)
+        byte[] payload = "a-payload".getBytes(UTF_8)
+        byte[] footer = "a-footer".getBytes(UTF_8)
+
+        // prepared and plain keys produce interchangeable signatures
+        byte[] signature = cryptoProvider.sign(payload, footer, privateKey)
+        assertThat cryptoProvider.verify(payload, footer, signature, publicKey), is(true)
+        assertThat cryptoProvider.verify(payload, footer, signature, keyPair.public), is(true)
+        byte[] plainSignature = cryptoProvider.sign(payload, footer, keyPair.private)
+        assertThat cryptoProvider.verify(payload, footer, plainSignature, publicKey), is(true)
+
+        // the prepared key's Signature is reset after each use
+        assertThat cryptoProvider.verify("other".getBytes(UTF_8), footer, signature, publicKey), is(false)
+        assertThat cryptoProvider.verify(payload, footer, signature, publicKey), is(true)
+        byte[] signature2 = cryptoProvider.sign(payload, new byte[0], privateKey)
+        assertThat cryptoProvider.verify(payload, new byte[0], signature2, publicKey), is(true)
+        assertThat cryptoProvider.verify(payload, footer, signature, publicKey), is(true)
+    }
+
+    @Test(dataProvider = "providers")
+    void preparedKeyUsableAfterExceptionTest(def cryptoProvider, KeyPair keyPair, Version version) {
+        def publicKey = Keys.prepare(version, keyPair.public)
+        byte[] payload = "a-payload".getBytes(UTF_8)
+        byte[] signature = cryptoProvider.sign(payload, new byte[0], keyPair.private)
+
+        // a truncated signature is rejected, or throws depending on the algorithm
+        try {
+            assertThat cryptoProvider.verify(payload, new byte[0], Arrays.copyOf(signature, 10), publicKey), is(false)
+        } catch (PasetoSignatureException expected) {
+            // the prepared key's Signature was not returned to its pool
+        }
+        assertThat cryptoProvider.verify(payload, new byte[0], signature, publicKey), is(true)
+    }
+
+    @Test(dataProvider = "providers")
+    void preparedKeyUsableAfterRuntimeExceptionTest(def cryptoProvider, KeyPair keyPair, Version version) {
+        def privateKey = Keys.prepare(version, keyPair.private)
+        def publicKey = Keys.prepare(version, keyPair.public)
+        byte[] payload = "a-payload".getBytes(UTF_8)
+        byte[] signature = cryptoProvider.sign(payload, new byte[0], keyPair.private)
+
+        // fails after the header has been written to the prepared key's Signature
+        expect NullPointerException, { cryptoProvider.sign(null, new byte[0], privateKey) }
+        expect NullPointerException, { cryptoProvider.verify(null, new byte[0], signature, publicKey) }
+
+        assertThat cryptoProvider.verify(payload, new byte[0], signature, publicKey), is(true)
+        byte[] signature2 = cryptoProvider.sign(payload, new byte[0], privateKey)
+        assertThat cryptoProvider.verify(payload, new byte[0], signature2, keyPair.public), is(true)
+    }
+
+    @Test(dataProvider = "providers")
+    void preparedKeyForOtherVersionTest(def cryptoProvider, KeyPair keyPair, Version version) {
+        Version other = version == Version.V1 ? Version.V2 : Version.V1
+        def privateKey = Keys.prepare(other, keyPair.private)
+        def e = expect(PasetoSignatureException, { cryptoProvider.sign(new byte[1], new byte[0], privateKey) })
+        assertThat e.cause, instanceOf(InvalidKeyException)
+    }
+
+    @Test(dataProvider = "providers")
+    void preparedKeysMultipleThreadsTest(def cryptoProvider, KeyPair keyPair, Version version) {
+        def privateKey = Keys.prepare(version, keyPair.private)
+        def publicKey = Keys.prepare(version, keyPair.public)
+        def executor = Executors.newFixedThreadPool(4)
+        try {
+            def futures = (0..<16).collect { int ii ->
+                executor.submit({
+                    byte[] payload = "payload-${ii}".getBytes(UTF_8)
+                    byte[] signature = cryptoProvider.sign(payload, new byte[0], privateKey)
+                    return cryptoProvider.verify(payload, new byte[0], signature, publicKey)
+                } as Callable<Boolean>)
+            }
+            futures.each { assertThat it.get(), is(true) }
+        } finally {
+            executor.shutdownNow()
+        }
+    }
+
+    @DataProvider
+    Object[][] providers() {
+        return [
+                [new JcaV1PublicCryptoProvider(), Keys.keyPairFor(Version.V1), Version.V1],
+                [new JcaV2PublicCryptoProvider(), Keys.keyPairFor(Version.V2), Version.V2]
+        ]
+    }
+}
@@ -19,10 +19,16 @@ import org.apache.commons.codec.binary.Hex
 import org.testng.annotations.DataProvider
 import org.testng.annotations.Test
 
+import javax.crypto.Mac
+import javax.crypto.spec.SecretKeySpec
+import java.nio.ByteBuffer
 import java.nio.charset.StandardCharsets
+import java.security.MessageDigest
+import java.security.Signature
 
 import static org.hamcrest.MatcherAssert.assertThat
 import static org.hamcrest.Matchers.is
+import static org.mockito.Mockito.mock
 
 class PreAuthEncoderTest {
 
@@ -31,6 +37,55 @@ class PreAuthEncoderTest {
         assertThat(PreAuthEncoder.encode(listOfBytes), is(Hex.decodeHex(expected)))
     }
 
+    @Test(dataProvider="standardTestData")
+    void encodedLengthTests(byte[][] listOfBytes, String expected) {
+        assertThat(PreAuthEncoder.encodedLength(listOfBytes), is(Hex.decodeHex(expected).length))
+    }
+
+    @Test(dataProvider="standardTestData")
+    void byteBufferTests(byte[][] listOfBytes, String expected) {
+        // write after an existing prefix to validate the position is respected
+        ByteBuffer buffer = ByteBuffer.allocate(PreAuthEncoder.encodedLength(listOfBytes) + 2)
+        buffer.put((byte) 0xff)
+        PreAuthEncoder.encode(buffer, listOfBytes)
+        buffer.put((byte) 0xff)
+
+        byte[] result = Arrays.copyOfRange(buffer.array(), 1, buffer.position() - 1)
+        assertThat(result, is(Hex.decodeHex(expected)))
+    }
+
+    @Test(dataProvider="standardTestData")
+    void macUpdateTests(byte[][] listOfBytes, String expected) {
+        byte[] key = "a-secret-key".getBytes(StandardCharsets.UTF_8)
+
+        Mac mac = Mac.getInstance("HmacSHA384")
+        mac.init(new SecretKeySpec(key, "HmacSHA384"))
+        PreAuthEncoder.update(mac, listOfBytes)
+
+        assertThat(mac.doFinal(), is(Hmacs.hmacSha384(key, Hex.decodeHex(expected))))
+        assertThat(Hmacs.hmacSha384PreAuth(key, listOfBytes), is(Hmacs.hmacSha384(key, Hex.decodeHex(expected))))
+    }
+
+    @Test(dataProvider="standardTestData")
+    void signatureUpdateTests(byte[][] listOfBytes, String expected) {
+        // a Signature that records the updates by digesting them
+        MessageDigest digest = MessageDigest.getInstance("SHA-256")
+        Signature signature = new Signature("test") {
+            protected void engineInitVerify(java.security.PublicKey publicKey) {}
+            protected void engineInitSign(java.security.PrivateKey privateKey) {}
+            protected void engineUpdate(byte b) { digest.update(b) }
+            protected void engineUpdate(byte[] b, int off, int len) { digest.update(b, off, len) }
+            protected byte[] engineSign() { return digest.digest() }
+            protected boolean engineVerify(byte[] sigBytes) { return false }
+            protected void engineSetParameter(String param, Object value) {}
+            protected Object engineGetParameter(String param) { return null }
+        }
+        signature.initVerify(mock(java.security.PublicKey))
+        PreAuthEncoder.update(signature, listOfBytes)
+
+        assertThat(digest.digest(), is(MessageDigest.getInstance("SHA-256").digest(Hex.decodeHex(expected))))
+    }
+
     @DataProvider
     Object[][] standardTestData() {
         return [
@@ -0,0 +1,63 @@
+/*
+ * Copyright 2019-Present paseto.dev
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package dev.paseto.jpaseto.impl.lang
+
+import org.testng.annotations.Test
+
+import java.util.concurrent.Callable
+import java.util.concurrent.Executors
+import java.util.concurrent.atomic.AtomicInteger
+
+import static dev.paseto.jpaseto.impl.Util.expect
+import static org.hamcrest.MatcherAssert.assertThat
+import static org.hamcrest.Matchers.*
+
+class PerThreadTest {
+
+    @Test
+    void platformThreadTest() {
+        AtomicInteger created = new AtomicInteger()
+        PerThread<Object> instances = PerThread.withInitial({ created.incrementAndGet(); new Object() })
+
+        assertThat Threads.isVirtual(), is(false)
+
+        Object instance = instances.acquire()
+        instances.release(instance)
+        assertThat instances.acquire(), sameInstance(instance)
+        assertThat created.get(), is(1)
+
+        def executor = Executors.newSingleThreadExecutor()
+        try {
+            Object other = executor.submit({ instances.acquire() } as Callable<Object>).get()
+            assertThat other, not(sameInstance(instance))
+            assertThat created.get(), is(2)
+        } finally {
+            executor.shutdown()
+        }
+    }
+
+    @Test
+    void releaseNullTest() {
+        PerThread<Object> instances = PerThread.withInitial({ new Object() })
+        instances.release(null)
+        assertThat instances.acquire(), notNullValue()
+    }
+
+    @Test
+    void nullFactoryTest() {
+        expect IllegalArgumentException, { PerThread.withInitial(null) }
+    }
+}
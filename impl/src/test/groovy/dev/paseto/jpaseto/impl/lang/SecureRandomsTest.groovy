@@ -0,0 +1,72 @@
+/*
+ * Copyright 2019-Present paseto.dev
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package dev.paseto.jpaseto.impl.lang
+
+import org.testng.annotations.Test
+
+import java.security.SecureRandom
+import java.util.concurrent.Callable
+import java.util.concurrent.Executors
+
+import static org.hamcrest.MatcherAssert.assertThat
+import static org.hamcrest.Matchers.*
+
+class SecureRandomsTest {
+
+    @Test
+    void threadLocalTest() {
+        SecureRandom secureRandom = SecureRandoms.threadLocal()
+        assertThat secureRandom, notNullValue()
+        assertThat SecureRandoms.threadLocal(), sameInstance(secureRandom)
+
+        def executor = Executors.newSingleThreadExecutor()
+        try {
+            SecureRandom other = executor.submit({ SecureRandoms.threadLocal() } as Callable<SecureRandom>).get()
+            assertThat other, not(sameInstance(secureRandom))
+        } finally {
+            executor.shutdown()
+        }
+    }
+
+    @Test
+    void nextBytesTest() {
+        byte[] bytes = new byte[32]
+        assertThat SecureRandoms.nextBytes(null, bytes), sameInstance(bytes)
+        assertThat bytes, not(equalTo(new byte[32]))
+    }
+
+    @Test
+    void nextBytesConfiguredTest() {
+        def secureRandom = new RecordingSecureRandom()
+        byte[] bytes = new byte[24]
+        assertThat SecureRandoms.nextBytes(secureRandom, bytes), sameInstance(bytes)
+        assertThat secureRandom.filled.size(), is(1)
+        assertThat secureRandom.filled[0], sameInstance(bytes)
+    }
+
+    /**
+     * Records the arrays it is asked to fill, Mockito cannot mock SecureRandom on newer JDKs.
+     */
+    static class RecordingSecureRandom extends SecureRandom {
+
+        List<byte[]> filled = []
+
+        @Override
+        void nextBytes(byte[] output) {
+            filled.add(output)
+        }
+    }
+}